@@ -20,17 +20,20 @@ package org.pdfsam.alternatemix;
 
 import static org.pdfsam.module.ModuleDescriptorBuilder.builder;
 
+import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
 
 import javax.inject.Inject;
 import javax.inject.Named;
+import javax.inject.Provider;
 
 import org.pdfsam.context.UserContext;
 import org.pdfsam.i18n.DefaultI18nContext;
 import org.pdfsam.injector.Auto;
 import org.pdfsam.injector.Components;
 import org.pdfsam.injector.Provides;
+import org.pdfsam.module.Module;
 import org.pdfsam.module.ModuleCategory;
 import org.pdfsam.module.ModuleDescriptor;
 import org.pdfsam.module.ModuleInputOutputType;
@@ -43,7 +46,6 @@ import org.pdfsam.ui.module.Footer;
 import org.pdfsam.ui.module.OpenButton;
 import org.pdfsam.ui.module.RunButton;
 import org.pdfsam.ui.support.Views;
-import org.pdfsam.eventstudio.annotation.EventListener;
 import org.pdfsam.eventstudio.annotation.EventStation;
 
 import javafx.geometry.Pos;
@@ -61,9 +63,9 @@ import javafx.scene.layout.VBox;
 @Auto
 public class AlternateMixModule extends BaseTaskExecutionModule {
 
-    private static final String MODULE_ID = "alternatemix";
+    static final String MODULE_ID = "alternatemix";
 
-    private AlternateMixSelectionPane selectionPane = new AlternateMixSelectionPane(MODULE_ID);
+    private AlternateMixSelectionPane selectionPane;
     private BrowsablePdfOutputField destinationFileField;
     private PdfDestinationPane destinationPane;
     private ModuleDescriptor descriptor = builder().category(ModuleCategory.MERGE)
@@ -73,12 +75,16 @@ public class AlternateMixModule extends BaseTaskExecutionModule {
             .priority(ModulePriority.DEFAULT.getPriority()).supportURL("https://pdfsam.org/mix-pdf/").build();
 
     @Inject
-    public AlternateMixModule(@Named(MODULE_ID + "field") BrowsablePdfOutputField destinationFileField,
-            @Named(MODULE_ID + "pane") PdfDestinationPane destinationPane, @Named(MODULE_ID + "footer") Footer footer) {
+    public AlternateMixModule(@Named(MODULE_ID + "field") Provider<BrowsablePdfOutputField> destinationFileField,
+            @Named(MODULE_ID + "pane") Provider<PdfDestinationPane> destinationPane,
+            @Named(MODULE_ID + "footer") Provider<Footer> footer) {
         super(footer);
-        this.destinationFileField = destinationFileField;
-        this.destinationPane = destinationPane;
-        initModuleSettingsPanel(settingPanel());
+        initModuleSettingsPanel(() -> {
+            this.selectionPane = new AlternateMixSelectionPane(MODULE_ID);
+            this.destinationFileField = destinationFileField.get();
+            this.destinationPane = destinationPane.get();
+            return settingPanel();
+        });
     }
 
     @Override
@@ -131,8 +137,8 @@ public class AlternateMixModule extends BaseTaskExecutionModule {
         return MODULE_ID;
     }
 
-    @EventListener
-    public void onClearModule(ClearModuleEvent e) {
+    @Override
+    protected void onClearModule(ClearModuleEvent e) {
         if (e.clearEverything) {
             destinationPane.resetView();
         }
@@ -175,8 +181,8 @@ public class AlternateMixModule extends BaseTaskExecutionModule {
 
         @Provides
         @Named(MODULE_ID + "openButton")
-        public OpenButton openButton() {
-            return new OpenButton(MODULE_ID, ModuleInputOutputType.SINGLE_PDF);
+        public OpenButton openButton(List<Module> modules) {
+            return OpenButton.forModules(MODULE_ID, ModuleInputOutputType.SINGLE_PDF, modules);
         }
 
     }
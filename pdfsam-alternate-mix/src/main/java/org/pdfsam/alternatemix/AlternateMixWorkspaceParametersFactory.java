@@ -0,0 +1,89 @@
+/* 
+ * This file is part of the PDF Split And Merge source code
+ * Created on 17 ott 2026
+ * Copyright 2017 by Sober Lemur S.a.s di Vacondio Andrea (info@pdfsam.org).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as 
+ * published by the Free Software Foundation, either version 3 of the 
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.alternatemix;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.pdfsam.i18n.DefaultI18nContext;
+import org.pdfsam.support.params.WorkspaceParameters;
+import org.pdfsam.support.params.WorkspaceParameters.Input;
+import org.pdfsam.support.params.WorkspaceParametersFactory;
+import org.sejda.conversion.exception.ConversionException;
+import org.sejda.model.input.PdfMixInput;
+
+/**
+ * Creates the {@link AlternateMixParametersBuilder} from the alternate mix module workspace data
+ * 
+ * @author Andrea Vacondio
+ *
+ */
+public class AlternateMixWorkspaceParametersFactory implements WorkspaceParametersFactory {
+
+    @Override
+    public String moduleId() {
+        return AlternateMixModule.MODULE_ID;
+    }
+
+    @Override
+    public AlternateMixParametersBuilder builder(Map<String, String> data, Consumer<String> onError) {
+        Map<String, String> values = new HashMap<>(data);
+        // backwards comp when alternate mix had 2 inputs
+        if (values.containsKey("firstDocumentMixinput")) {
+            values.put("input.0", values.get("firstDocumentMixinput"));
+            values.put("input.password.0", values.get("firstDocumentMixinputinput.password"));
+            values.put("input.step.0", values.get("firstStep"));
+            values.put("input.reverse.0", values.get("reverseFirst"));
+            values.put("input.size", "1");
+            if (values.containsKey("secondDocumentMixinput")) {
+                values.put("input.1", values.get("secondDocumentMixinput"));
+                values.put("input.password.1", values.get("secondDocumentMixinput.password"));
+                values.put("input.step.1", values.get("secondStep"));
+                values.put("input.reverse.1", values.get("reverseSecond"));
+                values.put("input.size", "2");
+            }
+        }
+        AlternateMixParametersBuilder builder = new AlternateMixParametersBuilder();
+        List<Input> inputs = WorkspaceParameters.inputs(values);
+        if (inputs.isEmpty()) {
+            onError.accept(DefaultI18nContext.getInstance().i18n("No PDF document has been selected"));
+        } else {
+            try {
+                for (Input current : inputs) {
+                    if (current.getStep().matches("[1-9]\\d*")) {
+                        PdfMixInput input = new PdfMixInput(current.toPdfFileSource(), current.isReverse(),
+                                Integer.parseInt(current.getStep()));
+                        input.addAllPageRanges(current.toPageRangeSet());
+                        builder.addInput(input);
+                    } else {
+                        onError.accept(DefaultI18nContext.getInstance().i18n("Select a positive integer number as pace"));
+                        break;
+                    }
+                }
+            } catch (ConversionException e) {
+                onError.accept(e.getMessage());
+            }
+        }
+        WorkspaceParameters.applyFileOutput(builder, values, outputKey(), onError);
+        WorkspaceParameters.applyPdfOutput(builder, values);
+        return builder;
+    }
+}
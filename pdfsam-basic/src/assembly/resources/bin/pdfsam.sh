@@ -97,13 +97,20 @@ fi
 
 JAR_ARG="$BASEDIR"/${project.build.finalName}.${project.packaging}
 
+# the Class Data Sharing archive is bound to the runtime that created it
+CDS_ARG=""
+if [ "$JAVA_HOME" = "$RUNTIME" ] && [ -r "$RUNTIME/lib/pdfsam.jsa" ]; then
+  CDS_ARG="-XX:SharedArchiveFile=$RUNTIME/lib/pdfsam.jsa"
+fi
+
 # For Cygwin, switch paths to Windows format before running java
 if $cygwin; then
   [ -n "$JAVA_HOME" ] && JAVA_HOME=`cygpath --path --windows "$JAVA_HOME"`
   [ -n "$BASEDIR" ] && BASEDIR=`cygpath --path --windows "$BASEDIR"`
 fi
 
-exec "$JAVACMD" -jar "$JAR_ARG" $JAVA_OPTS -Xmx512M \
+# -Xshare:auto falls back to loading classes from the runtime image if the archive can't be used
+exec "$JAVACMD" ${CDS_ARG:+-Xshare:auto} ${CDS_ARG:+"$CDS_ARG"} -jar "$JAR_ARG" $JAVA_OPTS -Xmx512M \
   -Dapp.name="pdfsam-basic" \
   -Dapp.pid="$$" \
   -Dapp.home="$BASEDIR" \
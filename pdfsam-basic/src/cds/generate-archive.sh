@@ -0,0 +1,69 @@
+#!/bin/sh
+# This file is part of the PDF Split And Merge Basic source code
+# Copyright 2017 by Sober Lemur S.a.s. di Vacondio Andrea (info@pdfsam.org).
+#
+# This program is free software: you can redistribute it and/or modify
+# it under the terms of the GNU Affero General Public License as
+# published by the Free Software Foundation, either version 3 of the
+# License, or (at your option) any later version.
+#
+# This program is distributed in the hope that it will be useful,
+# but WITHOUT ANY WARRANTY; without even the implied warranty of
+# MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+# GNU General Public License for more details.
+#
+# You should have received a copy of the GNU Affero General Public License
+# along with this program.  If not, see <http://www.gnu.org/licenses/>.
+
+# Generates a Class Data Sharing archive for the runtime image.
+#
+# A training run starts PDFsam and exits as soon as the first frame is shown, the classes loaded during the run
+# are dumped to a class list that is then used to create the archive. The archive is written to lib/pdfsam.jsa in
+# the runtime image and it's picked up by the launcher when the bundled runtime is used.
+#
+# Usage: generate-archive.sh <runtime image> <classpath> <working directory>
+
+RUNTIME="$1"
+CLASSPATH="$2"
+WORKDIR="$3"
+
+JAVACMD="$RUNTIME/bin/java"
+CLASSLIST="$WORKDIR/pdfsam.classlist"
+ARCHIVE="$RUNTIME/lib/pdfsam.jsa"
+
+if [ ! -x "$JAVACMD" ]; then
+  echo "Error: no java executable found in $RUNTIME" 1>&2
+  exit 1
+fi
+
+# the training run needs a display, on headless machines we use a virtual one if available
+XVFB=""
+if [ -z "$DISPLAY" ]; then
+  if command -v xvfb-run > /dev/null; then
+    XVFB="xvfb-run -a"
+  else
+    echo "Warning: no display available and xvfb-run not found, skipping CDS archive generation" 1>&2
+    exit 0
+  fi
+fi
+
+rm -Rf "$WORKDIR" || exit 1
+mkdir -p "$WORKDIR/home" || exit 1
+
+# a dedicated user.home so the training run doesn't read or write the preferences of the user running the build
+$XVFB "$JAVACMD" -Xshare:off -XX:DumpLoadedClassList="$CLASSLIST" \
+  -Duser.home="$WORKDIR/home" \
+  -Dprism.lcdtext=false \
+  -cp "$CLASSPATH" \
+  org.pdfsam.basic.App --exit-after-startup > "$WORKDIR/training.log" 2>&1
+if [ $? -ne 0 ] || [ ! -s "$CLASSLIST" ]; then
+  echo "Warning: training run failed, skipping CDS archive generation. See $WORKDIR/training.log" 1>&2
+  exit 0
+fi
+echo "Training run loaded `wc -l < "$CLASSLIST"` classes"
+
+# only classes from the runtime image are archived, classes loaded from the classpath are skipped with a warning.
+# The class path is validated against the one used at dump time and it depends on where PDFsam is installed.
+"$JAVACMD" -Xshare:dump -XX:SharedClassListFile="$CLASSLIST" -XX:SharedArchiveFile="$ARCHIVE" \
+  > "$WORKDIR/dump.log" 2>&1 || { echo "Error: CDS archive dump failed. See $WORKDIR/dump.log" 1>&2; exit 1; }
+echo "CDS archive created at $ARCHIVE"
@@ -0,0 +1,86 @@
+#!/bin/sh
+# This file is part of the PDF Split And Merge Basic source code
+# Copyright 2017 by Sober Lemur S.a.s. di Vacondio Andrea (info@pdfsam.org).
+#
+# This program is free software: you can redistribute it and/or modify
+# it under the terms of the GNU Affero General Public License as
+# published by the Free Software Foundation, either version 3 of the
+# License, or (at your option) any later version.
+#
+# This program is distributed in the hope that it will be useful,
+# but WITHOUT ANY WARRANTY; without even the implied warranty of
+# MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+# GNU General Public License for more details.
+#
+# You should have received a copy of the GNU Affero General Public License
+# along with this program.  If not, see <http://www.gnu.org/licenses/>.
+
+# Measures PDFsam startup with and without the Class Data Sharing archive on Linux. See README.md
+#
+# Usage: measure-startup.sh <PDFsam installation directory> [runs] [--cold]
+
+BASEDIR="$1"
+RUNS="${2:-10}"
+COLD="$3"
+
+RUNTIME="$BASEDIR/runtime"
+JAVACMD="$RUNTIME/bin/java"
+ARCHIVE="$RUNTIME/lib/pdfsam.jsa"
+JAR=`ls "$BASEDIR"/pdfsam-basic-*.jar 2> /dev/null | head -n 1`
+
+if [ ! -x "$JAVACMD" ] || [ -z "$JAR" ]; then
+  echo "Error: $BASEDIR doesn't look like a PDFsam installation" 1>&2
+  exit 1
+fi
+if [ ! -r "$ARCHIVE" ]; then
+  echo "Error: no CDS archive found at $ARCHIVE" 1>&2
+  exit 1
+fi
+if [ "$COLD" = "--cold" ] && [ "`id -u`" != "0" ]; then
+  echo "Error: dropping the page cache for cold starts requires root" 1>&2
+  exit 1
+fi
+
+WORKDIR=`mktemp -d`
+trap 'rm -Rf "$WORKDIR"' EXIT
+
+# runs PDFsam once and prints the process wall time and the time to first frame, in milliseconds
+run() {
+  if [ "$COLD" = "--cold" ]; then
+    sync
+    echo 3 > /proc/sys/vm/drop_caches
+  fi
+  rm -Rf "$WORKDIR/home"
+  mkdir "$WORKDIR/home"
+  START=`date +%s%N`
+  "$JAVACMD" "$@" -Duser.home="$WORKDIR/home" -Dprism.lcdtext=false -jar "$JAR" \
+    --profile-startup --exit-after-startup > "$WORKDIR/run.log" 2>&1
+  END=`date +%s%N`
+  FIRST_FRAME=`sed -n 's/.*First frame shown \([0-9]*\)ms after the process started.*/\1/p' "$WORKDIR/run.log"`
+  echo "$(( (END - START) / 1000000 )) ${FIRST_FRAME:-0}"
+}
+
+# prints the median of the numbers read from stdin
+median() {
+  sort -n | awk '{ v[NR] = $1 } END { if (NR % 2) print v[(NR + 1) / 2]; else print int((v[NR / 2] + v[NR / 2 + 1]) / 2) }'
+}
+
+measure() {
+  LABEL="$1"
+  shift
+  # warm up run, not measured unless measuring cold starts
+  [ "$COLD" = "--cold" ] || run "$@" > /dev/null
+  : > "$WORKDIR/results"
+  i=0
+  while [ $i -lt "$RUNS" ]; do
+    run "$@" >> "$WORKDIR/results"
+    i=$((i + 1))
+  done
+  printf "%-12s %18s %22s\n" "$LABEL" "`cut -d ' ' -f 1 "$WORKDIR/results" | median`" \
+    "`cut -d ' ' -f 2 "$WORKDIR/results" | median`"
+}
+
+echo "Median of $RUNS runs${COLD:+ (cold)}"
+printf "%-12s %18s %22s\n" "CDS" "process wall ms" "first frame ms"
+measure "off" -Xshare:off
+measure "archive" -Xshare:on -XX:SharedArchiveFile="$ARCHIVE"
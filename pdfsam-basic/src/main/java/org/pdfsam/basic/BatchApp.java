@@ -0,0 +1,54 @@
+/* 
+ * This file is part of the PDF Split And Merge source code
+ * Created on 17 ott 2026
+ * Copyright 2017 by Sober Lemur S.a.s di Vacondio Andrea (info@pdfsam.org).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as 
+ * published by the Free Software Foundation, either version 3 of the 
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.basic;
+
+import java.util.Arrays;
+
+import org.pdfsam.alternatemix.AlternateMixWorkspaceParametersFactory;
+import org.pdfsam.extract.ExtractWorkspaceParametersFactory;
+import org.pdfsam.merge.MergeWorkspaceParametersFactory;
+import org.pdfsam.rotate.RotateWorkspaceParametersFactory;
+import org.pdfsam.split.SplitWorkspaceParametersFactory;
+import org.pdfsam.splitbybookmarks.SplitByBookmarksWorkspaceParametersFactory;
+import org.pdfsam.splitbysize.SplitBySizeWorkspaceParametersFactory;
+import org.pdfsam.task.BatchRunner;
+import org.sejda.core.Sejda;
+
+/**
+ * PDFsam Basic Edition headless entry point, executes the modules tasks without starting the UI:
+ * 
+ * <pre>
+ * java -cp "lib/*" org.pdfsam.basic.BatchApp --workspace workspace.json
+ * java -cp "lib/*" org.pdfsam.basic.BatchApp merge input.size=2 input.0=a.pdf input.1=b.pdf merge.destinationbrowsableField=out.pdf overwrite=true
+ * java -cp "lib/*" org.pdfsam.basic.BatchApp --workspace nightly.json --inputs /data/folder1 --inputs /data/list.csv --parallel 4
+ * </pre>
+ * 
+ * @author Andrea Vacondio
+ * @see BatchRunner
+ */
+public class BatchApp {
+    public static void main(String[] args) {
+        System.setProperty(Sejda.UNETHICAL_READ_PROPERTY_NAME, Boolean.TRUE.toString());
+        System.exit(new BatchRunner(Arrays.asList(new AlternateMixWorkspaceParametersFactory(),
+                new ExtractWorkspaceParametersFactory(), new MergeWorkspaceParametersFactory(),
+                new RotateWorkspaceParametersFactory(), new SplitWorkspaceParametersFactory(),
+                new SplitByBookmarksWorkspaceParametersFactory(), new SplitBySizeWorkspaceParametersFactory()))
+                        .run(args));
+    }
+}
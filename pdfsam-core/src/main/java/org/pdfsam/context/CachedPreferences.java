@@ -0,0 +1,227 @@
+/* 
+ * This file is part of the PDF Split And Merge source code
+ * Created on 17 ott 2026
+ * Copyright 2017 by Sober Lemur S.a.s di Vacondio Andrea (info@pdfsam.org).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as 
+ * published by the Free Software Foundation, either version 3 of the 
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.context;
+
+import static java.util.Objects.nonNull;
+import static org.pdfsam.eventstudio.StaticStudio.eventStudio;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.prefs.BackingStoreException;
+import java.util.prefs.Preferences;
+
+import org.pdfsam.ShutdownEvent;
+import org.pdfsam.eventstudio.annotation.EventListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+
+/**
+ * Process wide cache of the user preferences. Preferences are read from the backing store once, readers get an immutable {@link Snapshot} that is
+ * replaced when a preference is set. Writes are applied to the backing store in order by a background thread, once no preference has been set for
+ * a while, and on {@link ShutdownEvent}.
+ * 
+ * @author Andrea Vacondio
+ *
+ */
+final class CachedPreferences {
+    private static final Logger LOG = LoggerFactory.getLogger(CachedPreferences.class);
+
+    static final String USER_CONF_PATH = "/org/pdfsam/user/conf";
+
+    /**
+     * System property to set the milliseconds without changes after which preferences are written to the backing store
+     */
+    public static final String PDFSAM_PREFERENCES_WRITE_DELAY = "org.pdfsam.preferences.write.delay";
+
+    private final ReadOnlyObjectWrapper<Snapshot> snapshotProperty = new ReadOnlyObjectWrapper<>();
+    private volatile Snapshot snapshot;
+    private final List<Consumer<Preferences>> pending = new ArrayList<>();
+    private final ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "preferences-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private ScheduledFuture<?> scheduledWrite;
+    private final long writeDelay;
+
+    private CachedPreferences() {
+        this.writeDelay = Integer.getInteger(PDFSAM_PREFERENCES_WRITE_DELAY, 1000);
+        publish(load());
+        eventStudio().addAnnotatedListeners(this);
+    }
+
+    static CachedPreferences instance() {
+        return Holder.INSTANCE;
+    }
+
+    private static Preferences node() {
+        return Preferences.userRoot().node(USER_CONF_PATH);
+    }
+
+    private static Snapshot load() {
+        Map<String, String> values = new HashMap<>();
+        Map<String, String> prefixes = new HashMap<>();
+        try {
+            Preferences node = node();
+            for (String key : node.keys()) {
+                String value = node.get(key, null);
+                if (nonNull(value)) {
+                    values.put(key, value);
+                }
+            }
+            for (String module : node.childrenNames()) {
+                String prefix = node.node(module).get(StringUserPreference.DEFAULT_PREFIX.toString(), null);
+                if (nonNull(prefix)) {
+                    prefixes.put(module, prefix);
+                }
+            }
+            LOG.trace("Loaded {} user preferences", values.size());
+        } catch (BackingStoreException e) {
+            LOG.error("Unable to read user preferences", e);
+        }
+        return new Snapshot(values, prefixes);
+    }
+
+    private void publish(Snapshot snapshot) {
+        this.snapshot = snapshot;
+        this.snapshotProperty.set(snapshot);
+    }
+
+    /**
+     * @return the current preferences
+     */
+    Snapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * @return a property holding the current preferences, updated on the thread setting the preferences
+     */
+    ReadOnlyObjectProperty<Snapshot> snapshotProperty() {
+        return snapshotProperty.getReadOnlyProperty();
+    }
+
+    synchronized void put(String key, String value) {
+        Map<String, String> values = new HashMap<>(snapshot.values);
+        values.put(key, value);
+        publish(new Snapshot(values, snapshot.prefixes));
+        schedule(p -> p.put(key, value));
+    }
+
+    synchronized void putPrefix(String module, String value) {
+        Map<String, String> prefixes = new HashMap<>(snapshot.prefixes);
+        prefixes.put(module, value);
+        publish(new Snapshot(snapshot.values, prefixes));
+        schedule(p -> p.node(module).put(StringUserPreference.DEFAULT_PREFIX.toString(), value));
+    }
+
+    private void schedule(Consumer<Preferences> write) {
+        pending.add(write);
+        if (nonNull(scheduledWrite)) {
+            scheduledWrite.cancel(false);
+        }
+        scheduledWrite = writer.schedule(this::write, writeDelay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Applies the pending writes to the backing store
+     */
+    private synchronized void write() {
+        if (!pending.isEmpty()) {
+            Preferences node = node();
+            pending.forEach(w -> w.accept(node));
+            LOG.trace("Written {} user preferences changes", pending.size());
+            pending.clear();
+            try {
+                node.flush();
+            } catch (BackingStoreException e) {
+                LOG.error("Unable to flush user preferences", e);
+            }
+        }
+    }
+
+    /**
+     * Synchronously writes the pending changes to the backing store
+     */
+    synchronized void flush() {
+        if (nonNull(scheduledWrite)) {
+            scheduledWrite.cancel(false);
+            scheduledWrite = null;
+        }
+        write();
+    }
+
+    synchronized void clear() {
+        flush();
+        try {
+            Preferences node = node();
+            node.removeNode();
+            node.flush();
+        } catch (BackingStoreException e) {
+            LOG.error("Unable to clear user preferences", e);
+        }
+        publish(new Snapshot(Map.of(), Map.of()));
+    }
+
+    @EventListener
+    public void onShutdown(ShutdownEvent event) {
+        flush();
+    }
+
+    /**
+     * Immutable user preferences, as stored in the backing store
+     */
+    static final class Snapshot {
+        private final Map<String, String> values;
+        private final Map<String, String> prefixes;
+
+        Snapshot(Map<String, String> values, Map<String, String> prefixes) {
+            this.values = Map.copyOf(values);
+            this.prefixes = Map.copyOf(prefixes);
+        }
+
+        /**
+         * @return the stored value or null
+         */
+        String get(String key) {
+            return values.get(key);
+        }
+
+        /**
+         * @return the stored default prefix of the module or null
+         */
+        String prefix(String module) {
+            return prefixes.get(module);
+        }
+    }
+
+    private static class Holder {
+        private static final CachedPreferences INSTANCE = new CachedPreferences();
+    }
+}
@@ -18,25 +18,25 @@
  */
 package org.pdfsam.context;
 
+import static java.util.Objects.isNull;
 import static org.sejda.commons.util.RequireUtils.requireNotBlank;
 
-import java.util.prefs.BackingStoreException;
-import java.util.prefs.Preferences;
-
 import org.apache.commons.lang3.StringUtils;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+
+import javafx.beans.binding.Bindings;
+import javafx.beans.value.ObservableBooleanValue;
+import javafx.beans.value.ObservableIntegerValue;
+import javafx.beans.value.ObservableStringValue;
 
 /**
- * {@link Preferences} implementation for the {@link UserContext}.
+ * {@link java.util.prefs.Preferences} implementation for the {@link UserContext}. Preferences are read from a process wide cache, shared by
+ * all the instances, and persisted asynchronously, see {@link CachedPreferences}.
  * 
  * @author Andrea Vacondio
  * 
  */
 public final class DefaultUserContext implements UserContext {
 
-    private static final Logger LOG = LoggerFactory.getLogger(DefaultUserContext.class);
-
     static final String CHECK_FOR_UPDATES_PROP = "org.pdfsam.default.checkforupdate";
     static final String CHECK_FOR_NEWS_PROP = "org.pdfsam.default.checkfornews";
     static final String DONATE_NOTIFICATION_PROP = "org.pdfsam.default.donate.notification";
@@ -44,126 +44,213 @@ public final class DefaultUserContext implements UserContext {
     static final String FETCH_PREMIUM_MODULES_PROP = "org.pdfsam.default.fetch.premium.modules";
     static final String LOCALE_PROP = "org.pdfsam.default.locale";
 
-    private Preferences prefs;
-
-    public DefaultUserContext() {
-        initNode();
-    }
-
-    private void initNode() {
-        this.prefs = Preferences.userRoot().node("/org/pdfsam/user/conf");
-    }
+    private final CachedPreferences prefs = CachedPreferences.instance();
 
     @Override
     public String getDefaultWorkspacePath() {
-        return prefs.get(StringUserPreference.WORKSPACE_PATH.toString(), StringUtils.EMPTY);
+        return stringValue(prefs.snapshot(), StringUserPreference.WORKSPACE_PATH);
     }
 
     @Override
     public String getDefaultWorkingPath() {
-        return prefs.get(StringUserPreference.WORKING_PATH.toString(), StringUtils.EMPTY);
+        return stringValue(prefs.snapshot(), StringUserPreference.WORKING_PATH);
     }
 
     @Override
     public boolean isPlaySounds() {
-        return prefs.getBoolean(BooleanUserPreference.PLAY_SOUNDS.toString(),
-                Boolean.valueOf(System.getProperty(PLAY_SOUNDS_PROP, Boolean.TRUE.toString())));
+        return booleanValue(prefs.snapshot(), BooleanUserPreference.PLAY_SOUNDS);
     }
 
     @Override
     public boolean isDonationNotification() {
-        return prefs.getBoolean(BooleanUserPreference.DONATION_NOTIFICATION.toString(),
-                Boolean.valueOf(System.getProperty(DONATE_NOTIFICATION_PROP, Boolean.TRUE.toString())));
+        return booleanValue(prefs.snapshot(), BooleanUserPreference.DONATION_NOTIFICATION);
     }
 
     @Override
     public boolean isFetchPremiumModules() {
-        return prefs.getBoolean(BooleanUserPreference.PREMIUM_MODULES.toString(),
-                Boolean.valueOf(System.getProperty(FETCH_PREMIUM_MODULES_PROP, Boolean.TRUE.toString())));
+        return booleanValue(prefs.snapshot(), BooleanUserPreference.PREMIUM_MODULES);
     }
 
     @Override
     public boolean isUseSmartOutput() {
-        return prefs.getBoolean(BooleanUserPreference.SMART_OUTPUT.toString(), Boolean.TRUE);
+        return booleanValue(prefs.snapshot(), BooleanUserPreference.SMART_OUTPUT);
     }
 
     @Override
     public boolean isSaveWorkspaceOnExit() {
-        return prefs.getBoolean(BooleanUserPreference.SAVE_WORKSPACE_ON_EXIT.toString(), Boolean.FALSE);
+        return booleanValue(prefs.snapshot(), BooleanUserPreference.SAVE_WORKSPACE_ON_EXIT);
     }
 
     @Override
     public int getNumberOfLogRows() {
-        return prefs.getInt(IntUserPreference.LOGVIEW_ROWS_NUMBER.toString(), 200);
+        return intValue(prefs.snapshot(), IntUserPreference.LOGVIEW_ROWS_NUMBER);
+    }
+
+    @Override
+    public int getThumbnailsSize() {
+        return intValue(prefs.snapshot(), IntUserPreference.THUMBNAILS_SIZE);
+    }
+
+    @Override
+    public boolean isHighQualityThumbnails() {
+        return booleanValue(prefs.snapshot(), BooleanUserPreference.HIGH_QUALITY_THUMB);
     }
 
     @Override
     public String getStartupModule() {
-        return prefs.get(StringUserPreference.STARTUP_MODULE.toString(), StringUtils.EMPTY);
+        return stringValue(prefs.snapshot(), StringUserPreference.STARTUP_MODULE);
     }
 
     @Override
     public boolean isCheckForUpdates() {
-        return prefs.getBoolean(BooleanUserPreference.CHECK_UPDATES.toString(),
-                Boolean.valueOf(System.getProperty(CHECK_FOR_UPDATES_PROP, Boolean.TRUE.toString())));
+        return booleanValue(prefs.snapshot(), BooleanUserPreference.CHECK_UPDATES);
     }
 
     @Override
     public boolean isCheckForNews() {
-        return prefs.getBoolean(BooleanUserPreference.CHECK_FOR_NEWS.toString(),
-                Boolean.valueOf(System.getProperty(CHECK_FOR_NEWS_PROP, Boolean.TRUE.toString())));
+        return booleanValue(prefs.snapshot(), BooleanUserPreference.CHECK_FOR_NEWS);
     }
 
     @Override
     public boolean isCompressionEnabled() {
-        return prefs.getBoolean(BooleanUserPreference.PDF_COMPRESSION_ENABLED.toString(), Boolean.TRUE);
+        return booleanValue(prefs.snapshot(), BooleanUserPreference.PDF_COMPRESSION_ENABLED);
     }
 
     @Override
     public boolean isSavePwdInWorkspaceFile() {
-        return prefs.getBoolean(BooleanUserPreference.SAVE_PWD_IN_WORKSPACE.toString(), Boolean.FALSE);
+        return booleanValue(prefs.snapshot(), BooleanUserPreference.SAVE_PWD_IN_WORKSPACE);
     }
 
     @Override
     public String getLocale() {
-        return prefs.get(StringUserPreference.LOCALE.toString(), System.getProperty(LOCALE_PROP));
+        return stringValue(prefs.snapshot(), StringUserPreference.LOCALE);
     }
 
     @Override
     public String getDefaultPrefix(String module) {
         requireNotBlank(module, "Expected a module name");
-        return prefs.node(module).get(StringUserPreference.DEFAULT_PREFIX.toString(), "PDFsam_");
+        String value = prefs.snapshot().prefix(module);
+        if (isNull(value)) {
+            return "PDFsam_";
+        }
+        return value;
     }
 
     @Override
     public void setDefaultPrefix(String module, String value) {
         requireNotBlank(module, "Expected a module name");
-        prefs.node(module).put(StringUserPreference.DEFAULT_PREFIX.toString(), value);
+        prefs.putPrefix(module, value);
     }
 
     @Override
     public void clear() {
-        try {
-            prefs.removeNode();
-            prefs.flush();
-            initNode();
-        } catch (BackingStoreException e) {
-            LOG.error("Unable to clear user preferences", e);
-        }
+        prefs.clear();
+    }
+
+    /**
+     * Synchronously writes the pending changes to the backing store
+     */
+    public void flush() {
+        prefs.flush();
     }
 
     @Override
     public void setBooleanPreference(BooleanUserPreference pref, boolean value) {
-        prefs.putBoolean(pref.toString(), value);
+        prefs.put(pref.toString(), Boolean.toString(value));
     }
 
     @Override
     public void setIntegerPreference(IntUserPreference pref, int value) {
-        prefs.putInt(pref.toString(), value);
+        prefs.put(pref.toString(), Integer.toString(value));
     }
 
     @Override
     public void setStringPreference(StringUserPreference pref, String value) {
         prefs.put(pref.toString(), value);
     }
+
+    @Override
+    public ObservableBooleanValue booleanPreference(BooleanUserPreference pref) {
+        // bindings read the property value, a property that is never read doesn't notify further invalidations
+        return Bindings.createBooleanBinding(() -> booleanValue(prefs.snapshotProperty().get(), pref),
+                prefs.snapshotProperty());
+    }
+
+    @Override
+    public ObservableIntegerValue integerPreference(IntUserPreference pref) {
+        return Bindings.createIntegerBinding(() -> intValue(prefs.snapshotProperty().get(), pref),
+                prefs.snapshotProperty());
+    }
+
+    @Override
+    public ObservableStringValue stringPreference(StringUserPreference pref) {
+        return Bindings.createStringBinding(() -> stringValue(prefs.snapshotProperty().get(), pref),
+                prefs.snapshotProperty());
+    }
+
+    private static boolean booleanValue(CachedPreferences.Snapshot snapshot, BooleanUserPreference pref) {
+        // same parsing as Preferences.getBoolean
+        String value = snapshot.get(pref.toString());
+        if ("true".equalsIgnoreCase(value)) {
+            return true;
+        }
+        if ("false".equalsIgnoreCase(value)) {
+            return false;
+        }
+        return defaultValue(pref);
+    }
+
+    private static int intValue(CachedPreferences.Snapshot snapshot, IntUserPreference pref) {
+        String value = snapshot.get(pref.toString());
+        if (!isNull(value)) {
+            try {
+                return Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                // default
+            }
+        }
+        return defaultValue(pref);
+    }
+
+    private static String stringValue(CachedPreferences.Snapshot snapshot, StringUserPreference pref) {
+        String value = snapshot.get(pref.toString());
+        if (isNull(value)) {
+            return defaultValue(pref);
+        }
+        return value;
+    }
+
+    private static boolean defaultValue(BooleanUserPreference pref) {
+        switch (pref) {
+        case CHECK_UPDATES:
+            return Boolean.valueOf(System.getProperty(CHECK_FOR_UPDATES_PROP, Boolean.TRUE.toString()));
+        case CHECK_FOR_NEWS:
+            return Boolean.valueOf(System.getProperty(CHECK_FOR_NEWS_PROP, Boolean.TRUE.toString()));
+        case PLAY_SOUNDS:
+            return Boolean.valueOf(System.getProperty(PLAY_SOUNDS_PROP, Boolean.TRUE.toString()));
+        case DONATION_NOTIFICATION:
+            return Boolean.valueOf(System.getProperty(DONATE_NOTIFICATION_PROP, Boolean.TRUE.toString()));
+        case PREMIUM_MODULES:
+            return Boolean.valueOf(System.getProperty(FETCH_PREMIUM_MODULES_PROP, Boolean.TRUE.toString()));
+        case PDF_COMPRESSION_ENABLED:
+        case SMART_OUTPUT:
+            return true;
+        default:
+            return false;
+        }
+    }
+
+    private static int defaultValue(IntUserPreference pref) {
+        if (pref == IntUserPreference.THUMBNAILS_SIZE) {
+            return 190;
+        }
+        return 200;
+    }
+
+    private static String defaultValue(StringUserPreference pref) {
+        if (pref == StringUserPreference.LOCALE) {
+            return System.getProperty(LOCALE_PROP);
+        }
+        return StringUtils.EMPTY;
+    }
 }
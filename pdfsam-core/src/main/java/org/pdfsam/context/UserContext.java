@@ -18,6 +18,10 @@
  */
 package org.pdfsam.context;
 
+import javafx.beans.value.ObservableBooleanValue;
+import javafx.beans.value.ObservableIntegerValue;
+import javafx.beans.value.ObservableStringValue;
+
 /**
  * Context holding user related application settings.
  * 
@@ -91,6 +95,16 @@ public interface UserContext {
      */
     int getNumberOfLogRows();
 
+    /**
+     * @return the size in px of the longest side of the generated thumbnails
+     */
+    int getThumbnailsSize();
+
+    /**
+     * @return true if thumbnails should be generated with a higher quality, at the price of a slower generation
+     */
+    boolean isHighQualityThumbnails();
+
     /**
      * @return the module to load at application startup
      */
@@ -139,4 +153,22 @@ public interface UserContext {
      */
     void setStringPreference(StringUserPreference pref, String value);
 
+    /**
+     * @param pref
+     * @return an observable value of the {@link Boolean} preference, changing when the preference is set
+     */
+    ObservableBooleanValue booleanPreference(BooleanUserPreference pref);
+
+    /**
+     * @param pref
+     * @return an observable value of the {@link Integer} preference, changing when the preference is set
+     */
+    ObservableIntegerValue integerPreference(IntUserPreference pref);
+
+    /**
+     * @param pref
+     * @return an observable value of the {@link String} preference, changing when the preference is set
+     */
+    ObservableStringValue stringPreference(StringUserPreference pref);
+
 }
@@ -0,0 +1,69 @@
+/* 
+ * This file is part of the PDF Split And Merge source code
+ * Created on 17 ott 2026
+ * Copyright 2017 by Sober Lemur S.a.s di Vacondio Andrea (info@pdfsam.org).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as 
+ * published by the Free Software Foundation, either version 3 of the 
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.module;
+
+import static org.sejda.commons.util.RequireUtils.requireArg;
+import static org.sejda.commons.util.RequireUtils.requireNotBlank;
+
+/**
+ * Event sent to the module station when the tasks requested by the module change their state
+ * 
+ * @author Andrea Vacondio
+ *
+ */
+public class TaskQueueChangedEvent {
+
+    private String moduleId;
+    private int queued;
+    private boolean running;
+
+    /**
+     * @param moduleId
+     * @param queued
+     *            number of tasks of the module waiting to be executed
+     * @param running
+     *            true if a task of the module is currently executing
+     */
+    public TaskQueueChangedEvent(String moduleId, int queued, boolean running) {
+        requireNotBlank(moduleId, "Module id cannot be blank");
+        requireArg(queued >= 0, "Queued tasks cannot be negative");
+        this.moduleId = moduleId;
+        this.queued = queued;
+        this.running = running;
+    }
+
+    public String getModuleId() {
+        return moduleId;
+    }
+
+    public int getQueued() {
+        return queued;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * @return true if the module has no task running or waiting to be executed
+     */
+    public boolean isIdle() {
+        return !running && queued == 0;
+    }
+}
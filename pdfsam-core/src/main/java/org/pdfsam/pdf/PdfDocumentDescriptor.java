@@ -85,6 +85,13 @@ public class PdfDocumentDescriptor {
         return StringUtils.defaultString(metadata.get(key));
     }
 
+    /**
+     * @return an unmodifiable view of the information dictionary
+     */
+    public Map<String, String> getInformationDictionary() {
+        return Collections.unmodifiableMap(metadata);
+    }
+
     public void setInformationDictionary(Map<String, String> info) {
         metadata.clear();
         metadata.putAll(info);
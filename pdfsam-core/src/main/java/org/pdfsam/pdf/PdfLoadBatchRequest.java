@@ -0,0 +1,49 @@
+/* 
+ * This file is part of the PDF Split And Merge source code
+ * Created on 17 ott 2026
+ * Copyright 2017 by Sober Lemur S.a.s di Vacondio Andrea (info@pdfsam.org).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as 
+ * published by the Free Software Foundation, either version 3 of the 
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.pdf;
+
+/**
+ * Request to open or close a batch of document loads. While a batch is open the {@link PdfLoadRequestEvent}s are collected and nothing is
+ * loaded, once it's closed the collected documents are loaded together and documents requested by more than one module are read once.
+ * 
+ * @author Andrea Vacondio
+ *
+ */
+public final class PdfLoadBatchRequest {
+    private final boolean open;
+
+    private PdfLoadBatchRequest(boolean open) {
+        this.open = open;
+    }
+
+    /**
+     * @return true if this is a request to open the batch, false if it's a request to close it
+     */
+    public boolean isOpen() {
+        return open;
+    }
+
+    public static PdfLoadBatchRequest open() {
+        return new PdfLoadBatchRequest(true);
+    }
+
+    public static PdfLoadBatchRequest close() {
+        return new PdfLoadBatchRequest(false);
+    }
+}
@@ -0,0 +1,56 @@
+/* 
+ * This file is part of the PDF Split And Merge source code
+ * Created on 17 ott 2026
+ * Copyright 2017 by Sober Lemur S.a.s di Vacondio Andrea (info@pdfsam.org).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as 
+ * published by the Free Software Foundation, either version 3 of the 
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.pdf;
+
+import static org.sejda.commons.util.RequireUtils.requireNotBlank;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.lang3.StringUtils;
+import org.pdfsam.module.ModuleOwned;
+
+/**
+ * Request to load the given documents before any other queued document. The documents are the ones the user of the owner module is currently
+ * looking at, any document of the owner module prioritized by a previous request and not part of this one goes back to the normal priority.
+ * 
+ * @author Andrea Vacondio
+ *
+ */
+public class PrioritizePdfLoadRequest implements ModuleOwned {
+    private String ownerModule = StringUtils.EMPTY;
+    private List<PdfDocumentDescriptor> documents;
+
+    public PrioritizePdfLoadRequest(String ownerModule, Collection<PdfDocumentDescriptor> documents) {
+        requireNotBlank(ownerModule, "Owner module cannot be blank");
+        this.ownerModule = ownerModule;
+        this.documents = new ArrayList<>(documents);
+    }
+
+    @Override
+    public String getOwnerModule() {
+        return ownerModule;
+    }
+
+    public List<PdfDocumentDescriptor> getDocuments() {
+        return Collections.unmodifiableList(documents);
+    }
+}
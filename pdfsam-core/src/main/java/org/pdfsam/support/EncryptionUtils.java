@@ -24,6 +24,7 @@ import java.nio.charset.StandardCharsets;
 import java.security.GeneralSecurityException;
 import java.util.Arrays;
 import java.util.Base64;
+import java.util.function.UnaryOperator;
 
 import javax.crypto.Cipher;
 import javax.crypto.spec.SecretKeySpec;
@@ -39,6 +40,8 @@ public final class EncryptionUtils {
     private final static Logger LOG = LoggerFactory.getLogger(EncryptionUtils.class);
 
     public static final String T_KEY = "j!$CEnv#8G6_61gSYpt%0H%CVXhxDv-E8UHOHQyDIz%OFPE%YsaCoNH&+^d1G_ZevL!8MAEiQ+dERnvl_4grOQMmDQ2vhn_55FXDbLNMfs!U|$y7iA|dXef3dmf*&KOa";
+    private static final SecretKeySpec KEY = new SecretKeySpec(
+            Arrays.copyOf(T_KEY.getBytes(StandardCharsets.UTF_8), 16), "AES");
 
     private EncryptionUtils() {
         // hide
@@ -49,18 +52,7 @@ public final class EncryptionUtils {
      * @return the encrypted version of value or null if value is null
      */
     public static String encrypt(String value) {
-        try {
-            if (nonNull(value)) {
-                Cipher cipher = Cipher.getInstance("AES/ECB/PKCS5Padding");
-                cipher.init(Cipher.ENCRYPT_MODE,
-                        new SecretKeySpec(Arrays.copyOf(T_KEY.getBytes(StandardCharsets.UTF_8), 16), "AES"));
-                return Base64.getEncoder().encodeToString(cipher.doFinal(value.getBytes(StandardCharsets.UTF_8)));
-            }
-        } catch (GeneralSecurityException e) {
-            LOG.error("An error occurred while encrypting a string", e);
-        }
-        return null;
-
+        return encrypter().apply(value);
     }
 
     /**
@@ -68,18 +60,53 @@ public final class EncryptionUtils {
      * @return the decrypted version of value of null if value is null
      */
     public static String decrypt(String value) {
-        try {
-            if (nonNull(value)) {
-                Cipher cipher = Cipher.getInstance("AES/ECB/PKCS5Padding");
-                cipher.init(Cipher.DECRYPT_MODE,
-                        new SecretKeySpec(Arrays.copyOf(T_KEY.getBytes(StandardCharsets.UTF_8), 16), "AES"));
-                return new String(cipher.doFinal(Base64.getDecoder().decode(value)), StandardCharsets.UTF_8);
+        return decrypter().apply(value);
+    }
+
+    /**
+     * @return a function encrypting values as {@link #encrypt(String)} does, reusing the same cipher for every value. The function is not thread
+     *         safe.
+     */
+    public static UnaryOperator<String> encrypter() {
+        Cipher cipher = cipher(Cipher.ENCRYPT_MODE);
+        return value -> {
+            try {
+                if (nonNull(value) && nonNull(cipher)) {
+                    return Base64.getEncoder().encodeToString(cipher.doFinal(value.getBytes(StandardCharsets.UTF_8)));
+                }
+            } catch (GeneralSecurityException e) {
+                LOG.error("An error occurred while encrypting a string", e);
             }
+            return null;
+        };
+    }
+
+    /**
+     * @return a function decrypting values as {@link #decrypt(String)} does, reusing the same cipher for every value. The function is not thread
+     *         safe.
+     */
+    public static UnaryOperator<String> decrypter() {
+        Cipher cipher = cipher(Cipher.DECRYPT_MODE);
+        return value -> {
+            try {
+                if (nonNull(value) && nonNull(cipher)) {
+                    return new String(cipher.doFinal(Base64.getDecoder().decode(value)), StandardCharsets.UTF_8);
+                }
+            } catch (GeneralSecurityException e) {
+                LOG.error("An error occurred while decrypting a string", e);
+            }
+            return null;
+        };
+    }
+
+    private static Cipher cipher(int mode) {
+        try {
+            Cipher cipher = Cipher.getInstance("AES/ECB/PKCS5Padding");
+            cipher.init(mode, KEY);
+            return cipher;
         } catch (GeneralSecurityException e) {
-            LOG.error("An error occurred while decrypting a string", e);
+            LOG.error("Unable to initialize the cipher", e);
         }
-
         return null;
     }
-
 }
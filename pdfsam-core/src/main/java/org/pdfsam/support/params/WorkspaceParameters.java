@@ -0,0 +1,259 @@
+/* 
+ * This file is part of the PDF Split And Merge source code
+ * Created on 17 ott 2026
+ * Copyright 2017 by Sober Lemur S.a.s di Vacondio Andrea (info@pdfsam.org).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as 
+ * published by the Free Software Foundation, either version 3 of the 
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.support.params;
+
+import static java.util.Optional.ofNullable;
+import static org.apache.commons.lang3.StringUtils.defaultIfBlank;
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
+import static org.sejda.model.output.FileOrDirectoryTaskOutput.directory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+import org.pdfsam.context.DefaultUserContext;
+import org.pdfsam.i18n.DefaultI18nContext;
+import org.pdfsam.support.EncryptionUtils;
+import org.pdfsam.support.io.FileType;
+import org.pdfsam.support.validation.Validators;
+import org.sejda.conversion.exception.ConversionException;
+import org.sejda.model.input.PdfFileSource;
+import org.sejda.model.output.ExistingOutputPolicy;
+import org.sejda.model.output.FileTaskOutput;
+import org.sejda.model.pdf.PdfVersion;
+import org.sejda.model.pdf.page.PageRange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads the data stored in a workspace by the common UI components (selection, destination and prefix panes) and applies it to the parameters
+ * builders the same way the components do.
+ * 
+ * @author Andrea Vacondio
+ *
+ */
+public final class WorkspaceParameters {
+    private static final Logger LOG = LoggerFactory.getLogger(WorkspaceParameters.class);
+
+    private WorkspaceParameters() {
+        // hide
+    }
+
+    /**
+     * @return true if the data contains at least a selected document
+     */
+    public static boolean hasInput(Map<String, String> data) {
+        return isNotBlank(data.get("input")) || ofNullable(data.get("input.size")).filter(s -> s.matches("\\d+"))
+                .map(Integer::parseInt).filter(s -> s > 0).isPresent();
+    }
+
+    /**
+     * @return the documents selected in a selection table, in the table order
+     */
+    public static List<Input> inputs(Map<String, String> data) {
+        List<Input> inputs = new ArrayList<>();
+        int size = ofNullable(data.get("input.size")).filter(s -> s.matches("\\d+")).map(Integer::parseInt).orElse(0);
+        UnaryOperator<String> decrypter = EncryptionUtils.decrypter();
+        for (int i = 0; i < size; i++) {
+            String file = data.get("input." + i);
+            if (isNotBlank(file)) {
+                Input input = new Input(new File(file), ofNullable(data.get("input.password.enc" + i)).map(decrypter)
+                        .orElseGet(() -> data.get("input.password." + i)));
+                input.range = data.get("input.range." + i);
+                input.step = data.get("input.step." + i);
+                input.reverse = Boolean.valueOf(data.get("input.reverse." + i));
+                inputs.add(input);
+            }
+        }
+        return inputs;
+    }
+
+    /**
+     * @return the document selected in a single selection pane
+     */
+    public static Optional<Input> input(Map<String, String> data) {
+        return ofNullable(data.get("input")).filter(f -> isNotBlank(f))
+                .map(f -> new Input(new File(f), ofNullable(data.get("input.password.enc"))
+                        .map(EncryptionUtils::decrypt).orElseGet(() -> data.get("input.password"))));
+    }
+
+    /**
+     * @param single
+     *            true to store the documents as selected in a single selection pane, false to store them as selected in a selection table
+     * @return a copy of the data where the selected documents, along with their passwords and page selections, are replaced by the given ones
+     */
+    public static Map<String, String> withInputs(Map<String, String> data, List<File> files, boolean single) {
+        Map<String, String> values = new HashMap<>(data);
+        values.keySet().removeIf(k -> "input".equals(k) || k.startsWith("input."));
+        if (single) {
+            files.stream().findFirst().ifPresent(f -> values.put("input", f.getAbsolutePath()));
+        } else {
+            values.put("input.size", Integer.toString(files.size()));
+            for (int i = 0; i < files.size(); i++) {
+                values.put("input." + i, files.get(i).getAbsolutePath());
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Applies the document selected in a single selection pane
+     */
+    public static void applySource(SinglePdfSourceTaskParametersBuilder<?> builder, Map<String, String> data,
+            Consumer<String> onError) {
+        Optional<Input> input = input(data).filter(i -> Validators.existingFileType(FileType.PDF)
+                .isValid(i.getFile().getAbsolutePath()));
+        if (input.isPresent()) {
+            builder.source(input.get().toPdfFileSource());
+        } else {
+            onError.accept(DefaultI18nContext.getInstance().i18n("The selected PDF document is invalid"));
+        }
+    }
+
+    /**
+     * Applies the compression, overwrite, version and bookmarks options of the destination pane
+     */
+    public static void applyPdfOutput(AbstractPdfOutputParametersBuilder<?> builder, Map<String, String> data) {
+        builder.compress(Boolean.valueOf(data.get("compress")));
+        if (Boolean.valueOf(data.get("overwrite"))) {
+            builder.existingOutput(ExistingOutputPolicy.OVERWRITE);
+        }
+        ofNullable(data.get("version")).filter(v -> isNotBlank(v)).map(PdfVersion::valueOf).ifPresent(builder::version);
+        builder.discardBookmarks(Boolean.valueOf(data.get("discardBookmarks")));
+    }
+
+    /**
+     * Applies the destination file stored with the given key
+     */
+    public static void applyFileOutput(SingleOutputTaskParametersBuilder<?> builder, Map<String, String> data,
+            String key, Consumer<String> onError) {
+        String destination = data.get(key);
+        if (isNotBlank(destination) && Validators.fileType(FileType.PDF, false).isValid(destination)) {
+            builder.output(new FileTaskOutput(new File(destination)));
+        } else {
+            onError.accept(DefaultI18nContext.getInstance().i18n("The selected PDF file is invalid"));
+        }
+    }
+
+    /**
+     * Applies the destination directory stored with the given key, creating it if it doesn't exist
+     */
+    public static void applyDirectoryOutput(MultipleOutputTaskParametersBuilder<?> builder, Map<String, String> data,
+            String key, Consumer<String> onError) {
+        String destination = data.get(key);
+        if (isNotBlank(destination)) {
+            Path output = Paths.get(destination);
+            try {
+                if (!Files.exists(output)) {
+                    Files.createDirectories(output);
+                    LOG.info("Created output directory {}", output);
+                }
+            } catch (IOException e) {
+                LOG.warn("Unable to create output directory {}", output, e);
+            }
+            if (Files.isDirectory(output)) {
+                builder.output(directory(output.toFile()));
+            } else {
+                onError.accept(DefaultI18nContext.getInstance().i18n("An existing output directory is required"));
+            }
+        } else {
+            onError.accept(DefaultI18nContext.getInstance().i18n("The output directory is required"));
+        }
+    }
+
+    /**
+     * Applies the prefix, if not in the data the default prefix for the module is used
+     */
+    public static void applyPrefix(MultipleOutputTaskParametersBuilder<?> builder, Map<String, String> data,
+            String module) {
+        builder.prefix(ofNullable(data.get("prefix")).orElseGet(() -> new DefaultUserContext().getDefaultPrefix(module)));
+    }
+
+    /**
+     * A selected document
+     */
+    public static class Input {
+        private final File file;
+        private final String password;
+        private String range;
+        private String step;
+        private boolean reverse;
+
+        Input(File file, String password) {
+            this.file = file;
+            this.password = password;
+        }
+
+        public File getFile() {
+            return file;
+        }
+
+        /**
+         * @return the source for the document
+         * @throws ConversionException
+         *             if the file is invalid
+         */
+        public PdfFileSource toPdfFileSource() throws ConversionException {
+            try {
+                return PdfFileSource.newInstanceWithPassword(file, password);
+            } catch (IllegalArgumentException e) {
+                throw new ConversionException(
+                        DefaultI18nContext.getInstance().i18n("File \"{0}\" does not exist or is invalid", file.getName()),
+                        e);
+            }
+        }
+
+        /**
+         * @return the selected page ranges
+         * @throws ConversionException
+         *             if the selection is invalid
+         */
+        public Set<PageRange> toPageRangeSet() throws ConversionException {
+            return ConversionUtils.toPageRangeSet(range);
+        }
+
+        /**
+         * @return the page selection as typed by the user
+         */
+        public String getRange() {
+            return range;
+        }
+
+        /**
+         * @return the pace or 1 if not set
+         */
+        public String getStep() {
+            return defaultIfBlank(step, "1").trim();
+        }
+
+        public boolean isReverse() {
+            return reverse;
+        }
+    }
+}
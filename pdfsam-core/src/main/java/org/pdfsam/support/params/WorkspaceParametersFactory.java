@@ -0,0 +1,65 @@
+/* 
+ * This file is part of the PDF Split And Merge source code
+ * Created on 17 ott 2026
+ * Copyright 2017 by Sober Lemur S.a.s di Vacondio Andrea (info@pdfsam.org).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as 
+ * published by the Free Software Foundation, either version 3 of the 
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.support.params;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.apache.commons.lang3.builder.Builder;
+import org.sejda.model.parameter.base.TaskParameters;
+
+/**
+ * Creates the builder for the task parameters of a module starting from the data the module stores in a workspace, without any UI component.
+ * It allows to execute the same tasks the module executes when no graphical environment is available.
+ * 
+ * @author Andrea Vacondio
+ *
+ */
+public interface WorkspaceParametersFactory {
+
+    /**
+     * @return the id of the module whose workspace data this factory reads
+     */
+    String moduleId();
+
+    /**
+     * @param data
+     *            the module data, as stored in a workspace
+     * @param onError
+     *            function to call in case of invalid data where the error message is supplied
+     * @return the builder for the task parameters or null if it cannot be created. The builder should not be used if an error was reported.
+     */
+    Builder<? extends TaskParameters> builder(Map<String, String> data, Consumer<String> onError);
+
+    /**
+     * @return true if the module works on a single document selected in a single selection pane, false if it works on the documents of a
+     *         selection table
+     */
+    default boolean singleInput() {
+        return false;
+    }
+
+    /**
+     * @return the key of the data where the module stores its destination file or directory, the destination field of the module destination
+     *         pane
+     */
+    default String outputKey() {
+        return moduleId() + ".destinationbrowsableField";
+    }
+}
@@ -19,10 +19,11 @@
 package org.pdfsam.task;
 
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 
 import org.apache.commons.lang3.builder.EqualsBuilder;
@@ -44,10 +45,13 @@ public class BulkRotateParameters extends AbstractPdfOutputParameters implements
 
     @NotEmpty
     @Valid
-    private final Set<PdfRotationInput> inputSet = new HashSet<>();
+    private final Set<PdfRotationInput> inputSet = new LinkedHashSet<>();
     @Valid
     @NotNull
     private SingleOrMultipleTaskOutput output;
+    @Min(1)
+    private int parallelism = 1;
+    private boolean incremental = false;
 
     @Override
     public SingleOrMultipleTaskOutput getOutput() {
@@ -80,9 +84,33 @@ public class BulkRotateParameters extends AbstractPdfOutputParameters implements
         this.outputPrefix = outputPrefix;
     }
 
+    /**
+     * @return the maximum number of input documents processed, and therefore open, at the same time
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * @return true if rotated documents should be written as an incremental update of the original document, where only the modified pages are
+     *         appended, instead of being fully rewritten
+     */
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+    }
+
     @Override
     public int hashCode() {
-        return new HashCodeBuilder().appendSuper(super.hashCode()).append(outputPrefix).append(inputSet).toHashCode();
+        return new HashCodeBuilder().appendSuper(super.hashCode()).append(outputPrefix).append(inputSet)
+                .append(parallelism).append(incremental).toHashCode();
     }
 
     @Override
@@ -95,6 +123,7 @@ public class BulkRotateParameters extends AbstractPdfOutputParameters implements
         }
         BulkRotateParameters params = (BulkRotateParameters) other;
         return new EqualsBuilder().appendSuper(super.equals(other)).append(outputPrefix, params.outputPrefix)
-                .append(output, params.output).append(inputSet, params.inputSet).isEquals();
+                .append(output, params.output).append(inputSet, params.inputSet)
+                .append(parallelism, params.parallelism).append(incremental, params.incremental).isEquals();
     }
 }
@@ -0,0 +1,81 @@
+/* 
+ * This file is part of the PDF Split And Merge source code
+ * Created on 17 ott 2026
+ * Copyright 2017 by Sober Lemur S.a.s di Vacondio Andrea (info@pdfsam.org).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as 
+ * published by the Free Software Foundation, either version 3 of the 
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.thumbnails;
+
+import static org.sejda.commons.util.RequireUtils.requireArg;
+import static org.sejda.commons.util.RequireUtils.requireNotBlank;
+import static org.sejda.commons.util.RequireUtils.requireNotNullArg;
+
+import java.util.function.Consumer;
+
+import org.apache.commons.lang3.StringUtils;
+import org.pdfsam.module.ModuleOwned;
+import org.pdfsam.pdf.PdfDocumentDescriptor;
+
+import javafx.scene.image.Image;
+
+/**
+ * Request to generate the thumbnail of a page of a document. The thumbnail is given to the consumer on the FX thread, the request is silently
+ * discarded if the document is released by the requester before the thumbnail is generated.
+ * 
+ * @author Andrea Vacondio
+ *
+ */
+public class ThumbnailRequest implements ModuleOwned {
+    private String ownerModule = StringUtils.EMPTY;
+    private PdfDocumentDescriptor descriptor;
+    private int page;
+    private Consumer<Image> consumer;
+
+    /**
+     * @param ownerModule
+     * @param descriptor
+     * @param page
+     *            the page number, starting from 1
+     * @param consumer
+     *            the consumer for the generated thumbnail
+     */
+    public ThumbnailRequest(String ownerModule, PdfDocumentDescriptor descriptor, int page, Consumer<Image> consumer) {
+        requireNotBlank(ownerModule, "Owner module cannot be blank");
+        requireNotNullArg(descriptor, "Document descriptor cannot be null");
+        requireArg(page > 0, "Page number must be positive");
+        requireNotNullArg(consumer, "Thumbnail consumer cannot be null");
+        this.ownerModule = ownerModule;
+        this.descriptor = descriptor;
+        this.page = page;
+        this.consumer = consumer;
+    }
+
+    @Override
+    public String getOwnerModule() {
+        return ownerModule;
+    }
+
+    public PdfDocumentDescriptor getDescriptor() {
+        return descriptor;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public Consumer<Image> getConsumer() {
+        return consumer;
+    }
+}
@@ -24,15 +24,17 @@ import static java.util.Optional.ofNullable;
 import java.io.File;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Event to notify that the user asked to load a workspace.
+ * Event to notify that the user asked to load a workspace. Data can be set one module at the time while the workspace is read, modules can
+ * concurrently read their data.
  * 
  * @author Andrea Vacondio
  * 
  */
 public class LoadWorkspaceEvent extends BaseWorkspaceEvent {
-    private Map<String, Map<String, String>> data = new HashMap<>();
+    private Map<String, Map<String, String>> data = new ConcurrentHashMap<>();
 
     public LoadWorkspaceEvent(File workspace) {
         super(workspace);
@@ -43,6 +45,25 @@ public class LoadWorkspaceEvent extends BaseWorkspaceEvent {
         this.data.putAll(data);
     }
 
+    /**
+     * Sets the data for the given module
+     * 
+     * @param module
+     * @param data
+     */
+    public void setData(String module, Map<String, String> data) {
+        requireNonNull(module);
+        requireNonNull(data);
+        this.data.put(module, data);
+    }
+
+    /**
+     * @return true if no module data has been set
+     */
+    public boolean isEmpty() {
+        return data.isEmpty();
+    }
+
     public Map<String, String> getData(String module) {
         return ofNullable(this.data.get(module)).orElseGet(HashMap::new);
     }
@@ -83,4 +83,18 @@ public class SaveWorkspaceEvent extends BaseWorkspaceEvent {
         return values;
     }
 
+    /**
+     * Removes the data for the module, once it has been written
+     * 
+     * @param module
+     * @return the removed data for the module or an empty map
+     */
+    public Map<String, String> removeDataForModule(String module) {
+        Map<String, String> values = data.remove(module);
+        if (values == null) {
+            return Collections.emptyMap();
+        }
+        return values;
+    }
+
 }
@@ -23,10 +23,16 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.util.prefs.Preferences;
+
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import javafx.beans.value.ObservableBooleanValue;
+import javafx.beans.value.ObservableIntegerValue;
+import javafx.beans.value.ObservableStringValue;
+
 /**
  * Test unit for the {@link DefaultUserContext}.
  * 
@@ -213,6 +219,20 @@ public class DefaultUserContextTest {
         assertEquals(20, victim.getNumberOfLogRows());
     }
 
+    @Test
+    public void getThumbnailsSize() {
+        assertEquals(190, victim.getThumbnailsSize());
+        victim.setIntegerPreference(IntUserPreference.THUMBNAILS_SIZE, 100);
+        assertEquals(100, victim.getThumbnailsSize());
+    }
+
+    @Test
+    public void isHighQualityThumbnails() {
+        assertFalse(victim.isHighQualityThumbnails());
+        victim.setBooleanPreference(BooleanUserPreference.HIGH_QUALITY_THUMB, true);
+        assertTrue(victim.isHighQualityThumbnails());
+    }
+
     @Test
     public void getDefaultPrefix() {
         victim.setDefaultPrefix("module", "banana");
@@ -231,4 +251,42 @@ public class DefaultUserContextTest {
     public void getDefaultPrefixNullModule() {
         victim.getDefaultPrefix(null);
     }
+
+    @Test
+    public void sharedBetweenInstances() {
+        victim.setIntegerPreference(IntUserPreference.THUMBNAILS_SIZE, 100);
+        victim.setDefaultPrefix("module", "banana");
+        DefaultUserContext other = new DefaultUserContext();
+        assertEquals(100, other.getThumbnailsSize());
+        assertEquals("banana", other.getDefaultPrefix("module"));
+    }
+
+    @Test
+    public void flush() {
+        victim.setBooleanPreference(BooleanUserPreference.SMART_OUTPUT, false);
+        victim.setStringPreference(StringUserPreference.WORKING_PATH, "/path");
+        victim.setDefaultPrefix("module", "banana");
+        victim.flush();
+        Preferences node = Preferences.userRoot().node(CachedPreferences.USER_CONF_PATH);
+        assertFalse(node.getBoolean(BooleanUserPreference.SMART_OUTPUT.toString(), true));
+        assertEquals("/path", node.get(StringUserPreference.WORKING_PATH.toString(), ""));
+        assertEquals("banana", node.node("module").get(StringUserPreference.DEFAULT_PREFIX.toString(), ""));
+    }
+
+    @Test
+    public void observablePreferences() {
+        ObservableBooleanValue smartOutput = victim.booleanPreference(BooleanUserPreference.SMART_OUTPUT);
+        ObservableIntegerValue logRows = victim.integerPreference(IntUserPreference.LOGVIEW_ROWS_NUMBER);
+        ObservableStringValue locale = victim.stringPreference(StringUserPreference.LOCALE);
+        assertTrue(smartOutput.get());
+        assertEquals(200, logRows.get());
+        new DefaultUserContext().setBooleanPreference(BooleanUserPreference.SMART_OUTPUT, false);
+        victim.setIntegerPreference(IntUserPreference.LOGVIEW_ROWS_NUMBER, 20);
+        victim.setStringPreference(StringUserPreference.LOCALE, "it");
+        assertFalse(smartOutput.get());
+        assertEquals(20, logRows.get());
+        assertEquals("it", locale.get());
+        victim.clear();
+        assertTrue(smartOutput.get());
+    }
 }
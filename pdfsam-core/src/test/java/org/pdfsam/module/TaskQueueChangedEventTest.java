@@ -0,0 +1,57 @@
+/* 
+ * This file is part of the PDF Split And Merge source code
+ * Created on 17 ott 2026
+ * Copyright 2017 by Sober Lemur S.a.s di Vacondio Andrea (info@pdfsam.org).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as 
+ * published by the Free Software Foundation, either version 3 of the 
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.module;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class TaskQueueChangedEventTest {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void blankModule() {
+        new TaskQueueChangedEvent(" ", 0, false);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeQueued() {
+        new TaskQueueChangedEvent("module", -1, false);
+    }
+
+    @Test
+    public void idle() {
+        assertTrue(new TaskQueueChangedEvent("module", 0, false).isIdle());
+        assertFalse(new TaskQueueChangedEvent("module", 1, false).isIdle());
+        assertFalse(new TaskQueueChangedEvent("module", 0, true).isIdle());
+    }
+
+    @Test
+    public void values() {
+        TaskQueueChangedEvent victim = new TaskQueueChangedEvent("module", 2, true);
+        assertEquals("module", victim.getModuleId());
+        assertEquals(2, victim.getQueued());
+        assertTrue(victim.isRunning());
+    }
+}
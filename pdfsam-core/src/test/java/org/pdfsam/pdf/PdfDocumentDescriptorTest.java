@@ -124,6 +124,7 @@ public class PdfDocumentDescriptorTest {
         values.put("key", "value");
         victim.setInformationDictionary(values);
         assertEquals("value", victim.getInformation("key"));
+        assertEquals(values, victim.getInformationDictionary());
     }
 
     @Test
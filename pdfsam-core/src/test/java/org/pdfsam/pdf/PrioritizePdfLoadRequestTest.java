@@ -0,0 +1,47 @@
+/* 
+ * This file is part of the PDF Split And Merge source code
+ * Created on 17 ott 2026
+ * Copyright 2017 by Sober Lemur S.a.s di Vacondio Andrea (info@pdfsam.org).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as 
+ * published by the Free Software Foundation, either version 3 of the 
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.pdf;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class PrioritizePdfLoadRequestTest {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void blankModule() {
+        new PrioritizePdfLoadRequest("  ", Collections.emptyList());
+    }
+
+    @Test
+    public void valid() {
+        PdfDocumentDescriptor descriptor = mock(PdfDocumentDescriptor.class);
+        PrioritizePdfLoadRequest victim = new PrioritizePdfLoadRequest("module", Arrays.asList(descriptor));
+        assertEquals("module", victim.getOwnerModule());
+        assertEquals(Arrays.asList(descriptor), victim.getDocuments());
+    }
+}
@@ -21,6 +21,8 @@ package org.pdfsam.support;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 
+import java.util.function.UnaryOperator;
+
 import org.junit.Test;
 
 /**
@@ -48,4 +50,14 @@ public class EncryptionUtilsTest {
         assertNull(EncryptionUtils.encrypt(null));
     }
 
+    @Test
+    public void reusedCipher() {
+        UnaryOperator<String> encrypter = EncryptionUtils.encrypter();
+        UnaryOperator<String> decrypter = EncryptionUtils.decrypter();
+        assertEquals(ENC, encrypter.apply(TEST));
+        assertEquals(ENC, encrypter.apply(TEST));
+        assertNull(encrypter.apply(null));
+        assertEquals(TEST, decrypter.apply(ENC));
+        assertEquals(TEST, decrypter.apply(encrypter.apply(TEST)));
+    }
 }
@@ -0,0 +1,102 @@
+/* 
+ * This file is part of the PDF Split And Merge source code
+ * Created on 17 ott 2026
+ * Copyright 2017 by Sober Lemur S.a.s di Vacondio Andrea (info@pdfsam.org).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as 
+ * published by the Free Software Foundation, either version 3 of the 
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.support.params;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.pdfsam.support.EncryptionUtils;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class WorkspaceParametersTest {
+
+    @Test
+    public void hasInput() {
+        Map<String, String> data = new HashMap<>();
+        assertFalse(WorkspaceParameters.hasInput(data));
+        data.put("input.size", "0");
+        assertFalse(WorkspaceParameters.hasInput(data));
+        data.put("input.size", "1");
+        assertTrue(WorkspaceParameters.hasInput(data));
+        data.clear();
+        data.put("input", "/tmp/chuck.pdf");
+        assertTrue(WorkspaceParameters.hasInput(data));
+    }
+
+    @Test
+    public void inputs() {
+        Map<String, String> data = new HashMap<>();
+        data.put("input.size", "3");
+        data.put("input.0", "/tmp/chuck.pdf");
+        data.put("input.password.enc0", EncryptionUtils.encrypt("pwd"));
+        data.put("input.range.0", "2-4");
+        data.put("input.step.0", " 2 ");
+        data.put("input.reverse.0", "true");
+        data.put("input.2", "/tmp/norris.pdf");
+        data.put("input.password.2", "plain");
+        List<WorkspaceParameters.Input> inputs = WorkspaceParameters.inputs(data);
+        assertEquals(2, inputs.size());
+        assertEquals(new File("/tmp/chuck.pdf"), inputs.get(0).getFile());
+        assertEquals("2-4", inputs.get(0).getRange());
+        assertEquals("2", inputs.get(0).getStep());
+        assertTrue(inputs.get(0).isReverse());
+        assertEquals(new File("/tmp/norris.pdf"), inputs.get(1).getFile());
+        assertEquals("1", inputs.get(1).getStep());
+        assertFalse(inputs.get(1).isReverse());
+    }
+
+    @Test
+    public void input() {
+        Map<String, String> data = new HashMap<>();
+        assertFalse(WorkspaceParameters.input(data).isPresent());
+        data.put("input", "/tmp/chuck.pdf");
+        assertEquals(new File("/tmp/chuck.pdf"), WorkspaceParameters.input(data).get().getFile());
+    }
+
+    @Test
+    public void withInputs() {
+        Map<String, String> data = new HashMap<>();
+        data.put("input.size", "1");
+        data.put("input.0", "/tmp/chuck.pdf");
+        data.put("input.range.0", "2-4");
+        data.put("compress", "true");
+        List<File> files = Arrays.asList(new File("/tmp/a.pdf"), new File("/tmp/b.pdf"));
+        Map<String, String> table = WorkspaceParameters.withInputs(data, files, false);
+        assertEquals("2", table.get("input.size"));
+        assertEquals(new File("/tmp/b.pdf").getAbsolutePath(), table.get("input.1"));
+        assertNull(table.get("input.range.0"));
+        assertEquals("true", table.get("compress"));
+        assertEquals("/tmp/chuck.pdf", data.get("input.0"));
+        Map<String, String> single = WorkspaceParameters.withInputs(data, files, true);
+        assertEquals(new File("/tmp/a.pdf").getAbsolutePath(), single.get("input"));
+        assertNull(single.get("input.size"));
+    }
+}
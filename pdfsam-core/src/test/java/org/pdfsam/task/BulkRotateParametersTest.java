@@ -45,4 +45,36 @@ public class BulkRotateParametersTest {
         diff.addInput(two);
         TestUtils.testEqualsAndHashCodes(eq1, eq2, eq3, diff);
     }
+
+    @Test
+    public void testEqualsParallelism() {
+        PdfSource<?> source = mock(PdfSource.class);
+        PdfRotationInput input = new PdfRotationInput(source, Rotation.DEGREES_180);
+        BulkRotateParameters eq1 = new BulkRotateParameters();
+        eq1.addInput(input);
+        BulkRotateParameters eq2 = new BulkRotateParameters();
+        eq2.addInput(input);
+        BulkRotateParameters eq3 = new BulkRotateParameters();
+        eq3.addInput(input);
+        BulkRotateParameters diff = new BulkRotateParameters();
+        diff.addInput(input);
+        diff.setParallelism(4);
+        TestUtils.testEqualsAndHashCodes(eq1, eq2, eq3, diff);
+    }
+
+    @Test
+    public void testEqualsIncremental() {
+        PdfSource<?> source = mock(PdfSource.class);
+        PdfRotationInput input = new PdfRotationInput(source, Rotation.DEGREES_180);
+        BulkRotateParameters eq1 = new BulkRotateParameters();
+        eq1.addInput(input);
+        BulkRotateParameters eq2 = new BulkRotateParameters();
+        eq2.addInput(input);
+        BulkRotateParameters eq3 = new BulkRotateParameters();
+        eq3.addInput(input);
+        BulkRotateParameters diff = new BulkRotateParameters();
+        diff.addInput(input);
+        diff.setIncremental(true);
+        TestUtils.testEqualsAndHashCodes(eq1, eq2, eq3, diff);
+    }
 }
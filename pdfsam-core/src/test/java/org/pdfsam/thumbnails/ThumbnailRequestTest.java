@@ -0,0 +1,71 @@
+/* 
+ * This file is part of the PDF Split And Merge source code
+ * Created on 17 ott 2026
+ * Copyright 2017 by Sober Lemur S.a.s di Vacondio Andrea (info@pdfsam.org).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as 
+ * published by the Free Software Foundation, either version 3 of the 
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.thumbnails;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import java.util.function.Consumer;
+
+import org.junit.Test;
+import org.pdfsam.pdf.PdfDocumentDescriptor;
+
+import javafx.scene.image.Image;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class ThumbnailRequestTest {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void blankModule() {
+        new ThumbnailRequest("  ", mock(PdfDocumentDescriptor.class), 1, i -> {
+        });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullDescriptor() {
+        new ThumbnailRequest("module", null, 1, i -> {
+        });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidPage() {
+        new ThumbnailRequest("module", mock(PdfDocumentDescriptor.class), 0, i -> {
+        });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullConsumer() {
+        new ThumbnailRequest("module", mock(PdfDocumentDescriptor.class), 1, null);
+    }
+
+    @Test
+    public void valid() {
+        PdfDocumentDescriptor descriptor = mock(PdfDocumentDescriptor.class);
+        Consumer<Image> consumer = i -> {
+        };
+        ThumbnailRequest victim = new ThumbnailRequest("module", descriptor, 2, consumer);
+        assertEquals("module", victim.getOwnerModule());
+        assertEquals(descriptor, victim.getDescriptor());
+        assertEquals(2, victim.getPage());
+        assertEquals(consumer, victim.getConsumer());
+    }
+}
@@ -68,4 +68,16 @@ public class LoadWorkspaceEventTest {
         assertNotNull(victim.getData("CHUCK"));
         assertTrue(victim.getData("CHUCK").isEmpty());
     }
+
+    @Test
+    public void setModuleData() {
+        Map<String, String> data = new HashMap<>();
+        data.put("victiminput.size", "2");
+        LoadWorkspaceEvent victim = new LoadWorkspaceEvent(mock(File.class));
+        assertTrue(victim.isEmpty());
+        victim.setData("module", data);
+        assertFalse(victim.isEmpty());
+        assertEquals("2", victim.getData("module").get("victiminput.size"));
+        assertTrue(victim.getData("another").isEmpty());
+    }
 }
@@ -84,4 +84,12 @@ public class SaveWorkspaceEventTest {
     public void nullSafeGet() {
         assertEquals(0, victim.getDataForModule("chuck").size());
     }
+
+    @Test
+    public void remove() {
+        victim.addValue("module", "key", "value");
+        assertEquals("value", victim.removeDataForModule("module").get("key"));
+        assertTrue(victim.getData().isEmpty());
+        assertTrue(victim.removeDataForModule("module").isEmpty());
+    }
 }
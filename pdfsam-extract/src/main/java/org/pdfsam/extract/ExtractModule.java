@@ -22,17 +22,20 @@ import static org.pdfsam.module.ModuleDescriptorBuilder.builder;
 import static org.pdfsam.ui.io.PdfDestinationPane.DestinationPanelFields.DISCARD_BOOKMARKS;
 import static org.pdfsam.ui.support.Views.titledPane;
 
+import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
 
 import javax.inject.Inject;
 import javax.inject.Named;
+import javax.inject.Provider;
 
 import org.pdfsam.context.UserContext;
 import org.pdfsam.i18n.DefaultI18nContext;
 import org.pdfsam.injector.Auto;
 import org.pdfsam.injector.Components;
 import org.pdfsam.injector.Provides;
+import org.pdfsam.module.Module;
 import org.pdfsam.module.ModuleCategory;
 import org.pdfsam.module.ModuleDescriptor;
 import org.pdfsam.module.ModuleInputOutputType;
@@ -46,7 +49,6 @@ import org.pdfsam.ui.module.OpenButton;
 import org.pdfsam.ui.module.RunButton;
 import org.pdfsam.ui.prefix.PrefixPane;
 import org.pdfsam.ui.support.Views;
-import org.pdfsam.eventstudio.annotation.EventListener;
 import org.pdfsam.eventstudio.annotation.EventStation;
 import org.sejda.model.prefix.Prefix;
 
@@ -66,10 +68,10 @@ import javafx.scene.layout.VBox;
 @Auto
 public class ExtractModule extends BaseTaskExecutionModule {
 
-    private static final String MODULE_ID = "extract";
+    static final String MODULE_ID = "extract";
 
-    private ExtractSelectionPane selectionPane = new ExtractSelectionPane(MODULE_ID);
-    private ExtractOptionsPane extractOptions = new ExtractOptionsPane();
+    private ExtractSelectionPane selectionPane;
+    private ExtractOptionsPane extractOptions;
     private BrowsableOutputDirectoryField destinationDirectoryField;
     private PdfDestinationPane destinationPane;
     private PrefixPane prefix;
@@ -81,14 +83,19 @@ public class ExtractModule extends BaseTaskExecutionModule {
             .priority(ModulePriority.DEFAULT.getPriority()).supportURL("https://pdfsam.org/pdf-extract-pages/").build();
 
     @Inject
-    public ExtractModule(@Named(MODULE_ID + "field") BrowsableOutputDirectoryField destinationDirectoryField,
-            @Named(MODULE_ID + "pane") PdfDestinationPane destinationPane, @Named(MODULE_ID + "footer") Footer footer,
-            @Named(MODULE_ID + "prefix") PrefixPane prefix) {
+    public ExtractModule(@Named(MODULE_ID + "field") Provider<BrowsableOutputDirectoryField> destinationDirectoryField,
+            @Named(MODULE_ID + "pane") Provider<PdfDestinationPane> destinationPane,
+            @Named(MODULE_ID + "footer") Provider<Footer> footer,
+            @Named(MODULE_ID + "prefix") Provider<PrefixPane> prefix) {
         super(footer);
-        this.destinationDirectoryField = destinationDirectoryField;
-        this.destinationPane = destinationPane;
-        this.prefix = prefix;
-        initModuleSettingsPanel(settingPanel());
+        initModuleSettingsPanel(() -> {
+            this.selectionPane = new ExtractSelectionPane(MODULE_ID);
+            this.extractOptions = new ExtractOptionsPane();
+            this.destinationDirectoryField = destinationDirectoryField.get();
+            this.destinationPane = destinationPane.get();
+            this.prefix = prefix.get();
+            return settingPanel();
+        });
     }
 
     @Override
@@ -152,8 +159,8 @@ public class ExtractModule extends BaseTaskExecutionModule {
         return MODULE_ID;
     }
 
-    @EventListener
-    public void onClearModule(ClearModuleEvent e) {
+    @Override
+    protected void onClearModule(ClearModuleEvent e) {
         if (e.clearEverything) {
             extractOptions.resetView();
             prefix.resetView();
@@ -189,8 +196,8 @@ public class ExtractModule extends BaseTaskExecutionModule {
 
         @Provides
         @Named(MODULE_ID + "openButton")
-        public OpenButton openButton() {
-            return new OpenButton(MODULE_ID, ModuleInputOutputType.MULTIPLE_PDF);
+        public OpenButton openButton(List<Module> modules) {
+            return OpenButton.forModules(MODULE_ID, ModuleInputOutputType.MULTIPLE_PDF, modules);
         }
 
         @Provides
@@ -0,0 +1,79 @@
+/* 
+ * This file is part of the PDF Split And Merge source code
+ * Created on 17 ott 2026
+ * Copyright 2017 by Sober Lemur S.a.s di Vacondio Andrea (info@pdfsam.org).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as 
+ * published by the Free Software Foundation, either version 3 of the 
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.extract;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.pdfsam.i18n.DefaultI18nContext;
+import org.pdfsam.support.params.ConversionUtils;
+import org.pdfsam.support.params.WorkspaceParameters;
+import org.pdfsam.support.params.WorkspaceParametersFactory;
+import org.sejda.conversion.exception.ConversionException;
+import org.sejda.model.pdf.page.PageRange;
+
+/**
+ * Creates the {@link ExtractParametersBuilder} from the extract module workspace data
+ * 
+ * @author Andrea Vacondio
+ *
+ */
+public class ExtractWorkspaceParametersFactory implements WorkspaceParametersFactory {
+
+    @Override
+    public String moduleId() {
+        return ExtractModule.MODULE_ID;
+    }
+
+    @Override
+    public ExtractParametersBuilder builder(Map<String, String> data, Consumer<String> onError) {
+        Map<String, String> values = new HashMap<>(data);
+        // backwards comp when extract had a single input
+        if (values.containsKey("input")) {
+            values.put("input.0", values.get("input"));
+            values.put("input.password.0", values.get("input.password"));
+            values.put("input.size", "1");
+        }
+        ExtractParametersBuilder builder = new ExtractParametersBuilder();
+        try {
+            Set<PageRange> ranges = ConversionUtils.toPageRangeSet(values.get("pages"));
+            if (ranges.isEmpty()) {
+                onError.accept(DefaultI18nContext.getInstance().i18n("Invalid page ranges"));
+            } else {
+                builder.ranges(ranges);
+            }
+        } catch (ConversionException e) {
+            onError.accept(e.getMessage());
+        }
+        try {
+            WorkspaceParameters.inputs(values).forEach(i -> builder.addSource(i.toPdfFileSource()));
+            if (!builder.hasInput()) {
+                onError.accept(DefaultI18nContext.getInstance().i18n("No PDF document has been selected"));
+            }
+        } catch (ConversionException e) {
+            onError.accept(e.getMessage());
+        }
+        WorkspaceParameters.applyDirectoryOutput(builder, values, outputKey(), onError);
+        WorkspaceParameters.applyPdfOutput(builder, values);
+        WorkspaceParameters.applyPrefix(builder, values, ExtractModule.MODULE_ID);
+        return builder;
+    }
+}
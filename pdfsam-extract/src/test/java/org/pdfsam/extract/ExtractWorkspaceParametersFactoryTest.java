@@ -0,0 +1,121 @@
+/* 
+ * This file is part of the PDF Split And Merge source code
+ * Created on 17 ott 2026
+ * Copyright 2017 by Sober Lemur S.a.s di Vacondio Andrea (info@pdfsam.org).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as 
+ * published by the Free Software Foundation, either version 3 of the 
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.extract;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.pdfsam.support.params.ConversionUtils;
+import org.sejda.model.parameter.ExtractPagesParameters;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class ExtractWorkspaceParametersFactoryTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    private Consumer<String> onError;
+    private Map<String, String> data;
+    private File first;
+    private ExtractWorkspaceParametersFactory victim = new ExtractWorkspaceParametersFactory();
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws IOException {
+        onError = mock(Consumer.class);
+        first = folder.newFile("first.pdf");
+        data = new HashMap<>();
+        data.put("input.size", "2");
+        data.put("input.0", first.getAbsolutePath());
+        data.put("input.1", folder.newFile("second.pdf").getAbsolutePath());
+        data.put("pages", "2,5-20,33");
+        data.put("prefix", "prefix_");
+        data.put(victim.outputKey(), folder.newFolder("out").getAbsolutePath());
+    }
+
+    @Test
+    public void build() {
+        data.put("discardBookmarks", "true");
+        ExtractPagesParameters params = victim.builder(data, onError).build();
+        verify(onError, never()).accept(anyString());
+        assertEquals(ConversionUtils.toPageRangeSet("2,5-20,33"), params.getPageSelection());
+        assertEquals(2, params.getSourceList().size());
+        assertEquals(first, params.getSourceList().get(0).getSource());
+        assertEquals("prefix_", params.getOutputPrefix());
+        assertTrue(params.discardOutline());
+    }
+
+    @Test
+    public void legacySingleInput() {
+        data.remove("input.size");
+        data.put("input", first.getAbsolutePath());
+        ExtractPagesParameters params = victim.builder(data, onError).build();
+        verify(onError, never()).accept(anyString());
+        assertEquals(1, params.getSourceList().size());
+        assertEquals(first, params.getSourceList().get(0).getSource());
+    }
+
+    @Test
+    public void invalidPages() {
+        data.put("pages", "Chuck");
+        victim.builder(data, onError);
+        verify(onError).accept(anyString());
+    }
+
+    @Test
+    public void noPages() {
+        data.remove("pages");
+        victim.builder(data, onError);
+        verify(onError).accept(anyString());
+    }
+
+    @Test
+    public void noInput() {
+        data.put("input.size", "0");
+        victim.builder(data, onError);
+        verify(onError).accept(anyString());
+    }
+
+    @Test
+    public void noOutput() {
+        data.remove(victim.outputKey());
+        victim.builder(data, onError);
+        verify(onError).accept(anyString());
+    }
+
+    @Test
+    public void outputKey() {
+        assertEquals("extract.destinationbrowsableField", victim.outputKey());
+    }
+}
@@ -18,14 +18,21 @@
  */
 package org.pdfsam.ui.module;
 
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 import static org.pdfsam.eventstudio.StaticStudio.eventStudio;
 
+import java.util.Map;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import javax.inject.Provider;
 
 import org.apache.commons.lang3.builder.Builder;
 import org.pdfsam.i18n.DefaultI18nContext;
 import org.pdfsam.module.Module;
 import org.pdfsam.module.TaskExecutionRequestEvent;
+import org.pdfsam.ui.commons.ClearModuleEvent;
 import org.pdfsam.ui.notification.AddNotificationRequestEvent;
 import org.pdfsam.ui.notification.NotificationType;
 import org.pdfsam.ui.support.Style;
@@ -34,6 +41,8 @@ import org.pdfsam.ui.workspace.SaveWorkspaceEvent;
 import org.pdfsam.eventstudio.annotation.EventListener;
 import org.pdfsam.eventstudio.annotation.EventStation;
 import org.sejda.model.parameter.base.AbstractParameters;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javafx.application.Platform;
 import javafx.scene.layout.BorderPane;
@@ -42,45 +51,105 @@ import javafx.scene.layout.VBox;
 
 /**
  * Base class for a {@link Module}. Modules are automatically scanned for event listener annotations and have their {@link EventStation} set to their {@link #id()}.
+ * The module panel is created the first time it's requested, modules that are never shown, or restored from a workspace, don't build their UI.
  * 
  * @author Andrea Vacondio
  *
  */
 public abstract class BaseTaskExecutionModule implements Module {
+    private static final Logger LOG = LoggerFactory.getLogger(BaseTaskExecutionModule.class);
 
-    private BorderPane modulePanel = new BorderPane();
-    private Footer footer;
+    private Provider<Footer> footerProvider;
+    private Supplier<VBox> settingsPanel;
+    private volatile BorderPane modulePanel;
 
-    public BaseTaskExecutionModule(Footer footer) {
-        this.footer = footer;
+    public BaseTaskExecutionModule(Provider<Footer> footer) {
+        this.footerProvider = footer;
     }
 
-    protected final void initModuleSettingsPanel(VBox panel) {
-        panel.getStyleClass().addAll(Style.DEAULT_CONTAINER.css());
-        panel.getStyleClass().addAll(Style.MODULE_CONTAINER.css());
-        panel.getChildren().add(footer);
-
-        footer.runButton().setOnAction(event -> {
-            ErrorTracker errorTracker = new ErrorTracker();
-            Builder<? extends AbstractParameters> builder = getBuilder(errorTracker
-                    .andThen(s -> eventStudio().broadcast(new AddNotificationRequestEvent(NotificationType.ERROR, s,
-                            DefaultI18nContext.getInstance().i18n("Invalid parameters")))));
-            if (!errorTracker.errorOnBuild) {
-                eventStudio().broadcast(new TaskExecutionRequestEvent(id(), builder.build()));
-            }
-        });
-        modulePanel.setCenter(panel);
+    /**
+     * Registers the module listeners and sets the supplier of the settings panel, called the first time the module panel is requested
+     * 
+     * @param settingsPanel
+     */
+    protected final void initModuleSettingsPanel(Supplier<VBox> settingsPanel) {
+        this.settingsPanel = settingsPanel;
         eventStudio().addAnnotatedListeners(this);
     }
 
+    @Override
+    public final Pane modulePanel() {
+        if (isNull(modulePanel)) {
+            long start = System.currentTimeMillis();
+            VBox panel = settingsPanel.get();
+            Footer footer = footerProvider.get();
+            panel.getStyleClass().addAll(Style.DEAULT_CONTAINER.css());
+            panel.getStyleClass().addAll(Style.MODULE_CONTAINER.css());
+            panel.getChildren().add(footer);
+
+            footer.runButton().setOnAction(event -> {
+                ErrorTracker errorTracker = new ErrorTracker();
+                Builder<? extends AbstractParameters> builder = getBuilder(errorTracker
+                        .andThen(s -> eventStudio().broadcast(new AddNotificationRequestEvent(NotificationType.ERROR,
+                                s, DefaultI18nContext.getInstance().i18n("Invalid parameters")))));
+                if (!errorTracker.errorOnBuild) {
+                    eventStudio().broadcast(new TaskExecutionRequestEvent(id(), builder.build()));
+                }
+            });
+            BorderPane created = new BorderPane();
+            created.setCenter(panel);
+            modulePanel = created;
+            LOG.debug("Module {} panel created in {}ms", id(), System.currentTimeMillis() - start);
+        }
+        return modulePanel;
+    }
+
+    /**
+     * @return true if the module panel has been created
+     */
+    protected final boolean isPanelCreated() {
+        return nonNull(modulePanel);
+    }
+
     @EventListener
     public final void saveStateData(SaveWorkspaceEvent event) {
-        onSaveWorkspace(event.getDataForModule(id()));
+        // a module whose panel has not been created has no state of its own
+        if (isPanelCreated()) {
+            onSaveWorkspace(event.getDataForModule(id()));
+        }
     }
 
     @EventListener
     public final void restoreState(LoadWorkspaceEvent event) {
-        Platform.runLater(() -> onLoadWorkspace(event.getData(id())));
+        Map<String, String> data = event.getData(id());
+        Runnable restore = () -> {
+            if (isPanelCreated() || !data.isEmpty()) {
+                modulePanel();
+                onLoadWorkspace(data);
+            }
+        };
+        // restored in place when the workspace is restored on the FX thread, so the document loads it requests are part of the batch
+        if (Platform.isFxApplicationThread()) {
+            restore.run();
+        } else {
+            Platform.runLater(restore);
+        }
+    }
+
+    @EventListener
+    public final void clearModule(ClearModuleEvent event) {
+        if (isPanelCreated()) {
+            onClearModule(event);
+        }
+    }
+
+    /**
+     * Request to clear the module state, only called if the module panel has been created
+     * 
+     * @param event
+     */
+    protected void onClearModule(ClearModuleEvent event) {
+        // nothing by default
     }
 
     /**
@@ -90,11 +159,6 @@ public abstract class BaseTaskExecutionModule implements Module {
      */
     protected abstract Builder<? extends AbstractParameters> getBuilder(Consumer<String> onError);
 
-    @Override
-    public Pane modulePanel() {
-        return modulePanel;
-    }
-
     /**
      * It keeps track of errors during the build step and allow for a later assessment of the build process.
      * 
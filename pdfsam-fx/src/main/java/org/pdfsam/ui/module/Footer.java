@@ -27,6 +27,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.pdfsam.i18n.DefaultI18nContext;
 import org.pdfsam.module.ModuleOwned;
 import org.pdfsam.module.TaskExecutionRequestEvent;
+import org.pdfsam.module.TaskQueueChangedEvent;
 import org.pdfsam.eventstudio.annotation.EventListener;
 import org.pdfsam.eventstudio.annotation.EventStation;
 import org.sejda.model.notification.event.PercentageOfWorkDoneChangedEvent;
@@ -43,7 +44,7 @@ import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
 
 /**
- * Horizontal buttons panel shown in the footer
+ * Horizontal buttons panel shown in the footer. The run button is disabled as long as the module has tasks queued or running.
  * 
  * @author Andrea Vacondio
  *
@@ -78,6 +79,7 @@ public class Footer extends HBox implements ModuleOwned {
         this.getChildren().addAll(runButton, buttons, progressPane);
         eventStudio().add(TaskExecutionRequestEvent.class, e -> {
             if (e.getModuleId().equals(ownerModule)) {
+                runButton.setDisable(true);
                 failed.setVisible(false);
                 openButton.setVisible(false);
                 statusLabel.setVisible(true);
@@ -117,6 +119,17 @@ public class Footer extends HBox implements ModuleOwned {
         statusLabel.setText(DefaultI18nContext.getInstance().i18n("Failed"));
     }
 
+    @EventListener
+    public void onQueueChanged(TaskQueueChangedEvent event) {
+        runButton.setDisable(!event.isIdle());
+        if (event.isRunning()) {
+            statusLabel.setText(DefaultI18nContext.getInstance().i18n("Running"));
+        } else if (event.getQueued() > 0) {
+            statusLabel.setVisible(true);
+            statusLabel.setText(DefaultI18nContext.getInstance().i18n("Queued"));
+        }
+    }
+
     @EventListener
     public void onProgress(PercentageOfWorkDoneChangedEvent event) {
         statusLabel.setText(DefaultI18nContext.getInstance().i18n("Running"));
@@ -104,6 +104,16 @@ public class OpenButton extends SplitMenuButton implements TaskOutputDispatcher
         eventStudio().addAnnotatedListeners(this);
     }
 
+    /**
+     * @return a button for the given owner module with a menu item for every module accepting the given output type as input
+     */
+    public static OpenButton forModules(String ownerModule, ModuleInputOutputType outputType,
+            Collection<Module> modules) {
+        OpenButton button = new OpenButton(ownerModule, outputType);
+        button.initModules(modules);
+        return button;
+    }
+
     private boolean openFile(File file) {
         if (file != null && file.exists()) {
             eventStudio().broadcast(new OpenFileRequest(file));
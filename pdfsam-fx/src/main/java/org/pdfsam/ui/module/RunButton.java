@@ -18,22 +18,16 @@
  */
 package org.pdfsam.ui.module;
 
-import static org.pdfsam.eventstudio.StaticStudio.eventStudio;
-
 import org.pdfsam.i18n.DefaultI18nContext;
 import org.pdfsam.injector.Prototype;
-import org.pdfsam.module.TaskExecutionRequestEvent;
 import org.pdfsam.ui.support.Style;
-import org.pdfsam.eventstudio.annotation.EventListener;
-import org.sejda.model.notification.event.TaskExecutionCompletedEvent;
-import org.sejda.model.notification.event.TaskExecutionFailedEvent;
 
 import de.jensd.fx.glyphs.materialdesignicons.MaterialDesignIcon;
 import de.jensd.fx.glyphs.materialdesignicons.utils.MaterialDesignIconFactory;
 import javafx.scene.control.Button;
 
 /**
- * Run button that enable/disable itself according the task executions events.
+ * Run button of a module. It's enabled/disabled by the module {@link Footer} according to the state of the tasks requested by the module.
  * 
  * @author Andrea Vacondio
  *
@@ -48,21 +42,5 @@ public class RunButton extends Button {
         setMaxHeight(Double.MAX_VALUE);
         setPrefHeight(Double.MAX_VALUE);
         setDefaultButton(true);
-        eventStudio().addAnnotatedListeners(this);
-    }
-
-    @EventListener
-    public void disableRunButtonIfTaskRequested(TaskExecutionRequestEvent event) {
-        setDisable(true);
-    }
-
-    @EventListener
-    public void enableRunButtonOnTaskCompletion(TaskExecutionCompletedEvent event) {
-        setDisable(false);
-    }
-
-    @EventListener
-    public void enableRunButtonOnTaskFailure(TaskExecutionFailedEvent event) {
-        setDisable(false);
     }
 }
@@ -18,10 +18,12 @@
  */
 package org.pdfsam.ui.selection.multiple;
 
+import static java.util.Objects.nonNull;
 import static java.util.Optional.of;
 import static java.util.Optional.ofNullable;
 import static org.apache.commons.lang3.StringUtils.defaultString;
-import static org.pdfsam.support.EncryptionUtils.encrypt;
+import static org.pdfsam.support.EncryptionUtils.decrypter;
+import static org.pdfsam.support.EncryptionUtils.encrypter;
 import static org.pdfsam.support.io.ObjectCollectionWriter.writeContent;
 import static org.pdfsam.ui.commons.SetDestinationRequest.requestDestination;
 import static org.pdfsam.ui.commons.SetDestinationRequest.requestFallbackDestination;
@@ -32,14 +34,11 @@ import static org.pdfsam.eventstudio.StaticStudio.eventStudio;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
-import java.util.SortedSet;
-import java.util.TreeSet;
 import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -47,10 +46,13 @@ import org.apache.commons.lang3.StringUtils;
 import org.pdfsam.context.DefaultUserContext;
 import org.pdfsam.i18n.DefaultI18nContext;
 import org.pdfsam.module.ModuleOwned;
+import org.pdfsam.pdf.CancelPdfLoadRequest;
 import org.pdfsam.pdf.MultipleFilesDroppedEvent;
+import org.pdfsam.pdf.PdfDescriptorLoadingStatus;
 import org.pdfsam.pdf.PdfDocumentDescriptor;
 import org.pdfsam.pdf.PdfLoadRequestEvent;
-import org.pdfsam.support.EncryptionUtils;
+import org.pdfsam.pdf.PrioritizePdfLoadRequest;
+import org.pdfsam.thumbnails.CancelThumbnailsRequest;
 import org.pdfsam.ui.commons.ClearModuleEvent;
 import org.pdfsam.ui.commons.OpenFileRequest;
 import org.pdfsam.ui.commons.RemoveSelectedEvent;
@@ -69,18 +71,23 @@ import org.slf4j.LoggerFactory;
 
 import de.jensd.fx.glyphs.materialdesignicons.MaterialDesignIcon;
 import de.jensd.fx.glyphs.materialdesignicons.utils.MaterialDesignIconFactory;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
 import javafx.application.Platform;
 import javafx.collections.ListChangeListener.Change;
 import javafx.collections.ObservableList;
 import javafx.geometry.Point2D;
+import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.control.ContextMenu;
+import javafx.scene.control.IndexedCell;
 import javafx.scene.control.Label;
 import javafx.scene.control.MenuItem;
 import javafx.scene.control.SelectionMode;
 import javafx.scene.control.SeparatorMenuItem;
 import javafx.scene.control.TableRow;
 import javafx.scene.control.TableView;
+import javafx.scene.control.skin.VirtualFlow;
 import javafx.scene.input.Clipboard;
 import javafx.scene.input.ClipboardContent;
 import javafx.scene.input.DataFormat;
@@ -91,6 +98,7 @@ import javafx.scene.input.KeyCodeCombination;
 import javafx.scene.input.KeyCombination;
 import javafx.scene.input.TransferMode;
 import javafx.stage.Window;
+import javafx.util.Duration;
 
 /**
  * Table displaying selected pdf documents
@@ -109,6 +117,8 @@ public class SelectionTable extends TableView<SelectionTableRowData> implements
     private Label placeHolder = new Label(DefaultI18nContext.getInstance().i18n("Drag and drop PDF files here"));
     private PasswordFieldPopup passwordPopup;
     private Consumer<SelectionChangedEvent> selectionChangedConsumer;
+    private Timeline visibleRowsTimer = new Timeline(new KeyFrame(Duration.millis(150), e -> prioritizeVisibleRows()));
+    private boolean hasPrioritizedRows = false;
 
     public SelectionTable(String ownerModule, boolean canDuplicateItems, boolean canMove,
             TableColumnProvider<?>... columns) {
@@ -143,10 +153,40 @@ public class SelectionTable extends TableView<SelectionTableRowData> implements
         initItemsSectionContextMenu(contextMenu, canDuplicateItems, canMove);
         initBottomSectionContextMenu(contextMenu);
         setContextMenu(contextMenu);
+        skinProperty().addListener((o, oldVal, newVal) -> {
+            Node flow = lookup(".virtual-flow");
+            if (flow instanceof VirtualFlow) {
+                ((VirtualFlow<?>) flow).positionProperty()
+                        .addListener((p, oldPos, newPos) -> visibleRowsTimer.playFromStart());
+            }
+        });
+        getItems().addListener((Change<? extends SelectionTableRowData> c) -> visibleRowsTimer.playFromStart());
         eventStudio().addAnnotatedListeners(this);
         eventStudio().add(SelectionChangedEvent.class, e -> selectionChangedConsumer.accept(e), ownerModule);
     }
 
+    /**
+     * Asks to load the documents in the visible rows before the others, documents no longer visible go back to the normal priority
+     */
+    private void prioritizeVisibleRows() {
+        Node flow = lookup(".virtual-flow");
+        if (flow instanceof VirtualFlow) {
+            IndexedCell<?> first = ((VirtualFlow<?>) flow).getFirstVisibleCell();
+            IndexedCell<?> last = ((VirtualFlow<?>) flow).getLastVisibleCell();
+            List<PdfDocumentDescriptor> visible = new ArrayList<>();
+            if (nonNull(first) && nonNull(last)) {
+                IntStream.rangeClosed(Math.max(0, first.getIndex()), Math.min(last.getIndex(), getItems().size() - 1))
+                        .mapToObj(i -> getItems().get(i).descriptor())
+                        .filter(d -> d.loadingStatus().getValue() == PdfDescriptorLoadingStatus.REQUESTED)
+                        .forEach(visible::add);
+            }
+            if (!visible.isEmpty() || hasPrioritizedRows) {
+                eventStudio().broadcast(new PrioritizePdfLoadRequest(getOwnerModule(), visible));
+                hasPrioritizedRows = !visible.isEmpty();
+            }
+        }
+    }
+
     private void initTopSectionContextMenu(ContextMenu contextMenu, boolean hasRanges) {
         MenuItem setDestinationItem = createMenuItem(DefaultI18nContext.getInstance().i18n("Set destination"),
                 MaterialDesignIcon.AIRPLANE_LANDING);
@@ -329,27 +369,45 @@ public class SelectionTable extends TableView<SelectionTableRowData> implements
 
                         List<Integer> dragged = (List<Integer>) e.getDragboard()
                                 .getContent(DND_TABLE_SELECTION_MIME_TYPE);
-                        List<SelectionTableRowData> toMove = dragged.stream().map(getItems()::get)
-                                .filter(Objects::nonNull).collect(Collectors.toList());
-                        getItems().removeAll(toMove);
+                        boolean[] isDragged = new boolean[getItems().size()];
+                        List<SelectionTableRowData> toMove = new ArrayList<>(dragged.size());
+                        for (Integer index : dragged) {
+                            if (nonNull(index) && index >= 0 && index < isDragged.length && !isDragged[index]) {
+                                isDragged[index] = true;
+                                toMove.add(getItems().get(index));
+                            }
+                        }
+                        List<SelectionTableRowData> reordered = new ArrayList<>(getItems().size());
+                        int draggedBeforeDrop = 0;
+                        for (int i = 0; i < isDragged.length; i++) {
+                            if (isDragged[i]) {
+                                if (toDrop.isPresent() && i < row.getIndex()) {
+                                    draggedBeforeDrop++;
+                                }
+                            } else {
+                                reordered.add(getItems().get(i));
+                            }
+                        }
 
-                        int dropIndex = getItems().size();
+                        int dropIndex = reordered.size();
                         if (toDrop.isPresent()) {
-                            int toDropNewIndex = toDrop.map(getItems()::indexOf).get();
-                            if (toDropNewIndex == row.getIndex()) {
+                            int toDropNewIndex = row.getIndex() - draggedBeforeDrop;
+                            if (draggedBeforeDrop == 0) {
                                 // we dropped up
                                 dropIndex = toDropNewIndex;
                             } else {
                                 // we dropped down
-                                dropIndex = toDropNewIndex + 1;
+                                dropIndex = Math.min(toDropNewIndex + 1, reordered.size());
                             }
                         }
 
-                        getItems().addAll(dropIndex, toMove);
+                        reordered.addAll(dropIndex, toMove);
+                        getItems().setAll(reordered);
                         e.setDropCompleted(true);
                         getSelectionModel().clearSelection();
                         getSelectionModel().selectRange(dropIndex, dropIndex + toMove.size());
-                        focus.map(getItems()::indexOf).ifPresent(getFocusModel()::focus);
+                        focus.map(f -> indexOfIdentity(reordered, f)).filter(i -> i >= 0)
+                                .ifPresent(getFocusModel()::focus);
                         e.consume();
                     }
                 });
@@ -405,7 +463,8 @@ public class SelectionTable extends TableView<SelectionTableRowData> implements
     @EventListener
     public void onDuplicate(final DuplicateSelectedEvent event) {
         LOG.trace("Duplicating selected items");
-        getSelectionModel().getSelectedItems().forEach(i -> getItems().add(i.duplicate()));
+        getItems().addAll(getSelectionModel().getSelectedItems().stream().map(SelectionTableRowData::duplicate)
+                .collect(Collectors.toList()));
     }
 
     @EventListener
@@ -413,17 +472,52 @@ public class SelectionTable extends TableView<SelectionTableRowData> implements
         getItems().forEach(d -> d.descriptor().releaseAll());
         getSelectionModel().clearSelection();
         getItems().clear();
+        eventStudio().broadcast(new CancelPdfLoadRequest(getOwnerModule()));
+        eventStudio().broadcast(new CancelThumbnailsRequest(getOwnerModule()));
     }
 
     @EventListener
     public void onRemoveSelected(RemoveSelectedEvent event) {
-        SortedSet<Integer> indices = new TreeSet<>(Collections.reverseOrder());
-        indices.addAll(getSelectionModel().getSelectedIndices());
-        LOG.trace("Removing {} items", indices.size());
-        indices.forEach(i -> getItems().remove(i.intValue()).invalidate());
+        boolean[] toRemove = new boolean[getItems().size()];
+        getSelectionModel().getSelectedIndices().stream().filter(i -> i >= 0 && i < toRemove.length)
+                .forEach(i -> toRemove[i] = true);
+        List<SelectionTableRowData> kept = new ArrayList<>(getItems().size());
+        List<SelectionTableRowData> removed = new ArrayList<>();
+        int firstRemoved = -1;
+        for (int i = 0; i < toRemove.length; i++) {
+            if (toRemove[i]) {
+                if (firstRemoved < 0) {
+                    firstRemoved = i;
+                }
+                removed.add(getItems().get(i));
+            } else {
+                kept.add(getItems().get(i));
+            }
+        }
+        LOG.trace("Removing {} items", removed.size());
+        if (!removed.isEmpty()) {
+            getSelectionModel().clearSelection();
+            getItems().setAll(kept);
+            removed.forEach(SelectionTableRowData::invalidate);
+            // as removing rows one by one would do, the row taking the place of the removed ones is selected
+            if (!kept.isEmpty()) {
+                int newSelection = Math.min(firstRemoved, kept.size() - 1);
+                getSelectionModel().select(newSelection);
+                getFocusModel().focus(newSelection);
+            }
+        }
         requestFocus();
     }
 
+    private static int indexOfIdentity(List<?> items, Object item) {
+        for (int i = 0; i < items.size(); i++) {
+            if (items.get(i) == item) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
     @EventListener
     public void onMoveSelected(final MoveSelectedEvent event) {
         getSortOrder().clear();
@@ -471,18 +565,19 @@ public class SelectionTable extends TableView<SelectionTableRowData> implements
 
     @Override
     public void saveStateTo(Map<String, String> data) {
-        data.put(defaultString(getId()) + "input.size", Integer.toString(getItems().size()));
-        IntStream.range(0, getItems().size()).forEach(i -> {
+        String id = defaultString(getId());
+        data.put(id + "input.size", Integer.toString(getItems().size()));
+        UnaryOperator<String> encrypter = new DefaultUserContext().isSavePwdInWorkspaceFile() ? encrypter() : null;
+        for (int i = 0; i < getItems().size(); i++) {
             SelectionTableRowData current = getItems().get(i);
-            String id = defaultString(getId());
             data.put(id + "input." + i, current.descriptor().getFile().getAbsolutePath());
-            if (new DefaultUserContext().isSavePwdInWorkspaceFile()) {
-                data.put(id + "input.password.enc" + i, encrypt(current.descriptor().getPassword()));
+            if (nonNull(encrypter)) {
+                data.put(id + "input.password.enc" + i, encrypter.apply(current.descriptor().getPassword()));
             }
             data.put(id + "input.range." + i, defaultString(current.pageSelection.get()));
             data.put(id + "input.step." + i, defaultString(current.pace.get()));
             data.put(id + "input.reverse." + i, Boolean.toString(current.reverse.get()));
-        });
+        }
     }
 
     @Override
@@ -492,11 +587,12 @@ public class SelectionTable extends TableView<SelectionTableRowData> implements
         if (size > 0) {
             PdfLoadRequestEvent loadEvent = new PdfLoadRequestEvent(getOwnerModule());
             List<SelectionTableRowData> items = new ArrayList<>();
+            UnaryOperator<String> decrypter = decrypter();
             IntStream.range(0, size).forEach(i -> {
                 String id = defaultString(getId());
                 Optional.ofNullable(data.get(id + "input." + i)).ifPresent(f -> {
                     PdfDocumentDescriptor descriptor = PdfDocumentDescriptor.newDescriptor(new File(f),
-                            ofNullable(data.get(id + "input.password.enc" + i)).map(EncryptionUtils::decrypt)
+                            ofNullable(data.get(id + "input.password.enc" + i)).map(decrypter)
                                     .orElseGet(() -> data.get(defaultString(getId()) + "input.password." + i)));
                     loadEvent.add(descriptor);
                     SelectionTableRowData row = new SelectionTableRowData(descriptor);
@@ -18,15 +18,19 @@
  */
 package org.pdfsam.ui.selection.multiple.move;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
 
 import org.apache.commons.lang3.ArrayUtils;
 
 import javafx.collections.ObservableList;
 
 /**
- * Types of moves for the selected items in the selection table
+ * Types of moves for the selected items in the selection table. Moves are performed on a copy of the items that then replaces the content of the
+ * observable list, so every move results in a single change notification, no matter how many items are moved.
  * 
  * @author Andrea Vacondio
  * 
@@ -36,8 +40,7 @@ public enum MoveType {
         @Override
         public <T> SelectionAndFocus move(Integer[] selected, ObservableList<T> items, int focused) {
             if (isSingleSelection(selected, items) && isNotFirst(selected)) {
-                T item = items.remove(selected[0].intValue());
-                items.add(0, item);
+                reorder(items, l -> l.add(0, l.remove(selected[0].intValue())));
                 return new SingleSelectionAndFocus(0);
             }
             return SelectionAndFocus.NULL;
@@ -50,10 +53,10 @@ public enum MoveType {
                 MultipleSelectionAndFocus newSelection = new MultipleSelectionAndFocus(focused);
                 Arrays.parallelSort(selected);
                 if (isNotFirst(selected)) {
-                    Arrays.stream(selected).forEach(i -> {
-                        Collections.swap(items, i, i - 1);
+                    reorder(items, l -> Arrays.stream(selected).forEach(i -> {
+                        Collections.swap(l, i, i - 1);
                         newSelection.moveUp(i);
-                    });
+                    }));
                     return newSelection;
                 }
             }
@@ -67,10 +70,10 @@ public enum MoveType {
                 MultipleSelectionAndFocus newSelection = new MultipleSelectionAndFocus(focused);
                 Arrays.parallelSort(selected, Collections.reverseOrder(Integer::compare));
                 if (isNotLast(selected, items)) {
-                    Arrays.stream(selected).forEach(i -> {
-                        Collections.swap(items, i, i + 1);
+                    reorder(items, l -> Arrays.stream(selected).forEach(i -> {
+                        Collections.swap(l, i, i + 1);
                         newSelection.moveDown(i);
-                    });
+                    }));
                     return newSelection;
                 }
             }
@@ -81,14 +84,22 @@ public enum MoveType {
         @Override
         public <T> SelectionAndFocus move(Integer[] selected, ObservableList<T> items, int focused) {
             if (isSingleSelection(selected, items) && isNotLast(selected, items)) {
-                T item = items.remove(selected[0].intValue());
-                items.add(items.size(), item);
+                reorder(items, l -> l.add(l.remove(selected[0].intValue())));
                 return new SingleSelectionAndFocus(items.size() - 1);
             }
             return SelectionAndFocus.NULL;
         }
     };
 
+    /**
+     * Applies the reordering to a copy of the items and sets the result back in a single change
+     */
+    static <T> void reorder(ObservableList<T> items, Consumer<List<T>> reordering) {
+        List<T> copy = new ArrayList<>(items);
+        reordering.accept(copy);
+        items.setAll(copy);
+    }
+
     boolean isNotFirst(Integer[] selected) {
         return selected[0] > 0;
     }
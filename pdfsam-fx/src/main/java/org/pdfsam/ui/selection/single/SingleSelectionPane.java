@@ -33,6 +33,7 @@ import static org.pdfsam.ui.commons.SetDestinationRequest.requestFallbackDestina
 import static org.pdfsam.eventstudio.StaticStudio.eventStudio;
 
 import java.io.File;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Consumer;
@@ -41,12 +42,15 @@ import org.apache.commons.lang3.StringUtils;
 import org.pdfsam.context.DefaultUserContext;
 import org.pdfsam.i18n.DefaultI18nContext;
 import org.pdfsam.module.ModuleOwned;
+import org.pdfsam.pdf.CancelPdfLoadRequest;
 import org.pdfsam.pdf.PdfDescriptorLoadingStatus;
 import org.pdfsam.pdf.PdfDocumentDescriptor;
 import org.pdfsam.pdf.PdfDocumentDescriptorProvider;
 import org.pdfsam.pdf.PdfLoadRequestEvent;
+import org.pdfsam.pdf.PrioritizePdfLoadRequest;
 import org.pdfsam.support.EncryptionUtils;
 import org.pdfsam.support.io.FileType;
+import org.pdfsam.thumbnails.CancelThumbnailsRequest;
 import org.pdfsam.ui.commons.ClearModuleEvent;
 import org.pdfsam.ui.commons.OpenFileRequest;
 import org.pdfsam.ui.commons.ShowPdfDescriptorRequest;
@@ -187,6 +191,7 @@ public class SingleSelectionPane extends VBox implements ModuleOwned, PdfDocumen
         setContextMenuDisable(false);
         loadEvent.add(descriptor);
         eventStudio().broadcast(loadEvent);
+        eventStudio().broadcast(new PrioritizePdfLoadRequest(getOwnerModule(), Collections.singletonList(descriptor)));
     }
 
     private void reset() {
@@ -208,6 +213,7 @@ public class SingleSelectionPane extends VBox implements ModuleOwned, PdfDocumen
     private void invalidateDescriptor() {
         if (nonNull(descriptor)) {
             descriptor.releaseAll();
+            eventStudio().broadcast(new CancelThumbnailsRequest(getOwnerModule()));
         }
     }
 
@@ -299,6 +305,8 @@ public class SingleSelectionPane extends VBox implements ModuleOwned, PdfDocumen
     public void onClearSelected(ClearModuleEvent event) {
         field.getTextField().clear();
         disableRemoveMenuItemIfNeeded();
+        eventStudio().broadcast(new CancelPdfLoadRequest(getOwnerModule()));
+        eventStudio().broadcast(new CancelThumbnailsRequest(getOwnerModule()));
     }
 
     @EventListener
@@ -20,30 +20,46 @@ package org.pdfsam.ui.support;
 
 import static org.sejda.commons.util.RequireUtils.requireArg;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.LinkedList;
+import java.util.Collections;
+import java.util.List;
 
 import javafx.collections.ModifiableObservableListBase;
 
 /**
  * A {@link ModifiableObservableListBase} with size constraints. When at maxCapacity and an element is added, the eldest element is removed.
+ * <p>
+ * Elements are stored in a ring buffer, growing as needed up to maxCapacity, so that access by index, appending and evicting the eldest elements
+ * happen in constant time. Elements exceeding the capacity are evicted all at once, as a single removal in the same change that added them.
  * 
  * @author Andrea Vacondio
  *
  */
 public class CircularObservableList<E> extends ModifiableObservableListBase<E> {
-    private LinkedList<E> wrapped;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private Object[] elements;
+    private int head = 0;
+    private int size = 0;
     private int maxCapacity;
 
     public CircularObservableList(int maxCapacity) {
-        this.wrapped = new LinkedList<>();
+        requireArg(maxCapacity > 0, "Max capacity must be a positive value");
+        this.elements = new Object[Math.min(INITIAL_CAPACITY, maxCapacity)];
         setMaxCapacity(maxCapacity);
     }
 
     public void setMaxCapacity(int maxCapacity) {
         requireArg(maxCapacity > 0, "Max capacity must be a positive value");
         this.maxCapacity = maxCapacity;
-        houseKeep();
+        beginChange();
+        try {
+            houseKeep();
+        } finally {
+            endChange();
+        }
     }
 
     public int getMaxCapacity() {
@@ -51,53 +67,187 @@ public class CircularObservableList<E> extends ModifiableObservableListBase<E> {
     }
 
     /**
-     * Makes the list fit its limits by removing last items in cases where the list might have exceeded its limits.
+     * Makes the list fit its limits by removing the eldest items in cases where the list might have exceeded its limits. Must be called during a
+     * change.
      */
     private void houseKeep() {
-        while (size() > maxCapacity) {
-            remove(0);
+        int exceeding = size - maxCapacity;
+        if (exceeding > 0) {
+            List<E> removed = new ArrayList<>(exceeding);
+            for (int i = 0; i < exceeding; i++) {
+                removed.add(elementAt(i));
+                elements[slot(i)] = null;
+            }
+            head = slot(exceeding);
+            size -= exceeding;
+            nextRemove(0, removed);
+            modCount++;
         }
     }
 
+    @Override
+    public void add(int index, E element) {
+        addAll(index, Collections.singletonList(element));
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        return addAll(size, c);
+    }
+
     @Override
     public boolean addAll(int index, Collection<? extends E> c) {
-        boolean retVal = false;
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        if (c.isEmpty()) {
+            return false;
+        }
+        beginChange();
         try {
-            beginChange();
-            retVal = wrapped.addAll(index, c);
-            nextAdd(index, index + c.size());
+            if (index == size) {
+                append(c);
+            } else {
+                insert(index, c);
+            }
             houseKeep();
-            modCount++;
         } finally {
             endChange();
         }
-        return retVal;
+        return true;
+    }
+
+    /**
+     * Appends the elements, evicting what doesn't fit in the same pass. Elements that would be immediately evicted are not added at all.
+     */
+    private void append(Collection<? extends E> c) {
+        int skip = Math.max(0, c.size() - maxCapacity);
+        int evicting = Math.max(0, size + c.size() - skip - maxCapacity);
+        if (evicting > 0) {
+            List<E> removed = new ArrayList<>(evicting);
+            for (int i = 0; i < evicting; i++) {
+                removed.add(elementAt(i));
+                elements[slot(i)] = null;
+            }
+            head = slot(evicting);
+            size -= evicting;
+            nextRemove(0, removed);
+        }
+        int from = size;
+        ensureCapacity(size + c.size() - skip);
+        int current = 0;
+        for (E element : c) {
+            if (current++ >= skip) {
+                elements[slot(size++)] = element;
+            }
+        }
+        nextAdd(from, size);
+        modCount++;
+    }
+
+    private void insert(int index, Collection<? extends E> c) {
+        int count = c.size();
+        shiftAndSet(index, c);
+        nextAdd(index, index + count);
+        modCount++;
+    }
+
+    private void shiftAndSet(int index, Collection<? extends E> c) {
+        int count = c.size();
+        ensureCapacity(size + count);
+        for (int i = size - 1; i >= index; i--) {
+            elements[slot(i + count)] = elements[slot(i)];
+        }
+        int current = index;
+        for (E element : c) {
+            elements[slot(current++)] = element;
+        }
+        size += count;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required > elements.length) {
+            Object[] resized = new Object[Math.max(required, Math.min(elements.length * 2, maxCapacity))];
+            for (int i = 0; i < size; i++) {
+                resized[i] = elements[slot(i)];
+            }
+            elements = resized;
+            head = 0;
+        }
+    }
+
+    private int slot(int index) {
+        int slot = head + index;
+        return slot >= elements.length ? slot - elements.length : slot;
+    }
+
+    @SuppressWarnings("unchecked")
+    private E elementAt(int index) {
+        return (E) elements[slot(index)];
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
     }
 
     @Override
     public E get(int index) {
-        return wrapped.get(index);
+        checkIndex(index);
+        return elementAt(index);
     }
 
     @Override
     public int size() {
-        return wrapped.size();
+        return size;
     }
 
     @Override
     protected void doAdd(int index, E element) {
-        wrapped.add(index, element);
-        houseKeep();
+        // not used since add is overridden to evict in the same change
+        shiftAndSet(index, Collections.singletonList(element));
     }
 
     @Override
     protected E doSet(int index, E element) {
-        return wrapped.set(index, element);
+        checkIndex(index);
+        E previous = elementAt(index);
+        elements[slot(index)] = element;
+        return previous;
     }
 
     @Override
     protected E doRemove(int index) {
-        return wrapped.remove(index);
+        checkIndex(index);
+        E removed = elementAt(index);
+        if (index == 0) {
+            elements[head] = null;
+            head = slot(1);
+        } else {
+            for (int i = index; i < size - 1; i++) {
+                elements[slot(i)] = elements[slot(i + 1)];
+            }
+            elements[slot(size - 1)] = null;
+        }
+        size--;
+        return removed;
     }
 
+    @Override
+    public void clear() {
+        if (size > 0) {
+            beginChange();
+            try {
+                List<E> removed = new ArrayList<>(this);
+                Arrays.fill(elements, null);
+                head = 0;
+                size = 0;
+                nextRemove(0, removed);
+                modCount++;
+            } finally {
+                endChange();
+            }
+        }
+    }
 }
@@ -0,0 +1,141 @@
+/* 
+ * This file is part of the PDF Split And Merge source code
+ * Created on 17 ott 2026
+ * Copyright 2017 by Sober Lemur S.a.s di Vacondio Andrea (info@pdfsam.org).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as 
+ * published by the Free Software Foundation, either version 3 of the 
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.ui.module;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.pdfsam.eventstudio.StaticStudio.eventStudio;
+
+import java.io.File;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.apache.commons.lang3.builder.Builder;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.pdfsam.module.ModuleDescriptor;
+import org.pdfsam.module.ModuleInputOutputType;
+import org.pdfsam.test.ClearEventStudioRule;
+import org.pdfsam.test.InitializeAndApplyJavaFxThreadRule;
+import org.pdfsam.ui.commons.ClearModuleEvent;
+import org.pdfsam.ui.workspace.SaveWorkspaceEvent;
+import org.sejda.model.parameter.base.AbstractParameters;
+
+import javafx.scene.Node;
+import javafx.scene.layout.VBox;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class BaseTaskExecutionModuleTest {
+    private static final String MODULE_ID = "moduleId";
+    @Rule
+    public InitializeAndApplyJavaFxThreadRule fxThread = new InitializeAndApplyJavaFxThreadRule();
+    @Rule
+    public ClearEventStudioRule clearEventStudio = new ClearEventStudioRule();
+
+    private TestModule victim;
+
+    @Before
+    public void setUp() {
+        victim = new TestModule();
+    }
+
+    @Test
+    public void panelCreatedOnFirstRequest() {
+        assertEquals(0, victim.panelsCreated);
+        assertNotNull(victim.modulePanel());
+        assertSame(victim.modulePanel(), victim.modulePanel());
+        assertEquals(1, victim.panelsCreated);
+    }
+
+    @Test
+    public void noStateBeforePanelCreation() {
+        SaveWorkspaceEvent event = new SaveWorkspaceEvent(mock(File.class));
+        eventStudio().broadcast(event, MODULE_ID);
+        assertTrue(event.getData().isEmpty());
+        victim.modulePanel();
+        eventStudio().broadcast(event, MODULE_ID);
+        assertEquals("value", event.getDataForModule(MODULE_ID).get("key"));
+    }
+
+    @Test
+    public void clearAfterPanelCreation() {
+        eventStudio().broadcast(new ClearModuleEvent(), MODULE_ID);
+        assertFalse(victim.cleared);
+        victim.modulePanel();
+        eventStudio().broadcast(new ClearModuleEvent(), MODULE_ID);
+        assertTrue(victim.cleared);
+    }
+
+    private static class TestModule extends BaseTaskExecutionModule {
+        private int panelsCreated = 0;
+        private boolean cleared = false;
+
+        TestModule() {
+            super(() -> new Footer(new RunButton(), new OpenButton(MODULE_ID, ModuleInputOutputType.SINGLE_PDF),
+                    MODULE_ID));
+            initModuleSettingsPanel(() -> {
+                panelsCreated++;
+                return new VBox();
+            });
+        }
+
+        @Override
+        public String id() {
+            return MODULE_ID;
+        }
+
+        @Override
+        public ModuleDescriptor descriptor() {
+            return null;
+        }
+
+        @Override
+        public Node graphic() {
+            return null;
+        }
+
+        @Override
+        public void onSaveWorkspace(Map<String, String> data) {
+            data.put("key", "value");
+        }
+
+        @Override
+        public void onLoadWorkspace(Map<String, String> data) {
+            // nothing
+        }
+
+        @Override
+        protected void onClearModule(ClearModuleEvent event) {
+            cleared = true;
+        }
+
+        @Override
+        protected Builder<? extends AbstractParameters> getBuilder(Consumer<String> onError) {
+            return null;
+        }
+    }
+}
@@ -37,6 +37,7 @@ import org.pdfsam.i18n.DefaultI18nContext;
 import org.pdfsam.i18n.SetLocaleEvent;
 import org.pdfsam.module.ModuleInputOutputType;
 import org.pdfsam.module.TaskExecutionRequestEvent;
+import org.pdfsam.module.TaskQueueChangedEvent;
 import org.pdfsam.test.ClearEventStudioRule;
 import org.pdfsam.test.InitializeAndApplyJavaFxThreadRule;
 import org.sejda.model.exception.TaskOutputVisitException;
@@ -63,12 +64,14 @@ public class FooterTest {
     public ClearEventStudioRule clearEventStudio = new ClearEventStudioRule();
 
     private Footer victim;
+    private RunButton runButton;
 
     @Before
     public void setUp() {
         eventStudio().broadcast(new SetLocaleEvent(Locale.UK.toLanguageTag()));
         OpenButton button = new OpenButton(MODULE_ID, ModuleInputOutputType.SINGLE_PDF);
-        victim = new Footer(new RunButton(), button, MODULE_ID);
+        runButton = new RunButton();
+        victim = new Footer(runButton, button, MODULE_ID);
     }
 
     @Test
@@ -139,6 +142,40 @@ public class FooterTest {
                 ((Labeled) victim.lookup(".status-label")).getText());
         assertEquals(0, ((ProgressBar) victim.lookup(".pdfsam-footer-bar")).getProgress(), 0.01);
         verify(output).accept(any());
+        assertTrue(runButton.isDisabled());
+    }
+
+    @Test
+    public void onQueued() {
+        eventStudio().broadcast(new TaskQueueChangedEvent(MODULE_ID, 1, false), MODULE_ID);
+        assertTrue(runButton.isDisabled());
+        assertTrue(victim.lookup(".status-label").isVisible());
+        assertEquals(DefaultI18nContext.getInstance().i18n("Queued"),
+                ((Labeled) victim.lookup(".status-label")).getText());
+    }
+
+    @Test
+    public void onRunning() {
+        eventStudio().broadcast(new TaskQueueChangedEvent(MODULE_ID, 0, true), MODULE_ID);
+        assertTrue(runButton.isDisabled());
+        assertEquals(DefaultI18nContext.getInstance().i18n("Running"),
+                ((Labeled) victim.lookup(".status-label")).getText());
+    }
+
+    @Test
+    public void enableOnIdle() {
+        runButton.setDisable(true);
+        eventStudio().broadcast(new TaskQueueChangedEvent(MODULE_ID, 0, false), MODULE_ID);
+        assertFalse(runButton.isDisabled());
+    }
+
+    @Test
+    public void otherModuleDoesntDisable() {
+        AbstractParameters params = mock(AbstractParameters.class);
+        when(params.getOutput()).thenReturn(mock(FileTaskOutput.class));
+        eventStudio().broadcast(new TaskExecutionRequestEvent("AnotherModule", params));
+        eventStudio().broadcast(new TaskQueueChangedEvent("AnotherModule", 0, true), "AnotherModule");
+        assertFalse(runButton.isDisabled());
     }
 
     @Test
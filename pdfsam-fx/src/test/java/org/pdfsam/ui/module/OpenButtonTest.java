@@ -71,8 +71,7 @@ public class OpenButtonTest extends ApplicationTest {
 
     @Override
     public void start(Stage stage) {
-        victim = new OpenButton("moduleId", ModuleInputOutputType.SINGLE_PDF);
-        victim.initModules(Arrays.asList(module));
+        victim = OpenButton.forModules("moduleId", ModuleInputOutputType.SINGLE_PDF, Arrays.asList(module));
         victim.setMaxHeight(30);
         victim.setVisible(true);
         Scene scene = new Scene(new HBox(victim));
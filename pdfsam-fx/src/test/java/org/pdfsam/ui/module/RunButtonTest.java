@@ -18,21 +18,13 @@
  */
 package org.pdfsam.ui.module;
 
-import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
-import static org.mockito.Mockito.mock;
-import static org.pdfsam.eventstudio.StaticStudio.eventStudio;
 
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
-import org.pdfsam.module.TaskExecutionRequestEvent;
 import org.pdfsam.test.ClearEventStudioRule;
 import org.pdfsam.test.InitializeAndApplyJavaFxThreadRule;
-import org.sejda.model.notification.event.TaskExecutionCompletedEvent;
-import org.sejda.model.notification.event.TaskExecutionFailedEvent;
-import org.sejda.model.parameter.base.AbstractParameters;
-import org.sejda.model.task.NotifiableTaskMetadata;
 
 /**
  * @author Andrea Vacondio
@@ -55,28 +47,4 @@ public class RunButtonTest {
     public void isDefault() {
         assertTrue(victim.isDefaultButton());
     }
-
-    @Test
-    public void disableOnRequest() {
-        victim.setDisable(false);
-        AbstractParameters parameters = mock(AbstractParameters.class);
-        eventStudio().broadcast(new TaskExecutionRequestEvent("id", parameters));
-        assertTrue(victim.isDisabled());
-    }
-
-    @Test
-    public void disableOnFail() {
-        victim.setDisable(true);
-        NotifiableTaskMetadata taskMetadata = mock(NotifiableTaskMetadata.class);
-        eventStudio().broadcast(new TaskExecutionFailedEvent(null, taskMetadata));
-        assertFalse(victim.isDisabled());
-    }
-
-    @Test
-    public void enableOnComplete() {
-        victim.setDisable(true);
-        NotifiableTaskMetadata taskMetadata = mock(NotifiableTaskMetadata.class);
-        eventStudio().broadcast(new TaskExecutionCompletedEvent(1, taskMetadata));
-        assertFalse(victim.isDisabled());
-    }
 }
@@ -59,6 +59,7 @@ import org.pdfsam.pdf.PdfLoadRequestEvent;
 import org.pdfsam.support.EncryptionUtils;
 import org.pdfsam.test.ClearEventStudioRule;
 import org.pdfsam.test.HitTestListener;
+import org.pdfsam.thumbnails.CancelThumbnailsRequest;
 import org.pdfsam.ui.commons.ClearModuleEvent;
 import org.pdfsam.ui.commons.OpenFileRequest;
 import org.pdfsam.ui.commons.RemoveSelectedEvent;
@@ -72,6 +73,7 @@ import org.testfx.framework.junit.ApplicationTest;
 import org.testfx.util.WaitForAsyncUtils;
 
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.scene.Scene;
 import javafx.scene.input.Clipboard;
 import javafx.scene.input.DataFormat;
@@ -292,6 +294,18 @@ public class SelectionTableTest extends ApplicationTest {
         assertTrue(victim.getSelectionModel().getSelectedIndices().isEmpty());
     }
 
+    @Test
+    public void clearCancelsThumbnails() {
+        Listener<CancelThumbnailsRequest> listener = mock(Listener.class);
+        eventStudio().add(CancelThumbnailsRequest.class, listener);
+        WaitForAsyncUtils.waitForAsyncFx(2000, () -> {
+            eventStudio().broadcast(new ClearModuleEvent(), MODULE);
+        });
+        ArgumentCaptor<CancelThumbnailsRequest> captor = ArgumentCaptor.forClass(CancelThumbnailsRequest.class);
+        verify(listener).onEvent(captor.capture());
+        assertEquals(MODULE, captor.getValue().getOwnerModule());
+    }
+
     @Test
     @Category(NoHeadless.class)
     public void encryptedThrowsRequest() {
@@ -341,6 +355,18 @@ public class SelectionTableTest extends ApplicationTest {
         assertEquals(1, victim.getSelectionModel().getSelectedIndices().size());
     }
 
+    @Test
+    public void removeMultipleSingleChange() {
+        int[] changes = { 0 };
+        victim.getItems().addListener((ListChangeListener<SelectionTableRowData>) c -> changes[0]++);
+        clickOn("temp.pdf").press(KeyCode.CONTROL).clickOn("temp3.pdf").release(KeyCode.CONTROL);
+        WaitForAsyncUtils.waitForAsyncFx(2000, () -> {
+            eventStudio().broadcast(new RemoveSelectedEvent(), MODULE);
+        });
+        assertEquals(2, victim.getItems().size());
+        assertEquals(1, changes[0]);
+    }
+
     @Test
     public void removeRelease() {
         Optional<SelectionTableRowData> item = victim.getItems().stream()
@@ -30,6 +30,7 @@ import org.mockito.junit.MockitoJUnitRunner;
 import org.pdfsam.pdf.PdfDocumentDescriptor;
 
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 
 /**
@@ -152,4 +153,18 @@ public class MoveTypeTest {
         MoveType.DOWN.move(indices, items, -1);
         assertThat(items, contains(first, third, second, fourth));
     }
+
+    @Test
+    public void singleChangePerMove() {
+        int[] changes = { 0 };
+        items.addListener((ListChangeListener<PdfDocumentDescriptor>) c -> changes[0]++);
+        MoveType.UP.move(new Integer[] { 1, 3 }, items, -1);
+        assertEquals(1, changes[0]);
+        MoveType.DOWN.move(new Integer[] { 0, 2 }, items, -1);
+        assertEquals(2, changes[0]);
+        MoveType.TOP.move(new Integer[] { 2 }, items, -1);
+        assertEquals(3, changes[0]);
+        MoveType.BOTTOM.move(new Integer[] { 0 }, items, -1);
+        assertEquals(4, changes[0]);
+    }
 }
@@ -0,0 +1,139 @@
+/* 
+ * This file is part of the PDF Split And Merge source code
+ * Created on 17 ott 2026
+ * Copyright 2017 by Sober Lemur S.a.s di Vacondio Andrea (info@pdfsam.org).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as 
+ * published by the Free Software Foundation, either version 3 of the 
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.ui.support;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import javafx.collections.ListChangeListener;
+import javafx.collections.ModifiableObservableListBase;
+import javafx.collections.ObservableList;
+
+/**
+ * Microbenchmark comparing {@link CircularObservableList} with the previous {@link LinkedList} based implementation in a log-like workload:
+ * appends in batches, with a listener attached, and random access by index as a virtual flow would do. Not a test, run it from the IDE or with
+ * {@code java} on the test classpath. Arguments are the capacity and the number of appended rows.
+ *
+ * @author Andrea Vacondio
+ *
+ */
+public class CircularObservableListBenchmark {
+
+    private static final int BATCH = 50;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        int capacity = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        int rows = args.length > 1 ? Integer.parseInt(args[1]) : 200000;
+        for (int i = 0; i < ROUNDS; i++) {
+            System.out.println(String.format("Round %d", i + 1));
+            run("ring buffer", CircularObservableList::new, capacity, rows);
+            run("linked list", LinkedListCircularObservableList::new, capacity, rows);
+        }
+    }
+
+    private static void run(String name, IntFunction<ObservableList<String>> factory, int capacity, int rows) {
+        ObservableList<String> list = factory.apply(capacity);
+        int[] changes = { 0 };
+        list.addListener((ListChangeListener<String>) c -> changes[0]++);
+        long start = System.nanoTime();
+        long checksum = 0;
+        List<String> batch = new ArrayList<>(BATCH);
+        for (int i = 0; i < rows; i++) {
+            batch.add(Integer.toString(i));
+            if (batch.size() == BATCH) {
+                list.addAll(batch);
+                batch.clear();
+                // a screen of rows at the bottom of the list
+                for (int j = Math.max(0, list.size() - 40); j < list.size(); j++) {
+                    checksum += list.get(j).length();
+                }
+            }
+        }
+        // scrolling through the whole list
+        for (int j = 0; j < list.size(); j++) {
+            checksum += list.get(j).length();
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.println(String.format("  %-12s %8d ms, %7d changes, checksum %d", name, elapsed / 1_000_000,
+                changes[0], checksum));
+    }
+
+    /**
+     * The implementation {@link CircularObservableList} replaced, kept as a reference
+     */
+    private static class LinkedListCircularObservableList<E> extends ModifiableObservableListBase<E> {
+        private LinkedList<E> wrapped = new LinkedList<>();
+        private int maxCapacity;
+
+        LinkedListCircularObservableList(int maxCapacity) {
+            this.maxCapacity = maxCapacity;
+        }
+
+        private void houseKeep() {
+            while (size() > maxCapacity) {
+                remove(0);
+            }
+        }
+
+        @Override
+        public boolean addAll(int index, Collection<? extends E> c) {
+            boolean retVal = false;
+            try {
+                beginChange();
+                retVal = wrapped.addAll(index, c);
+                nextAdd(index, index + c.size());
+                houseKeep();
+                modCount++;
+            } finally {
+                endChange();
+            }
+            return retVal;
+        }
+
+        @Override
+        public E get(int index) {
+            return wrapped.get(index);
+        }
+
+        @Override
+        public int size() {
+            return wrapped.size();
+        }
+
+        @Override
+        protected void doAdd(int index, E element) {
+            wrapped.add(index, element);
+            houseKeep();
+        }
+
+        @Override
+        protected E doSet(int index, E element) {
+            return wrapped.set(index, element);
+        }
+
+        @Override
+        protected E doRemove(int index) {
+            return wrapped.remove(index);
+        }
+    }
+}
@@ -22,10 +22,14 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 import org.junit.Test;
 
+import javafx.collections.ListChangeListener;
+
 /**
  * @author Andrea Vacondio
  *
@@ -84,4 +88,65 @@ public class CircularObservableListTest {
         assertEquals(Integer.valueOf(2), victim.get(1));
         assertEquals(Integer.valueOf(3), victim.get(2));
     }
+
+    @Test
+    public void singleChangeOnEviction() {
+        CircularObservableList<Integer> victim = new CircularObservableList<>(3);
+        victim.addAll(Arrays.asList(1, 2, 3));
+        List<Integer> removed = new ArrayList<>();
+        List<Integer> added = new ArrayList<>();
+        int[] changes = { 0 };
+        victim.addListener((ListChangeListener<Integer>) c -> {
+            changes[0]++;
+            while (c.next()) {
+                removed.addAll(c.getRemoved());
+                added.addAll(c.getAddedSubList());
+            }
+        });
+        victim.addAll(Arrays.asList(4, 5, 6, 7, 8));
+        assertEquals(1, changes[0]);
+        assertEquals(Arrays.asList(1, 2, 3), removed);
+        assertEquals(Arrays.asList(6, 7, 8), added);
+        assertEquals(Arrays.asList(6, 7, 8), victim);
+    }
+
+    @Test
+    public void wrapAround() {
+        CircularObservableList<Integer> victim = new CircularObservableList<>(3);
+        victim.addAll(Arrays.asList(1, 2, 3, 4, 5));
+        assertEquals(Integer.valueOf(4), victim.remove(1));
+        victim.add(6);
+        victim.set(0, 30);
+        assertEquals(Arrays.asList(30, 5, 6), victim);
+        victim.add(0, 7);
+        assertEquals(Arrays.asList(30, 5, 6), victim);
+    }
+
+    @Test
+    public void shrink() {
+        CircularObservableList<Integer> victim = new CircularObservableList<>(4);
+        victim.addAll(Arrays.asList(1, 2, 3, 4));
+        int[] changes = { 0 };
+        victim.addListener((ListChangeListener<Integer>) c -> changes[0]++);
+        victim.setMaxCapacity(2);
+        assertEquals(1, changes[0]);
+        assertEquals(Arrays.asList(3, 4), victim);
+    }
+
+    @Test
+    public void clear() {
+        CircularObservableList<Integer> victim = new CircularObservableList<>(2);
+        victim.addAll(Arrays.asList(1, 2, 3));
+        victim.clear();
+        assertTrue(victim.isEmpty());
+        victim.add(4);
+        assertEquals(Arrays.asList(4), victim);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void outOfBounds() {
+        CircularObservableList<Integer> victim = new CircularObservableList<>(2);
+        victim.add(1);
+        victim.get(1);
+    }
 }
@@ -30,6 +30,8 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
 import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -42,7 +44,6 @@ import org.pdfsam.context.UserContext;
 import org.pdfsam.i18n.DefaultI18nContext;
 import org.pdfsam.i18n.SetLocaleEvent;
 import org.pdfsam.injector.Injector;
-import org.pdfsam.module.Module;
 import org.pdfsam.news.FetchLatestNewsRequest;
 import org.pdfsam.news.NewsService;
 import org.pdfsam.premium.FetchPremiumModulesRequest;
@@ -60,10 +61,10 @@ import org.pdfsam.ui.dialog.OpenWithDialog;
 import org.pdfsam.ui.io.SetLatestDirectoryEvent;
 import org.pdfsam.ui.log.LogMessageBroadcaster;
 import org.pdfsam.ui.log.LoggerConfig;
-import org.pdfsam.ui.module.OpenButton;
 import org.pdfsam.ui.notification.NotificationsContainer;
 import org.pdfsam.ui.workspace.LoadWorkspaceEvent;
 import org.pdfsam.ui.workspace.SaveWorkspaceEvent;
+import org.pdfsam.ui.workspace.WorkspaceLoadedEvent;
 import org.pdfsam.update.UpdateCheckRequest;
 import org.sejda.core.Sejda;
 import org.pdfsam.eventstudio.annotation.EventListener;
@@ -73,6 +74,7 @@ import org.slf4j.LoggerFactory;
 
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import javafx.animation.AnimationTimer;
 import javafx.application.Application;
 import javafx.application.HostServices;
 import javafx.application.Platform;
@@ -93,8 +95,13 @@ import javafx.stage.Stage;
  */
 public class PdfsamApp extends Application {
     private static final Logger LOG = LoggerFactory.getLogger(PdfsamApp.class);
+    /**
+     * Closes the application once the first frame is shown, used for training runs and startup measurements
+     */
+    static final String EXIT_AFTER_STARTUP_ARG = "--exit-after-startup";
 
     private static StopWatch STOPWATCH = new StopWatch();
+    private final StartupProfiler profiler = new StartupProfiler();
     private Stage primaryStage;
     private UserContext userContext = new DefaultUserContext();
     private List<String> rawParameters;
@@ -105,9 +112,13 @@ public class PdfsamApp extends Application {
     @Override
     public void init() {
         STOPWATCH.start();
+        profiler.begin("init");
         rawParameters = getParameters().getRaw();
+        if (rawParameters.contains(StartupProfiler.PROFILE_STARTUP_ARG)) {
+            profiler.enable();
+        }
         verboseIfRequired();
-        startLogAppender();
+        profiler.profile("init/log appender", this::startLogAppender);
         System.setProperty(PDDocumentHandler.SAMBOX_USE_ASYNC_WRITER, Boolean.TRUE.toString());
         System.setProperty(Sejda.UNETHICAL_READ_PROPERTY_NAME, Boolean.TRUE.toString());
         LOG.info("Starting PDFsam");
@@ -127,6 +138,7 @@ public class PdfsamApp extends Application {
                 LOG.warn("Unable to set initial directory, default path is invalid.", e);
             }
         }
+        profiler.end("init");
     }
 
     private void verboseIfRequired() {
@@ -149,36 +161,58 @@ public class PdfsamApp extends Application {
     @Override
     public void start(Stage primaryStage) {
         this.primaryStage = primaryStage;
-        injector = initInjector();
+        injector = profiler.profile("injector", this::initInjector);
         Thread.setDefaultUncaughtExceptionHandler(new UncaughtExceptionLogger());
         initSejda();
         cleanIfRequired();
-        primaryStage.setScene(initScene());
+        primaryStage.setScene(profiler.profile("scene", this::initScene));
+        profiler.begin("stage");
         primaryStage.getIcons().addAll(injector.instancesOfType(Image.class));
         primaryStage.setTitle(injector.instance(Pdfsam.class).name());
         primaryStage.setOnCloseRequest(e -> Platform.exit());
         requestPremiumModulesDescriptionIfRequired();
         initWindowsStatusController(primaryStage);
         initDialogsOwner(primaryStage);
-        initActiveModule();
+        profiler.end("stage");
+        profiler.profile("startup module", this::initActiveModule);
+        eventStudio().addAnnotatedListeners(this);
         loadWorkspaceIfRequired();
-        initOpenButtons();
-        primaryStage.show();
+        profiler.begin("first frame");
+        new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                stop();
+                profiler.end("first frame");
+                profiler.logReport();
+                if (profiler.isEnabled()) {
+                    ProcessHandle.current().info().startInstant()
+                            .ifPresent(s -> LOG.info("First frame shown {}ms after the process started",
+                                    Duration.between(s, Instant.now()).toMillis()));
+                }
+                if (rawParameters.contains(EXIT_AFTER_STARTUP_ARG)) {
+                    LOG.info("Startup completed, exiting");
+                    Platform.exit();
+                }
+            }
+        }.start();
+        profiler.profile("show", primaryStage::show);
 
         requestCheckForUpdateIfRequired();
         requestLatestNewsIfRequired();
-        eventStudio().addAnnotatedListeners(this);
         closeSplash();
         STOPWATCH.stop();
         LOG.info(DefaultI18nContext.getInstance().i18n("Started in {0}",
                 DurationFormatUtils.formatDurationWords(STOPWATCH.getTime(), true, true)));
+        LOG.info("Startup phases: {}", profiler.summary());
         new InputPdfArgumentsController().accept(rawParameters);
     }
 
     private Injector initInjector() {
-        Injector.addConfig(new PdfsamConfig(), new LoggerConfig(), new PreferenceConfig(), new DashboardConfig());
-        Services.initServices();
-        return Injector.start();
+        profiler.profile("injector/configuration", () -> {
+            Injector.addConfig(new PdfsamConfig(), new LoggerConfig(), new PreferenceConfig(), new DashboardConfig());
+            Services.initServices();
+        });
+        return profiler.profile("injector/components", () -> Injector.start());
     }
 
     private void initSejda() {
@@ -198,7 +232,7 @@ public class PdfsamApp extends Application {
     }
 
     private Scene initScene() {
-        MainPane mainPane = injector.instance(MainPane.class);
+        MainPane mainPane = profiler.profile("scene/main pane", () -> injector.instance(MainPane.class));
 
         NotificationsContainer notifications = injector.instance(NotificationsContainer.class);
         StackPane main = new StackPane();
@@ -206,10 +240,14 @@ public class PdfsamApp extends Application {
         StackPane.setAlignment(mainPane, Pos.TOP_LEFT);
         main.getChildren().addAll(mainPane, notifications);
 
-        StylesConfig styles = injector.instance(StylesConfig.class);
-
         Scene mainScene = new Scene(main);
-        mainScene.getStylesheets().addAll(styles.styles());
+        profiler.profile("scene/styles", () -> {
+            mainScene.getStylesheets().addAll(injector.instance(StylesConfig.class).styles());
+            if (profiler.isEnabled()) {
+                // stylesheets are otherwise parsed on the first pulse
+                main.applyCss();
+            }
+        });
         mainScene.getAccelerators().put(new KeyCodeCombination(KeyCode.L, KeyCombination.SHORTCUT_DOWN),
                 () -> eventStudio().broadcast(ShowStageRequest.INSTANCE, "LogStage"));
         mainScene.getAccelerators().put(new KeyCodeCombination(KeyCode.Q, KeyCombination.SHORTCUT_DOWN),
@@ -288,14 +326,6 @@ public class PdfsamApp extends Application {
         }
     }
 
-    private void initOpenButtons() {
-        List<Module> modules = injector.instancesOfType(Module.class);
-        List<OpenButton> openButtons = injector.instancesOfType(OpenButton.class);
-        for (OpenButton button : openButtons) {
-            button.initModules(modules);
-        }
-    }
-
     private void requestPremiumModulesDescriptionIfRequired() {
         if (injector.instance(UserContext.class).isFetchPremiumModules()) {
             eventStudio().broadcast(FetchPremiumModulesRequest.INSTANCE);
@@ -306,10 +336,16 @@ public class PdfsamApp extends Application {
         String workspace = ofNullable(getParameters().getNamed().get("workspace")).filter(StringUtils::isNotBlank)
                 .orElseGet(userContext::getDefaultWorkspacePath);
         if (isNotBlank(workspace) && Files.exists(Paths.get(workspace))) {
+            profiler.begin("workspace load");
             eventStudio().broadcast(new LoadWorkspaceEvent(new File(workspace)));
         }
     }
 
+    @EventListener
+    public void onWorkspaceLoaded(WorkspaceLoadedEvent event) {
+        profiler.end("workspace load");
+    }
+
     private void saveWorkspaceIfRequired() {
         if (userContext.isSaveWorkspaceOnExit()) {
             String workspace = userContext.getDefaultWorkspacePath();
@@ -0,0 +1,162 @@
+/* 
+ * This file is part of the PDF Split And Merge source code
+ * Created on 17 ott 2026
+ * Copyright 2017 by Sober Lemur S.a.s di Vacondio Andrea (info@pdfsam.org).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as 
+ * published by the Free Software Foundation, either version 3 of the 
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps track of the duration of the startup phases. Phases are identified by their name, nested phases are named after their parent using
+ * {@value #SEPARATOR} as separator (Ex. "scene/styles"). A summary of the top level phases is always available, a detailed report of every
+ * phase is logged as a table when the application is started with {@value #PROFILE_STARTUP_ARG}.
+ *
+ * @author Andrea Vacondio
+ *
+ */
+class StartupProfiler {
+    private static final Logger LOG = LoggerFactory.getLogger(StartupProfiler.class);
+
+    static final String PROFILE_STARTUP_ARG = "--profile-startup";
+    static final String SEPARATOR = "/";
+
+    private final LongSupplier clock;
+    private final long origin;
+    private final Map<String, Phase> phases = new LinkedHashMap<>();
+    private boolean enabled = false;
+    private boolean reported = false;
+
+    StartupProfiler() {
+        this(System::nanoTime);
+    }
+
+    StartupProfiler(LongSupplier clock) {
+        this.clock = clock;
+        this.origin = clock.getAsLong();
+    }
+
+    /**
+     * Enables the detailed report
+     */
+    synchronized void enable() {
+        this.enabled = true;
+    }
+
+    synchronized boolean isEnabled() {
+        return enabled;
+    }
+
+    synchronized void begin(String phase) {
+        phases.put(phase, new Phase(clock.getAsLong()));
+    }
+
+    /**
+     * Ends the given phase, if it has been started and it's still running. Phases ending after the report has been logged are logged on their
+     * own.
+     */
+    synchronized void end(String phase) {
+        Phase current = phases.get(phase);
+        if (nonNull(current) && isNull(current.end)) {
+            current.end = clock.getAsLong();
+            if (enabled && reported) {
+                LOG.info("Startup phase {} completed in {}ms", phase, current.millis());
+            }
+        }
+    }
+
+    void profile(String phase, Runnable task) {
+        begin(phase);
+        try {
+            task.run();
+        } finally {
+            end(phase);
+        }
+    }
+
+    <T> T profile(String phase, Supplier<T> task) {
+        begin(phase);
+        try {
+            return task.get();
+        } finally {
+            end(phase);
+        }
+    }
+
+    /**
+     * @return a one line summary of the completed top level phases
+     */
+    synchronized String summary() {
+        List<String> summary = new ArrayList<>();
+        phases.forEach((name, phase) -> {
+            if (!name.contains(SEPARATOR) && nonNull(phase.end)) {
+                summary.add(String.format("%s %dms", name, phase.millis()));
+            }
+        });
+        return String.join(", ", summary);
+    }
+
+    /**
+     * @return a table with start offset and duration of every phase
+     */
+    synchronized String report() {
+        StringBuilder report = new StringBuilder(String.format("%-40s %10s %12s", "phase", "start ms", "duration ms"));
+        phases.forEach((name, phase) -> {
+            int depth = StringUtils.countMatches(name, SEPARATOR);
+            String label = StringUtils.repeat("  ", depth) + StringUtils.substringAfterLast(SEPARATOR + name, SEPARATOR);
+            report.append(System.lineSeparator())
+                    .append(String.format("%-40s %10d %12s", label, TimeUnit.NANOSECONDS.toMillis(phase.start - origin),
+                            nonNull(phase.end) ? Long.toString(phase.millis()) : "running"));
+        });
+        return report.toString();
+    }
+
+    /**
+     * Logs the detailed report if enabled
+     */
+    synchronized void logReport() {
+        if (enabled && !reported) {
+            reported = true;
+            LOG.info("Startup profile:{}{}", System.lineSeparator(), report());
+        }
+    }
+
+    private static class Phase {
+        private final long start;
+        private Long end;
+
+        Phase(long start) {
+            this.start = start;
+        }
+
+        long millis() {
+            return TimeUnit.NANOSECONDS.toMillis(end - start);
+        }
+    }
+}
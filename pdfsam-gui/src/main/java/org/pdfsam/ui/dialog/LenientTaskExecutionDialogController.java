@@ -18,12 +18,18 @@
  */
 package org.pdfsam.ui.dialog;
 
+import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
 import static org.pdfsam.eventstudio.StaticStudio.eventStudio;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import javax.inject.Inject;
 import javax.inject.Provider;
 
+import org.pdfsam.eventstudio.ReferenceStrength;
 import org.pdfsam.injector.Auto;
 import org.pdfsam.module.TaskExecutionRequestEvent;
 import org.pdfsam.eventstudio.annotation.EventListener;
@@ -33,7 +39,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * 
+ * Asks the user if a task that failed because of a non lenient execution has to be executed again in lenient mode. Tasks of different modules
+ * can be executed concurrently so the latest request is kept per module and the failures are listened on the module station.
  * 
  * @author Andrea Vacondio
  *
@@ -42,7 +49,7 @@ import org.slf4j.LoggerFactory;
 public class LenientTaskExecutionDialogController {
     private static final Logger LOG = LoggerFactory.getLogger(LenientTaskExecutionDialogController.class);
 
-    private TaskExecutionRequestEvent latest;
+    private Map<String, TaskExecutionRequestEvent> latest = new HashMap<>();
     private Provider<LenientExecutionConfirmationDialog> dialog;
 
     @Inject
@@ -53,15 +60,19 @@ public class LenientTaskExecutionDialogController {
 
     @EventListener(priority = Integer.MIN_VALUE + 1)
     public void request(TaskExecutionRequestEvent event) {
-        this.latest = event;
+        String moduleId = event.getModuleId();
+        if (isNotBlank(moduleId) && isNull(latest.put(moduleId, event))) {
+            eventStudio().add(TaskExecutionFailedEvent.class, e -> failed(e, moduleId), moduleId, Integer.MAX_VALUE,
+                    ReferenceStrength.STRONG);
+        }
     }
 
-    @EventListener(priority = Integer.MAX_VALUE)
-    public void failed(TaskExecutionFailedEvent event) {
+    void failed(TaskExecutionFailedEvent event, String moduleId) {
         if (event.getFailingCause() instanceof TaskNonLenientExecutionException) {
-            if (nonNull(latest) && dialog.get().response()) {
-                latest.getParameters().setLenient(true);
-                eventStudio().broadcast(latest);
+            TaskExecutionRequestEvent request = latest.get(moduleId);
+            if (nonNull(request) && dialog.get().response()) {
+                request.getParameters().setLenient(true);
+                eventStudio().broadcast(request);
                 LOG.info("Re-executing task in lenient mode");
             }
         }
@@ -22,6 +22,12 @@ import static java.util.Objects.nonNull;
 import static java.util.Optional.ofNullable;
 import static org.pdfsam.eventstudio.StaticStudio.eventStudio;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import javax.inject.Inject;
 
 import org.pdfsam.context.UserContext;
@@ -37,13 +43,17 @@ import javafx.stage.Window;
 import javafx.util.Callback;
 
 /**
- * {@link ListView} showing log messages
+ * {@link ListView} showing log messages. Messages are staged in a lock-free queue by the logging threads and drained into the list on the FX thread
+ * with a single add, followed by a single scroll, per batch.
  * 
  * @author Andrea Vacondio
  *
  */
 class LogListView extends ListView<LogMessage> implements Listener<LogMessage> {
 
+    private final Queue<LogMessage> staged = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
     @Inject
     public LogListView(UserContext userContext) {
         CircularObservableList<LogMessage> items = new CircularObservableList<>(userContext.getNumberOfLogRows());
@@ -77,10 +87,23 @@ class LogListView extends ListView<LogMessage> implements Listener<LogMessage> {
 
     @Override
     public void onEvent(LogMessage event) {
-        Platform.runLater(() -> {
-            getItems().add(event);
+        staged.add(event);
+        if (scheduled.compareAndSet(false, true)) {
+            Platform.runLater(this::drain);
+        }
+    }
+
+    private void drain() {
+        scheduled.set(false);
+        List<LogMessage> batch = new ArrayList<>();
+        LogMessage current;
+        while ((current = staged.poll()) != null) {
+            batch.add(current);
+        }
+        if (!batch.isEmpty()) {
+            getItems().addAll(batch);
             scrollToBottomIfShowing();
-        });
+        }
     }
 
     public void scrollToBottomIfShowing() {
@@ -21,8 +21,6 @@ package org.pdfsam.ui.log;
 import static java.util.Objects.nonNull;
 import static org.pdfsam.eventstudio.StaticStudio.eventStudio;
 
-import java.util.Scanner;
-
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.LoggerFactory;
 
@@ -35,7 +33,8 @@ import ch.qos.logback.core.AppenderBase;
 import ch.qos.logback.core.Layout;
 
 /**
- * A Logback appender appending log messages to a {@link LogListView}.
+ * A Logback appender appending log messages to a {@link LogListView}. Each line of the message is broadcast as a {@link LogMessage}, the view
+ * is expected to stage them without blocking the logging thread.
  * 
  * @author Andrea Vacondio
  * 
@@ -66,12 +65,21 @@ public class LogMessageBroadcaster extends AppenderBase<ILoggingEvent> {
 
     private void doAppendMessage(String message, ILoggingEvent event) {
         if (StringUtils.isNotBlank(message)) {
-            try (Scanner scanner = new Scanner(message)) {
-                while (scanner.hasNextLine()) {
-                    eventStudio().broadcast(
-                            new LogMessage(scanner.nextLine(), LogLevel.toLogLevel(event.getLevel().toInt())),
-                            "LogStage");
+            LogLevel level = LogLevel.toLogLevel(event.getLevel().toInt());
+            int start = 0;
+            int length = message.length();
+            while (start < length) {
+                int end = start;
+                while (end < length && message.charAt(end) != '\n' && message.charAt(end) != '\r') {
+                    end++;
+                }
+                if (end > start) {
+                    String line = message.substring(start, end);
+                    if (StringUtils.isNotBlank(line)) {
+                        eventStudio().broadcast(new LogMessage(line, level), "LogStage");
+                    }
                 }
+                start = end + 1;
             }
             if (event.getLevel().isGreaterOrEqual(Level.ERROR)) {
                 eventStudio().broadcast(new ErrorLoggedEvent());
@@ -18,40 +18,71 @@
  */
 package org.pdfsam.ui.workarea;
 
+import static java.util.stream.Collectors.toList;
 import static org.pdfsam.eventstudio.StaticStudio.eventStudio;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.List;
 
 import javax.inject.Inject;
 
+import org.pdfsam.module.Module;
+import org.pdfsam.module.UsageRankingChangedEvent;
 import org.pdfsam.ui.commons.SetActiveModuleRequest;
 import org.pdfsam.ui.quickbar.BaseQuickbarButtonsPane;
 import org.pdfsam.eventstudio.annotation.EventListener;
 
+import javafx.application.Platform;
+
 /**
- * Panel showing buttons to access the most used and most recently used modules
+ * Panel showing buttons to access the most used and most recently used modules. Buttons are created again only when the modules usage ranking
+ * changes the modules to show or their order.
  * 
  * @author Andrea Vacondio
  *
  */
 class QuickbarModuleButtonsPane extends BaseQuickbarButtonsPane {
 
-    private Set<ModuleButton> buttons = new HashSet<>();
+    private final QuickbarModuleButtonsProvider provider;
+    private List<ModuleButton> buttons = new ArrayList<>();
+    private String activeModuleId;
 
     @Inject
     QuickbarModuleButtonsPane(QuickbarModuleButtonsProvider provider) {
-        provider.buttons().forEach(b -> {
+        this.provider = provider;
+        show(provider.buttons());
+        eventStudio().addAnnotatedListeners(this);
+    }
+
+    private void show(List<ModuleButton> buttons) {
+        this.buttons.forEach(b -> b.displayTextProperty().unbind());
+        getChildren().removeAll(this.buttons);
+        this.buttons = new ArrayList<>(buttons);
+        this.buttons.forEach(b -> {
             b.displayTextProperty().bind(displayTextProperty());
+            b.setSelected(b.moduleId().equals(activeModuleId));
             getChildren().add(b);
-            this.buttons.add(b);
         });
-        eventStudio().addAnnotatedListeners(this);
     }
 
     @EventListener
     public void onSetCurrentModuleRequest(SetActiveModuleRequest r) {
-        r.getActiveModuleId().ifPresent(id -> buttons.forEach(b -> b.setSelected(b.moduleId().equals(id))));
+        r.getActiveModuleId().ifPresent(id -> {
+            activeModuleId = id;
+            buttons.forEach(b -> b.setSelected(b.moduleId().equals(id)));
+        });
     }
 
+    @EventListener
+    public void onUsageRankingChanged(UsageRankingChangedEvent event) {
+        Platform.runLater(this::refresh);
+    }
+
+    void refresh() {
+        List<Module> modules = provider.modules();
+        if (!modules.stream().map(Module::id).collect(toList())
+                .equals(buttons.stream().map(ModuleButton::moduleId).collect(toList()))) {
+            show(modules.stream().map(ModuleButton::new).collect(toList()));
+        }
+    }
 }
@@ -48,11 +48,18 @@ class QuickbarModuleButtonsProvider {
     }
 
     public List<ModuleButton> buttons() {
+        return modules().stream().map(ModuleButton::new).collect(Collectors.toList());
+    }
+
+    /**
+     * @return the modules to show in the quickbar, in order
+     */
+    public List<Module> modules() {
         Set<Module> collected = new LinkedHashSet<>();
         fillWithMostRecentlyUsed(collected);
         fillWithMostUsed(collected);
         fillWithPrioritized(collected);
-        return collected.stream().map(ModuleButton::new).collect(Collectors.toList());
+        return new ArrayList<>(collected);
     }
 
     private void fillWithMostUsed(Set<Module> collected) {
@@ -0,0 +1,82 @@
+/* 
+ * This file is part of the PDF Split And Merge source code
+ * Created on 17 ott 2026
+ * Copyright 2017 by Sober Lemur S.a.s di Vacondio Andrea (info@pdfsam.org).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as 
+ * published by the Free Software Foundation, either version 3 of the 
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class StartupProfilerTest {
+
+    private AtomicLong clock;
+    private StartupProfiler victim;
+
+    @Before
+    public void setUp() {
+        clock = new AtomicLong();
+        victim = new StartupProfiler(clock::get);
+    }
+
+    private void elapse(long millis) {
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    @Test
+    public void summary() {
+        victim.profile("init", () -> {
+            elapse(10);
+            victim.profile("init/log appender", () -> elapse(5));
+        });
+        assertEquals("value", victim.profile("scene", () -> {
+            elapse(20);
+            return "value";
+        }));
+        victim.begin("workspace load");
+        assertEquals("init 15ms, scene 20ms", victim.summary());
+    }
+
+    @Test
+    public void report() {
+        victim.profile("init", () -> elapse(10));
+        victim.profile("scene", () -> {
+            victim.profile("scene/styles", () -> elapse(7));
+        });
+        victim.begin("workspace load");
+        String[] lines = victim.report().split(System.lineSeparator());
+        assertEquals(5, lines.length);
+        assertTrue(lines[1].matches("init\\s+0\\s+10"));
+        assertTrue(lines[3].matches("  styles\\s+10\\s+7"));
+        assertTrue(lines[4].matches("workspace load\\s+17\\s+running"));
+    }
+
+    @Test
+    public void endNotStarted() {
+        victim.end("chuck");
+        assertEquals("", victim.summary());
+    }
+}
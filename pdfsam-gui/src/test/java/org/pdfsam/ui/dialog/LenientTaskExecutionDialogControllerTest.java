@@ -94,7 +94,7 @@ public class LenientTaskExecutionDialogControllerTest extends ApplicationTest {
         TaskExecutionRequestEvent request = mock(TaskExecutionRequestEvent.class);
         eventStudio().broadcast(request);
         TaskExecutionFailedEvent failure = new TaskExecutionFailedEvent(new IOException(), null);
-        button.setOnAction(a -> eventStudio().broadcast(failure));
+        button.setOnAction(a -> eventStudio().broadcast(failure, "id"));
         clickOn("show");
         assertFalse(robotContext().getWindowFinder().listWindows().size() > 1);
     }
@@ -103,7 +103,7 @@ public class LenientTaskExecutionDialogControllerTest extends ApplicationTest {
     public void negativeNoLatestTest() {
         TaskExecutionFailedEvent failure = new TaskExecutionFailedEvent(
                 new TaskNonLenientExecutionException(new IOException()), null);
-        button.setOnAction(a -> eventStudio().broadcast(failure));
+        button.setOnAction(a -> eventStudio().broadcast(failure, "id"));
         clickOn("show");
         assertFalse(robotContext().getWindowFinder().listWindows().size() > 1);
     }
@@ -117,7 +117,7 @@ public class LenientTaskExecutionDialogControllerTest extends ApplicationTest {
         eventStudio().add(TaskExecutionRequestEvent.class, listener);
         TaskExecutionFailedEvent failure = new TaskExecutionFailedEvent(
                 new TaskNonLenientExecutionException(new IOException()), null);
-        button.setOnAction(a -> eventStudio().broadcast(failure));
+        button.setOnAction(a -> eventStudio().broadcast(failure, "id"));
         clickOn("show");
         assertTrue(robotContext().getWindowFinder().listWindows().size() > 1);
         clickOn(DefaultI18nContext.getInstance().i18n("No"));
@@ -134,7 +134,7 @@ public class LenientTaskExecutionDialogControllerTest extends ApplicationTest {
         eventStudio().add(TaskExecutionRequestEvent.class, listener);
         TaskExecutionFailedEvent failure = new TaskExecutionFailedEvent(
                 new TaskNonLenientExecutionException(new IOException()), null);
-        button.setOnAction(a -> eventStudio().broadcast(failure));
+        button.setOnAction(a -> eventStudio().broadcast(failure, "id"));
         clickOn("show");
         assertTrue(robotContext().getWindowFinder().listWindows().size() > 1);
         clickOn(DefaultI18nContext.getInstance().i18n("Yes"));
@@ -142,4 +142,16 @@ public class LenientTaskExecutionDialogControllerTest extends ApplicationTest {
         verify(listener).onEvent(request);
     }
 
+    @Test
+    public void negativeOtherModuleTest() {
+        AbstractParameters params = mock(AbstractParameters.class);
+        eventStudio().broadcast(new TaskExecutionRequestEvent("anotherId", params));
+        TaskExecutionFailedEvent failure = new TaskExecutionFailedEvent(
+                new TaskNonLenientExecutionException(new IOException()), null);
+        button.setOnAction(a -> eventStudio().broadcast(failure, "id"));
+        clickOn("show");
+        assertFalse(robotContext().getWindowFinder().listWindows().size() > 1);
+        verify(params, never()).setLenient(anyBoolean());
+    }
+
 }
@@ -91,4 +91,16 @@ public class LogListViewTest {
         waitOrTimeout(() -> "anotherTestMessage3".equals(victim.getItems().get(0).getMessage()), timeout(seconds(2)));
         waitOrTimeout(() -> "anotherTestMessage4".equals(victim.getItems().get(1).getMessage()), timeout(seconds(2)));
     }
+
+    @Test
+    public void appendMany() throws InterruptedException, TimeoutException {
+        when(userContext.getNumberOfLogRows()).thenReturn(500);
+        LogListView victim = new LogListView(userContext);
+        for (int i = 0; i < 1000; i++) {
+            victim.onEvent(new LogMessage("message" + i, LogLevel.INFO));
+        }
+        waitOrTimeout(() -> victim.getItems().size() == 500, timeout(seconds(2)));
+        waitOrTimeout(() -> "message500".equals(victim.getItems().get(0).getMessage()), timeout(seconds(2)));
+        waitOrTimeout(() -> "message999".equals(victim.getItems().get(499).getMessage()), timeout(seconds(2)));
+    }
 }
@@ -21,6 +21,7 @@ package org.pdfsam.ui.log;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -96,4 +97,17 @@ public class LogMessageBroadcasterTest {
         victim.append(event);
         verify(listener, timeout(1000).times(1)).onEvent(any());
     }
+
+    @Test
+    public void multipleLines() {
+        Listener<LogMessage> listener = mock(Listener.class);
+        eventStudio().add(LogMessage.class, listener, "LogStage");
+        LogMessageBroadcaster victim = injector.instance(LogMessageBroadcaster.class);
+        ILoggingEvent event = mock(ILoggingEvent.class);
+        when(event.getLevel()).thenReturn(Level.INFO);
+        when(event.getFormattedMessage()).thenReturn("first\nsecond\r\n\n  \nthird");
+        victim.start();
+        victim.append(event);
+        verify(listener, times(3)).onEvent(any(LogMessage.class));
+    }
 }
@@ -18,12 +18,14 @@
  */
 package org.pdfsam.ui.workarea;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.junit.Before;
@@ -47,13 +49,14 @@ public class QuickbarModuleButtonsPaneTest {
     public ClearEventStudioRule clearStudio = new ClearEventStudioRule();
     private QuickbarModuleButtonsPane victim;
     private List<ModuleButton> buttons;
+    private QuickbarModuleButtonsProvider provider;
 
     @Before
     public void setUp() {
         buttons = new ArrayList<>();
         buttons.add(new ModuleButton(new DefaultPriorityTestModule()));
         buttons.add(new ModuleButton(new LowPriorityTestModule()));
-        QuickbarModuleButtonsProvider provider = mock(QuickbarModuleButtonsProvider.class);
+        provider = mock(QuickbarModuleButtonsProvider.class);
         when(provider.buttons()).thenReturn(buttons);
         victim = new QuickbarModuleButtonsPane(provider);
     }
@@ -75,4 +78,23 @@ public class QuickbarModuleButtonsPaneTest {
         victim.setDisplayText(true);
         buttons.forEach(m -> assertTrue(m.isDisplayText()));
     }
+
+    @Test
+    public void refreshSameOrder() {
+        when(provider.modules()).thenReturn(Arrays.asList(new DefaultPriorityTestModule(), new LowPriorityTestModule()));
+        victim.refresh();
+        assertTrue(victim.getChildren().containsAll(buttons));
+    }
+
+    @Test
+    public void refreshChangedOrder() {
+        victim.onSetCurrentModuleRequest(SetActiveModuleRequest.activeteModule(DefaultPriorityTestModule.ID));
+        when(provider.modules()).thenReturn(Arrays.asList(new LowPriorityTestModule(), new DefaultPriorityTestModule()));
+        victim.refresh();
+        assertFalse(victim.getChildren().stream().anyMatch(buttons::contains));
+        ModuleButton first = (ModuleButton) victim.getChildren().get(0);
+        assertEquals(LowPriorityTestModule.ID, first.moduleId());
+        assertTrue(victim.getChildren().stream().map(b -> (ModuleButton) b)
+                .filter(b -> b.moduleId().equals(DefaultPriorityTestModule.ID)).allMatch(ModuleButton::isSelected));
+    }
 }
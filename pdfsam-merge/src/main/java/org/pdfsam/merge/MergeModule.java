@@ -21,17 +21,20 @@ package org.pdfsam.merge;
 import static org.pdfsam.module.ModuleDescriptorBuilder.builder;
 import static org.pdfsam.ui.support.Views.titledPane;
 
+import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
 
 import javax.inject.Inject;
 import javax.inject.Named;
+import javax.inject.Provider;
 
 import org.pdfsam.context.UserContext;
 import org.pdfsam.i18n.DefaultI18nContext;
 import org.pdfsam.injector.Auto;
 import org.pdfsam.injector.Components;
 import org.pdfsam.injector.Provides;
+import org.pdfsam.module.Module;
 import org.pdfsam.module.ModuleCategory;
 import org.pdfsam.module.ModuleDescriptor;
 import org.pdfsam.module.ModuleInputOutputType;
@@ -43,7 +46,6 @@ import org.pdfsam.ui.module.BaseTaskExecutionModule;
 import org.pdfsam.ui.module.Footer;
 import org.pdfsam.ui.module.OpenButton;
 import org.pdfsam.ui.module.RunButton;
-import org.pdfsam.eventstudio.annotation.EventListener;
 import org.pdfsam.eventstudio.annotation.EventStation;
 
 import javafx.geometry.Pos;
@@ -61,10 +63,10 @@ import javafx.scene.layout.VBox;
 @Auto
 public class MergeModule extends BaseTaskExecutionModule {
 
-    private static final String MODULE_ID = "merge";
+    static final String MODULE_ID = "merge";
 
-    private MergeSelectionPane selectionPane = new MergeSelectionPane(MODULE_ID);
-    private MergeOptionsPane mergeOptions = new MergeOptionsPane();
+    private MergeSelectionPane selectionPane;
+    private MergeOptionsPane mergeOptions;
     private BrowsablePdfOutputField destinationFileField;
     private PdfDestinationPane destinationPane;
     private ModuleDescriptor descriptor = builder().category(ModuleCategory.MERGE)
@@ -74,12 +76,17 @@ public class MergeModule extends BaseTaskExecutionModule {
             .priority(ModulePriority.HIGH.getPriority()).supportURL("https://pdfsam.org/pdf-merge/").build();
 
     @Inject
-    public MergeModule(@Named(MODULE_ID + "field") BrowsablePdfOutputField destinationFileField,
-            @Named(MODULE_ID + "pane") PdfDestinationPane destinationPane, @Named(MODULE_ID + "footer") Footer footer) {
+    public MergeModule(@Named(MODULE_ID + "field") Provider<BrowsablePdfOutputField> destinationFileField,
+            @Named(MODULE_ID + "pane") Provider<PdfDestinationPane> destinationPane,
+            @Named(MODULE_ID + "footer") Provider<Footer> footer) {
         super(footer);
-        this.destinationFileField = destinationFileField;
-        this.destinationPane = destinationPane;
-        initModuleSettingsPanel(settingPanel());
+        initModuleSettingsPanel(() -> {
+            this.selectionPane = new MergeSelectionPane(MODULE_ID);
+            this.mergeOptions = new MergeOptionsPane();
+            this.destinationFileField = destinationFileField.get();
+            this.destinationPane = destinationPane.get();
+            return settingPanel();
+        });
     }
 
     @Override
@@ -130,8 +137,8 @@ public class MergeModule extends BaseTaskExecutionModule {
         return MODULE_ID;
     }
 
-    @EventListener
-    public void onClearModule(ClearModuleEvent e) {
+    @Override
+    protected void onClearModule(ClearModuleEvent e) {
         if (e.clearEverything) {
             mergeOptions.resetView();
             destinationPane.resetView();
@@ -166,8 +173,8 @@ public class MergeModule extends BaseTaskExecutionModule {
 
         @Provides
         @Named(MODULE_ID + "openButton")
-        public OpenButton openButton() {
-            return new OpenButton(MODULE_ID, ModuleInputOutputType.SINGLE_PDF);
+        public OpenButton openButton(List<Module> modules) {
+            return OpenButton.forModules(MODULE_ID, ModuleInputOutputType.SINGLE_PDF, modules);
         }
     }
 }
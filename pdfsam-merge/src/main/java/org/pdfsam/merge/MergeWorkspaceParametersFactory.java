@@ -0,0 +1,75 @@
+/* 
+ * This file is part of the PDF Split And Merge source code
+ * Created on 17 ott 2026
+ * Copyright 2017 by Sober Lemur S.a.s di Vacondio Andrea (info@pdfsam.org).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as 
+ * published by the Free Software Foundation, either version 3 of the 
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.merge;
+
+import static java.util.Optional.ofNullable;
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
+import static org.apache.commons.lang3.StringUtils.trim;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import org.pdfsam.i18n.DefaultI18nContext;
+import org.pdfsam.support.params.WorkspaceParameters;
+import org.pdfsam.support.params.WorkspaceParametersFactory;
+import org.sejda.conversion.exception.ConversionException;
+import org.sejda.model.input.PdfMergeInput;
+import org.sejda.model.outline.OutlinePolicy;
+import org.sejda.model.pdf.form.AcroFormPolicy;
+import org.sejda.model.toc.ToCPolicy;
+
+/**
+ * Creates the {@link MergeParametersBuilder} from the merge module workspace data
+ * 
+ * @author Andrea Vacondio
+ *
+ */
+public class MergeWorkspaceParametersFactory implements WorkspaceParametersFactory {
+
+    @Override
+    public String moduleId() {
+        return MergeModule.MODULE_ID;
+    }
+
+    @Override
+    public MergeParametersBuilder builder(Map<String, String> data, Consumer<String> onError) {
+        MergeParametersBuilder builder = new MergeParametersBuilder();
+        try {
+            WorkspaceParameters.inputs(data).stream().filter(i -> !Objects.equals("0", trim(i.getRange())))
+                    .map(i -> new PdfMergeInput(i.toPdfFileSource(), i.toPageRangeSet())).forEach(builder::addInput);
+            if (!builder.hasInput()) {
+                onError.accept(DefaultI18nContext.getInstance().i18n("No PDF document has been selected"));
+            }
+        } catch (ConversionException e) {
+            onError.accept(e.getMessage());
+        }
+        ofNullable(data.get("outline")).filter(v -> isNotBlank(v)).map(OutlinePolicy::valueOf)
+                .ifPresent(builder::outlinePolicy);
+        ofNullable(data.get("acroForms")).filter(v -> isNotBlank(v)).map(AcroFormPolicy::valueOf)
+                .ifPresent(builder::acroFormsPolicy);
+        ofNullable(data.get("toc")).filter(v -> isNotBlank(v)).map(ToCPolicy::valueOf).ifPresent(builder::tocPolicy);
+        builder.blankPageIfOdd(Boolean.valueOf(data.get("blankIfOdd")));
+        builder.footer(Boolean.valueOf(data.get("footer")));
+        builder.normalize(Boolean.valueOf(data.get("normalize")));
+        WorkspaceParameters.applyFileOutput(builder, data, outputKey(), onError);
+        WorkspaceParameters.applyPdfOutput(builder, data);
+        return builder;
+    }
+}
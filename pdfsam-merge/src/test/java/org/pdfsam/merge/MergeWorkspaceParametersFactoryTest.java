@@ -0,0 +1,98 @@
+/* 
+ * This file is part of the PDF Split And Merge source code
+ * Created on 17 ott 2026
+ * Copyright 2017 by Sober Lemur S.a.s di Vacondio Andrea (info@pdfsam.org).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as 
+ * published by the Free Software Foundation, either version 3 of the 
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.merge;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sejda.model.outline.OutlinePolicy;
+import org.sejda.model.output.ExistingOutputPolicy;
+import org.sejda.model.parameter.MergeParameters;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class MergeWorkspaceParametersFactoryTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    private Consumer<String> onError;
+    private Map<String, String> data;
+    private MergeWorkspaceParametersFactory victim = new MergeWorkspaceParametersFactory();
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws IOException {
+        onError = mock(Consumer.class);
+        data = new HashMap<>();
+        data.put("input.size", "2");
+        data.put("input.0", folder.newFile("first.pdf").getAbsolutePath());
+        data.put("input.range.0", "2-4");
+        data.put("input.1", folder.newFile("second.pdf").getAbsolutePath());
+        data.put(victim.outputKey(), new File(folder.getRoot(), "out.pdf").getAbsolutePath());
+    }
+
+    @Test
+    public void build() {
+        data.put("outline", OutlinePolicy.DISCARD.name());
+        data.put("overwrite", "true");
+        data.put("blankIfOdd", "true");
+        MergeParameters params = victim.builder(data, onError).build();
+        verify(onError, never()).accept(anyString());
+        assertEquals(2, params.getInputList().size());
+        assertEquals(1, params.getInputList().get(0).getPageSelection().size());
+        assertTrue(params.getInputList().get(1).isAllPages());
+        assertEquals(OutlinePolicy.DISCARD, params.getOutlinePolicy());
+        assertEquals(ExistingOutputPolicy.OVERWRITE, params.getExistingOutputPolicy());
+        assertTrue(params.isBlankPageIfOdd());
+    }
+
+    @Test
+    public void noInput() {
+        data.put("input.size", "0");
+        victim.builder(data, onError);
+        verify(onError).accept(anyString());
+    }
+
+    @Test
+    public void invalidOutput() {
+        data.put(victim.outputKey(), new File(folder.getRoot(), "out.txt").getAbsolutePath());
+        victim.builder(data, onError);
+        verify(onError).accept(anyString());
+    }
+
+    @Test
+    public void outputKey() {
+        assertEquals("merge.destinationbrowsableField", victim.outputKey());
+    }
+}
@@ -20,17 +20,20 @@ package org.pdfsam.rotate;
 
 import static org.pdfsam.module.ModuleDescriptorBuilder.builder;
 
+import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
 
 import javax.inject.Inject;
 import javax.inject.Named;
+import javax.inject.Provider;
 
 import org.pdfsam.context.UserContext;
 import org.pdfsam.i18n.DefaultI18nContext;
 import org.pdfsam.injector.Auto;
 import org.pdfsam.injector.Components;
 import org.pdfsam.injector.Provides;
+import org.pdfsam.module.Module;
 import org.pdfsam.module.ModuleCategory;
 import org.pdfsam.module.ModuleDescriptor;
 import org.pdfsam.module.ModuleInputOutputType;
@@ -44,7 +47,6 @@ import org.pdfsam.ui.module.OpenButton;
 import org.pdfsam.ui.module.RunButton;
 import org.pdfsam.ui.prefix.PrefixPane;
 import org.pdfsam.ui.support.Views;
-import org.pdfsam.eventstudio.annotation.EventListener;
 import org.pdfsam.eventstudio.annotation.EventStation;
 import org.sejda.model.prefix.Prefix;
 
@@ -64,10 +66,10 @@ import javafx.scene.layout.VBox;
 @Auto
 public class RotateModule extends BaseTaskExecutionModule {
 
-    private static final String MODULE_ID = "rotate";
+    static final String MODULE_ID = "rotate";
 
-    private RotateSelectionPane selectionPane = new RotateSelectionPane(MODULE_ID);
-    private RotateOptionsPane rotateOptions = new RotateOptionsPane();
+    private RotateSelectionPane selectionPane;
+    private RotateOptionsPane rotateOptions;
     private BrowsableOutputDirectoryField destinationDirectoryField;
     private PdfDestinationPane destinationPane;
     private PrefixPane prefix;
@@ -78,14 +80,19 @@ public class RotateModule extends BaseTaskExecutionModule {
             .priority(ModulePriority.DEFAULT.getPriority()).supportURL("https://pdfsam.org/rotate-pdf/").build();
 
     @Inject
-    public RotateModule(@Named(MODULE_ID + "field") BrowsableOutputDirectoryField destinationDirectoryField,
-            @Named(MODULE_ID + "pane") PdfDestinationPane destinationPane, @Named(MODULE_ID + "footer") Footer footer,
-            @Named(MODULE_ID + "prefix") PrefixPane prefix) {
+    public RotateModule(@Named(MODULE_ID + "field") Provider<BrowsableOutputDirectoryField> destinationDirectoryField,
+            @Named(MODULE_ID + "pane") Provider<PdfDestinationPane> destinationPane,
+            @Named(MODULE_ID + "footer") Provider<Footer> footer,
+            @Named(MODULE_ID + "prefix") Provider<PrefixPane> prefix) {
         super(footer);
-        this.destinationDirectoryField = destinationDirectoryField;
-        this.destinationPane = destinationPane;
-        this.prefix = prefix;
-        initModuleSettingsPanel(settingPanel());
+        initModuleSettingsPanel(() -> {
+            this.selectionPane = new RotateSelectionPane(MODULE_ID);
+            this.rotateOptions = new RotateOptionsPane();
+            this.destinationDirectoryField = destinationDirectoryField.get();
+            this.destinationPane = destinationPane.get();
+            this.prefix = prefix.get();
+            return settingPanel();
+        });
     }
 
     @Override
@@ -146,8 +153,8 @@ public class RotateModule extends BaseTaskExecutionModule {
         return MODULE_ID;
     }
 
-    @EventListener
-    public void onClearModule(ClearModuleEvent e) {
+    @Override
+    protected void onClearModule(ClearModuleEvent e) {
         if (e.clearEverything) {
             rotateOptions.resetView();
             prefix.resetView();
@@ -183,8 +190,8 @@ public class RotateModule extends BaseTaskExecutionModule {
 
         @Provides
         @Named(MODULE_ID + "openButton")
-        public OpenButton openButton() {
-            return new OpenButton(MODULE_ID, ModuleInputOutputType.MULTIPLE_PDF);
+        public OpenButton openButton(List<Module> modules) {
+            return OpenButton.forModules(MODULE_ID, ModuleInputOutputType.MULTIPLE_PDF, modules);
         }
 
         @Provides
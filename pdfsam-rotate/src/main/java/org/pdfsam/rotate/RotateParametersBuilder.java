@@ -42,6 +42,15 @@ import org.sejda.model.rotation.Rotation;
 class RotateParametersBuilder extends AbstractPdfOutputParametersBuilder<BulkRotateParameters>
         implements MultipleOutputTaskParametersBuilder<BulkRotateParameters> {
 
+    /**
+     * System property to set the maximum number of documents rotated at the same time
+     */
+    public static final String PDFSAM_ROTATE_PARALLELISM = "org.pdfsam.rotate.parallelism";
+    /**
+     * System property to write rotated documents as an incremental update of the original ones
+     */
+    public static final String PDFSAM_ROTATE_INCREMENTAL = "org.pdfsam.rotate.incremental";
+
     private SingleOrMultipleTaskOutput output;
     private String prefix;
     private Set<PdfRotationInput> inputs = new NullSafeSet<>();
@@ -95,6 +104,9 @@ class RotateParametersBuilder extends AbstractPdfOutputParametersBuilder<BulkRot
         params.setVersion(getVersion());
         params.setOutput(getOutput());
         params.setOutputPrefix(getPrefix());
+        params.setParallelism(Math.max(1, Integer.getInteger(PDFSAM_ROTATE_PARALLELISM,
+                Math.min(4, Runtime.getRuntime().availableProcessors()))));
+        params.setIncremental(Boolean.getBoolean(PDFSAM_ROTATE_INCREMENTAL));
         inputs.forEach(params::addInput);
         return params;
     }
@@ -0,0 +1,70 @@
+/* 
+ * This file is part of the PDF Split And Merge source code
+ * Created on 17 ott 2026
+ * Copyright 2017 by Sober Lemur S.a.s di Vacondio Andrea (info@pdfsam.org).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as 
+ * published by the Free Software Foundation, either version 3 of the 
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.rotate;
+
+import static java.util.Optional.ofNullable;
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
+import static org.apache.commons.lang3.StringUtils.trim;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import org.pdfsam.i18n.DefaultI18nContext;
+import org.pdfsam.support.params.WorkspaceParameters;
+import org.pdfsam.support.params.WorkspaceParametersFactory;
+import org.sejda.conversion.exception.ConversionException;
+import org.sejda.model.pdf.page.PredefinedSetOfPages;
+import org.sejda.model.rotation.Rotation;
+
+/**
+ * Creates the {@link RotateParametersBuilder} from the rotate module workspace data
+ * 
+ * @author Andrea Vacondio
+ *
+ */
+public class RotateWorkspaceParametersFactory implements WorkspaceParametersFactory {
+
+    @Override
+    public String moduleId() {
+        return RotateModule.MODULE_ID;
+    }
+
+    @Override
+    public RotateParametersBuilder builder(Map<String, String> data, Consumer<String> onError) {
+        RotateParametersBuilder builder = new RotateParametersBuilder();
+        builder.rotation(ofNullable(data.get("rotation")).filter(v -> isNotBlank(v)).map(Rotation::valueOf)
+                .orElse(Rotation.DEGREES_90));
+        builder.rotationType(ofNullable(data.get("rotationType")).filter(v -> isNotBlank(v))
+                .map(PredefinedSetOfPages::valueOf).orElse(PredefinedSetOfPages.ALL_PAGES));
+        try {
+            WorkspaceParameters.inputs(data).stream().filter(i -> !Objects.equals("0", trim(i.getRange())))
+                    .forEach(i -> builder.addInput(i.toPdfFileSource(), i.toPageRangeSet()));
+            if (!builder.hasInput()) {
+                onError.accept(DefaultI18nContext.getInstance().i18n("No PDF document has been selected"));
+            }
+        } catch (ConversionException e) {
+            onError.accept(e.getMessage());
+        }
+        WorkspaceParameters.applyDirectoryOutput(builder, data, outputKey(), onError);
+        WorkspaceParameters.applyPdfOutput(builder, data);
+        WorkspaceParameters.applyPrefix(builder, data, RotateModule.MODULE_ID);
+        return builder;
+    }
+}
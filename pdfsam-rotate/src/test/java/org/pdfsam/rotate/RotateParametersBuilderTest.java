@@ -72,6 +72,7 @@ public class RotateParametersBuilderTest {
         assertTrue(params.isCompress());
         assertEquals(ExistingOutputPolicy.OVERWRITE, params.getExistingOutputPolicy());
         assertEquals(PdfVersion.VERSION_1_7, params.getVersion());
+        assertTrue(params.getParallelism() >= 1);
         Set<PdfRotationInput> inputs = params.getInputSet();
         assertEquals(1, inputs.size());
         PdfRotationInput input = inputs.iterator().next();
@@ -0,0 +1,126 @@
+/* 
+ * This file is part of the PDF Split And Merge source code
+ * Created on 17 ott 2026
+ * Copyright 2017 by Sober Lemur S.a.s di Vacondio Andrea (info@pdfsam.org).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as 
+ * published by the Free Software Foundation, either version 3 of the 
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.rotate;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.pdfsam.task.BulkRotateParameters;
+import org.pdfsam.task.PdfRotationInput;
+import org.sejda.model.pdf.page.PredefinedSetOfPages;
+import org.sejda.model.rotation.Rotation;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class RotateWorkspaceParametersFactoryTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    private Consumer<String> onError;
+    private Map<String, String> data;
+    private File first;
+    private RotateWorkspaceParametersFactory victim = new RotateWorkspaceParametersFactory();
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws IOException {
+        onError = mock(Consumer.class);
+        first = folder.newFile("first.pdf");
+        data = new HashMap<>();
+        data.put("input.size", "2");
+        data.put("input.0", first.getAbsolutePath());
+        data.put("input.range.0", "2-5");
+        data.put("input.1", folder.newFile("second.pdf").getAbsolutePath());
+        data.put("input.range.1", "0");
+        data.put("prefix", "prefix_");
+        data.put(victim.outputKey(), folder.newFolder("out").getAbsolutePath());
+    }
+
+    @Test
+    public void build() {
+        data.put("rotation", Rotation.DEGREES_180.name());
+        BulkRotateParameters params = victim.builder(data, onError).build();
+        verify(onError, never()).accept(anyString());
+        assertEquals(1, params.getInputSet().size());
+        PdfRotationInput input = params.getInputSet().iterator().next();
+        assertEquals(first, input.source.getSource());
+        assertEquals(Rotation.DEGREES_180, input.rotation);
+        assertEquals(4, input.getPages(10).size());
+        assertEquals("prefix_", params.getOutputPrefix());
+    }
+
+    @Test
+    public void rotationType() {
+        data.put("input.range.0", "");
+        data.put("rotationType", PredefinedSetOfPages.ODD_PAGES.name());
+        BulkRotateParameters params = victim.builder(data, onError).build();
+        verify(onError, never()).accept(anyString());
+        assertEquals(5, params.getInputSet().iterator().next().getPages(10).size());
+    }
+
+    @Test
+    public void defaults() {
+        data.put("input.range.0", "");
+        BulkRotateParameters params = victim.builder(data, onError).build();
+        verify(onError, never()).accept(anyString());
+        PdfRotationInput input = params.getInputSet().iterator().next();
+        assertEquals(Rotation.DEGREES_90, input.rotation);
+        assertEquals(10, input.getPages(10).size());
+    }
+
+    @Test
+    public void noInput() {
+        data.put("input.range.0", "0");
+        victim.builder(data, onError);
+        verify(onError).accept(anyString());
+    }
+
+    @Test
+    public void invalidRange() {
+        data.put("input.range.0", "Chuck");
+        victim.builder(data, onError);
+        verify(onError).accept(anyString());
+    }
+
+    @Test
+    public void noOutput() {
+        data.remove(victim.outputKey());
+        victim.builder(data, onError);
+        verify(onError).accept(anyString());
+    }
+
+    @Test
+    public void outputKey() {
+        assertEquals("rotate.destinationbrowsableField", victim.outputKey());
+    }
+}
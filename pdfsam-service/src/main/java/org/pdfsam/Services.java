@@ -24,6 +24,7 @@ import org.pdfsam.news.NewsServiceConfig;
 import org.pdfsam.pdf.PdfServiceConfig;
 import org.pdfsam.premium.PremiumServiceConfig;
 import org.pdfsam.task.TaskExecutionServiceConfig;
+import org.pdfsam.thumbnails.ThumbnailsServiceConfig;
 import org.pdfsam.ui.UIServiceConfig;
 import org.pdfsam.update.UpdateServiceConfig;
 
@@ -37,6 +38,7 @@ public class Services {
      */
     public static void initServices() {
         Injector.addConfig(new UpdateServiceConfig(), new UIServiceConfig(), new TaskExecutionServiceConfig(),
-                new PdfServiceConfig(), new NewsServiceConfig(), new ModuleServiceConfig(), new PremiumServiceConfig());
+                new PdfServiceConfig(), new NewsServiceConfig(), new ModuleServiceConfig(), new PremiumServiceConfig(),
+                new ThumbnailsServiceConfig());
     }
 }
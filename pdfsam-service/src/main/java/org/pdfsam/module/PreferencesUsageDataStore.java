@@ -18,14 +18,21 @@
  */
 package org.pdfsam.module;
 
-import static java.util.stream.Collectors.toList;
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 import static org.pdfsam.eventstudio.StaticStudio.eventStudio;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.prefs.BackingStoreException;
 import java.util.prefs.Preferences;
 
@@ -37,6 +44,9 @@ import org.slf4j.LoggerFactory;
 import com.fasterxml.jackson.jr.ob.JSON;
 
 /**
+ * Modules usage statistics. Usages are read from the {@link Preferences} once, counted in memory and written back in batches by a background
+ * thread some time after they have been incremented, and on {@link ShutdownEvent}.
+ * 
  * @author Andrea Vacondio
  */
 class PreferencesUsageDataStore {
@@ -46,43 +56,68 @@ class PreferencesUsageDataStore {
     static final String MODULE_USAGE_KEY = "module.usage";
     static final String TASKS_EXECUTED_KEY = "tasks.executed";
 
+    /**
+     * System property to set the milliseconds after which incremented usages are written to the preferences
+     */
+    public static final String PDFSAM_USAGE_WRITE_DELAY = "org.pdfsam.usage.write.delay";
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final LongAdder totalUsage = new LongAdder();
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+    private final ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "usage-data-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final long writeDelay;
+
     public PreferencesUsageDataStore() {
+        this(Integer.getInteger(PDFSAM_USAGE_WRITE_DELAY, 5000));
+    }
+
+    PreferencesUsageDataStore(long writeDelay) {
+        this.writeDelay = writeDelay;
+        load();
         eventStudio().addAnnotatedListeners(this);
     }
 
-    public void incrementUsageFor(String moduleId) {
-        Preferences node = Preferences.userRoot().node(USAGE_PATH).node(moduleId);
-        String json = node.get(MODULE_USAGE_KEY, "");
+    private void load() {
+        Preferences prefs = Preferences.userRoot().node(USAGE_PATH);
         try {
-            if (isNotBlank(json)) {
-                node.put(MODULE_USAGE_KEY, JSON.std.asString(JSON.std.beanFrom(ModuleUsage.class, json).inc()));
-            } else {
-                node.put(MODULE_USAGE_KEY, JSON.std.asString(ModuleUsage.fistUsage(moduleId)));
+            for (String name : prefs.childrenNames()) {
+                String json = prefs.node(name).get(MODULE_USAGE_KEY, "");
+                if (isNotBlank(json)) {
+                    ModuleUsage usage = JSON.std.beanFrom(ModuleUsage.class, json);
+                    counters.put(usage.getModuleId(), new Counter(usage.getTotalUsed(), usage.getLastSeen()));
+                }
             }
-            LOG.trace("Usage incremented for module {}", moduleId);
-        } catch (IOException e) {
-            LOG.error("Unable to increment modules usage statistics", e);
-        } finally {
-            incrementTotalUsage();
+            totalUsage.add(prefs.getLong(TASKS_EXECUTED_KEY, 0));
+        } catch (BackingStoreException | IOException | RuntimeException e) {
+            LOG.error("Unable to get modules usage statistics", e);
         }
     }
 
+    public void incrementUsageFor(String moduleId) {
+        counters.computeIfAbsent(moduleId, k -> new Counter(0, 0)).inc();
+        totalUsage.increment();
+        dirty.add(moduleId);
+        if (scheduled.compareAndSet(false, true)) {
+            writer.schedule(this::write, writeDelay, TimeUnit.MILLISECONDS);
+        }
+        LOG.trace("Usage incremented for module {}", moduleId);
+    }
+
     public List<ModuleUsage> getUsages() {
-        Preferences prefs = Preferences.userRoot().node(USAGE_PATH);
         List<ModuleUsage> retList = new ArrayList<>();
-        try {
-            List<String> jsons = Arrays.stream(prefs.childrenNames()).parallel().map(name -> prefs.node(name))
-                    .map(node -> node.get(MODULE_USAGE_KEY, "")).filter(json -> isNotBlank(json)).collect(toList());
-            for (String json : jsons) {
-                retList.add(JSON.std.beanFrom(ModuleUsage.class, json));
-            }
-        } catch (BackingStoreException | IOException e) {
-            LOG.error("Unable to get modules usage statistics", e);
-        }
+        counters.forEach((id, counter) -> retList.add(counter.toUsage(id)));
         return retList;
     }
 
-    public void clear() {
+    public synchronized void clear() {
+        counters.clear();
+        dirty.clear();
+        totalUsage.reset();
         Preferences prefs = Preferences.userRoot().node(USAGE_PATH);
         try {
             prefs.removeNode();
@@ -92,14 +127,31 @@ class PreferencesUsageDataStore {
         }
     }
 
-    private void incrementTotalUsage() {
-        Preferences node = Preferences.userRoot().node(USAGE_PATH);
-        node.putLong(TASKS_EXECUTED_KEY, node.getLong(TASKS_EXECUTED_KEY, 0) + 1);
+    public long getTotalUsage() {
+        return totalUsage.sum();
     }
 
-    public long getTotalUsage() {
-        Preferences node = Preferences.userRoot().node(USAGE_PATH);
-        return node.getLong(TASKS_EXECUTED_KEY, 0);
+    /**
+     * Writes the usages incremented since the last write to the preferences
+     */
+    private synchronized void write() {
+        scheduled.set(false);
+        if (!dirty.isEmpty()) {
+            Preferences prefs = Preferences.userRoot().node(USAGE_PATH);
+            for (String moduleId : dirty) {
+                dirty.remove(moduleId);
+                Counter counter = counters.get(moduleId);
+                if (counter != null) {
+                    try {
+                        prefs.node(moduleId).put(MODULE_USAGE_KEY, JSON.std.asString(counter.toUsage(moduleId)));
+                    } catch (IOException e) {
+                        LOG.error("Unable to store modules usage statistics", e);
+                    }
+                }
+            }
+            prefs.putLong(TASKS_EXECUTED_KEY, totalUsage.sum());
+            LOG.trace("Modules usage written");
+        }
     }
 
     @EventListener
@@ -108,6 +160,7 @@ class PreferencesUsageDataStore {
     }
 
     public void flush() {
+        write();
         Preferences prefs = Preferences.userRoot().node(USAGE_PATH);
         try {
             LOG.trace("Flushing modules usage");
@@ -117,4 +170,24 @@ class PreferencesUsageDataStore {
         }
     }
 
+    private static class Counter {
+        private final LongAdder used = new LongAdder();
+        private final AtomicLong lastSeen;
+
+        Counter(long used, long lastSeen) {
+            this.used.add(used);
+            this.lastSeen = new AtomicLong(lastSeen);
+        }
+
+        void inc() {
+            used.increment();
+            lastSeen.accumulateAndGet(System.currentTimeMillis(), Math::max);
+        }
+
+        ModuleUsage toUsage(String moduleId) {
+            ModuleUsage usage = ModuleUsage.usage(moduleId, lastSeen.get());
+            usage.setTotalUsed(used.sum());
+            return usage;
+        }
+    }
 }
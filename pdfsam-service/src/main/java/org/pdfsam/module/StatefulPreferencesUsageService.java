@@ -18,25 +18,45 @@
  */
 package org.pdfsam.module;
 
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Objects.isNull;
 import static java.util.stream.Collectors.toList;
+import static org.pdfsam.eventstudio.StaticStudio.eventStudio;
 
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
 import java.util.prefs.Preferences;
 import java.util.stream.Collectors;
 
 import javax.inject.Inject;
 
 /**
- * {@link UsageService} implemented ab/using the {@link Preferences} framework
+ * {@link UsageService} implemented ab/using the {@link Preferences} framework. Rankings of the modules are loaded from the data store on first
+ * use and then kept in sorted sets, updated on every increment. A {@link UsageRankingChangedEvent} is sent when an increment changes the order of
+ * the modules.
  * 
  * @author Andrea Vacondio
  * 
  */
 class StatefulPreferencesUsageService implements UsageService {
 
+    private static final Comparator<Ranked> MOST_USED = Comparator.comparingLong((Ranked r) -> r.used).reversed()
+            .thenComparing(r -> r.moduleId);
+    private static final Comparator<Ranked> MOST_RECENT = Comparator.comparingLong((Ranked r) -> r.lastSeen)
+            .reversed().thenComparing(r -> r.moduleId);
+
     private PreferencesUsageDataStore dataStore;
     private Map<String, Module> modulesMap;
+    private Map<String, Ranked> ranked;
+    private final NavigableSet<Ranked> byUsage = new TreeSet<>(MOST_USED);
+    private final NavigableSet<Ranked> byLastSeen = new TreeSet<>(MOST_RECENT);
+    private List<Module> mostUsed = emptyList();
+    private List<Module> mostRecentlyUsed = emptyList();
 
     @Inject
     StatefulPreferencesUsageService(List<Module> modules, PreferencesUsageDataStore dataStore) {
@@ -46,26 +66,98 @@ class StatefulPreferencesUsageService implements UsageService {
 
     @Override
     public void incrementUsageFor(String moduleId) {
-        dataStore.incrementUsageFor(moduleId);
+        boolean changed;
+        synchronized (this) {
+            // rankings are loaded before the increment so it's not counted twice
+            ensureLoaded();
+            dataStore.incrementUsageFor(moduleId);
+            changed = modulesMap.containsKey(moduleId) && updateRankings(moduleId);
+        }
+        if (changed) {
+            eventStudio().broadcast(new UsageRankingChangedEvent());
+        }
+    }
+
+    /**
+     * @return true if the order of the modules has changed
+     */
+    private boolean updateRankings(String moduleId) {
+        Ranked current = ranked.get(moduleId);
+        if (isNull(current)) {
+            current = new Ranked(moduleId, 1, System.currentTimeMillis());
+            ranked.put(moduleId, current);
+            byUsage.add(current);
+            byLastSeen.add(current);
+            mostUsed = modules(byUsage);
+            mostRecentlyUsed = modules(byLastSeen);
+            return true;
+        }
+        Ranked previousMostUsed = byUsage.lower(current);
+        Ranked previousMostRecent = byLastSeen.lower(current);
+        byUsage.remove(current);
+        byLastSeen.remove(current);
+        current.used++;
+        current.lastSeen = Math.max(current.lastSeen, System.currentTimeMillis());
+        byUsage.add(current);
+        byLastSeen.add(current);
+        // increments only move a module up, the order changed if the module ranked before it changed
+        boolean changed = false;
+        if (byUsage.lower(current) != previousMostUsed) {
+            mostUsed = modules(byUsage);
+            changed = true;
+        }
+        if (byLastSeen.lower(current) != previousMostRecent) {
+            mostRecentlyUsed = modules(byLastSeen);
+            changed = true;
+        }
+        return changed;
+    }
+
+    private void ensureLoaded() {
+        if (isNull(ranked)) {
+            ranked = new HashMap<>();
+            dataStore.getUsages().stream().filter(u -> modulesMap.containsKey(u.getModuleId()))
+                    .map(u -> new Ranked(u.getModuleId(), u.getTotalUsed(), u.getLastSeen())).forEach(r -> {
+                        ranked.put(r.moduleId, r);
+                        byUsage.add(r);
+                        byLastSeen.add(r);
+                    });
+            mostUsed = modules(byUsage);
+            mostRecentlyUsed = modules(byLastSeen);
+        }
+    }
+
+    private List<Module> modules(NavigableSet<Ranked> ranking) {
+        return unmodifiableList(ranking.stream().map(r -> modulesMap.get(r.moduleId)).collect(toList()));
     }
 
     @Override
-    public List<Module> getMostUsed() {
-        List<ModuleUsage> used = dataStore.getUsages();
-        used.sort((a, b) -> Long.compare(b.getTotalUsed(), a.getTotalUsed()));
-        return used.stream().map(u -> modulesMap.get(u.getModuleId())).filter(m -> m != null).collect(toList());
+    public synchronized List<Module> getMostUsed() {
+        ensureLoaded();
+        return mostUsed;
     }
 
     @Override
-    public List<Module> getMostRecentlyUsed() {
-        List<ModuleUsage> used = dataStore.getUsages();
-        used.sort((a, b) -> Long.compare(b.getLastSeen(), a.getLastSeen()));
-        return used.stream().map(u -> modulesMap.get(u.getModuleId())).filter(m -> m != null).collect(toList());
+    public synchronized List<Module> getMostRecentlyUsed() {
+        ensureLoaded();
+        return mostRecentlyUsed;
     }
 
     @Override
     public void clear() {
         dataStore.clear();
+        boolean changed;
+        synchronized (this) {
+            changed = isNull(ranked) || !ranked.isEmpty();
+            ranked = new HashMap<>();
+            byUsage.clear();
+            byLastSeen.clear();
+            mostUsed = emptyList();
+            mostRecentlyUsed = emptyList();
+        }
+        if (changed) {
+            eventStudio().broadcast(new UsageRankingChangedEvent());
+        }
     }
 
     @Override
@@ -73,4 +165,15 @@ class StatefulPreferencesUsageService implements UsageService {
         return dataStore.getTotalUsage();
     }
 
+    private static class Ranked {
+        private final String moduleId;
+        private long used;
+        private long lastSeen;
+
+        Ranked(String moduleId, long used, long lastSeen) {
+            this.moduleId = moduleId;
+            this.used = used;
+            this.lastSeen = lastSeen;
+        }
+    }
 }
@@ -36,7 +36,7 @@ import org.sejda.sambox.pdmodel.PDDocumentInformation;
  */
 class DefaultSAMBoxLoader implements PdfLoader<PDDocument> {
 
-    private static FastDateFormat FORMATTER = FastDateFormat.getDateTimeInstance(DateFormat.FULL, DateFormat.MEDIUM);
+    static final FastDateFormat FORMATTER = FastDateFormat.getDateTimeInstance(DateFormat.FULL, DateFormat.MEDIUM);
 
     @Override
     public void accept(PDDocument document, PdfDocumentDescriptor descriptor) {
@@ -58,7 +58,7 @@ class DefaultSAMBoxLoader implements PdfLoader<PDDocument> {
         return RequiredPdfData.DEFAULT;
     }
 
-    private PdfVersion getVersion(String version) {
+    static PdfVersion getVersion(String version) {
         for (PdfVersion current : PdfVersion.values()) {
             if (current.getVersionString().equals(version)) {
                 return current;
@@ -0,0 +1,306 @@
+/*
+ * This file is part of the PDF Split And Merge source code
+ * Created on 17 ott 2026
+ * Copyright 2017 by Sober Lemur S.a.s di Vacondio Andrea (info@pdfsam.org).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.pdf;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static org.pdfsam.eventstudio.StaticStudio.eventStudio;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import org.pdfsam.ShutdownEvent;
+import org.pdfsam.eventstudio.annotation.EventListener;
+import org.pdfsam.module.RequiredPdfData;
+import org.sejda.model.pdf.PdfVersion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Persistent LRU cache of the data loaded for a {@link PdfDocumentDescriptor}. Entries are keyed by the canonical path of the file and are valid
+ * only as long as the file length and last modified time are unchanged. The cache is read from disk on first use and written back on
+ * {@link ShutdownEvent}.
+ *
+ * @author Andrea Vacondio
+ *
+ */
+class DescriptorMetadataCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DescriptorMetadataCache.class);
+
+    /**
+     * System property to set the file where the cache is stored
+     */
+    public static final String PDFSAM_DESCRIPTORS_CACHE_PATH = "org.pdfsam.descriptors.cache.path";
+    /**
+     * System property to set the maximum number of documents in the cache
+     */
+    public static final String PDFSAM_DESCRIPTORS_CACHE_SIZE = "org.pdfsam.descriptors.cache.size";
+
+    private static final int FORMAT_VERSION = 1;
+    private static final int MAX_STRING_LENGTH = 8192;
+
+    private final Path file;
+    private final int maxEntries;
+    private Map<String, Entry> entries;
+    private boolean dirty = false;
+
+    public DescriptorMetadataCache() {
+        this(Paths.get(System.getProperty(PDFSAM_DESCRIPTORS_CACHE_PATH,
+                Paths.get(System.getProperty("user.home"), ".pdfsam", "descriptors.cache").toString())),
+                Integer.getInteger(PDFSAM_DESCRIPTORS_CACHE_SIZE, 10000));
+        eventStudio().addAnnotatedListeners(this);
+    }
+
+    DescriptorMetadataCache(Path file, int maxEntries) {
+        this.file = file;
+        this.maxEntries = Math.max(1, maxEntries);
+    }
+
+    /**
+     * Populates the descriptor with the cached data if the file didn't change since it was cached and the cached data contains everything
+     * required
+     *
+     * @param descriptor
+     * @param requires
+     * @return true if the descriptor has been populated
+     */
+    public synchronized boolean populate(PdfDocumentDescriptor descriptor, RequiredPdfData... requires) {
+        Entry entry = entries().get(key(descriptor.getFile()));
+        if (nonNull(entry) && entry.isValidFor(descriptor.getFile())
+                && entry.loaded.containsAll(Arrays.asList(requires))) {
+            descriptor.pages(entry.pages);
+            descriptor.setVersion(entry.version);
+            descriptor.setInformationDictionary(entry.info);
+            if (entry.loaded.contains(RequiredPdfData.BOOMARKS)) {
+                descriptor.setValidBookmarksLevels(entry.validBookmarksLevels);
+            }
+            LOG.trace("Loaded {} from cache", descriptor.getFileName());
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Caches the data of a loaded descriptor
+     *
+     * @param descriptor
+     * @param loaded
+     *            the data that was loaded for the descriptor
+     */
+    public synchronized void store(PdfDocumentDescriptor descriptor, RequiredPdfData... loaded) {
+        String key = key(descriptor.getFile());
+        if (nonNull(key)) {
+            Entry entry = new Entry();
+            entry.length = descriptor.getFile().length();
+            entry.lastModified = descriptor.getFile().lastModified();
+            entry.loaded = EnumSet.noneOf(RequiredPdfData.class);
+            entry.loaded.addAll(Arrays.asList(loaded));
+            entry.pages = descriptor.pages().getValue();
+            entry.version = descriptor.getVersion();
+            descriptor.getInformationDictionary().forEach((k, v) -> {
+                if (nonNull(k) && nonNull(v)) {
+                    entry.info.put(k, v);
+                }
+            });
+            entry.validBookmarksLevels = new TreeSet<>(descriptor.getValidBookmarksLevels());
+            entries().put(key, entry);
+            dirty = true;
+        }
+    }
+
+    private static String key(File file) {
+        try {
+            return file.getCanonicalPath();
+        } catch (IOException e) {
+            LOG.warn("Unable to get canonical path for {}", file);
+            return null;
+        }
+    }
+
+    private Map<String, Entry> entries() {
+        if (isNull(entries)) {
+            entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                    return size() > maxEntries;
+                }
+            };
+            read();
+        }
+        return entries;
+    }
+
+    private void read() {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != FORMAT_VERSION) {
+                LOG.debug("Discarding descriptors cache with unknown format");
+                return;
+            }
+            int size = in.readInt();
+            for (int i = 0; i < size; i++) {
+                String key = in.readUTF();
+                entries.put(key, Entry.read(in));
+            }
+            LOG.trace("Loaded {} cached descriptors", entries.size());
+        } catch (NoSuchFileException e) {
+            LOG.trace("No descriptors cache found at {}", file);
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Unable to read the descriptors cache, it will be discarded", e);
+            entries.clear();
+        }
+    }
+
+    @EventListener
+    public void onShutdown(ShutdownEvent event) {
+        flush();
+    }
+
+    /**
+     * Writes the cache to disk if it changed since it was read
+     */
+    public synchronized void flush() {
+        if (dirty && nonNull(entries)) {
+            try {
+                Files.createDirectories(file.toAbsolutePath().getParent());
+                Path tmp = Files.createTempFile(file.toAbsolutePath().getParent(), "descriptors", ".tmp");
+                try {
+                    try (DataOutputStream out = new DataOutputStream(
+                            new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                        write(out);
+                    }
+                    try {
+                        Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE);
+                    } catch (AtomicMoveNotSupportedException e) {
+                        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+                    }
+                } finally {
+                    Files.deleteIfExists(tmp);
+                }
+                dirty = false;
+                LOG.trace("Descriptors cache written to {}", file);
+            } catch (IOException e) {
+                LOG.warn("Unable to write the descriptors cache", e);
+            }
+        }
+    }
+
+    private void write(DataOutputStream out) throws IOException {
+        Map<String, byte[]> serialized = new LinkedHashMap<>();
+        for (Map.Entry<String, Entry> current : entries.entrySet()) {
+            if (current.getKey().length() <= MAX_STRING_LENGTH && current.getValue().isSerializable()) {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                current.getValue().write(new DataOutputStream(bytes));
+                serialized.put(current.getKey(), bytes.toByteArray());
+            }
+        }
+        out.writeInt(FORMAT_VERSION);
+        out.writeInt(serialized.size());
+        for (Map.Entry<String, byte[]> current : serialized.entrySet()) {
+            out.writeUTF(current.getKey());
+            out.write(current.getValue());
+        }
+    }
+
+    private static class Entry {
+        private long length;
+        private long lastModified;
+        private Set<RequiredPdfData> loaded;
+        private int pages;
+        private PdfVersion version;
+        private Map<String, String> info = new HashMap<>();
+        private SortedSet<Integer> validBookmarksLevels = new TreeSet<>();
+
+        boolean isValidFor(File file) {
+            return file.length() == length && file.lastModified() == lastModified;
+        }
+
+        boolean isSerializable() {
+            return info.entrySet().stream().allMatch(
+                    e -> e.getKey().length() <= MAX_STRING_LENGTH && e.getValue().length() <= MAX_STRING_LENGTH);
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            out.writeLong(length);
+            out.writeLong(lastModified);
+            int loadedMask = 0;
+            for (RequiredPdfData current : loaded) {
+                loadedMask |= 1 << current.ordinal();
+            }
+            out.writeInt(loadedMask);
+            out.writeInt(pages);
+            out.writeUTF(nonNull(version) ? version.name() : "");
+            out.writeInt(info.size());
+            for (Map.Entry<String, String> current : info.entrySet()) {
+                out.writeUTF(current.getKey());
+                out.writeUTF(current.getValue());
+            }
+            out.writeInt(validBookmarksLevels.size());
+            for (Integer level : validBookmarksLevels) {
+                out.writeInt(level);
+            }
+        }
+
+        static Entry read(DataInputStream in) throws IOException {
+            Entry entry = new Entry();
+            entry.length = in.readLong();
+            entry.lastModified = in.readLong();
+            int loadedMask = in.readInt();
+            entry.loaded = EnumSet.noneOf(RequiredPdfData.class);
+            for (RequiredPdfData current : RequiredPdfData.values()) {
+                if ((loadedMask & (1 << current.ordinal())) != 0) {
+                    entry.loaded.add(current);
+                }
+            }
+            entry.pages = in.readInt();
+            String version = in.readUTF();
+            if (!version.isEmpty()) {
+                entry.version = PdfVersion.valueOf(version);
+            }
+            int infoSize = in.readInt();
+            for (int i = 0; i < infoSize; i++) {
+                entry.info.put(in.readUTF(), in.readUTF());
+            }
+            int levels = in.readInt();
+            for (int i = 0; i < levels; i++) {
+                entry.validBookmarksLevels.add(in.readInt());
+            }
+            return entry;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/* 
+ * This file is part of the PDF Split And Merge source code
+ * Created on 17 ott 2026
+ * Copyright 2017 by Sober Lemur S.a.s di Vacondio Andrea (info@pdfsam.org).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as 
+ * published by the Free Software Foundation, either version 3 of the 
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.pdf;
+
+import static java.util.Objects.isNull;
+import static org.pdfsam.pdf.PdfDescriptorLoadingStatus.LOADED;
+import static org.pdfsam.pdf.PdfDescriptorLoadingStatus.LOADED_WITH_USER_PWD_DECRYPTION;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import org.pdfsam.module.RequiredPdfData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Registry of the documents loaded by the modules, keyed by the canonical path of the file and the password. The load of a file is shared by
+ * every descriptor of that file requested while the load is in progress, or after it, as long as the file is unchanged and at least one of the
+ * descriptors sharing the load is still referenced (see {@link PdfDocumentDescriptor#retain()} and {@link PdfDocumentDescriptor#release()}).
+ * Failed loads are shared only by the requests received while in progress, the next request loads the file again.
+ * 
+ * @author Andrea Vacondio
+ *
+ */
+class DescriptorRegistry {
+    private static final Logger LOG = LoggerFactory.getLogger(DescriptorRegistry.class);
+
+    private final Map<List<String>, Entry> entries = new HashMap<>();
+
+    /**
+     * Loads the file of the given descriptor, unless a load of the same file can be shared
+     * 
+     * @param descriptor
+     * @param requires
+     *            the data the load must provide
+     * @param loader
+     *            loads the file of the descriptor into a detached descriptor. It's invoked by the calling thread when there's no load to share
+     * @return the result of the load, completed once the load is done
+     */
+    CompletableFuture<Loaded> load(PdfDocumentDescriptor descriptor, RequiredPdfData[] requires,
+            Function<PdfDocumentDescriptor, Loaded> loader) {
+        File file = descriptor.getFile();
+        List<String> key = Arrays.asList(canonicalPath(file), descriptor.getPassword());
+        long lastModified = file.lastModified();
+        long length = file.length();
+        Entry entry;
+        boolean loading = false;
+        synchronized (this) {
+            entries.values().removeIf(Entry::isReleased);
+            entry = entries.get(key);
+            if (isNull(entry) || !entry.canServe(requires, lastModified, length)) {
+                entry = new Entry(requires, lastModified, length);
+                entries.put(key, entry);
+                loading = true;
+            }
+            entry.holders.add(new WeakReference<>(descriptor));
+        }
+        if (loading) {
+            try {
+                Loaded result = loader.apply(descriptor);
+                if (!result.isLoaded()) {
+                    forget(key, entry);
+                }
+                entry.result.complete(result);
+            } catch (RuntimeException e) {
+                forget(key, entry);
+                entry.result.completeExceptionally(e);
+                throw e;
+            }
+        } else {
+            LOG.trace("Sharing the load of {}", descriptor.getFileName());
+        }
+        return entry.result;
+    }
+
+    private synchronized void forget(List<String> key, Entry entry) {
+        entries.remove(key, entry);
+    }
+
+    /**
+     * @return the number of files whose load is retained
+     */
+    synchronized int size() {
+        entries.values().removeIf(Entry::isReleased);
+        return entries.size();
+    }
+
+    private static String canonicalPath(File file) {
+        try {
+            return file.getCanonicalPath();
+        } catch (IOException e) {
+            LOG.trace("Unable to get the canonical path of {}", file, e);
+            return file.getAbsolutePath();
+        }
+    }
+
+    /**
+     * Result of a load, the descriptor is populated with the loaded data and must not be modified
+     */
+    static final class Loaded {
+        final PdfDocumentDescriptor descriptor;
+        final PdfDescriptorLoadingStatus status;
+
+        Loaded(PdfDocumentDescriptor descriptor, PdfDescriptorLoadingStatus status) {
+            this.descriptor = descriptor;
+            this.status = status;
+        }
+
+        boolean isLoaded() {
+            return status == LOADED || status == LOADED_WITH_USER_PWD_DECRYPTION;
+        }
+    }
+
+    private static final class Entry {
+        private final Set<RequiredPdfData> requires = EnumSet.noneOf(RequiredPdfData.class);
+        private final long lastModified;
+        private final long length;
+        private final List<WeakReference<PdfDocumentDescriptor>> holders = new ArrayList<>();
+        private final CompletableFuture<Loaded> result = new CompletableFuture<>();
+
+        Entry(RequiredPdfData[] requires, long lastModified, long length) {
+            this.requires.addAll(Arrays.asList(requires));
+            this.lastModified = lastModified;
+            this.length = length;
+        }
+
+        boolean canServe(RequiredPdfData[] requires, long lastModified, long length) {
+            return this.lastModified == lastModified && this.length == length
+                    && this.requires.containsAll(Arrays.asList(requires));
+        }
+
+        /**
+         * @return true if the load is done and none of the descriptors sharing it is referenced anymore
+         */
+        boolean isReleased() {
+            holders.removeIf(h -> {
+                PdfDocumentDescriptor holder = h.get();
+                return isNull(holder) || !holder.hasReferences();
+            });
+            return result.isDone() && holders.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * This file is part of the PDF Split And Merge source code
+ * Created on 17 ott 2026
+ * Copyright 2017 by Sober Lemur S.a.s di Vacondio Andrea (info@pdfsam.org).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.pdf;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import javafx.application.Platform;
+
+/**
+ * Updates to {@link PdfDocumentDescriptor}s coming from the loading threads, applied on the FX thread. Updates are queued in the order they are
+ * submitted and at most one flush is pending on the FX event queue at any time, no matter how many updates are submitted. A flush stops after a
+ * time budget and schedules the next one to keep the UI responsive.
+ *
+ * @author Andrea Vacondio
+ *
+ */
+class FxDescriptorUpdates {
+
+    private static final long FLUSH_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(8);
+
+    private final Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+    private final Consumer<Runnable> fxExecutor;
+
+    FxDescriptorUpdates() {
+        this(Platform::runLater);
+    }
+
+    FxDescriptorUpdates(Consumer<Runnable> fxExecutor) {
+        this.fxExecutor = fxExecutor;
+    }
+
+    /**
+     * Moves the descriptor to the given status
+     */
+    void moveStatusTo(PdfDocumentDescriptor descriptor, PdfDescriptorLoadingStatus status) {
+        submit(() -> descriptor.moveStatusTo(status));
+    }
+
+    /**
+     * Copies the data of the loaded descriptor to the destination one and moves the destination to the given status
+     */
+    void loaded(PdfDocumentDescriptor destination, PdfDocumentDescriptor loaded, PdfDescriptorLoadingStatus status) {
+        submit(() -> {
+            destination.pages(loaded.pages().getValue());
+            destination.setVersion(loaded.getVersion());
+            destination.setInformationDictionary(loaded.getInformationDictionary());
+            destination.setValidBookmarksLevels(loaded.getValidBookmarksLevels());
+            destination.moveStatusTo(status);
+        });
+    }
+
+    private void submit(Runnable update) {
+        pending.add(update);
+        if (scheduled.compareAndSet(false, true)) {
+            fxExecutor.accept(this::flush);
+        }
+    }
+
+    private void flush() {
+        scheduled.set(false);
+        long start = System.nanoTime();
+        Runnable current;
+        while ((current = pending.poll()) != null) {
+            current.run();
+            if (System.nanoTime() - start > FLUSH_BUDGET_NANOS) {
+                if (!pending.isEmpty() && scheduled.compareAndSet(false, true)) {
+                    fxExecutor.accept(this::flush);
+                }
+                return;
+            }
+        }
+    }
+}
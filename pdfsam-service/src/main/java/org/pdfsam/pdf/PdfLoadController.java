@@ -18,14 +18,31 @@
  */
 package org.pdfsam.pdf;
 
+import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 import static org.pdfsam.eventstudio.StaticStudio.eventStudio;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.inject.Inject;
 
@@ -39,7 +56,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Component listening for {@link PdfLoadRequestEvent}, triggering the actual pdf load and sending out a response with the result of the loading
+ * Component listening for {@link PdfLoadRequestEvent}, triggering the actual pdf load and sending out a response with the result of the loading.
+ * Documents are loaded one per task by a pool of workers, the number of tasks queued for the workers is bounded and the dispatching thread waits for
+ * a free slot once the limit is reached. Documents waiting for a slot are kept in a single queue shared by all the modules, where documents
+ * prioritized by a {@link PrioritizePdfLoadRequest} come before the others, regardless of the module and of the order they were requested.
+ * <p>
+ * Requests received while a batch is open (see {@link PdfLoadBatchRequest}) are held back until the batch is closed, then documents requested by
+ * many modules for the same file are loaded by a single task with the data required by all of them.
  * 
  * @author Andrea Vacondio
  * 
@@ -49,14 +72,34 @@ public class PdfLoadController {
 
     private static final Logger LOG = LoggerFactory.getLogger(PdfLoadController.class);
 
+    /**
+     * System property to set the number of threads loading documents. Defaults to the number of available processors
+     */
+    public static final String PDFSAM_LOAD_THREADS = "org.pdfsam.load.threads";
+    /**
+     * System property to set the maximum number of documents waiting for a free loading thread
+     */
+    public static final String PDFSAM_LOAD_QUEUE_SIZE = "org.pdfsam.load.queue.size";
+
     private PdfLoadService loadService;
     private ExecutorService executor = Executors.newSingleThreadExecutor();
+    private ThreadPoolExecutor workers;
+    private Semaphore slots;
+    private PriorityBlockingQueue<LoadTask> pending = new PriorityBlockingQueue<>();
+    private AtomicLong sequence = new AtomicLong();
     private Map<String, RequiredPdfData[]> requiredLoadData = new HashMap<>();
+    private List<PdfLoadRequestEvent> batch;
+    private List<PrioritizePdfLoadRequest> batchPriorities;
 
     @Inject
     public PdfLoadController(List<Module> modules, PdfLoadService loadService) {
         this.loadService = loadService;
         modules.forEach(m -> requiredLoadData.put(m.id(), m.requires()));
+        int threads = Math.max(1, Integer.getInteger(PDFSAM_LOAD_THREADS, Runtime.getRuntime().availableProcessors()));
+        int queueSize = Math.max(1, Integer.getInteger(PDFSAM_LOAD_QUEUE_SIZE, threads * 4));
+        this.workers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+        this.slots = new Semaphore(threads + queueSize);
+        LOG.trace("Loading documents using {} threads and a queue of {} documents", threads, queueSize);
         eventStudio().addAnnotatedListeners(this);
     }
 
@@ -69,7 +112,134 @@ public class PdfLoadController {
     public void request(PdfLoadRequestEvent event) {
         LOG.trace("PDF load request received");
         event.getDocuments().forEach(i -> i.moveStatusTo(PdfDescriptorLoadingStatus.REQUESTED));
-        executor.execute(() -> loadService.load(event.getDocuments(), requiredLoadData.get(event.getOwnerModule())));
+        synchronized (this) {
+            if (nonNull(batch)) {
+                batch.add(event);
+                return;
+            }
+        }
+        RequiredPdfData[] requires = requiredLoadData.get(event.getOwnerModule());
+        event.getDocuments().forEach(
+                d -> pending.add(new LoadTask(event.getOwnerModule(), d, requires, false, sequence.incrementAndGet())));
+        executor.execute(this::dispatch);
+    }
+
+    /**
+     * Request to open or close a batch of load requests
+     * 
+     * @param event
+     */
+    @EventListener
+    public void batch(PdfLoadBatchRequest event) {
+        List<PdfLoadRequestEvent> requests;
+        List<PrioritizePdfLoadRequest> priorities;
+        synchronized (this) {
+            if (event.isOpen()) {
+                if (isNull(batch)) {
+                    batch = new ArrayList<>();
+                    batchPriorities = new ArrayList<>();
+                }
+                return;
+            }
+            if (isNull(batch)) {
+                return;
+            }
+            requests = batch;
+            priorities = batchPriorities;
+            batch = null;
+            batchPriorities = null;
+        }
+        Map<List<String>, LoadTask> tasks = new LinkedHashMap<>();
+        int documents = 0;
+        for (PdfLoadRequestEvent request : requests) {
+            RequiredPdfData[] requires = requiredLoadData.get(request.getOwnerModule());
+            for (PdfDocumentDescriptor descriptor : request.getDocuments()) {
+                tasks.merge(Arrays.asList(descriptor.getFile().getAbsolutePath(), descriptor.getPassword()),
+                        new LoadTask(request.getOwnerModule(), descriptor, requires, false, sequence.incrementAndGet()),
+                        LoadTask::merge);
+                documents++;
+            }
+        }
+        pending.addAll(tasks.values());
+        priorities.forEach(this::prioritize);
+        LOG.debug("Loading {} documents of {} batched requests in {} tasks", documents, requests.size(), tasks.size());
+        executor.execute(this::dispatch);
+    }
+
+    /**
+     * Hands the pending documents over to the workers, one as soon as a slot is available
+     */
+    private void dispatch() {
+        try {
+            while (true) {
+                slots.acquire();
+                LoadTask task = pending.poll();
+                if (isNull(task)) {
+                    slots.release();
+                    return;
+                }
+                if (task.hasReferences()) {
+                    try {
+                        workers.execute(task);
+                    } catch (RejectedExecutionException e) {
+                        slots.release();
+                        LOG.trace("Load of {} rejected", task.descriptors.get(0).getFileName());
+                    }
+                } else {
+                    slots.release();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Request to load some of the documents of the owner module before the others. For documents shared with other modules by a batch, the
+     * last request wins.
+     * 
+     * @param event
+     */
+    @EventListener
+    public void prioritize(PrioritizePdfLoadRequest event) {
+        synchronized (this) {
+            if (nonNull(batch)) {
+                batchPriorities.add(event);
+                return;
+            }
+        }
+        Set<PdfDocumentDescriptor> documents = Collections.newSetFromMap(new IdentityHashMap<>());
+        documents.addAll(event.getDocuments());
+        List<LoadTask> changed = pending.stream().filter(t -> t.owners.contains(event.getOwnerModule()))
+                .filter(t -> t.prioritized != t.descriptors.stream().anyMatch(documents::contains))
+                .collect(Collectors.toList());
+        for (LoadTask task : changed) {
+            if (pending.remove(task)) {
+                pending.add(task.prioritized(!task.prioritized));
+            }
+        }
+        LOG.trace("Changed priority of {} queued documents for {}", changed.size(), event.getOwnerModule());
+    }
+
+    /**
+     * Request to discard any document of the owner module that is queued and not yet loading. Documents shared with other modules by a batch
+     * are still loaded.
+     * 
+     * @param event
+     */
+    @EventListener
+    public void cancel(CancelPdfLoadRequest event) {
+        pending.removeIf(t -> t.isOwnedOnlyBy(event.getOwnerModule()));
+        List<LoadTask> queued = workers.getQueue().stream().filter(LoadTask.class::isInstance).map(LoadTask.class::cast)
+                .filter(t -> t.isOwnedOnlyBy(event.getOwnerModule())).collect(Collectors.toList());
+        int cancelled = 0;
+        for (LoadTask task : queued) {
+            if (workers.remove(task)) {
+                slots.release();
+                cancelled++;
+            }
+        }
+        LOG.trace("Cancelled {} queued documents for {}", cancelled, event.getOwnerModule());
     }
 
     /**
@@ -103,5 +273,75 @@ public class PdfLoadController {
     @EventListener
     public void onShutdown(ShutdownEvent event) {
         executor.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    /**
+     * Loads a single document, or the descriptors of the same document requested by many modules in a batch, giving back its slot once done.
+     * Prioritized tasks come first, then tasks are in request order.
+     */
+    private class LoadTask implements Runnable, Comparable<LoadTask> {
+        private final Set<String> owners;
+        private final List<PdfDocumentDescriptor> descriptors;
+        private final RequiredPdfData[] requires;
+        private final boolean prioritized;
+        private final long sequence;
+
+        LoadTask(String ownerModule, PdfDocumentDescriptor descriptor, RequiredPdfData[] requires, boolean prioritized,
+                long sequence) {
+            this(Set.of(ownerModule), List.of(descriptor), requires, prioritized, sequence);
+        }
+
+        private LoadTask(Set<String> owners, List<PdfDocumentDescriptor> descriptors, RequiredPdfData[] requires,
+                boolean prioritized, long sequence) {
+            this.owners = owners;
+            this.descriptors = descriptors;
+            this.requires = requires;
+            this.prioritized = prioritized;
+            this.sequence = sequence;
+        }
+
+        LoadTask prioritized(boolean prioritized) {
+            return new LoadTask(owners, descriptors, requires, prioritized, sequence);
+        }
+
+        /**
+         * @return a task loading the descriptors of both tasks with the data required by both
+         */
+        LoadTask merge(LoadTask other) {
+            Set<String> mergedOwners = new LinkedHashSet<>(owners);
+            mergedOwners.addAll(other.owners);
+            List<PdfDocumentDescriptor> mergedDescriptors = new ArrayList<>(descriptors);
+            mergedDescriptors.addAll(other.descriptors);
+            return new LoadTask(mergedOwners, mergedDescriptors,
+                    Stream.concat(Arrays.stream(requires), Arrays.stream(other.requires)).distinct()
+                            .toArray(RequiredPdfData[]::new),
+                    prioritized || other.prioritized, Math.min(sequence, other.sequence));
+        }
+
+        boolean hasReferences() {
+            return descriptors.stream().anyMatch(PdfDocumentDescriptor::hasReferences);
+        }
+
+        boolean isOwnedOnlyBy(String module) {
+            return owners.size() == 1 && owners.contains(module);
+        }
+
+        @Override
+        public int compareTo(LoadTask other) {
+            if (prioritized != other.prioritized) {
+                return prioritized ? -1 : 1;
+            }
+            return Long.compare(sequence, other.sequence);
+        }
+
+        @Override
+        public void run() {
+            try {
+                loadService.load(descriptors, requires);
+            } finally {
+                slots.release();
+            }
+        }
     }
 }
@@ -19,9 +19,12 @@
 package org.pdfsam.pdf;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 import org.pdfsam.injector.Components;
 import org.pdfsam.injector.Provides;
+import org.sejda.io.SeekableSource;
 
 /**
  * @author Andrea Vacondio
@@ -29,9 +32,28 @@ import org.pdfsam.injector.Provides;
 @Components({ PdfLoadController.class })
 public class PdfServiceConfig {
 
+    /**
+     * System property to disable loading documents reading only their trailer and always perform a full parse
+     */
+    public static final String PDFSAM_DISABLE_TRAILER_ONLY_LOAD = "org.pdfsam.disable.trailer.only.load";
+
+    /**
+     * System property to disable the persistent cache of loaded documents data
+     */
+    public static final String PDFSAM_DISABLE_DESCRIPTORS_CACHE = "org.pdfsam.disable.descriptors.cache";
+
     @Provides
     PdfLoadService loadService() {
-        return new SAMBoxPdfLoadService(Arrays.asList(new DefaultSAMBoxLoader(), new BookmarksLevelSAMBoxLoader()));
+        List<PdfLoader<SeekableSource>> lightweightLoaders = Collections.emptyList();
+        if (!Boolean.getBoolean(PDFSAM_DISABLE_TRAILER_ONLY_LOAD)) {
+            lightweightLoaders = Collections.singletonList(new TrailerOnlyLoader());
+        }
+        DescriptorMetadataCache cache = null;
+        if (!Boolean.getBoolean(PDFSAM_DISABLE_DESCRIPTORS_CACHE)) {
+            cache = new DescriptorMetadataCache();
+        }
+        return new SAMBoxPdfLoadService(Arrays.asList(new DefaultSAMBoxLoader(), new BookmarksLevelSAMBoxLoader()),
+                lightweightLoaders, cache);
     }
 
 }
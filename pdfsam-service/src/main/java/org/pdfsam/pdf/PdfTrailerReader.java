@@ -0,0 +1,569 @@
+/*
+ * This file is part of the PDF Split And Merge source code
+ * Created on 17 ott 2026
+ * Copyright 2017 by Sober Lemur S.a.s di Vacondio Andrea (info@pdfsam.org).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.pdf;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SimpleTimeZone;
+import java.util.TimeZone;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.sejda.io.SeekableSource;
+
+/**
+ * Minimal reader for the header, the cross reference tables, the trailer and the few objects (catalog, pages root and info dictionary) needed to
+ * describe a PDF document, without parsing the document. Only uncompressed cross reference tables of not encrypted documents are supported, an
+ * {@link IOException} is thrown in any other case (cross reference streams, hybrid files, objects in object streams, encryption, broken offsets) and
+ * the caller is expected to fall back to a full parse.
+ *
+ * @author Andrea Vacondio
+ *
+ */
+class PdfTrailerReader {
+
+    private static final int TAIL_SIZE = 1024;
+    private static final int XREF_ENTRY_SIZE = 20;
+    private static final int MAX_XREF_SECTIONS = 1024;
+    private static final Pattern DATE_PATTERN = Pattern
+            .compile("(?:D:)?(\\d{4})(\\d{2})?(\\d{2})?(\\d{2})?(\\d{2})?(\\d{2})?([Z+\\-])?(\\d{2})?'?(\\d{2})?'?");
+    private static final char[] PDF_DOC_ENCODING_HIGH = { '\u2022', '\u2020', '\u2021', '\u2026', '\u2014', '\u2013',
+            '\u0192', '\u2044', '\u2039', '\u203A', '\u2212', '\u2030', '\u201E', '\u201C', '\u201D', '\u2018', '\u2019',
+            '\u201A', '\u2122', '\uFB01', '\uFB02', '\u0141', '\u0152', '\u0160', '\u0178', '\u017D', '\u0131', '\u0142',
+            '\u0153', '\u0161', '\u017E', '\uFFFD', '\u20AC' };
+    private static final char[] PDF_DOC_ENCODING_LOW = { '\u02D8', '\u02C7', '\u02C6', '\u02D9', '\u02DD', '\u02DB',
+            '\u02DA', '\u02DC' };
+
+    private final SeekableSource source;
+    private final List<XrefSubsection> subsections = new ArrayList<>();
+
+    PdfTrailerReader(SeekableSource source) {
+        this.source = source;
+    }
+
+    /**
+     * @return the data read from the document
+     * @throws IOException
+     *             if the document structure is not supported by this reader or it's broken
+     */
+    PdfTrailerData read() throws IOException {
+        String headerVersion = headerVersion();
+        Map<String, Object> trailer = readXrefChain(startxref());
+        if (trailer.containsKey("Encrypt")) {
+            throw new IOException("Encrypted documents are not supported");
+        }
+        Map<String, Object> catalog = asDictionary(resolve(trailer.get("Root")));
+        Map<String, Object> pagesRoot = asDictionary(resolve(catalog.get("Pages")));
+        Object count = resolve(pagesRoot.get("Count"));
+        if (!(count instanceof Long)) {
+            throw new IOException("Invalid pages count");
+        }
+        PdfTrailerData data = new PdfTrailerData();
+        data.pages = ((Long) count).intValue();
+        data.version = headerVersion;
+        Object catalogVersion = resolve(catalog.get("Version"));
+        if (headerVersion.compareTo("1.4") >= 0 && catalogVersion instanceof Name
+                && ((Name) catalogVersion).value.compareTo(headerVersion) > 0) {
+            data.version = ((Name) catalogVersion).value;
+        }
+        Object info = resolve(trailer.get("Info"));
+        if (info instanceof Map) {
+            for (Map.Entry<String, Object> entry : ((Map<String, Object>) info).entrySet()) {
+                Object value = resolve(entry.getValue());
+                if (value instanceof byte[]) {
+                    data.info.put(entry.getKey(), decodeText((byte[]) value));
+                }
+            }
+        }
+        return data;
+    }
+
+    private String headerVersion() throws IOException {
+        String header = readString(0, (int) Math.min(TAIL_SIZE, source.size()));
+        int index = header.indexOf("%PDF-");
+        if (index < 0 || header.length() < index + 8) {
+            throw new IOException("Unable to find the PDF header");
+        }
+        return header.substring(index + 5, index + 8);
+    }
+
+    private long startxref() throws IOException {
+        long start = Math.max(0, source.size() - TAIL_SIZE);
+        String tail = readString(start, (int) (source.size() - start));
+        int index = tail.lastIndexOf("startxref");
+        if (index < 0) {
+            throw new IOException("Unable to find startxref");
+        }
+        source.position(start + index + "startxref".length());
+        Object offset = nextObject();
+        if (!(offset instanceof Long)) {
+            throw new IOException("Invalid startxref offset");
+        }
+        return (Long) offset;
+    }
+
+    /**
+     * Reads the cross reference sections following the /Prev chain
+     *
+     * @return the most recent trailer dictionary
+     */
+    private Map<String, Object> readXrefChain(long offset) throws IOException {
+        Map<String, Object> trailer = null;
+        Set<Long> visited = new HashSet<>();
+        Long current = offset;
+        while (nonNull(current)) {
+            if (!visited.add(current) || visited.size() > MAX_XREF_SECTIONS) {
+                throw new IOException("Invalid /Prev chain");
+            }
+            Map<String, Object> sectionTrailer = readXrefSection(current);
+            if (sectionTrailer.containsKey("XRefStm")) {
+                throw new IOException("Hybrid cross reference is not supported");
+            }
+            if (isNull(trailer)) {
+                trailer = sectionTrailer;
+            }
+            Object prev = sectionTrailer.get("Prev");
+            current = (prev instanceof Long) ? (Long) prev : null;
+        }
+        return trailer;
+    }
+
+    private Map<String, Object> readXrefSection(long offset) throws IOException {
+        if (offset < 0 || offset >= source.size()) {
+            throw new IOException("Invalid cross reference offset " + offset);
+        }
+        source.position(offset);
+        if (!"xref".equals(nextToken())) {
+            throw new IOException("Cross reference streams are not supported");
+        }
+        while (true) {
+            skipSpaces();
+            if (source.peek() == 't') {
+                if (!"trailer".equals(nextToken())) {
+                    throw new IOException("Expected trailer keyword");
+                }
+                return asDictionary(nextObject());
+            }
+            Object start = nextObject();
+            Object count = nextObject();
+            if (!(start instanceof Long) || !(count instanceof Long)) {
+                throw new IOException("Invalid cross reference subsection");
+            }
+            skipSpaces();
+            XrefSubsection subsection = new XrefSubsection((Long) start, (Long) count, source.position());
+            if (subsection.count > 0) {
+                ByteBuffer entry = readBytes(subsection.position, XREF_ENTRY_SIZE);
+                if (!isEntryEnd(entry.get(XREF_ENTRY_SIZE - 2)) || !isEntryEnd(entry.get(XREF_ENTRY_SIZE - 1))) {
+                    throw new IOException("Invalid cross reference entry size");
+                }
+            }
+            subsections.add(subsection);
+            source.position(subsection.position + (subsection.count * XREF_ENTRY_SIZE));
+        }
+    }
+
+    private long offsetOf(long objectNumber) throws IOException {
+        for (XrefSubsection subsection : subsections) {
+            if (objectNumber >= subsection.start && objectNumber < subsection.start + subsection.count) {
+                String entry = readString(subsection.position + ((objectNumber - subsection.start) * XREF_ENTRY_SIZE),
+                        XREF_ENTRY_SIZE - 2);
+                if (entry.charAt(17) == 'n') {
+                    return Long.parseLong(entry.substring(0, 10));
+                }
+                throw new IOException("Object " + objectNumber + " is free");
+            }
+        }
+        throw new IOException("Object " + objectNumber + " not found");
+    }
+
+    private Object resolve(Object value) throws IOException {
+        if (value instanceof Reference) {
+            Reference ref = (Reference) value;
+            source.position(offsetOf(ref.number));
+            Object number = nextObject();
+            Object generation = nextObject();
+            if (!Long.valueOf(ref.number).equals(number) || !Long.valueOf(ref.generation).equals(generation)
+                    || !"obj".equals(nextToken())) {
+                throw new IOException("Invalid object offset for " + ref.number);
+            }
+            Object resolved = nextObject();
+            if (resolved instanceof Reference) {
+                throw new IOException("Unexpected indirect reference");
+            }
+            return resolved;
+        }
+        return value;
+    }
+
+    private Object nextObject() throws IOException {
+        skipSpaces();
+        int c = source.peek();
+        switch (c) {
+        case '/':
+            source.read();
+            return new Name(nextToken());
+        case '(':
+            source.read();
+            return literalString();
+        case '[':
+            source.read();
+            List<Object> array = new ArrayList<>();
+            skipSpaces();
+            while (source.peek() != ']') {
+                if (source.peek() < 0) {
+                    throw new IOException("Unterminated array");
+                }
+                array.add(nextObject());
+                skipSpaces();
+            }
+            source.read();
+            return array;
+        case '<':
+            source.read();
+            if (source.peek() == '<') {
+                source.read();
+                return dictionary();
+            }
+            return hexString();
+        default:
+            if (isNumberStart(c)) {
+                return number();
+            }
+            String keyword = nextToken();
+            if ("true".equals(keyword) || "false".equals(keyword)) {
+                return Boolean.valueOf(keyword);
+            }
+            if ("null".equals(keyword)) {
+                return null;
+            }
+            throw new IOException("Unexpected token '" + keyword + "'");
+        }
+    }
+
+    private Object number() throws IOException {
+        String token = nextToken();
+        try {
+            if (token.indexOf('.') >= 0) {
+                return Double.valueOf(token);
+            }
+            Long value = Long.valueOf(token);
+            long position = source.position();
+            skipSpaces();
+            if (Character.isDigit(source.peek())) {
+                String generation = nextToken();
+                skipSpaces();
+                if (source.peek() == 'R') {
+                    source.read();
+                    return new Reference(value, Integer.parseInt(generation));
+                }
+            }
+            source.position(position);
+            return value;
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid number " + token, e);
+        }
+    }
+
+    private Map<String, Object> dictionary() throws IOException {
+        Map<String, Object> dictionary = new HashMap<>();
+        while (true) {
+            skipSpaces();
+            int c = source.read();
+            if (c == '>') {
+                if (source.read() != '>') {
+                    throw new IOException("Invalid dictionary end");
+                }
+                return dictionary;
+            }
+            if (c != '/') {
+                throw new IOException("Expected a dictionary key");
+            }
+            dictionary.put(nextToken(), nextObject());
+        }
+    }
+
+    private byte[] literalString() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int depth = 1;
+        while (true) {
+            int c = source.read();
+            switch (c) {
+            case -1:
+                throw new IOException("Unterminated string");
+            case '(':
+                depth++;
+                out.write(c);
+                break;
+            case ')':
+                if (--depth == 0) {
+                    return out.toByteArray();
+                }
+                out.write(c);
+                break;
+            case '\\':
+                escape(out);
+                break;
+            default:
+                out.write(c);
+            }
+        }
+    }
+
+    private void escape(ByteArrayOutputStream out) throws IOException {
+        int c = source.read();
+        switch (c) {
+        case 'n':
+            out.write('\n');
+            break;
+        case 'r':
+            out.write('\r');
+            break;
+        case 't':
+            out.write('\t');
+            break;
+        case 'b':
+            out.write('\b');
+            break;
+        case 'f':
+            out.write('\f');
+            break;
+        case '\r':
+            if (source.peek() == '\n') {
+                source.read();
+            }
+            break;
+        case '\n':
+            break;
+        default:
+            if (c >= '0' && c <= '7') {
+                int value = c - '0';
+                for (int i = 0; i < 2 && source.peek() >= '0' && source.peek() <= '7'; i++) {
+                    value = (value * 8) + (source.read() - '0');
+                }
+                out.write(value);
+            } else if (c >= 0) {
+                out.write(c);
+            }
+        }
+    }
+
+    private byte[] hexString() throws IOException {
+        StringBuilder hex = new StringBuilder();
+        int c;
+        while ((c = source.read()) != '>') {
+            if (c < 0) {
+                throw new IOException("Unterminated hex string");
+            }
+            if (Character.digit(c, 16) >= 0) {
+                hex.append((char) c);
+            }
+        }
+        if (hex.length() % 2 != 0) {
+            hex.append('0');
+        }
+        byte[] value = new byte[hex.length() / 2];
+        for (int i = 0; i < value.length; i++) {
+            value[i] = (byte) Integer.parseInt(hex.substring(i * 2, (i * 2) + 2), 16);
+        }
+        return value;
+    }
+
+    private String nextToken() throws IOException {
+        skipSpaces();
+        StringBuilder token = new StringBuilder();
+        int c;
+        while ((c = source.peek()) >= 0 && !isSpace(c) && !isDelimiter(c)) {
+            token.append((char) source.read());
+        }
+        if (token.length() == 0) {
+            throw new IOException("Expected a token");
+        }
+        return token.toString();
+    }
+
+    private void skipSpaces() throws IOException {
+        int c;
+        while ((c = source.peek()) >= 0) {
+            if (c == '%') {
+                while ((c = source.read()) >= 0 && !isEol(c)) {
+                    // skip comment
+                }
+            } else if (isSpace(c)) {
+                source.read();
+            } else {
+                return;
+            }
+        }
+    }
+
+    private ByteBuffer readBytes(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        source.position(position);
+        while (buffer.hasRemaining() && source.read(buffer) > 0) {
+            // keep reading
+        }
+        if (buffer.hasRemaining()) {
+            throw new IOException("Unexpected end of file");
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private String readString(long position, int length) throws IOException {
+        ByteBuffer buffer = readBytes(position, length);
+        return new String(buffer.array(), 0, buffer.limit(), StandardCharsets.ISO_8859_1);
+    }
+
+    private static boolean isEol(int c) {
+        return c == '\r' || c == '\n';
+    }
+
+    private static boolean isEntryEnd(int c) {
+        return isEol(c) || c == ' ';
+    }
+
+    private static boolean isSpace(int c) {
+        return c == ' ' || c == '\n' || c == '\r' || c == '\t' || c == '\f' || c == 0;
+    }
+
+    private static boolean isDelimiter(int c) {
+        return c == '(' || c == ')' || c == '<' || c == '>' || c == '[' || c == ']' || c == '{' || c == '}' || c == '/'
+                || c == '%';
+    }
+
+    private static boolean isNumberStart(int c) {
+        return Character.isDigit(c) || c == '+' || c == '-' || c == '.';
+    }
+
+    private static Map<String, Object> asDictionary(Object value) throws IOException {
+        if (value instanceof Map) {
+            return (Map<String, Object>) value;
+        }
+        throw new IOException("Expected a dictionary");
+    }
+
+    /**
+     * Decodes a PDF text string (PDF 32000-1:2008 7.9.2.2)
+     */
+    static String decodeText(byte[] bytes) {
+        if (bytes.length >= 2 && (bytes[0] & 0xFF) == 0xFE && (bytes[1] & 0xFF) == 0xFF) {
+            return new String(bytes, 2, bytes.length - 2, StandardCharsets.UTF_16BE);
+        }
+        if (bytes.length >= 3 && (bytes[0] & 0xFF) == 0xEF && (bytes[1] & 0xFF) == 0xBB
+                && (bytes[2] & 0xFF) == 0xBF) {
+            return new String(bytes, 3, bytes.length - 3, StandardCharsets.UTF_8);
+        }
+        StringBuilder text = new StringBuilder(bytes.length);
+        for (byte current : bytes) {
+            int c = current & 0xFF;
+            if (c >= 0x18 && c <= 0x1F) {
+                text.append(PDF_DOC_ENCODING_LOW[c - 0x18]);
+            } else if (c >= 0x80 && c <= 0xA0) {
+                text.append(PDF_DOC_ENCODING_HIGH[c - 0x80]);
+            } else {
+                text.append((char) c);
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * Parses a PDF date string (PDF 32000-1:2008 7.9.4)
+     *
+     * @return the date or null if the string is not a valid date
+     */
+    static Calendar toCalendar(String date) {
+        if (isNull(date)) {
+            return null;
+        }
+        Matcher matcher = DATE_PATTERN.matcher(date.trim());
+        if (!matcher.lookingAt()) {
+            return null;
+        }
+        TimeZone zone = TimeZone.getDefault();
+        if (nonNull(matcher.group(7))) {
+            int offset = ((intOf(matcher.group(8), 0) * 60) + intOf(matcher.group(9), 0)) * 60000;
+            zone = new SimpleTimeZone("-".equals(matcher.group(7)) ? -offset : offset, "");
+        }
+        Calendar calendar = new GregorianCalendar(zone);
+        calendar.clear();
+        calendar.set(intOf(matcher.group(1), 0), intOf(matcher.group(2), 1) - 1, intOf(matcher.group(3), 1),
+                intOf(matcher.group(4), 0), intOf(matcher.group(5), 0), intOf(matcher.group(6), 0));
+        return calendar;
+    }
+
+    private static int intOf(String value, int defaultValue) {
+        if (isNull(value)) {
+            return defaultValue;
+        }
+        return Integer.parseInt(value);
+    }
+
+    /**
+     * Data read from the document
+     */
+    static class PdfTrailerData {
+        int pages;
+        String version;
+        Map<String, String> info = new HashMap<>();
+    }
+
+    private static class XrefSubsection {
+        private final long start;
+        private final long count;
+        private final long position;
+
+        XrefSubsection(long start, long count, long position) {
+            this.start = start;
+            this.count = count;
+            this.position = position;
+        }
+    }
+
+    private static class Reference {
+        private final long number;
+        private final int generation;
+
+        Reference(long number, int generation) {
+            this.number = number;
+            this.generation = generation;
+        }
+    }
+
+    private static class Name {
+        private final String value;
+
+        Name(String value) {
+            this.value = value;
+        }
+    }
+}
@@ -18,6 +18,7 @@
  */
 package org.pdfsam.pdf;
 
+import static java.util.Objects.nonNull;
 import static org.pdfsam.pdf.PdfDescriptorLoadingStatus.ENCRYPTED;
 import static org.pdfsam.pdf.PdfDescriptorLoadingStatus.LOADED;
 import static org.pdfsam.pdf.PdfDescriptorLoadingStatus.LOADED_WITH_USER_PWD_DECRYPTION;
@@ -26,6 +27,7 @@ import static org.pdfsam.pdf.PdfDescriptorLoadingStatus.WITH_ERRORS;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -33,62 +35,80 @@ import java.util.function.BiConsumer;
 
 import org.pdfsam.i18n.DefaultI18nContext;
 import org.pdfsam.module.RequiredPdfData;
+import org.pdfsam.pdf.DescriptorRegistry.Loaded;
 import org.sejda.io.BufferedSeekableSource;
 import org.sejda.io.FileChannelSeekableSource;
+import org.sejda.io.SeekableSource;
 import org.sejda.sambox.input.PDFParser;
 import org.sejda.sambox.pdmodel.PDDocument;
 import org.sejda.sambox.pdmodel.encryption.InvalidPasswordException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import javafx.application.Platform;
-
 /**
+ * Service loading documents using SAMBox. Descriptors of the same file, requested by one or many modules, share a single load through a
+ * {@link DescriptorRegistry}, documents not protected by a password are then looked up in the {@link DescriptorMetadataCache}, if any. When
+ * every required data can be read by a lightweight loader working on the raw source (see {@link TrailerOnlyLoader}), the full parse is skipped
+ * and it is used only as a fallback.
+ * <p>
+ * Loaders populate a detached copy of the descriptor, the loaded data and the status transitions are then applied to the actual descriptor on
+ * the FX thread by {@link FxDescriptorUpdates}, coalescing the updates of many documents in a single FX event.
+ * 
  * @author Andrea Vacondio
  *
  */
 class SAMBoxPdfLoadService implements PdfLoadService {
     private static final Logger LOG = LoggerFactory.getLogger(SAMBoxPdfLoadService.class);
     private final Map<RequiredPdfData, BiConsumer<PDDocument, PdfDocumentDescriptor>> consumers = new HashMap<>();
+    private final Map<RequiredPdfData, BiConsumer<SeekableSource, PdfDocumentDescriptor>> lightweightConsumers = new HashMap<>();
+    private final DescriptorMetadataCache cache;
+    private final FxDescriptorUpdates updates = new FxDescriptorUpdates();
+    private final DescriptorRegistry registry = new DescriptorRegistry();
 
     private static final BiConsumer<PDDocument, PdfDocumentDescriptor> STARTER = (r, descriptor) -> {
         // NO OP
     };
 
-    private static final BiConsumer<PDDocument, PdfDocumentDescriptor> FINISHER = (r, descriptor) -> {
-        if (descriptor.hasPassword()) {
-            fxMoveStatusTo(descriptor, LOADED_WITH_USER_PWD_DECRYPTION);
-        } else {
-            fxMoveStatusTo(descriptor, LOADED);
-        }
-    };
-
     public SAMBoxPdfLoadService(List<PdfLoader<PDDocument>> loaders) {
+        this(loaders, Collections.emptyList(), null);
+    }
+
+    /**
+     * @param loaders
+     *            loaders populating the descriptor from a fully parsed document
+     * @param lightweightLoaders
+     *            loaders populating the descriptor reading directly from the source, they are expected to leave the descriptor untouched and throw
+     *            an exception if they cannot load the data
+     * @param cache
+     *            an optional cache of loaded data, can be null
+     */
+    public SAMBoxPdfLoadService(List<PdfLoader<PDDocument>> loaders, List<PdfLoader<SeekableSource>> lightweightLoaders,
+            DescriptorMetadataCache cache) {
         loaders.forEach(l -> consumers.put(l.key(), l));
+        lightweightLoaders.forEach(l -> lightweightConsumers.put(l.key(), l));
+        this.cache = cache;
     }
 
     @Override
     public void load(Collection<? extends PdfDocumentDescriptor> toLoad, RequiredPdfData... requires) {
         LOG.debug(DefaultI18nContext.getInstance().i18n("Loading pdf documents"));
         BiConsumer<PDDocument, PdfDocumentDescriptor> consumer = Arrays.stream(requires).map(consumers::get)
-                .reduce(STARTER, (r, d) -> r.andThen(d)).andThen(FINISHER);
+                .reduce(STARTER, (r, d) -> r.andThen(d));
+        boolean lightweight = requires.length > 0
+                && Arrays.stream(requires).allMatch(lightweightConsumers::containsKey);
 
         for (PdfDocumentDescriptor current : toLoad) {
             if (current.hasReferences()) {
                 LOG.trace("Loading {}", current.getFileName());
-                fxMoveStatusTo(current, LOADING);
-                try (PDDocument document = PDFParser.parse(
-                        new BufferedSeekableSource(new FileChannelSeekableSource(current.getFile())),
-                        current.getPassword())) {
-                    consumer.accept(document, current);
-                } catch (InvalidPasswordException twpe) {
-                    fxMoveStatusTo(current, ENCRYPTED);
-                    LOG.warn("User password required for '{}'", current.getFileName(), twpe);
-                } catch (Exception e) {
-                    LOG.error("An error occured loading the document '{}'", current.getFileName(), e);
-                    fxMoveStatusTo(current, WITH_ERRORS);
-                }
-                LOG.info("{} loaded", current.getFileName());
+                updates.moveStatusTo(current, LOADING);
+                registry.load(current, requires, d -> load(d, consumer, lightweight, requires))
+                        .whenComplete((result, e) -> {
+                            if (nonNull(e)) {
+                                updates.moveStatusTo(current, WITH_ERRORS);
+                            } else {
+                                finish(current, result);
+                            }
+                        });
             } else {
                 LOG.trace("Skipping invalidated document {}", current.getFileName());
             }
@@ -96,7 +116,77 @@ class SAMBoxPdfLoadService implements PdfLoadService {
         LOG.debug(DefaultI18nContext.getInstance().i18n("Documents loaded"));
     }
 
-    private static void fxMoveStatusTo(PdfDocumentDescriptor descriptor, PdfDescriptorLoadingStatus status) {
-        Platform.runLater(() -> descriptor.moveStatusTo(status));
+    private Loaded load(PdfDocumentDescriptor current, BiConsumer<PDDocument, PdfDocumentDescriptor> consumer,
+            boolean lightweight, RequiredPdfData... requires) {
+        boolean cacheable = nonNull(cache) && !current.hasPassword();
+        PdfDocumentDescriptor loaded = loadingCopyOf(current);
+        if (cacheable && cache.populate(loaded, requires)) {
+            LOG.info("{} loaded from cache", current.getFileName());
+            return new Loaded(loaded, loadedStatus(current));
+        }
+        if (lightweight) {
+            if (lightweightLoad(loaded, requires)) {
+                if (cacheable) {
+                    cache.store(loaded, requires);
+                }
+                LOG.info("{} loaded", current.getFileName());
+                return new Loaded(loaded, loadedStatus(current));
+            }
+            loaded = loadingCopyOf(current);
+        }
+        try (PDDocument document = PDFParser.parse(
+                new BufferedSeekableSource(new FileChannelSeekableSource(current.getFile())), current.getPassword())) {
+            consumer.accept(document, loaded);
+            if (cacheable) {
+                cache.store(loaded, requires);
+            }
+            LOG.info("{} loaded", current.getFileName());
+            return new Loaded(loaded, loadedStatus(current));
+        } catch (InvalidPasswordException twpe) {
+            LOG.warn("User password required for '{}'", current.getFileName(), twpe);
+            return new Loaded(loaded, ENCRYPTED);
+        } catch (Exception e) {
+            LOG.error("An error occured loading the document '{}'", current.getFileName(), e);
+            return new Loaded(loaded, WITH_ERRORS);
+        }
+    }
+
+    /**
+     * @return true if the descriptor has been loaded without parsing the document
+     */
+    private boolean lightweightLoad(PdfDocumentDescriptor descriptor, RequiredPdfData... requires) {
+        try (SeekableSource source = new BufferedSeekableSource(
+                new FileChannelSeekableSource(descriptor.getFile()))) {
+            for (RequiredPdfData current : requires) {
+                lightweightConsumers.get(current).accept(source, descriptor);
+            }
+            return true;
+        } catch (Exception e) {
+            LOG.debug("Unable to load '{}' without parsing it, falling back to a full parse: {}",
+                    descriptor.getFileName(), e.getMessage());
+        }
+        return false;
+    }
+
+    /**
+     * @return a detached descriptor for the same file that loaders can populate off the FX thread
+     */
+    private static PdfDocumentDescriptor loadingCopyOf(PdfDocumentDescriptor descriptor) {
+        return PdfDocumentDescriptor.newDescriptor(descriptor.getFile(), descriptor.getPassword());
+    }
+
+    private static PdfDescriptorLoadingStatus loadedStatus(PdfDocumentDescriptor descriptor) {
+        if (descriptor.hasPassword()) {
+            return LOADED_WITH_USER_PWD_DECRYPTION;
+        }
+        return LOADED;
+    }
+
+    private void finish(PdfDocumentDescriptor descriptor, Loaded result) {
+        if (result.isLoaded()) {
+            updates.loaded(descriptor, result.descriptor, result.status);
+        } else {
+            updates.moveStatusTo(descriptor, result.status);
+        }
     }
 }
@@ -0,0 +1,64 @@
+/* 
+ * This file is part of the PDF Split And Merge source code
+ * Created on 17 ott 2026
+ * Copyright 2017 by Sober Lemur S.a.s di Vacondio Andrea (info@pdfsam.org).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as 
+ * published by the Free Software Foundation, either version 3 of the 
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.pdf;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Optional;
+
+import org.pdfsam.module.RequiredPdfData;
+import org.pdfsam.pdf.PdfTrailerReader.PdfTrailerData;
+import org.sejda.io.SeekableSource;
+import org.sejda.model.pdf.PdfMetadataKey;
+
+/**
+ * Loader populating the descriptor with the same data as the {@link DefaultSAMBoxLoader} but reading only the trailer, the cross reference table,
+ * the catalog, the pages root and the info dictionary instead of parsing the whole document. The descriptor is left untouched and an
+ * {@link UncheckedIOException} is thrown if the document cannot be read this way, in which case a full parse is required.
+ * 
+ * @author Andrea Vacondio
+ *
+ */
+class TrailerOnlyLoader implements PdfLoader<SeekableSource> {
+
+    @Override
+    public void accept(SeekableSource source, PdfDocumentDescriptor descriptor) {
+        try {
+            PdfTrailerData data = new PdfTrailerReader(source).read();
+            descriptor.pages(data.pages);
+            descriptor.setVersion(DefaultSAMBoxLoader.getVersion(data.version));
+            descriptor.putInformation(PdfMetadataKey.TITLE.getKey(), data.info.get("Title"));
+            descriptor.putInformation(PdfMetadataKey.AUTHOR.getKey(), data.info.get("Author"));
+            descriptor.putInformation(PdfMetadataKey.CREATOR.getKey(), data.info.get("Creator"));
+            descriptor.putInformation(PdfMetadataKey.SUBJECT.getKey(), data.info.get("Subject"));
+            descriptor.putInformation(PdfMetadataKey.KEYWORDS.getKey(), data.info.get("Keywords"));
+            descriptor.putInformation("Producer", data.info.get("Producer"));
+            Optional.ofNullable(PdfTrailerReader.toCalendar(data.info.get("CreationDate")))
+                    .map(DefaultSAMBoxLoader.FORMATTER::format)
+                    .ifPresent(c -> descriptor.putInformation("FormattedCreationDate", c));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public RequiredPdfData key() {
+        return RequiredPdfData.DEFAULT;
+    }
+}
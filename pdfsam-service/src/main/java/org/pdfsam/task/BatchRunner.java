@@ -0,0 +1,402 @@
+/* 
+ * This file is part of the PDF Split And Merge source code
+ * Created on 17 ott 2026
+ * Copyright 2017 by Sober Lemur S.a.s di Vacondio Andrea (info@pdfsam.org).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as 
+ * published by the Free Software Foundation, either version 3 of the 
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.task;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.stream.Collectors.toList;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.lang3.builder.Builder;
+import org.apache.commons.lang3.time.DurationFormatUtils;
+import org.pdfsam.pdf.PdfListParser;
+import org.pdfsam.support.io.FileType;
+import org.pdfsam.support.params.WorkspaceParameters;
+import org.pdfsam.support.params.WorkspaceParametersFactory;
+import org.pdfsam.ui.JsonWorkspaceService;
+import org.pdfsam.ui.WorkspaceService;
+import org.sejda.core.notification.context.GlobalNotificationContext;
+import org.sejda.core.service.DefaultTaskExecutionService;
+import org.sejda.core.service.TaskExecutionService;
+import org.sejda.model.notification.event.PercentageOfWorkDoneChangedEvent;
+import org.sejda.model.notification.event.TaskExecutionCompletedEvent;
+import org.sejda.model.notification.event.TaskExecutionFailedEvent;
+import org.sejda.model.notification.event.TaskExecutionStartedEvent;
+import org.sejda.model.parameter.base.TaskParameters;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes the tasks of the modules without any UI. The task parameters are created by the modules {@link WorkspaceParametersFactory} from a
+ * workspace file and/or the key=value pairs given as arguments, using the same keys the modules store in the workspace. Progress of the tasks is
+ * printed to the output stream, followed by a summary of the executed jobs.
+ * 
+ * <pre>
+ * [--workspace workspace.json] [--inputs directory|list.csv]... [--parallel n] [module [key=value...]...]
+ * </pre>
+ * 
+ * When no module is given, every module of the workspace with selected documents is executed.
+ * <p>
+ * Input sets replay the modules configuration against other documents, each input set is a directory, whose PDF documents are used in name
+ * order, or a list in the format read by {@link PdfListParser}. For every module a job is executed for each input set, or for each document of
+ * the input set when the module works on a single document, using the set documents in place of the selected ones and writing to a sub
+ * directory of the module destination named after the input set (and the document).
+ * 
+ * @author Andrea Vacondio
+ *
+ */
+public class BatchRunner {
+    private static final Logger LOG = LoggerFactory.getLogger(BatchRunner.class);
+
+    public static final int SUCCESS = 0;
+    public static final int FAILURE = 1;
+    public static final int INVALID_ARGUMENTS = 2;
+
+    private static final int DEFAULT_PARALLELISM = 2;
+
+    private final Map<String, WorkspaceParametersFactory> factories = new LinkedHashMap<>();
+    private final WorkspaceService workspaces;
+    private final TaskExecutionService executionService;
+    private final PrintStream out;
+    private final ThreadLocal<Job> executing = new ThreadLocal<>();
+
+    public BatchRunner(List<WorkspaceParametersFactory> factories) {
+        this(factories, new JsonWorkspaceService(), new DefaultTaskExecutionService(), System.out);
+    }
+
+    BatchRunner(List<WorkspaceParametersFactory> factories, WorkspaceService workspaces,
+            TaskExecutionService executionService, PrintStream out) {
+        factories.forEach(f -> this.factories.put(f.moduleId(), f));
+        this.workspaces = workspaces;
+        this.executionService = executionService;
+        this.out = out;
+        GlobalNotificationContext.getContext().addListener(TaskExecutionStartedEvent.class, e -> {
+            Job job = executing.get();
+            if (nonNull(job)) {
+                job.print("Started");
+            }
+        });
+        GlobalNotificationContext.getContext().addListener(PercentageOfWorkDoneChangedEvent.class, e -> {
+            Job job = executing.get();
+            if (nonNull(job) && !e.isUndetermined() && e.getPercentage().intValue() != job.percentage) {
+                job.percentage = e.getPercentage().intValue();
+                job.print(job.percentage + "%");
+            }
+        });
+        GlobalNotificationContext.getContext().addListener(TaskExecutionCompletedEvent.class, e -> {
+            Job job = executing.get();
+            if (nonNull(job)) {
+                job.print("Completed in " + DurationFormatUtils.formatDurationWords(e.getExecutionTime(), true, true));
+            }
+        });
+        GlobalNotificationContext.getContext().addListener(TaskExecutionFailedEvent.class, e -> {
+            Job job = executing.get();
+            if (nonNull(job)) {
+                job.failed(e.getFailingCause().getMessage());
+                job.print("Failed: " + job.message);
+            }
+        });
+    }
+
+    /**
+     * Executes the tasks described by the arguments
+     * 
+     * @param args
+     * @return {@link #SUCCESS} if every task completed, {@link #FAILURE} if any failed, {@link #INVALID_ARGUMENTS} otherwise
+     */
+    public int run(String... args) {
+        File workspace = null;
+        List<Path> inputSets = new ArrayList<>();
+        int parallelism = DEFAULT_PARALLELISM;
+        Map<String, Map<String, String>> requested = new LinkedHashMap<>();
+        String module = null;
+        for (int i = 0; i < args.length; i++) {
+            String current = args[i];
+            if ("--help".equals(current) || "-h".equals(current)) {
+                usage();
+                return SUCCESS;
+            }
+            if ("--workspace".equals(current) || "-w".equals(current)) {
+                if (i + 1 >= args.length) {
+                    return invalid("Missing workspace file");
+                }
+                workspace = new File(args[++i]);
+            } else if ("--inputs".equals(current) || "-i".equals(current)) {
+                if (i + 1 >= args.length) {
+                    return invalid("Missing input set");
+                }
+                inputSets.add(new File(args[++i]).toPath());
+            } else if ("--parallel".equals(current) || "-p".equals(current)) {
+                if (i + 1 >= args.length || !args[i + 1].matches("[1-9]\\d*")) {
+                    return invalid("The number of parallel jobs must be a positive number");
+                }
+                parallelism = Integer.parseInt(args[++i]);
+            } else if (factories.containsKey(current)) {
+                module = current;
+                requested.putIfAbsent(module, new HashMap<>());
+            } else if (nonNull(module) && current.indexOf('=') > 0) {
+                requested.get(module).put(current.substring(0, current.indexOf('=')),
+                        current.substring(current.indexOf('=') + 1));
+            } else {
+                return invalid("Unknown module or argument: " + current);
+            }
+        }
+        if (isNull(workspace) && requested.isEmpty()) {
+            return invalid("A workspace or a module is required");
+        }
+        Map<String, Map<String, String>> data = new LinkedHashMap<>();
+        if (nonNull(workspace)) {
+            try {
+                workspaces.loadWorkspace(workspace, (id, values) -> {
+                    if (factories.containsKey(id)) {
+                        data.put(id, new HashMap<>(values));
+                    }
+                });
+            } catch (RuntimeException e) {
+                LOG.error("Unable to load workspace {}", workspace, e);
+                out.println("Unable to load workspace " + workspace + ": " + e.getMessage());
+                return FAILURE;
+            }
+            if (requested.isEmpty()) {
+                data.entrySet().stream().filter(e -> WorkspaceParameters.hasInput(e.getValue()))
+                        .forEach(e -> requested.put(e.getKey(), new HashMap<>()));
+            }
+        }
+        Map<String, List<File>> inputs = new LinkedHashMap<>();
+        for (Path current : inputSets) {
+            try {
+                inputs.put(uniqueName(inputs.keySet(), current), documents(current));
+            } catch (IOException | RuntimeException e) {
+                LOG.error("Unable to read input set {}", current, e);
+                out.println("Unable to read input set " + current + ": " + e.getMessage());
+                return FAILURE;
+            }
+        }
+        List<Job> jobs = new ArrayList<>();
+        for (Map.Entry<String, Map<String, String>> current : requested.entrySet()) {
+            Map<String, String> values = data.getOrDefault(current.getKey(), new HashMap<>());
+            values.putAll(current.getValue());
+            if (inputs.isEmpty()) {
+                jobs.add(new Job(current.getKey(), current.getKey(), values));
+            } else {
+                jobs.addAll(jobs(current.getKey(), values, inputs));
+            }
+        }
+        execute(jobs, parallelism);
+        summary(jobs);
+        return jobs.stream().allMatch(j -> j.status == JobStatus.COMPLETED) ? SUCCESS : FAILURE;
+    }
+
+    private List<Job> jobs(String module, Map<String, String> data, Map<String, List<File>> inputs) {
+        WorkspaceParametersFactory factory = factories.get(module);
+        String destination = data.get(factory.outputKey());
+        if (isNull(destination) || destination.isBlank()) {
+            LOG.warn("No destination found for {} under {}, input sets output cannot be redirected", module,
+                    factory.outputKey());
+        }
+        List<Job> jobs = new ArrayList<>();
+        for (Map.Entry<String, List<File>> set : inputs.entrySet()) {
+            if (factory.singleInput() && !set.getValue().isEmpty()) {
+                Set<String> names = new HashSet<>();
+                for (File document : set.getValue()) {
+                    String name = uniqueName(names, document.toPath());
+                    names.add(name);
+                    Map<String, String> values = WorkspaceParameters.withInputs(data, List.of(document), true);
+                    redirect(values, factory.outputKey(), destination, set.getKey(), name);
+                    jobs.add(new Job(module + " " + set.getKey() + "/" + name, module, values));
+                }
+            } else {
+                Map<String, String> values = WorkspaceParameters.withInputs(data, set.getValue(),
+                        factory.singleInput());
+                redirect(values, factory.outputKey(), destination, set.getKey());
+                jobs.add(new Job(module + " " + set.getKey(), module, values));
+            }
+        }
+        return jobs;
+    }
+
+    /**
+     * Moves the destination to a sub directory named after the given names
+     */
+    private static void redirect(Map<String, String> data, String key, String destination, String... names) {
+        if (nonNull(destination) && !destination.isBlank()) {
+            File current = new File(destination);
+            if (FileType.PDF.matches(current.getName())) {
+                data.put(key, new File(subdirectory(current.getParentFile(), names), current.getName()).getAbsolutePath());
+            } else {
+                data.put(key, subdirectory(current, names).getAbsolutePath());
+            }
+        }
+    }
+
+    private static File subdirectory(File parent, String... names) {
+        File current = parent;
+        for (String name : names) {
+            current = new File(current, name);
+        }
+        return current;
+    }
+
+    private static String uniqueName(Set<String> existing, Path path) {
+        Path normalized = path.toAbsolutePath().normalize();
+        String name = Files.isDirectory(normalized) ? normalized.getFileName().toString()
+                : FilenameUtils.getBaseName(normalized.toString());
+        String unique = name;
+        for (int i = 2; existing.contains(unique); i++) {
+            unique = name + "-" + i;
+        }
+        return unique;
+    }
+
+    /**
+     * @return the PDF documents of the directory sorted by name or the documents of the list
+     */
+    private static List<File> documents(Path inputSet) throws IOException {
+        if (Files.isDirectory(inputSet)) {
+            try (Stream<Path> files = Files.list(inputSet)) {
+                return files.filter(Files::isRegularFile).filter(f -> FileType.PDF.matches(f.getFileName().toString()))
+                        .sorted().map(Path::toFile).collect(toList());
+            }
+        }
+        if (!Files.isRegularFile(inputSet)) {
+            throw new IOException("Not a directory or a list of documents");
+        }
+        return new PdfListParser().apply(inputSet);
+    }
+
+    private void execute(List<Job> jobs, int parallelism) {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, jobs.size())));
+        LOG.debug("Executing {} jobs, up to {} at the same time", jobs.size(), parallelism);
+        jobs.forEach(j -> executor.execute(() -> execute(j)));
+        executor.shutdown();
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void execute(Job job) {
+        long start = System.nanoTime();
+        List<String> errors = new ArrayList<>();
+        Builder<? extends TaskParameters> builder = null;
+        try {
+            builder = factories.get(job.module).builder(job.data, errors::add);
+        } catch (RuntimeException e) {
+            errors.add(e.getMessage());
+        }
+        if (isNull(builder) || !errors.isEmpty()) {
+            errors.forEach(e -> job.print("Invalid parameters: " + e));
+            job.status = JobStatus.INVALID;
+            job.message = String.join(", ", errors);
+        } else {
+            executing.set(job);
+            try {
+                executionService.execute(builder.build());
+                if (job.status != JobStatus.FAILED) {
+                    job.status = JobStatus.COMPLETED;
+                }
+            } catch (RuntimeException e) {
+                LOG.error("Unable to execute {}", job.name, e);
+                job.failed(e.getMessage());
+            } finally {
+                executing.remove();
+            }
+        }
+        job.elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    private void summary(List<Job> jobs) {
+        out.println();
+        out.println(String.format("%d jobs: %d completed, %d failed, %d with invalid parameters", jobs.size(),
+                jobs.stream().filter(j -> j.status == JobStatus.COMPLETED).count(),
+                jobs.stream().filter(j -> j.status == JobStatus.FAILED).count(),
+                jobs.stream().filter(j -> j.status == JobStatus.INVALID).count()));
+        int width = jobs.stream().mapToInt(j -> j.name.length()).max().orElse(0);
+        for (Job job : jobs) {
+            out.println(String.format("  %-" + width + "s  %-9s  %10s  %s", job.name, job.status.name().toLowerCase(),
+                    DurationFormatUtils.formatDuration(job.elapsed, "HH:mm:ss.SSS"),
+                    nonNull(job.message) ? job.message : "").stripTrailing());
+        }
+    }
+
+    private int invalid(String message) {
+        out.println(message);
+        usage();
+        return INVALID_ARGUMENTS;
+    }
+
+    private void usage() {
+        out.println(
+                "Usage: [--workspace workspace.json] [--inputs directory|list.csv]... [--parallel n] [module [key=value...]...]");
+        out.println(
+                "Executes the tasks of the given modules with the data of the workspace, overridden by the key=value pairs.");
+        out.println("When no module is given, every module of the workspace with selected documents is executed.");
+        out.println(
+                "When input sets are given, the documents of every set replace the selected ones and the output goes to a sub directory named after the set.");
+        out.println("Modules: " + String.join(", ", factories.keySet()));
+    }
+
+    private enum JobStatus {
+        INVALID, COMPLETED, FAILED;
+    }
+
+    private class Job {
+        private final String name;
+        private final String module;
+        private final Map<String, String> data;
+        private volatile JobStatus status;
+        private volatile String message;
+        private volatile long elapsed;
+        private int percentage = -1;
+
+        Job(String name, String module, Map<String, String> data) {
+            this.name = name;
+            this.module = module;
+            this.data = data;
+        }
+
+        void failed(String message) {
+            this.status = JobStatus.FAILED;
+            this.message = message;
+        }
+
+        void print(String message) {
+            out.println("[" + name + "] " + message);
+        }
+    }
+}
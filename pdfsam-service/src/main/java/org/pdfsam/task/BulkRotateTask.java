@@ -18,6 +18,7 @@
  */
 package org.pdfsam.task;
 
+import static java.util.Objects.nonNull;
 import static org.sejda.commons.util.IOUtils.closeQuietly;
 import static org.sejda.core.notification.dsl.ApplicationEventsNotifier.notifyEvent;
 import static org.sejda.core.support.io.IOUtils.createTemporaryBuffer;
@@ -25,23 +26,49 @@ import static org.sejda.core.support.io.model.FileOutput.file;
 import static org.sejda.core.support.prefix.NameGenerator.nameGenerator;
 import static org.sejda.core.support.prefix.model.NameGenerationRequest.nameRequest;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.sejda.core.support.io.MultipleOutputWriter;
 import org.sejda.core.support.io.OutputWriters;
 import org.sejda.impl.sambox.component.DefaultPdfSourceOpener;
 import org.sejda.impl.sambox.component.PDDocumentHandler;
 import org.sejda.impl.sambox.component.PdfRotator;
+import org.sejda.io.SeekableSource;
+import org.sejda.io.SeekableSources;
 import org.sejda.model.exception.TaskException;
+import org.sejda.model.exception.TaskIOException;
+import org.sejda.model.input.PdfFileSource;
+import org.sejda.model.input.PdfSource;
 import org.sejda.model.input.PdfSourceOpener;
+import org.sejda.model.input.PdfStreamSource;
+import org.sejda.model.input.PdfURLSource;
 import org.sejda.model.pdf.encryption.PdfAccessPermission;
 import org.sejda.model.task.BaseTask;
 import org.sejda.model.task.TaskExecutionContext;
+import org.sejda.sambox.input.IncrementablePDDocument;
+import org.sejda.sambox.input.PDFParser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Performs rotations on a bulk of inputs
+ * Performs rotations on a bulk of inputs. Inputs are independent from each other and, when the parameters allow it, they are processed in
+ * parallel by a pool with as many threads as the maximum number of documents that can be open at the same time. Output names are always
+ * generated from the input index and outputs are handed to the writer in input order, no matter the order they complete.
+ * <p>
+ * In incremental mode the page dictionaries of the rotated pages are appended to the original document as an incremental update, everything
+ * else is copied as is without being parsed. Version, compression and creator are not applied in this mode, a task warning lists the ignored
+ * ones. Encrypted documents are always fully rewritten.
  * 
  * @author Andrea Vacondio
  */
@@ -50,60 +77,230 @@ public class BulkRotateTask extends BaseTask<BulkRotateParameters> {
     private static final Logger LOG = LoggerFactory.getLogger(BulkRotateTask.class);
 
     private int totalSteps;
-    private PDDocumentHandler documentHandler = null;
     private MultipleOutputWriter outputWriter;
-    private PdfSourceOpener<PDDocumentHandler> documentLoader;
+    private ExecutorService executor;
 
     @Override
     public void before(BulkRotateParameters parameters, TaskExecutionContext executionContext) throws TaskException {
         super.before(parameters, executionContext);
         totalSteps = parameters.getInputSet().size();
-        documentLoader = new DefaultPdfSourceOpener();
         outputWriter = OutputWriters.newMultipleOutputWriter(parameters.getExistingOutputPolicy(), executionContext);
     }
 
     @Override
     public void execute(BulkRotateParameters parameters) throws TaskException {
-        int currentStep = 0;
+        if (parameters.isIncremental()) {
+            warnIgnoredByIncrementalUpdate(parameters);
+        }
+        List<PdfRotationInput> inputs = new ArrayList<>(parameters.getInputSet());
+        int parallelism = Math.min(parameters.getParallelism(), inputs.size());
+        File[] outputs;
+        if (parallelism > 1) {
+            outputs = executeParallel(inputs, parameters, parallelism);
+        } else {
+            outputs = executeSequential(inputs, parameters);
+        }
+        for (int i = 0; i < outputs.length; i++) {
+            String outName = nameGenerator(parameters.getOutputPrefix())
+                    .generate(nameRequest().originalName(inputs.get(i).source.getName()).fileNumber(i + 1));
+            outputWriter.addOutput(file(outputs[i]).name(outName));
+        }
 
-        for (PdfRotationInput input : parameters.getInputSet()) {
-            executionContext().assertTaskNotCancelled();
-            currentStep++;
-            LOG.debug("Opening {}", input.source);
-            try {
-                documentHandler = input.source.open(documentLoader);
-                documentHandler.getPermissions().ensurePermission(PdfAccessPermission.ASSEMBLE);
-                documentHandler.setCreatorOnPDDocument();
+        parameters.getOutput().accept(outputWriter);
+        LOG.debug("Input documents rotated and written to {}", parameters.getOutput());
+    }
 
-                File tmpFile = createTemporaryBuffer(parameters.getOutput());
-                LOG.debug("Created output on temporary buffer {}", tmpFile);
+    private void warnIgnoredByIncrementalUpdate(BulkRotateParameters parameters) {
+        List<String> ignored = new ArrayList<>();
+        if (nonNull(parameters.getVersion())) {
+            ignored.add("version " + parameters.getVersion().getVersionString());
+        }
+        if (parameters.isCompress()) {
+            ignored.add("compression");
+        }
+        ignored.add("creator");
+        notifyEvent(executionContext().notifiableTaskMetadata()).taskWarning(
+                "Documents are written as incremental updates, the following settings are not applied to documents that are not encrypted: "
+                        + String.join(", ", ignored));
+    }
 
-                PdfRotator rotator = new PdfRotator(documentHandler.getUnderlyingPDDocument());
-                for (Integer page : input.getPages(documentHandler.getNumberOfPages())) {
+    private File[] executeSequential(List<PdfRotationInput> inputs, BulkRotateParameters parameters)
+            throws TaskException {
+        File[] outputs = new File[inputs.size()];
+        PdfSourceOpener<PDDocumentHandler> documentLoader = new DefaultPdfSourceOpener();
+        for (int i = 0; i < outputs.length; i++) {
+            executionContext().assertTaskNotCancelled();
+            outputs[i] = rotate(inputs.get(i), documentLoader, parameters);
+            notifyEvent(executionContext().notifiableTaskMetadata()).stepsCompleted(i + 1).outOf(totalSteps);
+        }
+        return outputs;
+    }
+
+    /**
+     * Rotates the inputs in parallel. Progress is notified from the task thread, where execution events are expected to be generated, as
+     * documents complete.
+     */
+    private File[] executeParallel(List<PdfRotationInput> inputs, BulkRotateParameters parameters, int parallelism)
+            throws TaskException {
+        LOG.debug("Rotating {} documents using {} threads", inputs.size(), parallelism);
+        File[] outputs = new File[inputs.size()];
+        executor = Executors.newFixedThreadPool(parallelism);
+        CompletionService<Integer> completion = new ExecutorCompletionService<>(executor);
+        try {
+            for (int i = 0; i < outputs.length; i++) {
+                int index = i;
+                completion.submit(() -> {
                     executionContext().assertTaskNotCancelled();
-                    rotator.rotate(page, input.rotation);
-                }
-
-                documentHandler.setVersionOnPDDocument(parameters.getVersion());
-                documentHandler.setCompress(parameters.isCompress());
-                documentHandler.savePDDocument(tmpFile, parameters.getOutput().getEncryptionAtRestPolicy());
-
-                String outName = nameGenerator(parameters.getOutputPrefix())
-                        .generate(nameRequest().originalName(input.source.getName()).fileNumber(currentStep));
-                outputWriter.addOutput(file(tmpFile).name(outName));
-            } finally {
-                closeQuietly(documentHandler);
+                    outputs[index] = rotate(inputs.get(index), new DefaultPdfSourceOpener(), parameters);
+                    return index;
+                });
+            }
+            for (int completed = 1; completed <= outputs.length; completed++) {
+                completion.take().get();
+                notifyEvent(executionContext().notifiableTaskMetadata()).stepsCompleted(completed).outOf(totalSteps);
             }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof TaskException) {
+                throw (TaskException) e.getCause();
+            }
+            throw new TaskException("An error occurred rotating the documents", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TaskException("Interrupted while rotating the documents", e);
+        } finally {
+            executor.shutdownNow();
+        }
+        return outputs;
+    }
 
-            notifyEvent(executionContext().notifiableTaskMetadata()).stepsCompleted(currentStep).outOf(totalSteps);
+    /**
+     * Rotates the given input
+     * 
+     * @return the temporary buffer where the rotated document has been saved
+     */
+    private File rotate(PdfRotationInput input, PdfSourceOpener<PDDocumentHandler> documentLoader,
+            BulkRotateParameters parameters) throws TaskException {
+        if (parameters.isIncremental()) {
+            File tmpFile = rotateIncrementally(input, parameters);
+            if (nonNull(tmpFile)) {
+                return tmpFile;
+            }
         }
+        return rotateFully(input, documentLoader, parameters);
+    }
 
-        parameters.getOutput().accept(outputWriter);
-        LOG.debug("Input documents rotated and written to {}", parameters.getOutput());
+    /**
+     * Rotates the given input writing an incremental update with the modified pages only
+     * 
+     * @return the temporary buffer where the rotated document has been saved or null if the document cannot be incrementally updated
+     */
+    private File rotateIncrementally(PdfRotationInput input, BulkRotateParameters parameters) throws TaskException {
+        LOG.debug("Opening {} for incremental update", input.source);
+        IncrementablePDDocument incrementable = input.source.open(new IncrementablePdfSourceOpener());
+        try {
+            if (incrementable.incremented().isEncrypted()) {
+                LOG.debug("{} is encrypted and will be fully rewritten", input.source);
+                return null;
+            }
+            File tmpFile = createTemporaryBuffer(parameters.getOutput());
+            LOG.debug("Created output on temporary buffer {}", tmpFile);
+
+            PdfRotator rotator = new PdfRotator(incrementable.incremented());
+            for (Integer page : input.getPages(incrementable.incremented().getNumberOfPages())) {
+                executionContext().assertTaskNotCancelled();
+                rotator.rotate(page, input.rotation);
+                incrementable.modified(incrementable.incremented().getPage(page - 1));
+            }
+            try (OutputStream out = parameters.getOutput().getEncryptionAtRestPolicy()
+                    .encrypt(new BufferedOutputStream(new FileOutputStream(tmpFile)))) {
+                incrementable.writeTo(out);
+            } catch (IOException e) {
+                throw new TaskIOException("Unable to write the incremental update for " + input.source.getName(), e);
+            }
+            return tmpFile;
+        } finally {
+            closeQuietly(incrementable);
+        }
+    }
+
+    /**
+     * Rotates the given input loading and rewriting the whole document
+     * 
+     * @return the temporary buffer where the rotated document has been saved
+     */
+    private File rotateFully(PdfRotationInput input, PdfSourceOpener<PDDocumentHandler> documentLoader,
+            BulkRotateParameters parameters) throws TaskException {
+        LOG.debug("Opening {}", input.source);
+        PDDocumentHandler documentHandler = null;
+        try {
+            documentHandler = input.source.open(documentLoader);
+            documentHandler.getPermissions().ensurePermission(PdfAccessPermission.ASSEMBLE);
+            documentHandler.setCreatorOnPDDocument();
+
+            File tmpFile = createTemporaryBuffer(parameters.getOutput());
+            LOG.debug("Created output on temporary buffer {}", tmpFile);
+
+            PdfRotator rotator = new PdfRotator(documentHandler.getUnderlyingPDDocument());
+            for (Integer page : input.getPages(documentHandler.getNumberOfPages())) {
+                executionContext().assertTaskNotCancelled();
+                rotator.rotate(page, input.rotation);
+            }
+
+            documentHandler.setVersionOnPDDocument(parameters.getVersion());
+            documentHandler.setCompress(parameters.isCompress());
+            documentHandler.savePDDocument(tmpFile, parameters.getOutput().getEncryptionAtRestPolicy());
+            return tmpFile;
+        } finally {
+            closeQuietly(documentHandler);
+        }
+    }
+
+    /**
+     * Opens a {@link PdfSource} for an incremental update, the document objects are parsed lazily when accessed
+     */
+    private static class IncrementablePdfSourceOpener implements PdfSourceOpener<IncrementablePDDocument> {
+
+        @Override
+        public IncrementablePDDocument open(PdfURLSource source) throws TaskIOException {
+            try {
+                return open(SeekableSources.onTempFileSeekableSourceFrom(source.getSource().openStream()), source);
+            } catch (IOException e) {
+                throw new TaskIOException("An error occurred opening the source: " + source, e);
+            }
+        }
+
+        @Override
+        public IncrementablePDDocument open(PdfFileSource source) throws TaskIOException {
+            try {
+                return open(SeekableSources.seekableSourceFrom(source.getSource()), source);
+            } catch (IOException e) {
+                throw new TaskIOException("An error occurred opening the source: " + source, e);
+            }
+        }
+
+        @Override
+        public IncrementablePDDocument open(PdfStreamSource source) throws TaskIOException {
+            try {
+                return open(SeekableSources.inMemorySeekableSourceFrom(source.getSource()), source);
+            } catch (IOException e) {
+                throw new TaskIOException("An error occurred opening the source: " + source, e);
+            }
+        }
+
+        private static IncrementablePDDocument open(SeekableSource seekable, PdfSource<?> source) throws IOException {
+            try {
+                return PDFParser.parseToIncrement(seekable, source.getPassword());
+            } catch (IOException | RuntimeException e) {
+                closeQuietly(seekable);
+                throw e;
+            }
+        }
     }
 
     @Override
     public void after() {
-        closeQuietly(documentHandler);
+        if (nonNull(executor)) {
+            executor.shutdownNow();
+        }
     }
 }
@@ -0,0 +1,112 @@
+/* 
+ * This file is part of the PDF Split And Merge source code
+ * Created on 17 ott 2026
+ * Copyright 2017 by Sober Lemur S.a.s di Vacondio Andrea (info@pdfsam.org).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as 
+ * published by the Free Software Foundation, either version 3 of the 
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.task;
+
+import static java.util.Objects.nonNull;
+import static org.apache.commons.lang3.StringUtils.defaultString;
+import static org.apache.commons.lang3.StringUtils.isNoneBlank;
+import static org.pdfsam.eventstudio.StaticStudio.eventStudio;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import org.sejda.model.notification.event.AbstractNotificationEvent;
+import org.sejda.model.notification.event.PercentageOfWorkDoneChangedEvent;
+
+import javafx.application.Platform;
+
+/**
+ * Bridge delivering the Sejda notifications to the event studio on the FX thread. Notifications are queued without blocking the notifying thread
+ * and at most one flush is pending on the FX event queue at any time. Progress notifications of a module are coalesced so that, if the UI is
+ * behind, only the latest percentage is delivered, while every other notification is delivered in the order it was received.
+ *
+ * @author Andrea Vacondio
+ *
+ */
+class TaskEventsBridge {
+
+    private final Queue<Delivery> pending = new ConcurrentLinkedQueue<>();
+    private final Map<String, PercentageOfWorkDoneChangedEvent> latestProgress = new ConcurrentHashMap<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+    private final Consumer<Runnable> fxExecutor;
+
+    TaskEventsBridge() {
+        this(Platform::runLater);
+    }
+
+    TaskEventsBridge(Consumer<Runnable> fxExecutor) {
+        this.fxExecutor = fxExecutor;
+    }
+
+    /**
+     * Delivers the event to the default station and to the station of the given module, if not blank
+     */
+    void deliver(String moduleId, AbstractNotificationEvent event) {
+        String station = defaultString(moduleId);
+        if (event instanceof PercentageOfWorkDoneChangedEvent) {
+            // the first progress after a flush reserves its place in the queue, following ones just replace the value
+            if (latestProgress.put(station, (PercentageOfWorkDoneChangedEvent) event) == null) {
+                pending.add(new Delivery(station, null));
+            }
+        } else {
+            pending.add(new Delivery(station, event));
+        }
+        if (scheduled.compareAndSet(false, true)) {
+            fxExecutor.accept(this::flush);
+        }
+    }
+
+    private void flush() {
+        scheduled.set(false);
+        Delivery current;
+        while ((current = pending.poll()) != null) {
+            AbstractNotificationEvent event = current.event;
+            if (event == null) {
+                event = latestProgress.remove(current.moduleId);
+            }
+            if (nonNull(event)) {
+                broadcast(current.moduleId, event);
+            }
+        }
+    }
+
+    private static void broadcast(String moduleId, AbstractNotificationEvent event) {
+        eventStudio().broadcast(event);
+        if (isNoneBlank(moduleId)) {
+            eventStudio().broadcast(event, moduleId);
+        }
+    }
+
+    /**
+     * A queued notification, a null event is a placeholder for the latest progress of the module
+     */
+    private static class Delivery {
+        private final String moduleId;
+        private final AbstractNotificationEvent event;
+
+        Delivery(String moduleId, AbstractNotificationEvent event) {
+            this.moduleId = moduleId;
+            this.event = event;
+        }
+    }
+}
@@ -18,18 +18,22 @@
  */
 package org.pdfsam.task;
 
-import static org.apache.commons.lang3.StringUtils.isNoneBlank;
+import static java.util.Objects.isNull;
 import static org.pdfsam.eventstudio.StaticStudio.eventStudio;
 
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
 import javax.inject.Inject;
 
-import org.apache.commons.lang3.StringUtils;
 import org.pdfsam.ShutdownEvent;
 import org.pdfsam.injector.Auto;
 import org.pdfsam.module.TaskExecutionRequestEvent;
+import org.pdfsam.module.TaskQueueChangedEvent;
 import org.pdfsam.module.UsageService;
 import org.sejda.core.notification.context.GlobalNotificationContext;
 import org.sejda.core.service.TaskExecutionService;
@@ -45,7 +49,9 @@ import org.slf4j.LoggerFactory;
 import javafx.application.Platform;
 
 /**
- * Component listening for {@link TaskExecutionRequestEvent} and triggering the actual execution
+ * Component listening for {@link TaskExecutionRequestEvent} and triggering the actual execution. Each module has its own queue of requests,
+ * executed one at a time in request order, while tasks of different modules are executed in parallel up to a configurable limit. Every change
+ * in the queue of a module is notified to the module station with a {@link TaskQueueChangedEvent}.
  * 
  * @author Andrea Vacondio
  * 
@@ -54,15 +60,25 @@ import javafx.application.Platform;
 public class TaskExecutionController {
     private static final Logger LOG = LoggerFactory.getLogger(TaskExecutionController.class);
 
+    /**
+     * System property to set the maximum number of tasks executed at the same time
+     */
+    public static final String PDFSAM_MAX_CONCURRENT_TASKS = "org.pdfsam.max.concurrent.tasks";
+
     private TaskExecutionService executionService;
     private UsageService usageService;
-    private ExecutorService executor = Executors.newSingleThreadExecutor();
-    private String currentModule = StringUtils.EMPTY;
+    private ExecutorService executor;
+    private final Map<String, ModuleQueue> queues = new HashMap<>();
+    private final ThreadLocal<String> executingModule = new ThreadLocal<>();
+    private final TaskEventsBridge bridge = new TaskEventsBridge();
 
     @Inject
     public TaskExecutionController(TaskExecutionService executionService, UsageService usageService) {
         this.executionService = executionService;
         this.usageService = usageService;
+        int concurrency = Math.max(1, Integer.getInteger(PDFSAM_MAX_CONCURRENT_TASKS, 2));
+        this.executor = Executors.newFixedThreadPool(concurrency);
+        LOG.trace("Executing up to {} tasks at the same time", concurrency);
         eventStudio().addAnnotatedListeners(this);
         GlobalNotificationContext.getContext().addListener(TaskExecutionFailedEvent.class,
                 new TaskEventBroadcaster<TaskExecutionFailedEvent>());
@@ -83,25 +99,82 @@ public class TaskExecutionController {
     public void request(TaskExecutionRequestEvent event) {
         LOG.trace("Task execution request received");
         usageService.incrementUsageFor(event.getModuleId());
-        currentModule = event.getModuleId();
-        executor.execute(() -> executionService.execute(event.getParameters()));
+        synchronized (queues) {
+            ModuleQueue queue = queues.computeIfAbsent(event.getModuleId(), k -> new ModuleQueue());
+            queue.pending.add(event);
+            if (queue.submitted) {
+                notifyChanged(event.getModuleId(), queue);
+            } else {
+                submitNext(event.getModuleId());
+            }
+        }
         LOG.trace("Task execution submitted");
     }
 
+    /**
+     * Submits the next pending request of the module, if any. Must be called holding the queues lock.
+     */
+    private void submitNext(String moduleId) {
+        ModuleQueue queue = queues.get(moduleId);
+        TaskExecutionRequestEvent next = queue.pending.poll();
+        if (isNull(next)) {
+            queues.remove(moduleId);
+            notifyChanged(moduleId, queue);
+        } else {
+            queue.submitted = true;
+            notifyChanged(moduleId, queue);
+            executor.execute(() -> execute(moduleId, queue, next));
+        }
+    }
+
+    private void execute(String moduleId, ModuleQueue queue, TaskExecutionRequestEvent event) {
+        synchronized (queues) {
+            queue.running = true;
+            notifyChanged(moduleId, queue);
+        }
+        executingModule.set(moduleId);
+        try {
+            executionService.execute(event.getParameters());
+        } finally {
+            executingModule.remove();
+            synchronized (queues) {
+                queue.running = false;
+                queue.submitted = false;
+                submitNext(moduleId);
+            }
+        }
+    }
+
+    private static void notifyChanged(String moduleId, ModuleQueue queue) {
+        TaskQueueChangedEvent event = new TaskQueueChangedEvent(moduleId,
+                queue.pending.size() + ((queue.submitted && !queue.running) ? 1 : 0), queue.running);
+        Platform.runLater(() -> eventStudio().broadcast(event, moduleId));
+    }
+
     @EventListener
     public void onShutdown(ShutdownEvent event) {
         executor.shutdownNow();
     }
 
+    /**
+     * Requests of a module waiting to be executed and state of the one handed over to the executor
+     */
+    private static class ModuleQueue {
+        private final Queue<TaskExecutionRequestEvent> pending = new LinkedList<>();
+        private boolean submitted = false;
+        private boolean running = false;
+    }
+
+    /**
+     * Hands the task notifications over to the {@link TaskEventsBridge}, routing them to the module whose task is executing on the notifying
+     * thread
+     */
     class TaskEventBroadcaster<T extends AbstractNotificationEvent>
             implements org.sejda.model.notification.EventListener<T> {
 
         @Override
         public void onEvent(T event) {
-            Platform.runLater(() -> eventStudio().broadcast(event));
-            if (isNoneBlank(currentModule)) {
-                Platform.runLater(() -> eventStudio().broadcast(event, currentModule));
-            }
+            bridge.deliver(executingModule.get(), event);
         }
     }
 }
@@ -0,0 +1,76 @@
+/* 
+ * This file is part of the PDF Split And Merge source code
+ * Created on 17 ott 2026
+ * Copyright 2017 by Sober Lemur S.a.s di Vacondio Andrea (info@pdfsam.org).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as 
+ * published by the Free Software Foundation, either version 3 of the 
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.thumbnails;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+
+import org.pdfsam.pdf.PdfDocumentDescriptor;
+import org.sejda.io.BufferedSeekableSource;
+import org.sejda.io.FileChannelSeekableSource;
+import org.sejda.sambox.input.PDFParser;
+import org.sejda.sambox.pdmodel.PDDocument;
+import org.sejda.sambox.pdmodel.common.PDRectangle;
+import org.sejda.sambox.rendering.ImageType;
+import org.sejda.sambox.rendering.PDFRenderer;
+
+/**
+ * {@link ThumbnailRenderer} using SAMBox. High quality thumbnails are rendered at twice the requested size and then scaled down using bicubic
+ * interpolation.
+ * 
+ * @author Andrea Vacondio
+ *
+ */
+class SAMBoxThumbnailRenderer implements ThumbnailRenderer {
+
+    @Override
+    public BufferedImage render(PdfDocumentDescriptor descriptor, int page, int size, boolean highQuality)
+            throws IOException {
+        try (PDDocument document = PDFParser.parse(
+                new BufferedSeekableSource(new FileChannelSeekableSource(descriptor.getFile())),
+                descriptor.getPassword())) {
+            if (page > document.getNumberOfPages()) {
+                throw new IOException(String.format("Page %d not found in %s", page, descriptor.getFileName()));
+            }
+            PDRectangle box = document.getPage(page - 1).getCropBox();
+            float scale = size / Math.max(box.getWidth(), box.getHeight());
+            PDFRenderer renderer = new PDFRenderer(document);
+            if (highQuality) {
+                return scaleDown(renderer.renderImage(page - 1, scale * 2, ImageType.RGB));
+            }
+            return renderer.renderImage(page - 1, scale, ImageType.RGB);
+        }
+    }
+
+    private static BufferedImage scaleDown(BufferedImage source) {
+        BufferedImage scaled = new BufferedImage(Math.max(1, source.getWidth() / 2), Math.max(1, source.getHeight() / 2),
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, scaled.getWidth(), scaled.getHeight(), null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+}
@@ -0,0 +1,46 @@
+/* 
+ * This file is part of the PDF Split And Merge source code
+ * Created on 17 ott 2026
+ * Copyright 2017 by Sober Lemur S.a.s di Vacondio Andrea (info@pdfsam.org).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as 
+ * published by the Free Software Foundation, either version 3 of the 
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.thumbnails;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+
+import org.pdfsam.pdf.PdfDocumentDescriptor;
+
+/**
+ * Renders thumbnails of the pages of a PDF document
+ * 
+ * @author Andrea Vacondio
+ *
+ */
+interface ThumbnailRenderer {
+
+    /**
+     * @param descriptor
+     * @param page
+     *            the page number, starting from 1
+     * @param size
+     *            size in px of the longest side of the thumbnail
+     * @param highQuality
+     *            if a slower but higher quality rendering should be performed
+     * @return the rendered thumbnail
+     * @throws IOException
+     */
+    BufferedImage render(PdfDocumentDescriptor descriptor, int page, int size, boolean highQuality) throws IOException;
+}
@@ -0,0 +1,230 @@
+/* 
+ * This file is part of the PDF Split And Merge source code
+ * Created on 17 ott 2026
+ * Copyright 2017 by Sober Lemur S.a.s di Vacondio Andrea (info@pdfsam.org).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as 
+ * published by the Free Software Foundation, either version 3 of the 
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.thumbnails;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.imageio.ImageIO;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javafx.scene.image.Image;
+
+/**
+ * Two levels cache of thumbnails. Generated images are kept in a memory LRU bounded by the size of their pixels and written as PNG files to a
+ * directory whose size is trimmed on {@link #trim()}, removing the least recently used files. Keys are built from a fingerprint of the file (path,
+ * length and last modified time), the page and the rendering options so a modified file never hits stale thumbnails. Keys of documents opened
+ * with a password include the password, so the thumbnails are found only by requests with the same password.
+ * 
+ * @author Andrea Vacondio
+ *
+ */
+class ThumbnailsCache {
+    private static final Logger LOG = LoggerFactory.getLogger(ThumbnailsCache.class);
+
+    /**
+     * System property to set the directory where thumbnails are stored
+     */
+    public static final String PDFSAM_THUMBNAILS_CACHE_PATH = "org.pdfsam.thumbnails.cache.path";
+    /**
+     * System property to set the maximum size in MB of the thumbnails kept in memory
+     */
+    public static final String PDFSAM_THUMBNAILS_MEMORY_CACHE_SIZE = "org.pdfsam.thumbnails.memory.cache.size";
+    /**
+     * System property to set the maximum size in MB of the thumbnails stored on disk
+     */
+    public static final String PDFSAM_THUMBNAILS_DISK_CACHE_SIZE = "org.pdfsam.thumbnails.disk.cache.size";
+
+    private static final String EXTENSION = ".png";
+
+    private final Path directory;
+    private final long maxMemoryBytes;
+    private final long maxDiskBytes;
+    private long memoryBytes = 0;
+    private final Map<String, Image> memory = new LinkedHashMap<>(16, 0.75f, true);
+
+    ThumbnailsCache() {
+        this(Paths.get(System.getProperty(PDFSAM_THUMBNAILS_CACHE_PATH,
+                Paths.get(System.getProperty("user.home"), ".pdfsam", "thumbnails").toString())),
+                Integer.getInteger(PDFSAM_THUMBNAILS_MEMORY_CACHE_SIZE, 64) * 1024L * 1024L,
+                Integer.getInteger(PDFSAM_THUMBNAILS_DISK_CACHE_SIZE, 256) * 1024L * 1024L);
+    }
+
+    ThumbnailsCache(Path directory, long maxMemoryBytes, long maxDiskBytes) {
+        this.directory = directory;
+        this.maxMemoryBytes = maxMemoryBytes;
+        this.maxDiskBytes = maxDiskBytes;
+    }
+
+    /**
+     * @param password
+     *            the password the document is opened with, can be null
+     * @return the key for the thumbnail of the given file and page with the given rendering options
+     */
+    static String key(File file, String password, int page, int size, boolean highQuality) {
+        String fingerprint = String.format("%s|%d|%d|%d|%d|%b", path(file), file.length(), file.lastModified(), page,
+                size, highQuality);
+        if (nonNull(password)) {
+            fingerprint += "|" + password;
+        }
+        try {
+            StringBuilder key = new StringBuilder();
+            for (byte current : MessageDigest.getInstance("SHA-1").digest(fingerprint.getBytes(StandardCharsets.UTF_8))) {
+                key.append(String.format("%02x", current));
+            }
+            return key.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String path(File file) {
+        try {
+            return file.getCanonicalPath();
+        } catch (IOException e) {
+            return file.getAbsolutePath();
+        }
+    }
+
+    /**
+     * @return the thumbnail for the given key if in memory, null otherwise
+     */
+    public synchronized Image get(String key) {
+        return memory.get(key);
+    }
+
+    /**
+     * Keeps the thumbnail in memory, evicting the least recently used ones if necessary
+     */
+    public synchronized void put(String key, Image image) {
+        Image previous = memory.put(key, image);
+        if (nonNull(previous)) {
+            memoryBytes -= bytes(previous);
+        }
+        memoryBytes += bytes(image);
+        Iterator<Image> iterator = memory.values().iterator();
+        while (memoryBytes > maxMemoryBytes && iterator.hasNext()) {
+            Image eldest = iterator.next();
+            if (eldest != image) {
+                memoryBytes -= bytes(eldest);
+                iterator.remove();
+            }
+        }
+    }
+
+    private static long bytes(Image image) {
+        return (long) image.getWidth() * (long) image.getHeight() * 4;
+    }
+
+    /**
+     * @return the thumbnail for the given key if stored on disk, null otherwise
+     */
+    public BufferedImage read(String key) {
+        Path file = directory.resolve(key + EXTENSION);
+        if (Files.isRegularFile(file)) {
+            try {
+                BufferedImage image = ImageIO.read(file.toFile());
+                if (nonNull(image)) {
+                    Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+                }
+                return image;
+            } catch (IOException e) {
+                LOG.warn("Unable to read cached thumbnail {}", file, e);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Stores the thumbnail on disk
+     */
+    public void write(String key, BufferedImage image) {
+        try {
+            Files.createDirectories(directory);
+            Path tmp = Files.createTempFile(directory, key, ".tmp");
+            try {
+                ImageIO.write(image, "png", tmp.toFile());
+                try {
+                    Files.move(tmp, directory.resolve(key + EXTENSION), StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tmp, directory.resolve(key + EXTENSION), StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException e) {
+            LOG.warn("Unable to cache thumbnail", e);
+        }
+    }
+
+    /**
+     * Removes the least recently used thumbnails from disk until the disk cache is back within its size limit
+     */
+    public void trim() {
+        if (isNull(directory) || !Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> cached = files.filter(p -> p.getFileName().toString().endsWith(EXTENSION))
+                    .sorted(Comparator.comparing(ThumbnailsCache::lastModified).reversed()).collect(Collectors.toList());
+            long total = 0;
+            int removed = 0;
+            for (Path current : cached) {
+                total += Files.size(current);
+                if (total > maxDiskBytes) {
+                    Files.deleteIfExists(current);
+                    removed++;
+                }
+            }
+            LOG.trace("Removed {} cached thumbnails", removed);
+        } catch (IOException e) {
+            LOG.warn("Unable to trim the thumbnails cache", e);
+        }
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+}
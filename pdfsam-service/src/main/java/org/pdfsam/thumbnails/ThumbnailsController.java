@@ -0,0 +1,224 @@
+/* 
+ * This file is part of the PDF Split And Merge source code
+ * Created on 17 ott 2026
+ * Copyright 2017 by Sober Lemur S.a.s di Vacondio Andrea (info@pdfsam.org).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as 
+ * published by the Free Software Foundation, either version 3 of the 
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.thumbnails;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static org.pdfsam.eventstudio.StaticStudio.eventStudio;
+
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import javax.inject.Inject;
+
+import org.pdfsam.ShutdownEvent;
+import org.pdfsam.context.UserContext;
+import org.pdfsam.eventstudio.annotation.EventListener;
+import org.pdfsam.injector.Auto;
+import org.pdfsam.pdf.PdfDescriptorLoadingStatus;
+import org.pdfsam.pdf.PdfDocumentDescriptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javafx.application.Platform;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+
+/**
+ * Component listening for {@link ThumbnailRequest}s and generating thumbnails on a dedicated pool of threads, separate from the one loading
+ * documents. Size and quality of the thumbnails are taken from the user preferences. The number of thumbnails waiting for a free thread is
+ * bounded, once the limit is reached queued thumbnails of released documents are discarded and, if there's still no room, the request is
+ * rejected.
+ * <p>
+ * Thumbnails of password protected documents are kept in memory only, they are never written to or read from the disk cache.
+ * 
+ * @author Andrea Vacondio
+ *
+ */
+@Auto
+public class ThumbnailsController {
+    private static final Logger LOG = LoggerFactory.getLogger(ThumbnailsController.class);
+
+    /**
+     * System property to set the number of threads generating thumbnails. Defaults to half the number of available processors
+     */
+    public static final String PDFSAM_THUMBNAILS_THREADS = "org.pdfsam.thumbnails.threads";
+    /**
+     * System property to set the maximum number of thumbnails waiting for a free thread
+     */
+    public static final String PDFSAM_THUMBNAILS_QUEUE_SIZE = "org.pdfsam.thumbnails.queue.size";
+
+    private ThumbnailRenderer renderer;
+    private UserContext userContext;
+    private ThumbnailsCache cache;
+    private ThreadPoolExecutor workers;
+
+    @Inject
+    ThumbnailsController(ThumbnailRenderer renderer, UserContext userContext) {
+        this(renderer, userContext, new ThumbnailsCache(), Integer.getInteger(PDFSAM_THUMBNAILS_THREADS,
+                Runtime.getRuntime().availableProcessors() / 2), Integer.getInteger(PDFSAM_THUMBNAILS_QUEUE_SIZE, 64));
+        eventStudio().addAnnotatedListeners(this);
+    }
+
+    ThumbnailsController(ThumbnailRenderer renderer, UserContext userContext, ThumbnailsCache cache, int threads,
+            int queueSize) {
+        this.renderer = renderer;
+        this.userContext = userContext;
+        this.cache = cache;
+        int poolSize = Math.max(1, threads);
+        this.workers = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueSize)), new ThreadPoolExecutor.AbortPolicy());
+        LOG.trace("Generating thumbnails using {} threads and a queue of {} thumbnails", poolSize, queueSize);
+    }
+
+    /**
+     * Request to generate a thumbnail
+     * 
+     * @param request
+     */
+    @EventListener
+    public void request(ThumbnailRequest request) {
+        int size = userContext.getThumbnailsSize();
+        boolean highQuality = userContext.isHighQualityThumbnails();
+        String key = ThumbnailsCache.key(request.getDescriptor().getFile(), request.getDescriptor().getPassword(),
+                request.getPage(), size, highQuality);
+        Image cached = cache.get(key);
+        if (nonNull(cached)) {
+            Platform.runLater(() -> request.getConsumer().accept(cached));
+        } else {
+            ThumbnailTask task = new ThumbnailTask(request, key, size, highQuality);
+            try {
+                workers.execute(task);
+            } catch (RejectedExecutionException e) {
+                if (discardReleased() > 0) {
+                    try {
+                        workers.execute(task);
+                        return;
+                    } catch (RejectedExecutionException re) {
+                        // still full
+                    }
+                }
+                LOG.trace("Thumbnail generation for page {} of {} rejected", request.getPage(),
+                        request.getDescriptor().getFileName());
+            }
+        }
+    }
+
+    /**
+     * Request to discard any thumbnail generation of the owner module that is queued and not yet started
+     * 
+     * @param event
+     */
+    @EventListener
+    public void cancel(CancelThumbnailsRequest event) {
+        List<ThumbnailTask> queued = workers.getQueue().stream().filter(ThumbnailTask.class::isInstance)
+                .map(ThumbnailTask.class::cast)
+                .filter(t -> t.request.getOwnerModule().equals(event.getOwnerModule())).collect(Collectors.toList());
+        queued.forEach(workers::remove);
+        LOG.trace("Cancelled {} queued thumbnails for {}", queued.size(), event.getOwnerModule());
+    }
+
+    /**
+     * @return the number of queued thumbnails of released documents that have been discarded
+     */
+    private int discardReleased() {
+        List<ThumbnailTask> released = workers.getQueue().stream().filter(ThumbnailTask.class::isInstance)
+                .map(ThumbnailTask.class::cast).filter(t -> !t.request.getDescriptor().hasReferences())
+                .collect(Collectors.toList());
+        released.forEach(workers::remove);
+        return released.size();
+    }
+
+    @EventListener
+    public void onShutdown(ShutdownEvent event) {
+        workers.shutdownNow();
+        cache.trim();
+    }
+
+    /**
+     * @return true if the document is opened with a password or known to be encrypted
+     */
+    private static boolean isProtected(PdfDocumentDescriptor descriptor) {
+        PdfDescriptorLoadingStatus status = descriptor.loadingStatus().getValue();
+        return descriptor.hasPassword() || status == PdfDescriptorLoadingStatus.ENCRYPTED
+                || status == PdfDescriptorLoadingStatus.LOADED_WITH_USER_PWD_DECRYPTION;
+    }
+
+    private static Image toImage(BufferedImage rendered) {
+        int width = rendered.getWidth();
+        int height = rendered.getHeight();
+        WritableImage image = new WritableImage(width, height);
+        image.getPixelWriter().setPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(),
+                rendered.getRGB(0, 0, width, height, null, 0, width), 0, width);
+        return image;
+    }
+
+    /**
+     * Generates a single thumbnail, unless the requester released the document in the meantime
+     */
+    private class ThumbnailTask implements Runnable {
+        private final ThumbnailRequest request;
+        private final String key;
+        private final int size;
+        private final boolean highQuality;
+
+        ThumbnailTask(ThumbnailRequest request, String key, int size, boolean highQuality) {
+            this.request = request;
+            this.key = key;
+            this.size = size;
+            this.highQuality = highQuality;
+        }
+
+        @Override
+        public void run() {
+            if (!request.getDescriptor().hasReferences()) {
+                LOG.trace("Skipping thumbnail for released document {}", request.getDescriptor().getFileName());
+                return;
+            }
+            try {
+                Image image = cache.get(key);
+                if (isNull(image)) {
+                    boolean diskCache = !isProtected(request.getDescriptor());
+                    BufferedImage rendered = diskCache ? cache.read(key) : null;
+                    if (isNull(rendered)) {
+                        rendered = renderer.render(request.getDescriptor(), request.getPage(), size, highQuality);
+                        if (diskCache) {
+                            cache.write(key, rendered);
+                        }
+                    }
+                    image = toImage(rendered);
+                    cache.put(key, image);
+                }
+                if (request.getDescriptor().hasReferences()) {
+                    Image thumbnail = image;
+                    Platform.runLater(() -> request.getConsumer().accept(thumbnail));
+                }
+            } catch (Exception e) {
+                LOG.warn("Unable to generate the thumbnail for page {} of {}", request.getPage(),
+                        request.getDescriptor().getFileName(), e);
+            }
+        }
+    }
+}
@@ -18,36 +18,76 @@
  */
 package org.pdfsam.ui;
 
+import static java.util.Objects.nonNull;
 import static org.sejda.commons.util.RequireUtils.requireNotNullArg;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
-import java.util.Collections;
+import java.io.IOException;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.function.BiConsumer;
 
 import org.pdfsam.i18n.DefaultI18nContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.fasterxml.jackson.jr.ob.JSON;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 
 /**
- * Implementation of the workspace service where data is stored and loaded in json format
+ * Implementation of the workspace service where data is stored and loaded in json format. Workspaces are written and read as a stream, one
+ * module at the time, and saved to a temporary file that replaces the destination once complete.
  * 
  * @author Andrea Vacondio
  *
  */
-class JsonWorkspaceService implements WorkspaceService {
+public class JsonWorkspaceService implements WorkspaceService {
     private static final Logger LOG = LoggerFactory.getLogger(JsonWorkspaceService.class);
 
+    /**
+     * System property to write workspaces without pretty printing
+     */
+    public static final String PDFSAM_WORKSPACE_COMPACT = "org.pdfsam.workspace.compact";
+
+    private static final JsonFactory FACTORY = new JsonFactory()
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+
+    private final boolean prettyPrint;
+
+    public JsonWorkspaceService() {
+        this(!Boolean.getBoolean(PDFSAM_WORKSPACE_COMPACT));
+    }
+
+    JsonWorkspaceService(boolean prettyPrint) {
+        this.prettyPrint = prettyPrint;
+    }
+
     @Override
     public void saveWorkspace(Map<String, Map<String, String>> data, File destination) {
+        try (WorkspaceWriter writer = writer(destination)) {
+            data.forEach(writer::append);
+            writer.commit();
+        }
+    }
+
+    @Override
+    public WorkspaceWriter writer(File destination) {
         requireNotNullArg(destination, "Destination file cannot be null");
         LOG.debug(DefaultI18nContext.getInstance().i18n("Saving workspace data to {0}", destination.getAbsolutePath()));
         try {
-            JSON.std.with(JSON.Feature.PRETTY_PRINT_OUTPUT).without(JSON.Feature.WRITE_NULL_PROPERTIES)
-                    .write(data, destination);
-            LOG.info(DefaultI18nContext.getInstance().i18n("Workspace saved"));
+            return new JsonWorkspaceWriter(destination.toPath(), prettyPrint);
         } catch (Exception e) {
             // make it unchecked
             throw new RuntimeException(e);
@@ -55,17 +95,122 @@ class JsonWorkspaceService implements WorkspaceService {
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public Map<String, Map<String, String>> loadWorkspace(File workspace) {
+        Map<String, Map<String, String>> data = new LinkedHashMap<>();
+        loadWorkspace(workspace, data::put);
+        return data;
+    }
+
+    @Override
+    public void loadWorkspace(File workspace, BiConsumer<String, Map<String, String>> onModule) {
         requireNotNullArg(workspace, "Workspace file cannot be null");
-        Map<String, Map<String, String>> data = Collections.emptyMap();
-        try (FileInputStream stream = new FileInputStream(workspace)) {
-            data = (Map) JSON.std.mapFrom(stream);
+        try (JsonParser parser = FACTORY
+                .createParser(new BufferedInputStream(Files.newInputStream(workspace.toPath())))) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected a json object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String module = parser.getCurrentName();
+                if (parser.nextToken() == JsonToken.START_OBJECT) {
+                    onModule.accept(module, readModule(parser));
+                } else {
+                    LOG.warn("Ignoring invalid workspace data for {}", module);
+                    parser.skipChildren();
+                }
+            }
         } catch (Exception e) {
             // make it unchecked
             throw new RuntimeException(e);
         }
+    }
+
+    private static Map<String, String> readModule(JsonParser parser) throws IOException {
+        Map<String, String> data = new HashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String key = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if (value.isScalarValue()) {
+                if (value != JsonToken.VALUE_NULL) {
+                    data.put(key, parser.getValueAsString());
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
         return data;
     }
 
+    private static class JsonWorkspaceWriter implements WorkspaceWriter {
+        private final Path destination;
+        private final Path tmp;
+        private final JsonGenerator generator;
+
+        JsonWorkspaceWriter(Path destination, boolean prettyPrint) throws IOException {
+            if (Files.exists(destination) && !Files.isWritable(destination)) {
+                throw new AccessDeniedException(destination.toString());
+            }
+            this.destination = destination;
+            this.tmp = Files.createTempFile(destination.toAbsolutePath().getParent(),
+                    destination.getFileName().toString(), ".tmp");
+            try {
+                this.generator = FACTORY.createGenerator(new BufferedOutputStream(Files.newOutputStream(tmp)),
+                        JsonEncoding.UTF8);
+                if (prettyPrint) {
+                    generator.useDefaultPrettyPrinter();
+                }
+                generator.writeStartObject();
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(tmp);
+                throw e;
+            }
+        }
+
+        @Override
+        public synchronized void append(String module, Map<String, String> data) {
+            requireNotNullArg(module, "Module id cannot be null");
+            try {
+                generator.writeObjectFieldStart(module);
+                for (Map.Entry<String, String> current : data.entrySet()) {
+                    if (nonNull(current.getKey()) && nonNull(current.getValue())) {
+                        generator.writeStringField(current.getKey(), current.getValue());
+                    }
+                }
+                generator.writeEndObject();
+            } catch (IOException e) {
+                // make it unchecked
+                throw new RuntimeException(e);
+            }
+        }
+
+        @Override
+        public synchronized void commit() {
+            try {
+                generator.writeEndObject();
+                generator.close();
+                try {
+                    Files.move(tmp, destination, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tmp, destination, StandardCopyOption.REPLACE_EXISTING);
+                }
+                LOG.info(DefaultI18nContext.getInstance().i18n("Workspace saved"));
+            } catch (IOException e) {
+                // make it unchecked
+                throw new RuntimeException(e);
+            }
+        }
+
+        @Override
+        public synchronized void close() {
+            try {
+                generator.close();
+            } catch (IOException e) {
+                LOG.warn("Unable to close the workspace writer", e);
+            }
+            try {
+                Files.deleteIfExists(tmp);
+            } catch (IOException e) {
+                LOG.warn("Unable to delete the temporary workspace file {}", tmp, e);
+            }
+        }
+    }
 }
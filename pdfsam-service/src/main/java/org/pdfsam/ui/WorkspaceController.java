@@ -18,18 +18,26 @@
  */
 package org.pdfsam.ui;
 
+import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
+import static java.util.stream.Collectors.toCollection;
 import static org.pdfsam.eventstudio.StaticStudio.eventStudio;
 
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import javax.inject.Inject;
 
 import org.pdfsam.i18n.DefaultI18nContext;
 import org.pdfsam.injector.Auto;
 import org.pdfsam.module.Module;
+import org.pdfsam.pdf.PdfLoadBatchRequest;
 import org.pdfsam.ui.workspace.LoadWorkspaceEvent;
 import org.pdfsam.ui.workspace.SaveWorkspaceEvent;
 import org.pdfsam.ui.workspace.WorkspaceLoadedEvent;
@@ -37,8 +45,12 @@ import org.pdfsam.eventstudio.annotation.EventListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javafx.application.Platform;
+
 /**
- * Controller for workspace related service functionalities
+ * Controller for workspace related service functionalities. A workspace is restored once it has been entirely read, modules restore their state
+ * one after the other in a single pass on the FX thread and the documents they request are loaded as a single batch, so documents shared by many
+ * modules are read once.
  * 
  * @author Andrea Vacondio
  *
@@ -50,23 +62,31 @@ public class WorkspaceController {
     private List<Module> modules;
     private WorkspaceService service;
     private RecentWorkspacesService recentWorkspace;
+    private Consumer<Runnable> fxExecutor;
 
     @Inject
     WorkspaceController(List<Module> modules, WorkspaceService service, RecentWorkspacesService recentWorkspace) {
+        this(modules, service, recentWorkspace, Platform::runLater);
+    }
+
+    WorkspaceController(List<Module> modules, WorkspaceService service, RecentWorkspacesService recentWorkspace,
+            Consumer<Runnable> fxExecutor) {
         this.modules = modules;
         this.service = service;
         this.recentWorkspace = recentWorkspace;
+        this.fxExecutor = fxExecutor;
         eventStudio().addAnnotatedListeners(this);
     }
 
     @EventListener
     public void saveWorkspace(SaveWorkspaceEvent event) {
         LOG.debug(DefaultI18nContext.getInstance().i18n("Requesting modules state"));
-        CompletableFuture<Void> future = CompletableFuture
-                .allOf(modules.stream()
-                        .map(m -> CompletableFuture.runAsync(() -> eventStudio().broadcast(event, m.id())))
-                        .toArray(CompletableFuture[]::new))
-                .thenRun(() -> service.saveWorkspace(event.getData(), event.workspace())).whenComplete((r, e) -> {
+        CompletableFuture<Void> future = CompletableFuture.supplyAsync(() -> service.writer(event.workspace()))
+                .thenCompose(writer -> CompletableFuture.allOf(modules.stream()
+                        .map(m -> CompletableFuture.runAsync(() -> saveModule(event, m.id(), writer)))
+                        .toArray(CompletableFuture[]::new)).thenRun(writer::commit)
+                        .whenComplete((r, e) -> writer.close()))
+                .whenComplete((r, e) -> {
                     if (nonNull(e)) {
                         LOG.error(DefaultI18nContext.getInstance().i18n("Unable to save modules workspace"), e);
                     }
@@ -81,19 +101,37 @@ public class WorkspaceController {
         }
     }
 
+    /**
+     * Asks the module to populate the event with its state, appends it to the writer right away and drops it from the event, so only the
+     * data of the modules being saved is kept in memory
+     */
+    private static void saveModule(SaveWorkspaceEvent event, String moduleId, WorkspaceWriter writer) {
+        eventStudio().broadcast(event, moduleId);
+        Map<String, String> data = event.removeDataForModule(moduleId);
+        if (!data.isEmpty()) {
+            writer.append(moduleId, data);
+        }
+    }
+
     @EventListener
     public CompletableFuture<Void> loadWorspace(LoadWorkspaceEvent event) {
         LOG.debug(DefaultI18nContext.getInstance().i18n("Loading workspace from {0}", event.workspace().getName()));
-        return CompletableFuture.supplyAsync(() -> service.loadWorkspace(event.workspace())).thenCompose((data) -> {
-            if (!data.isEmpty()) {
-                event.setData(data);
-                return CompletableFuture.allOf(modules.stream()
-                        .map(m -> CompletableFuture.runAsync(() -> eventStudio().broadcast(event, m.id())))
-                        .toArray(CompletableFuture[]::new)).thenRun(() -> {
-                            recentWorkspace.addWorkspaceLastUsed(event.workspace());
-                            eventStudio().broadcast(new WorkspaceLoadedEvent(event.workspace()));
-                            LOG.info(DefaultI18nContext.getInstance().i18n("Workspace loaded"));
-                        });
+        return CompletableFuture.runAsync(() -> service.loadWorkspace(event.workspace(), event::setData)).thenCompose(r -> {
+            if (!event.isEmpty()) {
+                CompletableFuture<Void> restored = new CompletableFuture<>();
+                fxExecutor.accept(() -> {
+                    try {
+                        restore(event);
+                        restored.complete(null);
+                    } catch (Exception e) {
+                        restored.completeExceptionally(e);
+                    }
+                });
+                return restored.thenRun(() -> {
+                    recentWorkspace.addWorkspaceLastUsed(event.workspace());
+                    eventStudio().broadcast(new WorkspaceLoadedEvent(event.workspace()));
+                    LOG.info(DefaultI18nContext.getInstance().i18n("Workspace loaded"));
+                });
             }
             return CompletableFuture.completedFuture(null);
         }).whenComplete((r, e) -> {
@@ -102,6 +140,39 @@ public class WorkspaceController {
                         event.workspace().getName()), e);
             }
         });
+    }
 
+    /**
+     * Restores every module, modules not in the workspace are restored with no data. Documents requested by the modules are loaded once they
+     * are all restored. A module failing to restore doesn't prevent the others from being restored, the first failure is then rethrown.
+     */
+    private void restore(LoadWorkspaceEvent event) {
+        Set<String> ids = modules.stream().map(Module::id).collect(toCollection(LinkedHashSet::new));
+        long start = System.nanoTime();
+        RuntimeException failure = null;
+        eventStudio().broadcast(PdfLoadBatchRequest.open());
+        try {
+            for (String id : ids) {
+                long moduleStart = System.nanoTime();
+                try {
+                    eventStudio().broadcast(event, id);
+                    LOG.debug("Module {} restored in {}ms", id,
+                            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - moduleStart));
+                } catch (RuntimeException e) {
+                    LOG.error(DefaultI18nContext.getInstance().i18n("Unable to restore the state of module {0}", id), e);
+                    if (isNull(failure)) {
+                        failure = e;
+                    } else {
+                        failure.addSuppressed(e);
+                    }
+                }
+            }
+        } finally {
+            eventStudio().broadcast(PdfLoadBatchRequest.close());
+        }
+        LOG.debug("{} modules restored in {}ms", ids.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        if (nonNull(failure)) {
+            throw failure;
+        }
     }
 }
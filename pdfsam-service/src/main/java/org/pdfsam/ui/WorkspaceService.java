@@ -20,6 +20,7 @@ package org.pdfsam.ui;
 
 import java.io.File;
 import java.util.Map;
+import java.util.function.BiConsumer;
 
 /**
  * Services related to workspaces
@@ -40,6 +41,16 @@ public interface WorkspaceService {
      */
     void saveWorkspace(Map<String, Map<String, String>> data, File destination);
 
+    /**
+     * Opens a writer for the destination file where modules data can be appended as soon as it's available.
+     * 
+     * @param destination
+     * @return the writer, it's up to the caller to commit and close it
+     * @throws RuntimeException
+     *             in case of error
+     */
+    WorkspaceWriter writer(File destination);
+
     /**
      * Loads the workspace from the given file
      * 
@@ -49,4 +60,15 @@ public interface WorkspaceService {
      *             in case of error
      */
     Map<String, Map<String, String>> loadWorkspace(File workspace);
+
+    /**
+     * Loads the workspace from the given file, handing each module data to the given consumer as soon as it has been read
+     * 
+     * @param workspace
+     * @param onModule
+     *            consumer for the module id and the key/value map used by the module to store its state
+     * @throws RuntimeException
+     *             in case of error, the consumer might have already been called for some of the modules
+     */
+    void loadWorkspace(File workspace, BiConsumer<String, Map<String, String>> onModule);
 }
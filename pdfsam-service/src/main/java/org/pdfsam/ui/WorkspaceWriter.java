@@ -0,0 +1,57 @@
+/* 
+ * This file is part of the PDF Split And Merge source code
+ * Created on 17 ott 2026
+ * Copyright 2017 by Sober Lemur S.a.s di Vacondio Andrea (info@pdfsam.org).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as 
+ * published by the Free Software Foundation, either version 3 of the 
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.ui;
+
+import java.util.Map;
+
+/**
+ * A writer for a workspace where modules data is appended one module at the time as soon as it's available. The destination is replaced
+ * only when the writer is committed, closing a writer that has not been committed discards what has been written.
+ * 
+ * @author Andrea Vacondio
+ *
+ */
+public interface WorkspaceWriter extends AutoCloseable {
+
+    /**
+     * Appends the data of the given module. Implementations are expected to be safe to use from multiple threads.
+     * 
+     * @param module
+     *            the module id
+     * @param data
+     *            key/value map used by the module to store its state
+     * @throws RuntimeException
+     *             in case of error
+     */
+    void append(String module, Map<String, String> data);
+
+    /**
+     * Completes the workspace and replaces the destination with it
+     * 
+     * @throws RuntimeException
+     *             in case of error
+     */
+    void commit();
+
+    /**
+     * Releases the resources and discards the workspace if it has not been committed
+     */
+    @Override
+    void close();
+}
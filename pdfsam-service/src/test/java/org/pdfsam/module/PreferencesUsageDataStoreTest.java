@@ -50,6 +50,7 @@ public class PreferencesUsageDataStoreTest {
     @Test
     public void incrementUsageFor() throws JSONObjectException, IOException {
         victim.incrementUsageFor("moduleId");
+        victim.flush();
         ModuleUsage usage = JSON.std.beanFrom(
                 ModuleUsage.class,
                 Preferences.userRoot().node(PreferencesUsageDataStore.USAGE_PATH).node("moduleId")
@@ -61,6 +62,7 @@ public class PreferencesUsageDataStoreTest {
     @Test
     public void multipleIncrementUsageFor() throws JSONObjectException, IOException, InterruptedException {
         victim.incrementUsageFor("moduleId");
+        victim.flush();
         ModuleUsage usage = JSON.std.beanFrom(
                 ModuleUsage.class,
                 Preferences.userRoot().node(PreferencesUsageDataStore.USAGE_PATH).node("moduleId")
@@ -68,6 +70,7 @@ public class PreferencesUsageDataStoreTest {
         victim.flush();
         Thread.sleep(1000);
         victim.incrementUsageFor("moduleId");
+        victim.flush();
         ModuleUsage usage2 = JSON.std.beanFrom(
                 ModuleUsage.class,
                 Preferences.userRoot().node(PreferencesUsageDataStore.USAGE_PATH).node("moduleId")
@@ -111,4 +114,30 @@ public class PreferencesUsageDataStoreTest {
         assertEquals(3, victim.getTotalUsage());
     }
 
+    @Test
+    public void writeBehind() throws JSONObjectException, IOException, InterruptedException {
+        PreferencesUsageDataStore store = new PreferencesUsageDataStore(50);
+        store.incrementUsageFor("moduleId");
+        store.incrementUsageFor("moduleId");
+        Preferences node = Preferences.userRoot().node(PreferencesUsageDataStore.USAGE_PATH);
+        for (int i = 0; i < 100 && isBlank(node.node("moduleId").get(PreferencesUsageDataStore.MODULE_USAGE_KEY, "")); i++) {
+            Thread.sleep(50);
+        }
+        ModuleUsage usage = JSON.std.beanFrom(ModuleUsage.class,
+                node.node("moduleId").get(PreferencesUsageDataStore.MODULE_USAGE_KEY, ""));
+        assertEquals(2, usage.getTotalUsed());
+        assertEquals(2, node.getLong(PreferencesUsageDataStore.TASKS_EXECUTED_KEY, 0));
+    }
+
+    @Test
+    public void loadStored() {
+        victim.incrementUsageFor("module1");
+        victim.incrementUsageFor("module1");
+        victim.incrementUsageFor("module2");
+        victim.flush();
+        PreferencesUsageDataStore store = new PreferencesUsageDataStore();
+        assertEquals(3, store.getTotalUsage());
+        assertEquals(2, store.getUsages().stream().filter(u -> "module1".equals(u.getModuleId())).findFirst().get()
+                .getTotalUsed());
+    }
 }
@@ -19,9 +19,15 @@
 package org.pdfsam.module;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.pdfsam.eventstudio.StaticStudio.eventStudio;
 import static org.pdfsam.module.ModuleDescriptorBuilder.builder;
 import static org.pdfsam.module.ModuleUsage.fistUsage;
 import static org.pdfsam.module.ModuleUsage.usage;
@@ -34,6 +40,7 @@ import javax.inject.Named;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
+import org.pdfsam.eventstudio.Listener;
 import org.pdfsam.injector.Injector;
 import org.pdfsam.injector.Provides;
 import org.pdfsam.test.ClearEventStudioRule;
@@ -42,6 +49,7 @@ import org.pdfsam.test.ClearEventStudioRule;
  * @author Andrea Vacondio
  *
  */
+@SuppressWarnings("unchecked")
 public class StatefulPreferencesUsageServiceTest {
 
     @Rule
@@ -121,4 +129,66 @@ public class StatefulPreferencesUsageServiceTest {
         assertEquals("module2", mostUsed.get(0).id());
     }
 
+    private static ModuleUsage ranked(String moduleId, long lastSeen, long used) {
+        ModuleUsage usage = usage(moduleId, lastSeen);
+        usage.setTotalUsed(used);
+        return usage;
+    }
+
+    @Test
+    public void incrementChangesRanking() {
+        List<ModuleUsage> usages = Arrays.asList(new ModuleUsage[] { ranked("module1", 2, 1), ranked("module2", 1, 0) });
+        when(injector.instance(PreferencesUsageDataStore.class).getUsages()).thenReturn(usages);
+        StatefulPreferencesUsageService victim = injector.instance(StatefulPreferencesUsageService.class);
+        assertEquals("module1", victim.getMostUsed().get(0).id());
+        Listener<UsageRankingChangedEvent> listener = mock(Listener.class);
+        eventStudio().add(UsageRankingChangedEvent.class, listener);
+        victim.incrementUsageFor("module2");
+        verify(listener).onEvent(any());
+        assertEquals("module2", victim.getMostRecentlyUsed().get(0).id());
+        assertEquals("module1", victim.getMostUsed().get(0).id());
+        victim.incrementUsageFor("module2");
+        verify(listener, times(2)).onEvent(any());
+        assertEquals("module2", victim.getMostUsed().get(0).id());
+    }
+
+    @Test
+    public void firstIncrementCountedOnce() {
+        ModuleUsage module2 = ranked("module2", 1, 1);
+        List<ModuleUsage> usages = Arrays.asList(new ModuleUsage[] { ranked("module1", 2, 2), module2 });
+        PreferencesUsageDataStore dataStore = injector.instance(PreferencesUsageDataStore.class);
+        when(dataStore.getUsages()).thenReturn(usages);
+        doAnswer(a -> module2.inc()).when(dataStore).incrementUsageFor("module2");
+        StatefulPreferencesUsageService victim = injector.instance(StatefulPreferencesUsageService.class);
+        victim.incrementUsageFor("module2");
+        assertEquals(2, module2.getTotalUsed());
+        // same usage, ranked by id
+        assertEquals("module1", victim.getMostUsed().get(0).id());
+        assertEquals("module2", victim.getMostRecentlyUsed().get(0).id());
+    }
+
+    @Test
+    public void incrementSameRanking() {
+        List<ModuleUsage> usages = Arrays.asList(new ModuleUsage[] { ranked("module1", 2, 2), ranked("module2", 1, 0) });
+        when(injector.instance(PreferencesUsageDataStore.class).getUsages()).thenReturn(usages);
+        StatefulPreferencesUsageService victim = injector.instance(StatefulPreferencesUsageService.class);
+        Listener<UsageRankingChangedEvent> listener = mock(Listener.class);
+        eventStudio().add(UsageRankingChangedEvent.class, listener);
+        victim.incrementUsageFor("module1");
+        victim.incrementUsageFor("IDontExist");
+        verify(listener, never()).onEvent(any());
+        assertEquals(2, victim.getMostUsed().size());
+    }
+
+    @Test
+    public void clearChangesRanking() {
+        List<ModuleUsage> usages = Arrays.asList(new ModuleUsage[] { fistUsage("module1") });
+        when(injector.instance(PreferencesUsageDataStore.class).getUsages()).thenReturn(usages);
+        StatefulPreferencesUsageService victim = injector.instance(StatefulPreferencesUsageService.class);
+        Listener<UsageRankingChangedEvent> listener = mock(Listener.class);
+        eventStudio().add(UsageRankingChangedEvent.class, listener);
+        victim.clear();
+        verify(listener).onEvent(any());
+        assertTrue(victim.getMostUsed().isEmpty());
+    }
 }
@@ -0,0 +1,127 @@
+/*
+ * This file is part of the PDF Split And Merge source code
+ * Created on 17 ott 2026
+ * Copyright 2017 by Sober Lemur S.a.s di Vacondio Andrea (info@pdfsam.org).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.pdf;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.pdfsam.module.RequiredPdfData;
+import org.sejda.model.pdf.PdfMetadataKey;
+import org.sejda.model.pdf.PdfVersion;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class DescriptorMetadataCacheTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    private Path cacheFile;
+    private File testFile;
+
+    @Before
+    public void setUp() throws IOException {
+        cacheFile = folder.getRoot().toPath().resolve("cache").resolve("descriptors.cache");
+        testFile = folder.newFile("PDFsamTest.pdf");
+        FileUtils.copyInputStreamToFile(getClass().getResourceAsStream("/test_pdfsam.pdf"), testFile);
+    }
+
+    private PdfDocumentDescriptor loaded(File file) {
+        PdfDocumentDescriptor descriptor = PdfDocumentDescriptor.newDescriptorNoPassword(file);
+        descriptor.pages(2);
+        descriptor.setVersion(PdfVersion.VERSION_1_4);
+        descriptor.putInformation(PdfMetadataKey.AUTHOR.getKey(), "Me");
+        descriptor.setValidBookmarksLevels(new HashSet<>(Arrays.asList(1, 2)));
+        return descriptor;
+    }
+
+    @Test
+    public void populate() {
+        DescriptorMetadataCache victim = new DescriptorMetadataCache(cacheFile, 10);
+        victim.store(loaded(testFile), RequiredPdfData.DEFAULT, RequiredPdfData.BOOMARKS);
+        PdfDocumentDescriptor descriptor = PdfDocumentDescriptor.newDescriptorNoPassword(testFile);
+        assertTrue(victim.populate(descriptor, RequiredPdfData.DEFAULT, RequiredPdfData.BOOMARKS));
+        assertEquals(2, descriptor.pages().getValue().intValue());
+        assertEquals(PdfVersion.VERSION_1_4, descriptor.getVersion());
+        assertEquals("Me", descriptor.getInformation(PdfMetadataKey.AUTHOR.getKey()));
+        assertEquals(2, descriptor.getValidBookmarksLevels().size());
+    }
+
+    @Test
+    public void missingRequiredData() {
+        DescriptorMetadataCache victim = new DescriptorMetadataCache(cacheFile, 10);
+        victim.store(loaded(testFile), RequiredPdfData.DEFAULT);
+        assertFalse(victim.populate(PdfDocumentDescriptor.newDescriptorNoPassword(testFile), RequiredPdfData.DEFAULT,
+                RequiredPdfData.BOOMARKS));
+    }
+
+    @Test
+    public void modifiedFile() {
+        DescriptorMetadataCache victim = new DescriptorMetadataCache(cacheFile, 10);
+        victim.store(loaded(testFile), RequiredPdfData.DEFAULT);
+        assertTrue(testFile.setLastModified(testFile.lastModified() - 10000));
+        assertFalse(victim.populate(PdfDocumentDescriptor.newDescriptorNoPassword(testFile), RequiredPdfData.DEFAULT));
+    }
+
+    @Test
+    public void persisted() {
+        DescriptorMetadataCache victim = new DescriptorMetadataCache(cacheFile, 10);
+        victim.store(loaded(testFile), RequiredPdfData.DEFAULT);
+        victim.flush();
+        assertTrue(Files.exists(cacheFile));
+        PdfDocumentDescriptor descriptor = PdfDocumentDescriptor.newDescriptorNoPassword(testFile);
+        assertTrue(new DescriptorMetadataCache(cacheFile, 10).populate(descriptor, RequiredPdfData.DEFAULT));
+        assertEquals(2, descriptor.pages().getValue().intValue());
+        assertEquals("Me", descriptor.getInformation(PdfMetadataKey.AUTHOR.getKey()));
+    }
+
+    @Test
+    public void corruptedFile() throws IOException {
+        Files.createDirectories(cacheFile.getParent());
+        Files.write(cacheFile, new byte[] { 0, 0, 0, 1, 0, 0, 0, 5, 1, 2 });
+        DescriptorMetadataCache victim = new DescriptorMetadataCache(cacheFile, 10);
+        assertFalse(victim.populate(PdfDocumentDescriptor.newDescriptorNoPassword(testFile), RequiredPdfData.DEFAULT));
+        victim.store(loaded(testFile), RequiredPdfData.DEFAULT);
+        assertTrue(victim.populate(PdfDocumentDescriptor.newDescriptorNoPassword(testFile), RequiredPdfData.DEFAULT));
+    }
+
+    @Test
+    public void eviction() throws IOException {
+        File other = folder.newFile("other.pdf");
+        FileUtils.copyInputStreamToFile(getClass().getResourceAsStream("/test_pdfsam.pdf"), other);
+        DescriptorMetadataCache victim = new DescriptorMetadataCache(cacheFile, 1);
+        victim.store(loaded(testFile), RequiredPdfData.DEFAULT);
+        victim.store(loaded(other), RequiredPdfData.DEFAULT);
+        assertFalse(victim.populate(PdfDocumentDescriptor.newDescriptorNoPassword(testFile), RequiredPdfData.DEFAULT));
+        assertTrue(victim.populate(PdfDocumentDescriptor.newDescriptorNoPassword(other), RequiredPdfData.DEFAULT));
+    }
+}
@@ -0,0 +1,167 @@
+/* 
+ * This file is part of the PDF Split And Merge source code
+ * Created on 17 ott 2026
+ * Copyright 2017 by Sober Lemur S.a.s di Vacondio Andrea (info@pdfsam.org).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as 
+ * published by the Free Software Foundation, either version 3 of the 
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.pdf;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.pdfsam.module.RequiredPdfData;
+import org.pdfsam.pdf.DescriptorRegistry.Loaded;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class DescriptorRegistryTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    private DescriptorRegistry victim;
+    private File file;
+    private AtomicInteger loads;
+
+    @Before
+    public void setUp() throws IOException {
+        victim = new DescriptorRegistry();
+        file = folder.newFile("PDFsamTest.pdf");
+        loads = new AtomicInteger();
+    }
+
+    private Function<PdfDocumentDescriptor, Loaded> loader(PdfDescriptorLoadingStatus status) {
+        return d -> {
+            loads.incrementAndGet();
+            PdfDocumentDescriptor loaded = PdfDocumentDescriptor.newDescriptor(d.getFile(), d.getPassword());
+            loaded.pages(3);
+            return new Loaded(loaded, status);
+        };
+    }
+
+    private CompletableFuture<Loaded> load(PdfDocumentDescriptor descriptor, RequiredPdfData... requires) {
+        return victim.load(descriptor, requires, loader(PdfDescriptorLoadingStatus.LOADED));
+    }
+
+    @Test
+    public void shared() throws InterruptedException, ExecutionException {
+        Loaded first = load(PdfDocumentDescriptor.newDescriptorNoPassword(file), RequiredPdfData.DEFAULT).get();
+        Loaded second = load(PdfDocumentDescriptor.newDescriptorNoPassword(file), RequiredPdfData.DEFAULT).get();
+        assertSame(first, second);
+        assertEquals(3, second.descriptor.pages().getValue().intValue());
+        assertEquals(1, loads.get());
+        assertEquals(1, victim.size());
+    }
+
+    @Test
+    public void sharedBySamePath() throws InterruptedException, ExecutionException {
+        load(PdfDocumentDescriptor.newDescriptorNoPassword(file), RequiredPdfData.DEFAULT).get();
+        File samePath = new File(new File(file.getParentFile(), "."), file.getName());
+        load(PdfDocumentDescriptor.newDescriptorNoPassword(samePath), RequiredPdfData.DEFAULT).get();
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void coalesced() throws InterruptedException, ExecutionException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Function<PdfDocumentDescriptor, Loaded> loader = loader(PdfDescriptorLoadingStatus.LOADED);
+        CompletableFuture<CompletableFuture<Loaded>> first = CompletableFuture.supplyAsync(
+                () -> victim.load(PdfDocumentDescriptor.newDescriptorNoPassword(file),
+                        new RequiredPdfData[] { RequiredPdfData.DEFAULT }, d -> {
+                            started.countDown();
+                            try {
+                                release.await(2, TimeUnit.SECONDS);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                            return loader.apply(d);
+                        }));
+        assertTrue(started.await(2, TimeUnit.SECONDS));
+        CompletableFuture<Loaded> second = load(PdfDocumentDescriptor.newDescriptorNoPassword(file),
+                RequiredPdfData.DEFAULT);
+        release.countDown();
+        assertSame(first.get().get(), second.get());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void released() throws InterruptedException, ExecutionException {
+        PdfDocumentDescriptor descriptor = PdfDocumentDescriptor.newDescriptorNoPassword(file);
+        load(descriptor, RequiredPdfData.DEFAULT).get();
+        descriptor.release();
+        assertEquals(0, victim.size());
+        load(PdfDocumentDescriptor.newDescriptorNoPassword(file), RequiredPdfData.DEFAULT).get();
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void retainedByAnyHolder() throws InterruptedException, ExecutionException {
+        PdfDocumentDescriptor descriptor = PdfDocumentDescriptor.newDescriptorNoPassword(file);
+        PdfDocumentDescriptor other = PdfDocumentDescriptor.newDescriptorNoPassword(file);
+        load(descriptor, RequiredPdfData.DEFAULT).get();
+        load(other, RequiredPdfData.DEFAULT).get();
+        descriptor.release();
+        assertEquals(1, victim.size());
+        other.release();
+        assertEquals(0, victim.size());
+    }
+
+    @Test
+    public void failedLoadIsNotRetained() throws InterruptedException, ExecutionException {
+        victim.load(PdfDocumentDescriptor.newDescriptorNoPassword(file), new RequiredPdfData[] { RequiredPdfData.DEFAULT },
+                loader(PdfDescriptorLoadingStatus.WITH_ERRORS)).get();
+        load(PdfDocumentDescriptor.newDescriptorNoPassword(file), RequiredPdfData.DEFAULT).get();
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void missingRequiredData() throws InterruptedException, ExecutionException {
+        load(PdfDocumentDescriptor.newDescriptorNoPassword(file), RequiredPdfData.DEFAULT).get();
+        load(PdfDocumentDescriptor.newDescriptorNoPassword(file), RequiredPdfData.DEFAULT, RequiredPdfData.BOOMARKS)
+                .get();
+        load(PdfDocumentDescriptor.newDescriptorNoPassword(file), RequiredPdfData.BOOMARKS).get();
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void differentPassword() throws InterruptedException, ExecutionException {
+        load(PdfDocumentDescriptor.newDescriptorNoPassword(file), RequiredPdfData.DEFAULT).get();
+        load(PdfDocumentDescriptor.newDescriptor(file, "pwd"), RequiredPdfData.DEFAULT).get();
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void modifiedFile() throws InterruptedException, ExecutionException {
+        load(PdfDocumentDescriptor.newDescriptorNoPassword(file), RequiredPdfData.DEFAULT).get();
+        assertTrue(file.setLastModified(file.lastModified() - 10000));
+        load(PdfDocumentDescriptor.newDescriptorNoPassword(file), RequiredPdfData.DEFAULT).get();
+        assertEquals(2, loads.get());
+    }
+}
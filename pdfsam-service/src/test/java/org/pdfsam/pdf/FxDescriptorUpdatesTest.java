@@ -0,0 +1,87 @@
+/*
+ * This file is part of the PDF Split And Merge source code
+ * Created on 17 ott 2026
+ * Copyright 2017 by Sober Lemur S.a.s di Vacondio Andrea (info@pdfsam.org).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.pdf;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.sejda.model.pdf.PdfMetadataKey;
+import org.sejda.model.pdf.PdfVersion;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class FxDescriptorUpdatesTest {
+
+    private List<Runnable> scheduled;
+    private FxDescriptorUpdates victim;
+    private PdfDocumentDescriptor descriptor;
+
+    @Before
+    public void setUp() {
+        scheduled = new ArrayList<>();
+        victim = new FxDescriptorUpdates(scheduled::add);
+        descriptor = PdfDocumentDescriptor.newDescriptorNoPassword(mock(File.class));
+        descriptor.moveStatusTo(PdfDescriptorLoadingStatus.REQUESTED);
+    }
+
+    @Test
+    public void singleFlush() {
+        victim.moveStatusTo(descriptor, PdfDescriptorLoadingStatus.LOADING);
+        victim.moveStatusTo(descriptor, PdfDescriptorLoadingStatus.WITH_ERRORS);
+        assertEquals(1, scheduled.size());
+        assertEquals(PdfDescriptorLoadingStatus.REQUESTED, descriptor.loadingStatus().getValue());
+        scheduled.remove(0).run();
+        assertEquals(PdfDescriptorLoadingStatus.WITH_ERRORS, descriptor.loadingStatus().getValue());
+        assertEquals(0, scheduled.size());
+    }
+
+    @Test
+    public void loaded() {
+        PdfDocumentDescriptor loaded = PdfDocumentDescriptor.newDescriptorNoPassword(mock(File.class));
+        loaded.pages(5);
+        loaded.setVersion(PdfVersion.VERSION_1_5);
+        loaded.putInformation(PdfMetadataKey.AUTHOR.getKey(), "Me");
+        victim.moveStatusTo(descriptor, PdfDescriptorLoadingStatus.LOADING);
+        victim.loaded(descriptor, loaded, PdfDescriptorLoadingStatus.LOADED);
+        assertEquals(0, descriptor.pages().getValue().intValue());
+        scheduled.remove(0).run();
+        assertEquals(PdfDescriptorLoadingStatus.LOADED, descriptor.loadingStatus().getValue());
+        assertEquals(5, descriptor.pages().getValue().intValue());
+        assertEquals(PdfVersion.VERSION_1_5, descriptor.getVersion());
+        assertEquals("Me", descriptor.getInformation(PdfMetadataKey.AUTHOR.getKey()));
+    }
+
+    @Test
+    public void rescheduleAfterFlush() {
+        victim.moveStatusTo(descriptor, PdfDescriptorLoadingStatus.LOADING);
+        scheduled.remove(0).run();
+        victim.moveStatusTo(descriptor, PdfDescriptorLoadingStatus.LOADED);
+        assertEquals(1, scheduled.size());
+        scheduled.remove(0).run();
+        assertEquals(PdfDescriptorLoadingStatus.LOADED, descriptor.loadingStatus().getValue());
+    }
+}
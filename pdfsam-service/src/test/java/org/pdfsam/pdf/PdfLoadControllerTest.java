@@ -18,14 +18,18 @@
  */
 package org.pdfsam.pdf;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static org.pdfsam.eventstudio.StaticStudio.eventStudio;
 
 import java.io.File;
@@ -34,7 +38,11 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import org.junit.Before;
 import org.junit.Rule;
@@ -71,12 +79,108 @@ public class PdfLoadControllerTest {
         PdfLoadRequestEvent event = new PdfLoadRequestEvent(DefaultPriorityTestModule.ID);
         PdfDocumentDescriptor first = mock(PdfDocumentDescriptor.class);
         PdfDocumentDescriptor second = mock(PdfDocumentDescriptor.class);
+        when(first.hasReferences()).thenReturn(true);
+        when(second.hasReferences()).thenReturn(true);
         event.add(first);
         event.add(second);
         victim.request(event);
         verify(first).moveStatusTo(PdfDescriptorLoadingStatus.REQUESTED);
         verify(second).moveStatusTo(PdfDescriptorLoadingStatus.REQUESTED);
+        verify(loadService, timeout(1000).times(2)).load(anyCollection(), eq(RequiredPdfData.DEFAULT));
+    }
+
+    @Test
+    public void releasedDocumentsAreNotLoaded() {
+        PdfLoadRequestEvent event = new PdfLoadRequestEvent(DefaultPriorityTestModule.ID);
+        PdfDocumentDescriptor first = mock(PdfDocumentDescriptor.class);
+        PdfDocumentDescriptor second = mock(PdfDocumentDescriptor.class);
+        when(first.hasReferences()).thenReturn(true);
+        event.add(first);
+        event.add(second);
+        victim.request(event);
         verify(loadService, timeout(1000).times(1)).load(anyCollection(), eq(RequiredPdfData.DEFAULT));
+        verify(loadService, after(500).times(1)).load(anyCollection(), any());
+    }
+
+    @Test
+    public void cancel() {
+        CountDownLatch latch = new CountDownLatch(1);
+        doAnswer(a -> {
+            latch.await(2, TimeUnit.SECONDS);
+            return null;
+        }).when(loadService).load(anyCollection(), any());
+        PdfLoadRequestEvent event = new PdfLoadRequestEvent(DefaultPriorityTestModule.ID);
+        int threads = Runtime.getRuntime().availableProcessors();
+        for (int i = 0; i < threads + 2; i++) {
+            PdfDocumentDescriptor current = mock(PdfDocumentDescriptor.class);
+            when(current.hasReferences()).thenReturn(true);
+            event.add(current);
+        }
+        victim.request(event);
+        verify(loadService, timeout(1000).times(threads)).load(anyCollection(), any());
+        victim.cancel(new CancelPdfLoadRequest(DefaultPriorityTestModule.ID));
+        latch.countDown();
+        verify(loadService, after(500).times(threads)).load(anyCollection(), any());
+    }
+
+    @Test
+    public void prioritize() {
+        System.setProperty(PdfLoadController.PDFSAM_LOAD_THREADS, "1");
+        System.setProperty(PdfLoadController.PDFSAM_LOAD_QUEUE_SIZE, "1");
+        try {
+            PdfLoadController victim = new PdfLoadController(
+                    Arrays.asList(new Module[] { new DefaultPriorityTestModule() }), loadService);
+            CountDownLatch latch = new CountDownLatch(1);
+            doAnswer(a -> {
+                latch.await(2, TimeUnit.SECONDS);
+                return null;
+            }).when(loadService).load(anyCollection(), any());
+            PdfLoadRequestEvent event = new PdfLoadRequestEvent(DefaultPriorityTestModule.ID);
+            List<PdfDocumentDescriptor> documents = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                PdfDocumentDescriptor current = mock(PdfDocumentDescriptor.class);
+                when(current.hasReferences()).thenReturn(true);
+                event.add(current);
+                documents.add(current);
+            }
+            victim.request(event);
+            verify(loadService, timeout(1000).times(1)).load(anyCollection(), any());
+            victim.prioritize(new PrioritizePdfLoadRequest(DefaultPriorityTestModule.ID, Arrays.asList(documents.get(4))));
+            latch.countDown();
+            ArgumentCaptor<Collection<PdfDocumentDescriptor>> captor = ArgumentCaptor.forClass(Collection.class);
+            verify(loadService, timeout(1000).times(5)).load(captor.capture(), any());
+            assertEquals(Arrays.asList(documents.get(0), documents.get(1), documents.get(4), documents.get(2),
+                    documents.get(3)),
+                    captor.getAllValues().stream().map(c -> c.iterator().next()).collect(Collectors.toList()));
+        } finally {
+            System.clearProperty(PdfLoadController.PDFSAM_LOAD_THREADS);
+            System.clearProperty(PdfLoadController.PDFSAM_LOAD_QUEUE_SIZE);
+        }
+    }
+
+    @Test
+    public void batch() throws IOException {
+        File file = tmp.newFile("shared.pdf");
+        File other = tmp.newFile("other.pdf");
+        PdfDocumentDescriptor first = PdfDocumentDescriptor.newDescriptorNoPassword(file);
+        PdfDocumentDescriptor second = PdfDocumentDescriptor.newDescriptorNoPassword(file);
+        PdfDocumentDescriptor third = PdfDocumentDescriptor.newDescriptorNoPassword(other);
+        first.retain();
+        second.retain();
+        third.retain();
+        victim.batch(PdfLoadBatchRequest.open());
+        PdfLoadRequestEvent event = new PdfLoadRequestEvent(DefaultPriorityTestModule.ID);
+        event.add(first);
+        event.add(third);
+        victim.request(event);
+        PdfLoadRequestEvent another = new PdfLoadRequestEvent(DefaultPriorityTestModule.ID);
+        another.add(second);
+        victim.request(another);
+        verify(loadService, after(500).never()).load(anyCollection(), any());
+        victim.batch(PdfLoadBatchRequest.close());
+        ArgumentCaptor<Collection<PdfDocumentDescriptor>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(loadService, timeout(1000).times(2)).load(captor.capture(), eq(RequiredPdfData.DEFAULT));
+        assertThat(captor.getAllValues(), containsInAnyOrder(Arrays.asList(first, second), Arrays.asList(third)));
     }
 
     @Test
@@ -39,6 +39,7 @@ import org.junit.rules.TemporaryFolder;
 import org.pdfsam.module.RequiredPdfData;
 import org.pdfsam.test.InitializeJavaFxThreadRule;
 import org.sejda.model.pdf.PdfMetadataKey;
+import org.sejda.model.pdf.PdfVersion;
 
 /**
  * @author Andrea Vacondio
@@ -76,6 +77,70 @@ public class SAMBoxPdfLoadServiceTest {
         assertEquals("test", item.getInformation(PdfMetadataKey.KEYWORDS.getKey()));
     }
 
+    @Test
+    public void loadSameFile() throws IOException, InterruptedException, TimeoutException {
+        File testFile = folder.newFile("PDFsamTest.pdf");
+        FileUtils.copyInputStreamToFile(getClass().getResourceAsStream("/test_pdfsam.pdf"), testFile);
+        PdfDocumentDescriptor descriptor = PdfDocumentDescriptor.newDescriptorNoPassword(testFile);
+        PdfDocumentDescriptor other = PdfDocumentDescriptor.newDescriptorNoPassword(testFile);
+        descriptor.moveStatusTo(PdfDescriptorLoadingStatus.REQUESTED);
+        other.moveStatusTo(PdfDescriptorLoadingStatus.REQUESTED);
+        victim.load(Arrays.asList(descriptor), RequiredPdfData.DEFAULT);
+        victim.load(Arrays.asList(other), RequiredPdfData.DEFAULT);
+        waitOrTimeout(() -> PdfDescriptorLoadingStatus.LOADED == other.loadingStatus().getValue(),
+                timeout(seconds(2)));
+        assertEquals(PdfDescriptorLoadingStatus.LOADED, descriptor.loadingStatus().getValue());
+        assertEquals(2, other.pages().getValue().intValue());
+        assertEquals("Me", other.getInformation(PdfMetadataKey.AUTHOR.getKey()));
+    }
+
+    @Test
+    public void loadTrailerOnly() throws IOException, InterruptedException, TimeoutException {
+        SAMBoxPdfLoadService victim = new SAMBoxPdfLoadService(
+                Arrays.asList(new PdfLoader[] { new DefaultSAMBoxLoader(), new BookmarksLevelSAMBoxLoader() }),
+                Arrays.asList(new PdfLoader[] { new TrailerOnlyLoader() }), null);
+        File testFile = folder.newFile("PDFsamTest.pdf");
+        FileUtils.copyInputStreamToFile(getClass().getResourceAsStream("/test_pdfsam.pdf"), testFile);
+        PdfDocumentDescriptor descriptor = PdfDocumentDescriptor.newDescriptorNoPassword(testFile);
+        descriptor.moveStatusTo(PdfDescriptorLoadingStatus.REQUESTED);
+        victim.load(Arrays.asList(descriptor), RequiredPdfData.DEFAULT);
+        waitOrTimeout(() -> PdfDescriptorLoadingStatus.LOADED == descriptor.loadingStatus().getValue(),
+                timeout(seconds(2)));
+        assertEquals(2, descriptor.pages().getValue().intValue());
+        assertEquals("Me", descriptor.getInformation(PdfMetadataKey.AUTHOR.getKey()));
+    }
+
+    @Test
+    public void xrefStreamTrailerOnlyFallback() throws IOException, InterruptedException, TimeoutException {
+        SAMBoxPdfLoadService victim = new SAMBoxPdfLoadService(
+                Arrays.asList(new PdfLoader[] { new DefaultSAMBoxLoader(), new BookmarksLevelSAMBoxLoader() }),
+                Arrays.asList(new PdfLoader[] { new TrailerOnlyLoader() }), null);
+        File testFile = folder.newFile("PDFsamTest.pdf");
+        FileUtils.copyInputStreamToFile(getClass().getResourceAsStream("/test_xref_stream.pdf"), testFile);
+        PdfDocumentDescriptor descriptor = PdfDocumentDescriptor.newDescriptorNoPassword(testFile);
+        descriptor.moveStatusTo(PdfDescriptorLoadingStatus.REQUESTED);
+        victim.load(Arrays.asList(descriptor), RequiredPdfData.DEFAULT);
+        waitOrTimeout(() -> PdfDescriptorLoadingStatus.LOADED == descriptor.loadingStatus().getValue(),
+                timeout(seconds(2)));
+        assertEquals(3, descriptor.pages().getValue().intValue());
+        assertEquals(PdfVersion.VERSION_1_5, descriptor.getVersion());
+        assertEquals("Xref Stream", descriptor.getInformation(PdfMetadataKey.TITLE.getKey()));
+    }
+
+    @Test
+    public void encryptedTrailerOnlyFallback() throws IOException, InterruptedException, TimeoutException {
+        SAMBoxPdfLoadService victim = new SAMBoxPdfLoadService(
+                Arrays.asList(new PdfLoader[] { new DefaultSAMBoxLoader(), new BookmarksLevelSAMBoxLoader() }),
+                Arrays.asList(new PdfLoader[] { new TrailerOnlyLoader() }), null);
+        File testFile = folder.newFile("PDFsamTest.pdf");
+        FileUtils.copyInputStreamToFile(getClass().getResourceAsStream("/enc_test_pdfsam.pdf"), testFile);
+        PdfDocumentDescriptor descriptor = PdfDocumentDescriptor.newDescriptor(testFile, "test");
+        descriptor.moveStatusTo(PdfDescriptorLoadingStatus.REQUESTED);
+        victim.load(Arrays.asList(descriptor), RequiredPdfData.DEFAULT);
+        waitOrTimeout(() -> PdfDescriptorLoadingStatus.LOADED_WITH_USER_PWD_DECRYPTION == descriptor.loadingStatus()
+                .getValue(), timeout(seconds(2)));
+    }
+
     @Test
     public void invalidPdf() throws IOException, InterruptedException, TimeoutException {
         File testFile = folder.newFile("PDFsamTest.pdf");
@@ -0,0 +1,133 @@
+/* 
+ * This file is part of the PDF Split And Merge source code
+ * Created on 17 ott 2026
+ * Copyright 2017 by Sober Lemur S.a.s di Vacondio Andrea (info@pdfsam.org).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as 
+ * published by the Free Software Foundation, either version 3 of the 
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.pdf;
+
+import static org.apache.commons.lang3.StringUtils.isEmpty;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Calendar;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sejda.io.BufferedSeekableSource;
+import org.sejda.io.FileChannelSeekableSource;
+import org.sejda.io.SeekableSource;
+import org.sejda.model.pdf.PdfMetadataKey;
+import org.sejda.model.pdf.PdfVersion;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class TrailerOnlyLoaderTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File copy(String resource) throws IOException {
+        File testFile = folder.newFile();
+        FileUtils.copyInputStreamToFile(getClass().getResourceAsStream(resource), testFile);
+        return testFile;
+    }
+
+    @Test
+    public void accept() throws IOException {
+        File testFile = copy("/test_pdfsam.pdf");
+        PdfDocumentDescriptor descriptor = PdfDocumentDescriptor.newDescriptorNoPassword(testFile);
+        try (SeekableSource source = new BufferedSeekableSource(new FileChannelSeekableSource(testFile))) {
+            new TrailerOnlyLoader().accept(source, descriptor);
+        }
+        assertEquals(2, descriptor.pages().getValue().intValue());
+        assertEquals(PdfVersion.VERSION_1_4, descriptor.getVersion());
+        assertEquals("Me", descriptor.getInformation(PdfMetadataKey.AUTHOR.getKey()));
+        assertEquals("test", descriptor.getInformation(PdfMetadataKey.KEYWORDS.getKey()));
+        assertEquals("Test Document", descriptor.getInformation(PdfMetadataKey.TITLE.getKey()));
+        assertNotNull(descriptor.getInformation("FormattedCreationDate"));
+        assertTrue(isEmpty(descriptor.getInformation(PdfMetadataKey.SUBJECT.getKey())));
+    }
+
+    @Test
+    public void outline() throws IOException {
+        File testFile = copy("/test_outline.pdf");
+        PdfDocumentDescriptor descriptor = PdfDocumentDescriptor.newDescriptorNoPassword(testFile);
+        try (SeekableSource source = new BufferedSeekableSource(new FileChannelSeekableSource(testFile))) {
+            new TrailerOnlyLoader().accept(source, descriptor);
+        }
+        assertEquals(3, descriptor.pages().getValue().intValue());
+        assertEquals("Writer", descriptor.getInformation(PdfMetadataKey.CREATOR.getKey()));
+    }
+
+    @Test
+    public void xrefStreamIsUntouched() throws IOException {
+        File testFile = copy("/test_xref_stream.pdf");
+        PdfDocumentDescriptor descriptor = PdfDocumentDescriptor.newDescriptorNoPassword(testFile);
+        try (SeekableSource source = new BufferedSeekableSource(new FileChannelSeekableSource(testFile))) {
+            new TrailerOnlyLoader().accept(source, descriptor);
+            fail("The document should be refused");
+        } catch (UncheckedIOException e) {
+            // expected
+        }
+        assertEquals(0, descriptor.pages().getValue().intValue());
+        assertNull(descriptor.getVersion());
+        assertTrue(isEmpty(descriptor.getInformation(PdfMetadataKey.TITLE.getKey())));
+    }
+
+    @Test
+    public void encryptedIsUntouched() throws IOException {
+        File testFile = copy("/enc_test_pdfsam.pdf");
+        PdfDocumentDescriptor descriptor = PdfDocumentDescriptor.newDescriptorNoPassword(testFile);
+        try (SeekableSource source = new BufferedSeekableSource(new FileChannelSeekableSource(testFile))) {
+            new TrailerOnlyLoader().accept(source, descriptor);
+            fail("The document should be refused");
+        } catch (UncheckedIOException e) {
+            // expected
+        }
+        assertEquals(0, descriptor.pages().getValue().intValue());
+        assertNull(descriptor.getVersion());
+        assertTrue(isEmpty(descriptor.getInformation(PdfMetadataKey.TITLE.getKey())));
+    }
+
+    @Test(expected = UncheckedIOException.class)
+    public void invalid() throws IOException {
+        File testFile = copy("/im_empty.pdf");
+        try (SeekableSource source = new BufferedSeekableSource(new FileChannelSeekableSource(testFile))) {
+            new TrailerOnlyLoader().accept(source, PdfDocumentDescriptor.newDescriptorNoPassword(testFile));
+        }
+    }
+
+    @Test
+    public void decodeText() {
+        assertEquals("\u2022A", PdfTrailerReader.decodeText(new byte[] { (byte) 0x80, 'A' }));
+        assertEquals("AB", PdfTrailerReader.decodeText(new byte[] { (byte) 0xFE, (byte) 0xFF, 0, 'A', 0, 'B' }));
+    }
+
+    @Test
+    public void toCalendar() {
+        assertEquals(2013, PdfTrailerReader.toCalendar("D:20130614151241+02'00'").get(Calendar.YEAR));
+        assertNull(PdfTrailerReader.toCalendar("chuck"));
+    }
+}
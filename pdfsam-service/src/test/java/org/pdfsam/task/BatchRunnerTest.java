@@ -0,0 +1,297 @@
+/* 
+ * This file is part of the PDF Split And Merge source code
+ * Created on 17 ott 2026
+ * Copyright 2017 by Sober Lemur S.a.s di Vacondio Andrea (info@pdfsam.org).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as 
+ * published by the Free Software Foundation, either version 3 of the 
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.task;
+
+import static org.apache.commons.lang3.StringUtils.isBlank;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.builder.Builder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+import org.pdfsam.support.params.WorkspaceParametersFactory;
+import org.pdfsam.ui.JsonWorkspaceService;
+import org.pdfsam.ui.WorkspaceService;
+import org.sejda.core.notification.context.GlobalNotificationContext;
+import org.sejda.core.service.TaskExecutionService;
+import org.sejda.model.exception.TaskException;
+import org.sejda.model.notification.event.TaskExecutionFailedEvent;
+import org.sejda.model.parameter.base.AbstractParameters;
+import org.sejda.model.parameter.base.TaskParameters;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class BatchRunnerTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private WorkspaceParametersFactory factory;
+    private WorkspaceService workspaces;
+    private TaskExecutionService executionService;
+    private ByteArrayOutputStream out;
+    private AbstractParameters params;
+    private BatchRunner victim;
+
+    @Before
+    public void setUp() {
+        factory = mock(WorkspaceParametersFactory.class);
+        when(factory.moduleId()).thenReturn("module");
+        when(factory.outputKey()).thenReturn("module.destinationbrowsableField");
+        params = mock(AbstractParameters.class);
+        Builder<TaskParameters> builder = () -> params;
+        doAnswer(a -> builder).when(factory).builder(anyMap(), any());
+        workspaces = mock(WorkspaceService.class);
+        executionService = mock(TaskExecutionService.class);
+        out = new ByteArrayOutputStream();
+        victim = new BatchRunner(Arrays.asList(factory), workspaces, executionService, new PrintStream(out, true));
+    }
+
+    @After
+    public void tearDown() {
+        GlobalNotificationContext.getContext().clearListeners();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void arguments() {
+        assertEquals(BatchRunner.SUCCESS, victim.run("module", "key=value", "other=a=b"));
+        ArgumentCaptor<Map<String, String>> data = ArgumentCaptor.forClass(Map.class);
+        verify(factory).builder(data.capture(), any());
+        assertEquals("value", data.getValue().get("key"));
+        assertEquals("a=b", data.getValue().get("other"));
+        verify(executionService).execute(params);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void workspace() {
+        doAnswer(a -> {
+            Map<String, String> data = new HashMap<>();
+            data.put("input.size", "1");
+            data.put("key", "value");
+            a.getArgument(1, BiConsumer.class).accept("module", data);
+            a.getArgument(1, BiConsumer.class).accept("unknown", data);
+            a.getArgument(1, BiConsumer.class).accept("another", Collections.emptyMap());
+            return null;
+        }).when(workspaces).loadWorkspace(any(File.class), any(BiConsumer.class));
+        assertEquals(BatchRunner.SUCCESS, victim.run("-w", "workspace.json"));
+        ArgumentCaptor<Map<String, String>> data = ArgumentCaptor.forClass(Map.class);
+        verify(factory).builder(data.capture(), any());
+        assertEquals("value", data.getValue().get("key"));
+        verify(executionService).execute(params);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void invalidParameters() {
+        doAnswer(a -> {
+            a.getArgument(1, Consumer.class).accept("Invalid page ranges");
+            return mock(Builder.class);
+        }).when(factory).builder(anyMap(), any());
+        assertEquals(BatchRunner.FAILURE, victim.run("module"));
+        verify(executionService, never()).execute(any());
+        assertThat(out.toString(), containsString("[module] Invalid parameters: Invalid page ranges"));
+    }
+
+    @Test
+    public void failedTask() {
+        doAnswer(a -> {
+            GlobalNotificationContext.getContext()
+                    .notifyListeners(new TaskExecutionFailedEvent(new TaskException("Chuck"), null));
+            return null;
+        }).when(executionService).execute(eq(params));
+        assertEquals(BatchRunner.FAILURE, victim.run("module"));
+        assertThat(out.toString(), containsString("[module] Failed: Chuck"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void inputSets() throws IOException {
+        File first = folder.newFolder("first");
+        Files.createFile(first.toPath().resolve("b.pdf"));
+        Files.createFile(first.toPath().resolve("a.pdf"));
+        Files.createFile(first.toPath().resolve("c.txt"));
+        File second = folder.newFolder("second");
+        Files.createFile(second.toPath().resolve("d.pdf"));
+        File out = new File(folder.getRoot(), "out.pdf");
+        assertEquals(BatchRunner.SUCCESS, victim.run("--inputs", first.getAbsolutePath(), "-i", second.getAbsolutePath(),
+                "-p", "2", "module", "module.destinationbrowsableField=" + out.getAbsolutePath(), "input.range.0=2-3"));
+        ArgumentCaptor<Map<String, String>> data = ArgumentCaptor.forClass(Map.class);
+        verify(factory, times(2)).builder(data.capture(), any());
+        verify(executionService, times(2)).execute(params);
+        Map<String, String> firstData = data.getAllValues().stream().filter(d -> "2".equals(d.get("input.size")))
+                .findFirst().get();
+        assertEquals(first.toPath().resolve("a.pdf").toString(), firstData.get("input.0"));
+        assertEquals(first.toPath().resolve("b.pdf").toString(), firstData.get("input.1"));
+        assertNull(firstData.get("input.range.0"));
+        assertEquals(new File(new File(folder.getRoot(), "first"), "out.pdf").getAbsolutePath(),
+                firstData.get("module.destinationbrowsableField"));
+        assertThat(this.out.toString(), containsString("2 jobs: 2 completed, 0 failed"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void inputSetsSingleInput() throws IOException {
+        when(factory.singleInput()).thenReturn(true);
+        File first = folder.newFolder("first");
+        Files.createFile(first.toPath().resolve("b.pdf"));
+        Files.createFile(first.toPath().resolve("a.pdf"));
+        assertEquals(BatchRunner.SUCCESS, victim.run("-i", first.getAbsolutePath(), "module",
+                "module.destinationbrowsableField=" + folder.getRoot().getAbsolutePath()));
+        ArgumentCaptor<Map<String, String>> data = ArgumentCaptor.forClass(Map.class);
+        verify(factory, times(2)).builder(data.capture(), any());
+        Map<String, String> a = data.getAllValues().stream()
+                .filter(d -> d.get("input").equals(first.toPath().resolve("a.pdf").toString())).findFirst().get();
+        assertEquals(folder.getRoot().toPath().resolve("first").resolve("a").toString(), a.get("module.destinationbrowsableField"));
+    }
+
+    @Test
+    public void savedWorkspace() throws IOException {
+        File document = folder.newFile("outline_tree.pdf");
+        File destination = new File(folder.getRoot(), "Desktop");
+        File workspace = savedWorkspace(document, destination);
+        DestinationRecorder recorder = new DestinationRecorder(true);
+        victim = new BatchRunner(Arrays.asList(recorder), new JsonWorkspaceService(), executionService,
+                new PrintStream(out, true));
+        assertEquals(BatchRunner.SUCCESS, victim.run("--workspace", workspace.getAbsolutePath()));
+        assertEquals(Arrays.asList(destination.getAbsolutePath()), recorder.destinations);
+        verify(executionService).execute(params);
+    }
+
+    @Test
+    public void savedWorkspaceInputSets() throws IOException {
+        File destination = new File(folder.getRoot(), "Desktop");
+        File workspace = savedWorkspace(folder.newFile("outline_tree.pdf"), destination);
+        File first = folder.newFolder("first");
+        Files.createFile(first.toPath().resolve("a.pdf"));
+        File second = folder.newFolder("second");
+        Files.createFile(second.toPath().resolve("b.pdf"));
+        DestinationRecorder recorder = new DestinationRecorder(false);
+        victim = new BatchRunner(Arrays.asList(recorder), new JsonWorkspaceService(), executionService,
+                new PrintStream(out, true));
+        assertEquals(BatchRunner.SUCCESS, victim.run("-w", workspace.getAbsolutePath(), "-i", first.getAbsolutePath(),
+                "-i", second.getAbsolutePath(), "-p", "1"));
+        assertThat(recorder.destinations, containsInAnyOrder(new File(destination, "first").getAbsolutePath(),
+                new File(destination, "second").getAbsolutePath()));
+        verify(executionService, times(2)).execute(params);
+    }
+
+    @Test
+    public void savedWorkspaceInputSetsSingleInput() throws IOException {
+        File destination = new File(folder.getRoot(), "Desktop");
+        File workspace = savedWorkspace(folder.newFile("outline_tree.pdf"), destination);
+        File first = folder.newFolder("first");
+        Files.createFile(first.toPath().resolve("a.pdf"));
+        Files.createFile(first.toPath().resolve("b.pdf"));
+        DestinationRecorder recorder = new DestinationRecorder(true);
+        victim = new BatchRunner(Arrays.asList(recorder), new JsonWorkspaceService(), executionService,
+                new PrintStream(out, true));
+        assertEquals(BatchRunner.SUCCESS, victim.run("-w", workspace.getAbsolutePath(), "-i", first.getAbsolutePath()));
+        assertThat(recorder.destinations,
+                containsInAnyOrder(destination.toPath().resolve("first").resolve("a").toString(),
+                        destination.toPath().resolve("first").resolve("b").toString()));
+    }
+
+    /**
+     * @return a copy of the workspace saved by the split by bookmarks module, pointing to the given document and destination
+     */
+    private File savedWorkspace(File document, File destination) throws IOException {
+        String content = IOUtils.toString(getClass().getResourceAsStream("/workspace.json"), StandardCharsets.UTF_8)
+                .replace("/path/outline_tree.pdf", document.getAbsolutePath().replace("\\", "\\\\"))
+                .replace("/home/user/Desktop", destination.getAbsolutePath().replace("\\", "\\\\"));
+        File workspace = folder.newFile("workspace.json");
+        Files.write(workspace.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return workspace;
+    }
+
+    /**
+     * Factory for the split by bookmarks module, using the default output key, that records the destination of every job
+     */
+    private class DestinationRecorder implements WorkspaceParametersFactory {
+        private final List<String> destinations = new CopyOnWriteArrayList<>();
+        private final boolean singleInput;
+
+        DestinationRecorder(boolean singleInput) {
+            this.singleInput = singleInput;
+        }
+
+        @Override
+        public String moduleId() {
+            return "split.bybookmarks";
+        }
+
+        @Override
+        public boolean singleInput() {
+            return singleInput;
+        }
+
+        @Override
+        public Builder<? extends TaskParameters> builder(Map<String, String> data, Consumer<String> onError) {
+            if (isBlank(data.get(outputKey()))) {
+                onError.accept("The output directory is required");
+            } else {
+                destinations.add(data.get(outputKey()));
+            }
+            return () -> params;
+        }
+    }
+
+    @Test
+    public void invalidArguments() {
+        assertEquals(BatchRunner.INVALID_ARGUMENTS, victim.run());
+        assertEquals(BatchRunner.INVALID_ARGUMENTS, victim.run("chuck"));
+        assertEquals(BatchRunner.INVALID_ARGUMENTS, victim.run("--workspace"));
+        assertEquals(BatchRunner.INVALID_ARGUMENTS, victim.run("--parallel", "0", "module"));
+        verify(executionService, never()).execute(any());
+    }
+}
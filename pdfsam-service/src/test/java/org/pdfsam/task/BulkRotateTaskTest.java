@@ -19,8 +19,12 @@
 package org.pdfsam.task;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import org.junit.Test;
 import org.sejda.core.service.BaseTaskTest;
@@ -29,6 +33,9 @@ import org.sejda.model.pdf.PdfVersion;
 import org.sejda.model.pdf.page.PageRange;
 import org.sejda.model.rotation.Rotation;
 import org.sejda.model.task.Task;
+import org.sejda.sambox.pdmodel.PDDocument;
+import org.sejda.sambox.pdmodel.PDPage;
+import org.sejda.sambox.pdmodel.common.PDRectangle;
 
 /**
  * @author Andrea Vacondio
@@ -72,6 +79,12 @@ public class BulkRotateTaskTest extends BaseTaskTest<BulkRotateParameters> {
         parameters.setExistingOutputPolicy(ExistingOutputPolicy.OVERWRITE);
     }
 
+    private void setUpRotateMultipleInputInParallel() {
+        setUpRotateMultipleInput();
+        parameters.addInput(new PdfRotationInput(stronglyEncryptedInput(), Rotation.DEGREES_90, new PageRange(2, 4)));
+        parameters.setParallelism(2);
+    }
+
     private void setUpParametersEncrypted() {
         parameters = new BulkRotateParameters();
         parameters.addInput(new PdfRotationInput(stronglyEncryptedInput(), Rotation.DEGREES_180));
@@ -128,4 +141,94 @@ public class BulkRotateTaskTest extends BaseTaskTest<BulkRotateParameters> {
             assertEquals(90, d.getPage(3).getRotation());
         });
     }
+
+    @Test
+    public void testMultipleInputInParallel() throws IOException {
+        setUpRotateMultipleInputInParallel();
+        parameters.setOutputPrefix("[FILENUMBER]_");
+        testContext.directoryOutputTo(parameters);
+        execute(parameters);
+        testContext.assertTaskCompleted();
+        testContext.assertOutputSize(3).forEachPdfOutput(d -> {
+            assertEquals(90, d.getPage(1).getRotation());
+            assertEquals(90, d.getPage(2).getRotation());
+            assertEquals(90, d.getPage(3).getRotation());
+        });
+        List<PdfRotationInput> inputs = new ArrayList<>(parameters.getInputSet());
+        String[] names = new String[inputs.size()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = (i + 1) + "_" + inputs.get(i).source.getName();
+        }
+        testContext.assertOutputContainsFilenames(names);
+        testContext.forPdfOutput(names[0], d -> assertEquals(4, d.getNumberOfPages()));
+        testContext.forPdfOutput(names[1], d -> assertEquals(90, d.getPage(14).getRotation()));
+        testContext.forPdfOutput(names[2], d -> assertEquals(4, d.getNumberOfPages()));
+    }
+
+    @Test
+    public void testIncremental() throws IOException {
+        setUpRotateMultipleInput();
+        parameters.setIncremental(true);
+        testContext.directoryOutputTo(parameters);
+        execute(parameters);
+        testContext.assertTaskCompleted();
+        testContext.assertOutputSize(2).forEachPdfOutput(d -> {
+            assertEquals(90, d.getPage(1).getRotation());
+            assertEquals(90, d.getPage(2).getRotation());
+            assertEquals(90, d.getPage(3).getRotation());
+        });
+    }
+
+    @Test
+    public void testIncrementalSameGeometryAsFullRewrite() throws IOException {
+        parameters = new BulkRotateParameters();
+        parameters.addInput(
+                new PdfRotationInput(mediumInput(), Rotation.DEGREES_90, new PageRange(2, 4), new PageRange(15, 15)));
+        parameters.setExistingOutputPolicy(ExistingOutputPolicy.OVERWRITE);
+        testContext.directoryOutputTo(parameters);
+        execute(parameters);
+        testContext.assertTaskCompleted();
+        List<List<Float>> rewritten = new ArrayList<>();
+        testContext.assertOutputSize(1).forEachPdfOutput(d -> rewritten.addAll(geometry(d)));
+
+        parameters = new BulkRotateParameters();
+        parameters.addInput(
+                new PdfRotationInput(mediumInput(), Rotation.DEGREES_90, new PageRange(2, 4), new PageRange(15, 15)));
+        parameters.setExistingOutputPolicy(ExistingOutputPolicy.OVERWRITE);
+        parameters.setIncremental(true);
+        testContext.directoryOutputTo(parameters);
+        execute(parameters);
+        testContext.assertTaskCompleted();
+        List<List<Float>> incremental = new ArrayList<>();
+        testContext.assertOutputSize(1).forEachPdfOutput(d -> incremental.addAll(geometry(d)));
+
+        assertFalse(rewritten.isEmpty());
+        assertEquals(rewritten, incremental);
+    }
+
+    /**
+     * @return for each page the rotation followed by the MediaBox and CropBox coordinates
+     */
+    private static List<List<Float>> geometry(PDDocument document) {
+        List<List<Float>> pages = new ArrayList<>();
+        for (PDPage page : document.getPages()) {
+            PDRectangle media = page.getMediaBox();
+            PDRectangle crop = page.getCropBox();
+            pages.add(Arrays.asList((float) page.getRotation(), media.getLowerLeftX(), media.getLowerLeftY(),
+                    media.getUpperRightX(), media.getUpperRightY(), crop.getLowerLeftX(), crop.getLowerLeftY(),
+                    crop.getUpperRightX(), crop.getUpperRightY()));
+        }
+        return pages;
+    }
+
+    @Test
+    public void testIncrementalEncryptedIsRewritten() throws IOException {
+        setUpParametersEncrypted();
+        parameters.setIncremental(true);
+        testContext.directoryOutputTo(parameters);
+        execute(parameters);
+        testContext.assertTaskCompleted();
+        testContext.assertCreator().assertPages(4)
+                .forEachPdfOutput(d -> d.getPages().forEach(p -> assertEquals(180, p.getRotation())));
+    }
 }
@@ -0,0 +1,137 @@
+/* 
+ * This file is part of the PDF Split And Merge source code
+ * Created on 17 ott 2026
+ * Copyright 2017 by Sober Lemur S.a.s di Vacondio Andrea (info@pdfsam.org).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as 
+ * published by the Free Software Foundation, either version 3 of the 
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.task;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.pdfsam.eventstudio.StaticStudio.eventStudio;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.pdfsam.test.ClearEventStudioRule;
+import org.sejda.model.notification.event.AbstractNotificationEvent;
+import org.sejda.model.notification.event.PercentageOfWorkDoneChangedEvent;
+import org.sejda.model.notification.event.TaskExecutionCompletedEvent;
+import org.sejda.model.notification.event.TaskExecutionStartedEvent;
+import org.sejda.model.task.NotifiableTaskMetadata;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class TaskEventsBridgeTest {
+    @Rule
+    public ClearEventStudioRule clearStudio = new ClearEventStudioRule();
+
+    private List<Runnable> scheduled;
+    private TaskEventsBridge victim;
+    private List<AbstractNotificationEvent> received;
+    private List<AbstractNotificationEvent> receivedByModule;
+
+    @Before
+    public void setUp() {
+        scheduled = new ArrayList<>();
+        received = new ArrayList<>();
+        receivedByModule = new ArrayList<>();
+        victim = new TaskEventsBridge(scheduled::add);
+        listen(received, null);
+        listen(receivedByModule, "module");
+    }
+
+    private static void listen(List<AbstractNotificationEvent> events, String station) {
+        if (station == null) {
+            eventStudio().add(TaskExecutionStartedEvent.class, events::add);
+            eventStudio().add(PercentageOfWorkDoneChangedEvent.class, events::add);
+            eventStudio().add(TaskExecutionCompletedEvent.class, events::add);
+        } else {
+            eventStudio().add(TaskExecutionStartedEvent.class, events::add, station);
+            eventStudio().add(PercentageOfWorkDoneChangedEvent.class, events::add, station);
+            eventStudio().add(TaskExecutionCompletedEvent.class, events::add, station);
+        }
+    }
+
+    private static PercentageOfWorkDoneChangedEvent progress(int percentage) {
+        return new PercentageOfWorkDoneChangedEvent(new BigDecimal(percentage), mock(NotifiableTaskMetadata.class));
+    }
+
+    @Test
+    public void singleFlush() {
+        victim.deliver("module", new TaskExecutionStartedEvent(null));
+        victim.deliver("module", progress(10));
+        victim.deliver("module", progress(20));
+        assertEquals(1, scheduled.size());
+    }
+
+    @Test
+    public void progressCoalesced() {
+        TaskExecutionStartedEvent started = new TaskExecutionStartedEvent(null);
+        PercentageOfWorkDoneChangedEvent last = progress(90);
+        TaskExecutionCompletedEvent completed = new TaskExecutionCompletedEvent(1, null);
+        victim.deliver("module", started);
+        victim.deliver("module", progress(10));
+        victim.deliver("module", progress(50));
+        victim.deliver("module", last);
+        victim.deliver("module", completed);
+        scheduled.remove(0).run();
+        assertEquals(asList(started, last, completed), receivedByModule);
+        assertEquals(asList(started, last, completed), received);
+    }
+
+    @Test
+    public void progressAfterFlush() {
+        PercentageOfWorkDoneChangedEvent first = progress(10);
+        PercentageOfWorkDoneChangedEvent second = progress(20);
+        victim.deliver("module", first);
+        scheduled.remove(0).run();
+        victim.deliver("module", second);
+        assertEquals(1, scheduled.size());
+        scheduled.remove(0).run();
+        assertEquals(asList(first, second), receivedByModule);
+    }
+
+    @Test
+    public void noModule() {
+        TaskExecutionStartedEvent started = new TaskExecutionStartedEvent(null);
+        victim.deliver(null, started);
+        scheduled.remove(0).run();
+        assertEquals(asList(started), received);
+        assertTrue(receivedByModule.isEmpty());
+    }
+
+    @Test
+    public void modulesNotCoalesced() {
+        List<AbstractNotificationEvent> receivedByAnother = new ArrayList<>();
+        listen(receivedByAnother, "another");
+        PercentageOfWorkDoneChangedEvent first = progress(10);
+        PercentageOfWorkDoneChangedEvent second = progress(20);
+        victim.deliver("module", first);
+        victim.deliver("another", second);
+        scheduled.remove(0).run();
+        assertEquals(asList(first), receivedByModule);
+        assertEquals(asList(second), receivedByAnother);
+        assertEquals(asList(first, second), received);
+    }
+}
@@ -18,11 +18,19 @@
  */
 package org.pdfsam.task;
 
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.pdfsam.eventstudio.StaticStudio.eventStudio;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import org.junit.AfterClass;
 import org.junit.Before;
 import org.junit.Rule;
@@ -77,16 +85,53 @@ public class TaskExecutionControllerTest {
     public void onEventTaskEventBroadcaster() {
         String moduleId = "module";
         AbstractParameters params = mock(AbstractParameters.class);
-        victim.request(new TaskExecutionRequestEvent(moduleId, params));
         TaskEventBroadcaster<TaskExecutionStartedEvent> broadcaster = victim.new TaskEventBroadcaster<>();
         TaskExecutionStartedEvent event = new TaskExecutionStartedEvent(null);
         Listener<TaskExecutionStartedEvent> listener = mock(Listener.class);
         eventStudio().add(TaskExecutionStartedEvent.class, listener);
         Listener<TaskExecutionStartedEvent> listenerModule = mock(Listener.class);
         eventStudio().add(TaskExecutionStartedEvent.class, listenerModule, moduleId);
-        broadcaster.onEvent(event);
+        doAnswer(i -> {
+            broadcaster.onEvent(event);
+            return null;
+        }).when(executionService).execute(params);
+        victim.request(new TaskExecutionRequestEvent(moduleId, params));
         verify(listener, timeout(1000).times(1)).onEvent(event);
         verify(listenerModule, timeout(1000).times(1)).onEvent(event);
     }
 
+    @Test
+    public void differentModulesInParallel() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(2);
+        doAnswer(i -> {
+            latch.countDown();
+            latch.await(2, TimeUnit.SECONDS);
+            return null;
+        }).when(executionService).execute(any());
+        victim.request(new TaskExecutionRequestEvent("module", mock(AbstractParameters.class)));
+        victim.request(new TaskExecutionRequestEvent("anotherModule", mock(AbstractParameters.class)));
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void sameModuleInSequence() {
+        AtomicBoolean running = new AtomicBoolean(false);
+        AtomicBoolean overlapped = new AtomicBoolean(false);
+        doAnswer(i -> {
+            if (!running.compareAndSet(false, true)) {
+                overlapped.set(true);
+            }
+            Thread.sleep(50);
+            running.set(false);
+            return null;
+        }).when(executionService).execute(any());
+        AbstractParameters first = mock(AbstractParameters.class);
+        AbstractParameters second = mock(AbstractParameters.class);
+        victim.request(new TaskExecutionRequestEvent("module", first));
+        victim.request(new TaskExecutionRequestEvent("module", second));
+        verify(executionService, timeout(1000)).execute(first);
+        verify(executionService, timeout(1000)).execute(second);
+        assertFalse(overlapped.get());
+    }
+
 }
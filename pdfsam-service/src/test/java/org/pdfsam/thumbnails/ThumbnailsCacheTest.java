@@ -0,0 +1,117 @@
+/* 
+ * This file is part of the PDF Split And Merge source code
+ * Created on 17 ott 2026
+ * Copyright 2017 by Sober Lemur S.a.s di Vacondio Andrea (info@pdfsam.org).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as 
+ * published by the Free Software Foundation, either version 3 of the 
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.thumbnails;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.stream.Stream;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.pdfsam.test.InitializeJavaFxThreadRule;
+
+import javafx.scene.image.WritableImage;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class ThumbnailsCacheTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    @Rule
+    public InitializeJavaFxThreadRule initJavaFxThread = new InitializeJavaFxThreadRule();
+    private Path directory;
+
+    @Before
+    public void setUp() {
+        directory = folder.getRoot().toPath().resolve("thumbnails");
+    }
+
+    @Test
+    public void key() throws IOException {
+        File file = folder.newFile();
+        String key = ThumbnailsCache.key(file, null, 1, 100, false);
+        assertEquals(key, ThumbnailsCache.key(file, null, 1, 100, false));
+        assertNotEquals(key, ThumbnailsCache.key(file, null, 2, 100, false));
+        assertNotEquals(key, ThumbnailsCache.key(file, null, 1, 110, false));
+        assertNotEquals(key, ThumbnailsCache.key(file, null, 1, 100, true));
+        assertNotEquals(key, ThumbnailsCache.key(file, "pwd", 1, 100, false));
+        assertTrue(file.setLastModified(file.lastModified() - 10000));
+        assertNotEquals(key, ThumbnailsCache.key(file, null, 1, 100, false));
+    }
+
+    @Test
+    public void memoryEviction() {
+        ThumbnailsCache victim = new ThumbnailsCache(directory, 10 * 10 * 4 * 2, 1024);
+        victim.put("1", new WritableImage(10, 10));
+        victim.put("2", new WritableImage(10, 10));
+        assertNotNull(victim.get("1"));
+        victim.put("3", new WritableImage(10, 10));
+        assertNotNull(victim.get("1"));
+        assertNull(victim.get("2"));
+        assertNotNull(victim.get("3"));
+    }
+
+    @Test
+    public void biggerThanMemory() {
+        ThumbnailsCache victim = new ThumbnailsCache(directory, 10, 1024);
+        victim.put("1", new WritableImage(10, 10));
+        assertNotNull(victim.get("1"));
+        victim.put("2", new WritableImage(10, 10));
+        assertNull(victim.get("1"));
+    }
+
+    @Test
+    public void disk() {
+        ThumbnailsCache victim = new ThumbnailsCache(directory, 1024, 1024 * 1024);
+        assertNull(victim.read("key"));
+        victim.write("key", new BufferedImage(20, 10, BufferedImage.TYPE_INT_RGB));
+        BufferedImage read = new ThumbnailsCache(directory, 1024, 1024 * 1024).read("key");
+        assertEquals(20, read.getWidth());
+        assertEquals(10, read.getHeight());
+    }
+
+    @Test
+    public void trim() throws IOException {
+        ThumbnailsCache cache = new ThumbnailsCache(directory, 1024, 1024 * 1024);
+        cache.write("old", new BufferedImage(20, 10, BufferedImage.TYPE_INT_RGB));
+        cache.write("new", new BufferedImage(20, 10, BufferedImage.TYPE_INT_RGB));
+        Files.setLastModifiedTime(directory.resolve("old.png"), FileTime.fromMillis(1000));
+        ThumbnailsCache victim = new ThumbnailsCache(directory, 1024, Files.size(directory.resolve("new.png")));
+        victim.trim();
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(1, files.count());
+        }
+        assertNull(victim.read("old"));
+        assertNotNull(victim.read("new"));
+    }
+}
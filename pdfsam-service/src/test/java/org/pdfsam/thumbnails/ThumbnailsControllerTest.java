@@ -0,0 +1,211 @@
+/* 
+ * This file is part of the PDF Split And Merge source code
+ * Created on 17 ott 2026
+ * Copyright 2017 by Sober Lemur S.a.s di Vacondio Andrea (info@pdfsam.org).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as 
+ * published by the Free Software Foundation, either version 3 of the 
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.thumbnails;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.pdfsam.context.UserContext;
+import org.pdfsam.pdf.PdfDescriptorLoadingStatus;
+import org.pdfsam.pdf.PdfDocumentDescriptor;
+import org.pdfsam.test.ClearEventStudioRule;
+import org.pdfsam.test.InitializeJavaFxThreadRule;
+
+import javafx.scene.image.Image;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class ThumbnailsControllerTest {
+    @Rule
+    public ClearEventStudioRule clearStudio = new ClearEventStudioRule();
+    @Rule
+    public InitializeJavaFxThreadRule initJavaFxThread = new InitializeJavaFxThreadRule();
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    private ThumbnailRenderer renderer;
+    private UserContext userContext;
+    private Path cacheDirectory;
+    private ThumbnailsController victim;
+    private PdfDocumentDescriptor descriptor;
+
+    @Before
+    public void setUp() throws IOException {
+        renderer = mock(ThumbnailRenderer.class);
+        userContext = mock(UserContext.class);
+        when(userContext.getThumbnailsSize()).thenReturn(50);
+        when(renderer.render(any(), anyInt(), anyInt(), anyBoolean()))
+                .thenReturn(new BufferedImage(50, 40, BufferedImage.TYPE_INT_RGB));
+        cacheDirectory = folder.newFolder().toPath();
+        victim = new ThumbnailsController(renderer, userContext,
+                new ThumbnailsCache(cacheDirectory, 1024 * 1024, 1024 * 1024), 1, 16);
+        File file = folder.newFile("PDFsamTest.pdf");
+        descriptor = PdfDocumentDescriptor.newDescriptorNoPassword(file);
+    }
+
+    @Test
+    public void request() throws IOException {
+        Consumer<Image> consumer = mock(Consumer.class);
+        victim.request(new ThumbnailRequest("module", descriptor, 2, consumer));
+        verify(consumer, timeout(2000)).accept(any());
+        verify(renderer).render(descriptor, 2, 50, false);
+        Consumer<Image> second = mock(Consumer.class);
+        victim.request(new ThumbnailRequest("module", descriptor, 2, second));
+        verify(second, timeout(2000)).accept(any());
+        verify(renderer).render(any(), anyInt(), anyInt(), anyBoolean());
+    }
+
+    @Test
+    public void diskCache() throws IOException {
+        Consumer<Image> consumer = mock(Consumer.class);
+        victim.request(new ThumbnailRequest("module", descriptor, 1, consumer));
+        verify(consumer, timeout(2000)).accept(any());
+        ThumbnailsController other = new ThumbnailsController(renderer, userContext,
+                new ThumbnailsCache(cacheDirectory, 1024 * 1024, 1024 * 1024), 1, 16);
+        Consumer<Image> second = mock(Consumer.class);
+        other.request(new ThumbnailRequest("module", descriptor, 1, second));
+        verify(second, timeout(2000)).accept(any());
+        verify(renderer).render(any(), anyInt(), anyInt(), anyBoolean());
+    }
+
+    @Test
+    public void protectedDocumentNotOnDisk() throws IOException {
+        PdfDocumentDescriptor protectedDescriptor = PdfDocumentDescriptor.newDescriptor(descriptor.getFile(), "pwd");
+        Consumer<Image> consumer = mock(Consumer.class);
+        victim.request(new ThumbnailRequest("module", protectedDescriptor, 1, consumer));
+        verify(consumer, timeout(2000)).accept(any());
+        try (Stream<Path> files = Files.list(cacheDirectory)) {
+            assertEquals(0, files.count());
+        }
+        Consumer<Image> second = mock(Consumer.class);
+        victim.request(new ThumbnailRequest("module", descriptor, 1, second));
+        verify(second, timeout(2000)).accept(any());
+        verify(renderer).render(protectedDescriptor, 1, 50, false);
+        verify(renderer).render(descriptor, 1, 50, false);
+    }
+
+    @Test
+    public void encryptedDocumentNotReadFromDisk() throws IOException {
+        Consumer<Image> consumer = mock(Consumer.class);
+        victim.request(new ThumbnailRequest("module", descriptor, 1, consumer));
+        verify(consumer, timeout(2000)).accept(any());
+        ThumbnailsController other = new ThumbnailsController(renderer, userContext,
+                new ThumbnailsCache(cacheDirectory, 1024 * 1024, 1024 * 1024), 1, 16);
+        PdfDocumentDescriptor encrypted = PdfDocumentDescriptor.newDescriptorNoPassword(descriptor.getFile());
+        encrypted.moveStatusTo(PdfDescriptorLoadingStatus.REQUESTED);
+        encrypted.moveStatusTo(PdfDescriptorLoadingStatus.LOADING);
+        encrypted.moveStatusTo(PdfDescriptorLoadingStatus.ENCRYPTED);
+        Consumer<Image> second = mock(Consumer.class);
+        other.request(new ThumbnailRequest("module", encrypted, 1, second));
+        verify(second, timeout(2000)).accept(any());
+        verify(renderer).render(encrypted, 1, 50, false);
+    }
+
+    @Test
+    public void releasedDocument() throws IOException {
+        Consumer<Image> consumer = mock(Consumer.class);
+        descriptor.releaseAll();
+        victim.request(new ThumbnailRequest("module", descriptor, 1, consumer));
+        verify(consumer, after(500).never()).accept(any());
+        verify(renderer, never()).render(any(), anyInt(), anyInt(), anyBoolean());
+    }
+
+    @Test
+    public void cancel() throws IOException {
+        CountDownLatch latch = new CountDownLatch(1);
+        doAnswer(a -> {
+            latch.await(2, TimeUnit.SECONDS);
+            return new BufferedImage(50, 40, BufferedImage.TYPE_INT_RGB);
+        }).when(renderer).render(any(), anyInt(), anyInt(), anyBoolean());
+        Consumer<Image> consumer = mock(Consumer.class);
+        victim.request(new ThumbnailRequest("module", descriptor, 1, consumer));
+        victim.request(new ThumbnailRequest("module", descriptor, 2, consumer));
+        victim.request(new ThumbnailRequest("module", descriptor, 3, consumer));
+        verify(renderer, timeout(1000)).render(any(), eq(1), anyInt(), anyBoolean());
+        victim.cancel(new CancelThumbnailsRequest("module"));
+        latch.countDown();
+        verify(consumer, timeout(2000)).accept(any());
+        verify(renderer, after(500)).render(any(), anyInt(), anyInt(), anyBoolean());
+    }
+
+    @Test
+    public void boundedQueue() throws IOException {
+        ThumbnailsController victim = new ThumbnailsController(renderer, userContext,
+                new ThumbnailsCache(cacheDirectory, 1024 * 1024, 1024 * 1024), 1, 1);
+        CountDownLatch latch = new CountDownLatch(1);
+        doAnswer(a -> {
+            latch.await(2, TimeUnit.SECONDS);
+            return new BufferedImage(50, 40, BufferedImage.TYPE_INT_RGB);
+        }).when(renderer).render(any(), anyInt(), anyInt(), anyBoolean());
+        Consumer<Image> consumer = mock(Consumer.class);
+        victim.request(new ThumbnailRequest("module", descriptor, 1, consumer));
+        verify(renderer, timeout(1000)).render(any(), eq(1), anyInt(), anyBoolean());
+        victim.request(new ThumbnailRequest("module", descriptor, 2, consumer));
+        victim.request(new ThumbnailRequest("module", descriptor, 3, consumer));
+        latch.countDown();
+        verify(renderer, timeout(2000)).render(any(), eq(2), anyInt(), anyBoolean());
+        verify(renderer, after(500).never()).render(any(), eq(3), anyInt(), anyBoolean());
+    }
+
+    @Test
+    public void releasedAreDiscardedWhenFull() throws IOException {
+        ThumbnailsController victim = new ThumbnailsController(renderer, userContext,
+                new ThumbnailsCache(cacheDirectory, 1024 * 1024, 1024 * 1024), 1, 1);
+        CountDownLatch latch = new CountDownLatch(1);
+        doAnswer(a -> {
+            latch.await(2, TimeUnit.SECONDS);
+            return new BufferedImage(50, 40, BufferedImage.TYPE_INT_RGB);
+        }).when(renderer).render(any(), anyInt(), anyInt(), anyBoolean());
+        PdfDocumentDescriptor released = PdfDocumentDescriptor.newDescriptorNoPassword(folder.newFile("other.pdf"));
+        Consumer<Image> consumer = mock(Consumer.class);
+        victim.request(new ThumbnailRequest("module", descriptor, 1, consumer));
+        verify(renderer, timeout(1000)).render(any(), eq(1), anyInt(), anyBoolean());
+        victim.request(new ThumbnailRequest("module", released, 2, consumer));
+        released.releaseAll();
+        victim.request(new ThumbnailRequest("module", descriptor, 3, consumer));
+        latch.countDown();
+        verify(renderer, timeout(2000)).render(any(), eq(3), anyInt(), anyBoolean());
+        verify(renderer, never()).render(any(), eq(2), anyInt(), anyBoolean());
+    }
+}
@@ -18,6 +18,7 @@
  */
 package org.pdfsam.ui;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
@@ -26,7 +27,9 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.commons.io.FileUtils;
@@ -110,4 +113,53 @@ public class JsonWorkspaceServiceTest {
         victim.loadWorkspace(file);
     }
 
+    @Test
+    public void roundTrip() throws IOException {
+        File file = folder.newFile();
+        Map<String, Map<String, String>> data = new HashMap<>();
+        Map<String, String> moduleData = new HashMap<>();
+        moduleData.put("key", "value");
+        moduleData.put("quoted", "\"value\"");
+        data.put("module", moduleData);
+        data.put("another", Collections.singletonMap("key", "anotherValue"));
+        new JsonWorkspaceService(false).saveWorkspace(data, file);
+        assertEquals(1, FileUtils.readLines(file, StandardCharsets.UTF_8).size());
+        assertEquals(data, victim.loadWorkspace(file));
+    }
+
+    @Test
+    public void loadWorkspaceStreaming() throws IOException {
+        File file = folder.newFile();
+        FileUtils.copyInputStreamToFile(getClass().getResourceAsStream("/workspace.json"), file);
+        List<String> modules = new ArrayList<>();
+        victim.loadWorkspace(file, (module, data) -> {
+            modules.add(module);
+            assertEquals("PDFsam_", data.get("prefix"));
+        });
+        assertEquals(Collections.singletonList("split.bybookmarks"), modules);
+    }
+
+    @Test
+    public void writerNotCommitted() throws IOException {
+        File file = folder.newFile();
+        FileUtils.write(file, "{}", StandardCharsets.UTF_8);
+        try (WorkspaceWriter writer = victim.writer(file)) {
+            writer.append("module", Collections.singletonMap("key", "value"));
+        }
+        assertEquals("{}", FileUtils.readFileToString(file, StandardCharsets.UTF_8));
+        assertEquals(1, folder.getRoot().list().length);
+    }
+
+    @Test
+    public void writerCommitted() throws IOException {
+        File file = new File(folder.getRoot(), "workspace.json");
+        try (WorkspaceWriter writer = victim.writer(file)) {
+            writer.append("module", Collections.singletonMap("key", "value"));
+            writer.append("another", Collections.singletonMap("key", "anotherValue"));
+            writer.commit();
+        }
+        assertEquals("value", victim.loadWorkspace(file).get("module").get("key"));
+        assertEquals("anotherValue", victim.loadWorkspace(file).get("another").get("key"));
+        assertEquals(1, folder.getRoot().list().length);
+    }
 }
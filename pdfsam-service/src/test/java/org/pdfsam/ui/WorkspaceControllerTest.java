@@ -18,29 +18,38 @@
  */
 package org.pdfsam.ui;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.pdfsam.eventstudio.StaticStudio.eventStudio;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.function.BiConsumer;
 
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
+import org.mockito.stubbing.Answer;
 import org.pdfsam.module.Module;
+import org.pdfsam.pdf.PdfLoadBatchRequest;
 import org.pdfsam.test.ClearEventStudioRule;
 import org.pdfsam.test.DefaultPriorityTestModule;
 import org.pdfsam.ui.workspace.LoadWorkspaceEvent;
@@ -60,6 +69,7 @@ public class WorkspaceControllerTest {
     private WorkspaceController victim;
     private WorkspaceService service;
     private RecentWorkspacesService recentWorkspaces;
+    private WorkspaceWriter writer;
     private File file;
 
     @Before
@@ -68,8 +78,10 @@ public class WorkspaceControllerTest {
         List<Module> modules = new ArrayList<>();
         modules.add(new DefaultPriorityTestModule());
         service = mock(WorkspaceService.class);
+        writer = mock(WorkspaceWriter.class);
+        when(service.writer(file)).thenReturn(writer);
         recentWorkspaces = mock(RecentWorkspacesService.class);
-        victim = new WorkspaceController(modules, service, recentWorkspaces);
+        victim = new WorkspaceController(modules, service, recentWorkspaces, Runnable::run);
     }
 
     @Test
@@ -78,7 +90,21 @@ public class WorkspaceControllerTest {
         eventStudio().add(SaveWorkspaceEvent.class, listener, DefaultPriorityTestModule.ID);
         victim.saveWorkspace(new SaveWorkspaceEvent(file, true));
         verify(listener).onEvent(any());
-        verify(service).saveWorkspace(anyMap(), eq(file));
+        verify(writer, never()).append(any(), anyMap());
+        verify(writer).commit();
+        verify(writer).close();
+    }
+
+    @Test
+    public void saveWorkspaceAppendsModuleData() {
+        Listener<SaveWorkspaceEvent> listener = e -> e.addValue(DefaultPriorityTestModule.ID, "key", "value");
+        eventStudio().add(SaveWorkspaceEvent.class, listener, DefaultPriorityTestModule.ID);
+        SaveWorkspaceEvent event = new SaveWorkspaceEvent(file, true);
+        victim.saveWorkspace(event);
+        verify(writer).append(eq(DefaultPriorityTestModule.ID), eq(Collections.singletonMap("key", "value")));
+        verify(writer).commit();
+        verify(writer).close();
+        assertTrue(event.getData().isEmpty());
     }
 
     @Test
@@ -88,13 +114,15 @@ public class WorkspaceControllerTest {
         SaveWorkspaceEvent event = new SaveWorkspaceEvent(file, true);
         doThrow(new RuntimeException("mock")).when(listener).onEvent(event);
         victim.saveWorkspace(event);
+        verify(writer, never()).commit();
+        verify(writer).close();
     }
 
     @Test
     public void loadEmptyWorkspace() throws InterruptedException, ExecutionException {
         Listener<LoadWorkspaceEvent> listener = mock(Listener.class);
         eventStudio().add(LoadWorkspaceEvent.class, listener, DefaultPriorityTestModule.ID);
-        when(service.loadWorkspace(any())).thenReturn(Collections.emptyMap());
+        doAnswer(workspace(Collections.emptyMap())).when(service).loadWorkspace(any(), any());
         CompletableFuture<Void> future = victim.loadWorspace(new LoadWorkspaceEvent(file));
         future.get();
         verify(listener, never()).onEvent(any());
@@ -104,7 +132,7 @@ public class WorkspaceControllerTest {
     public void loadWorkspaceWithException() throws InterruptedException, ExecutionException {
         Listener<LoadWorkspaceEvent> listener = mock(Listener.class);
         eventStudio().add(LoadWorkspaceEvent.class, listener, DefaultPriorityTestModule.ID);
-        when(service.loadWorkspace(eq(file))).thenThrow(new RuntimeException("mock"));
+        doThrow(new RuntimeException("mock")).when(service).loadWorkspace(eq(file), any());
         CompletableFuture<Void> future = victim.loadWorspace(new LoadWorkspaceEvent(file));
         future.get();
     }
@@ -119,7 +147,7 @@ public class WorkspaceControllerTest {
         Map<String, String> moduleData = new HashMap<>();
         moduleData.put("key", "value");
         data.put("module", moduleData);
-        when(service.loadWorkspace(any())).thenReturn(data);
+        doAnswer(workspace(data)).when(service).loadWorkspace(any(), any());
         CompletableFuture<Void> future = victim.loadWorspace(new LoadWorkspaceEvent(file));
         future.get();
         verify(listener).onEvent(any());
@@ -135,11 +163,85 @@ public class WorkspaceControllerTest {
         Map<String, String> moduleData = new HashMap<>();
         moduleData.put("key", "value");
         data.put("anotherModule", moduleData);
-        when(service.loadWorkspace(any())).thenReturn(data);
+        doAnswer(workspace(data)).when(service).loadWorkspace(any(), any());
         CompletableFuture<Void> future = victim.loadWorspace(new LoadWorkspaceEvent(file));
         future.get();
         verify(listener, never()).onEvent(any());
         verify(recentWorkspaces).addWorkspaceLastUsed(any());
     }
 
+    @Test
+    public void loadWorkspaceRestoresModuleWithItsData() throws InterruptedException, ExecutionException {
+        List<String> restored = new ArrayList<>();
+        Listener<LoadWorkspaceEvent> listener = e -> restored.add(e.getData(DefaultPriorityTestModule.ID).get("key"));
+        eventStudio().add(LoadWorkspaceEvent.class, listener, DefaultPriorityTestModule.ID);
+        Map<String, Map<String, String>> data = new HashMap<>();
+        data.put(DefaultPriorityTestModule.ID, Collections.singletonMap("key", "value"));
+        doAnswer(workspace(data)).when(service).loadWorkspace(any(), any());
+        victim.loadWorspace(new LoadWorkspaceEvent(file)).get();
+        assertEquals(Collections.singletonList("value"), restored);
+        verify(recentWorkspaces).addWorkspaceLastUsed(file);
+    }
+
+    @Test
+    public void loadWorkspaceRestoresModulesInABatch() throws InterruptedException, ExecutionException {
+        List<String> restored = new ArrayList<>();
+        Listener<PdfLoadBatchRequest> batchListener = e -> restored.add(e.isOpen() ? "open" : "close");
+        eventStudio().add(PdfLoadBatchRequest.class, batchListener);
+        Listener<LoadWorkspaceEvent> listener = e -> restored.add(DefaultPriorityTestModule.ID);
+        eventStudio().add(LoadWorkspaceEvent.class, listener, DefaultPriorityTestModule.ID);
+        doAnswer(workspace(Collections.singletonMap(DefaultPriorityTestModule.ID,
+                Collections.singletonMap("key", "value")))).when(service).loadWorkspace(any(), any());
+        victim.loadWorspace(new LoadWorkspaceEvent(file)).get();
+        assertEquals(Arrays.asList("open", DefaultPriorityTestModule.ID, "close"), restored);
+    }
+
+    @Test(expected = ExecutionException.class)
+    public void loadWorkspaceClosesBatchOnFailedRestore() throws InterruptedException, ExecutionException {
+        Listener<PdfLoadBatchRequest> batchListener = mock(Listener.class);
+        eventStudio().add(PdfLoadBatchRequest.class, batchListener);
+        Listener<LoadWorkspaceEvent> listener = e -> {
+            throw new RuntimeException("mock");
+        };
+        eventStudio().add(LoadWorkspaceEvent.class, listener, DefaultPriorityTestModule.ID);
+        doAnswer(workspace(Collections.singletonMap(DefaultPriorityTestModule.ID,
+                Collections.singletonMap("key", "value")))).when(service).loadWorkspace(any(), any());
+        try {
+            victim.loadWorspace(new LoadWorkspaceEvent(file)).get();
+        } finally {
+            verify(batchListener, times(2)).onEvent(any());
+            verify(recentWorkspaces, never()).addWorkspaceLastUsed(any());
+        }
+    }
+
+    @Test
+    public void loadWorkspaceRestoresOtherModulesOnFailedRestore() throws InterruptedException {
+        Module another = mock(Module.class);
+        when(another.id()).thenReturn("anotherModule");
+        victim = new WorkspaceController(Arrays.asList(new DefaultPriorityTestModule(), another), service,
+                recentWorkspaces, Runnable::run);
+        Listener<LoadWorkspaceEvent> failing = e -> {
+            throw new RuntimeException("mock");
+        };
+        eventStudio().add(LoadWorkspaceEvent.class, failing, DefaultPriorityTestModule.ID);
+        Listener<LoadWorkspaceEvent> listener = mock(Listener.class);
+        eventStudio().add(LoadWorkspaceEvent.class, listener, "anotherModule");
+        doAnswer(workspace(Collections.singletonMap(DefaultPriorityTestModule.ID,
+                Collections.singletonMap("key", "value")))).when(service).loadWorkspace(any(), any());
+        try {
+            victim.loadWorspace(new LoadWorkspaceEvent(file)).get();
+            fail("Expected the load to fail");
+        } catch (ExecutionException e) {
+            verify(listener).onEvent(any());
+            verify(recentWorkspaces, never()).addWorkspaceLastUsed(any());
+        }
+    }
+
+    private static Answer<Void> workspace(Map<String, Map<String, String>> data) {
+        return i -> {
+            BiConsumer<String, Map<String, String>> onModule = i.getArgument(1);
+            data.forEach(onModule);
+            return null;
+        };
+    }
 }
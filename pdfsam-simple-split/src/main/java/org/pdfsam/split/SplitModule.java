@@ -21,12 +21,14 @@ package org.pdfsam.split;
 import static org.pdfsam.module.ModuleDescriptorBuilder.builder;
 import static org.pdfsam.ui.io.PdfDestinationPane.DestinationPanelFields.DISCARD_BOOKMARKS;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Consumer;
 
 import javax.inject.Inject;
 import javax.inject.Named;
+import javax.inject.Provider;
 
 import org.apache.commons.lang3.builder.Builder;
 import org.pdfsam.context.UserContext;
@@ -34,6 +36,7 @@ import org.pdfsam.i18n.DefaultI18nContext;
 import org.pdfsam.injector.Auto;
 import org.pdfsam.injector.Components;
 import org.pdfsam.injector.Provides;
+import org.pdfsam.module.Module;
 import org.pdfsam.module.ModuleCategory;
 import org.pdfsam.module.ModuleDescriptor;
 import org.pdfsam.module.ModuleInputOutputType;
@@ -49,7 +52,6 @@ import org.pdfsam.ui.module.RunButton;
 import org.pdfsam.ui.prefix.PrefixPane;
 import org.pdfsam.ui.selection.single.TaskParametersBuilderSingleSelectionPane;
 import org.pdfsam.ui.support.Views;
-import org.pdfsam.eventstudio.annotation.EventListener;
 import org.pdfsam.eventstudio.annotation.EventStation;
 import org.sejda.model.parameter.AbstractSplitByPageParameters;
 import org.sejda.model.prefix.Prefix;
@@ -69,12 +71,12 @@ import javafx.scene.layout.VBox;
 @Auto
 public class SplitModule extends BaseTaskExecutionModule {
 
-    private static final String MODULE_ID = "split.simple";
+    static final String MODULE_ID = "split.simple";
 
     private TaskParametersBuilderSingleSelectionPane selectionPane;
     private BrowsableOutputDirectoryField destinationDirectoryField;
     private PdfDestinationPane destinationPane;
-    private SplitOptionsPane splitOptions = new SplitOptionsPane();
+    private SplitOptionsPane splitOptions;
     private PrefixPane prefix;
     private ModuleDescriptor descriptor = builder().category(ModuleCategory.SPLIT)
             .inputTypes(ModuleInputOutputType.SINGLE_PDF).name(DefaultI18nContext.getInstance().i18n("Split"))
@@ -82,18 +84,22 @@ public class SplitModule extends BaseTaskExecutionModule {
             .priority(ModulePriority.HIGH.getPriority()).supportURL("https://pdfsam.org/pdf-split/").build();
 
     @Inject
-    public SplitModule(@Named(MODULE_ID + "field") BrowsableOutputDirectoryField destinationDirectoryField,
-            @Named(MODULE_ID + "pane") PdfDestinationPane destinationPane, @Named(MODULE_ID + "footer") Footer footer,
-            @Named(MODULE_ID + "prefix") PrefixPane prefix) {
+    public SplitModule(@Named(MODULE_ID + "field") Provider<BrowsableOutputDirectoryField> destinationDirectoryField,
+            @Named(MODULE_ID + "pane") Provider<PdfDestinationPane> destinationPane,
+            @Named(MODULE_ID + "footer") Provider<Footer> footer,
+            @Named(MODULE_ID + "prefix") Provider<PrefixPane> prefix) {
         super(footer);
-        this.destinationDirectoryField = destinationDirectoryField;
-        this.destinationPane = destinationPane;
-        this.selectionPane = new TaskParametersBuilderSingleSelectionPane(id());
-        this.selectionPane.setPromptText(
-                DefaultI18nContext.getInstance().i18n("Select or drag and drop the PDF you want to split"));
-        this.selectionPane.addOnLoaded(d -> splitOptions.setMaxPages(d.pages().getValue()));
-        this.prefix = prefix;
-        initModuleSettingsPanel(settingPanel());
+        initModuleSettingsPanel(() -> {
+            this.splitOptions = new SplitOptionsPane();
+            this.destinationDirectoryField = destinationDirectoryField.get();
+            this.destinationPane = destinationPane.get();
+            this.selectionPane = new TaskParametersBuilderSingleSelectionPane(id());
+            this.selectionPane.setPromptText(
+                    DefaultI18nContext.getInstance().i18n("Select or drag and drop the PDF you want to split"));
+            this.selectionPane.addOnLoaded(d -> splitOptions.setMaxPages(d.pages().getValue()));
+            this.prefix = prefix.get();
+            return settingPanel();
+        });
     }
 
     @Override
@@ -149,8 +155,8 @@ public class SplitModule extends BaseTaskExecutionModule {
         return pane;
     }
 
-    @EventListener
-    public void onClearModule(ClearModuleEvent e) {
+    @Override
+    protected void onClearModule(ClearModuleEvent e) {
         if (e.clearEverything) {
             splitOptions.resetView();
             prefix.resetView();
@@ -194,8 +200,8 @@ public class SplitModule extends BaseTaskExecutionModule {
 
         @Provides
         @Named(MODULE_ID + "openButton")
-        public OpenButton openButton() {
-            return new OpenButton(MODULE_ID, ModuleInputOutputType.MULTIPLE_PDF);
+        public OpenButton openButton(List<Module> modules) {
+            return OpenButton.forModules(MODULE_ID, ModuleInputOutputType.MULTIPLE_PDF, modules);
         }
 
         @Provides
@@ -0,0 +1,90 @@
+/* 
+ * This file is part of the PDF Split And Merge source code
+ * Created on 17 ott 2026
+ * Copyright 2017 by Sober Lemur S.a.s di Vacondio Andrea (info@pdfsam.org).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as 
+ * published by the Free Software Foundation, either version 3 of the 
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.split;
+
+import static java.util.Objects.nonNull;
+import static java.util.Optional.ofNullable;
+import static org.apache.commons.lang3.StringUtils.defaultString;
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.pdfsam.i18n.DefaultI18nContext;
+import org.pdfsam.split.SplitAfterPredefinedSetOfPagesRadioButton.SimpleSplitParametersBuilder;
+import org.pdfsam.split.SplitAfterRadioButton.SplitByPageParametersBuilder;
+import org.pdfsam.split.SplitByEveryRadioButton.SplitByEveryXPagesParametersBuilder;
+import org.pdfsam.support.params.SplitParametersBuilder;
+import org.pdfsam.support.params.WorkspaceParameters;
+import org.pdfsam.support.params.WorkspaceParametersFactory;
+import org.pdfsam.support.validation.Validators;
+import org.sejda.conversion.PageNumbersListAdapter;
+import org.sejda.model.pdf.page.PredefinedSetOfPages;
+
+/**
+ * Creates the builder for the split option selected in the split module workspace data
+ * 
+ * @author Andrea Vacondio
+ *
+ */
+public class SplitWorkspaceParametersFactory implements WorkspaceParametersFactory {
+
+    @Override
+    public String moduleId() {
+        return SplitModule.MODULE_ID;
+    }
+
+    @Override
+    public boolean singleInput() {
+        return true;
+    }
+
+    @Override
+    public SplitParametersBuilder<?> builder(Map<String, String> data, Consumer<String> onError) {
+        SplitParametersBuilder<?> builder = splitBuilder(data, onError);
+        if (nonNull(builder)) {
+            WorkspaceParameters.applySource(builder, data, onError);
+            WorkspaceParameters.applyDirectoryOutput(builder, data, outputKey(), onError);
+            WorkspaceParameters.applyPdfOutput(builder, data);
+            WorkspaceParameters.applyPrefix(builder, data, SplitModule.MODULE_ID);
+        }
+        return builder;
+    }
+
+    private static SplitParametersBuilder<?> splitBuilder(Map<String, String> data, Consumer<String> onError) {
+        if (Boolean.valueOf(data.get("splitAfter"))) {
+            String pages = defaultString(data.get("splitAfter.field"));
+            if (Validators.regexMatching("^([1-9]\\d*(\\s*,\\s*)?)+$").isValid(pages)) {
+                return new SplitByPageParametersBuilder(new PageNumbersListAdapter(pages).getPageNumbers());
+            }
+            onError.accept(DefaultI18nContext.getInstance().i18n("Only valid positive page numbers are allowed"));
+            return null;
+        }
+        if (Boolean.valueOf(data.get("splitByEvery"))) {
+            String step = defaultString(data.get("splitByEvery.field"));
+            if (Validators.positiveInteger().isValid(step)) {
+                return new SplitByEveryXPagesParametersBuilder(Integer.parseInt(step));
+            }
+            onError.accept(DefaultI18nContext.getInstance().i18n("Invalid number of pages"));
+            return null;
+        }
+        return new SimpleSplitParametersBuilder(ofNullable(data.get("splitAfterPredefined.combo"))
+                .filter(v -> isNotBlank(v)).map(PredefinedSetOfPages::valueOf).orElse(PredefinedSetOfPages.ALL_PAGES));
+    }
+}
@@ -0,0 +1,131 @@
+/* 
+ * This file is part of the PDF Split And Merge source code
+ * Created on 17 ott 2026
+ * Copyright 2017 by Sober Lemur S.a.s di Vacondio Andrea (info@pdfsam.org).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as 
+ * published by the Free Software Foundation, either version 3 of the 
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.split;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sejda.model.parameter.AbstractSplitByPageParameters;
+import org.sejda.model.parameter.SimpleSplitParameters;
+import org.sejda.model.parameter.SplitByEveryXPagesParameters;
+import org.sejda.model.parameter.SplitByPagesParameters;
+import org.sejda.model.pdf.page.PredefinedSetOfPages;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class SplitWorkspaceParametersFactoryTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    private Consumer<String> onError;
+    private Map<String, String> data;
+    private File input;
+    private SplitWorkspaceParametersFactory victim = new SplitWorkspaceParametersFactory();
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws IOException {
+        onError = mock(Consumer.class);
+        input = folder.newFile("input.pdf");
+        data = new HashMap<>();
+        data.put("input", input.getAbsolutePath());
+        data.put("prefix", "prefix_");
+        data.put(victim.outputKey(), folder.newFolder("out").getAbsolutePath());
+    }
+
+    @Test
+    public void splitAfter() {
+        data.put("splitAfter", "true");
+        data.put("splitAfter.field", "2, 4,7");
+        AbstractSplitByPageParameters params = (AbstractSplitByPageParameters) victim.builder(data, onError).build();
+        verify(onError, never()).accept(anyString());
+        assertThat(params, instanceOf(SplitByPagesParameters.class));
+        assertThat(params.getPages(10), containsInAnyOrder(2, 4, 7));
+        assertEquals(input, params.getSourceList().get(0).getSource());
+        assertEquals("prefix_", params.getOutputPrefix());
+    }
+
+    @Test
+    public void splitByEvery() {
+        data.put("splitByEvery", "true");
+        data.put("splitByEvery.field", "3");
+        data.put("discardBookmarks", "true");
+        AbstractSplitByPageParameters params = (AbstractSplitByPageParameters) victim.builder(data, onError).build();
+        verify(onError, never()).accept(anyString());
+        assertThat(params, instanceOf(SplitByEveryXPagesParameters.class));
+        assertThat(params.getPages(10), containsInAnyOrder(3, 6, 9));
+        assertTrue(params.discardOutline());
+    }
+
+    @Test
+    public void predefined() {
+        data.put("splitAfterPredefined.combo", PredefinedSetOfPages.ODD_PAGES.name());
+        AbstractSplitByPageParameters params = (AbstractSplitByPageParameters) victim.builder(data, onError).build();
+        verify(onError, never()).accept(anyString());
+        assertThat(params, instanceOf(SimpleSplitParameters.class));
+        assertEquals(PredefinedSetOfPages.ODD_PAGES, ((SimpleSplitParameters) params).getSetOfPages());
+    }
+
+    @Test
+    public void invalidSplitAfter() {
+        data.put("splitAfter", "true");
+        data.put("splitAfter.field", "0,Chuck");
+        assertNull(victim.builder(data, onError));
+        verify(onError).accept(anyString());
+    }
+
+    @Test
+    public void invalidSplitByEvery() {
+        data.put("splitByEvery", "true");
+        data.put("splitByEvery.field", "-2");
+        assertNull(victim.builder(data, onError));
+        verify(onError).accept(anyString());
+    }
+
+    @Test
+    public void noInput() {
+        data.remove("input");
+        victim.builder(data, onError);
+        verify(onError).accept(anyString());
+    }
+
+    @Test
+    public void outputKey() {
+        assertEquals("split.simple.destinationbrowsableField", victim.outputKey());
+    }
+}
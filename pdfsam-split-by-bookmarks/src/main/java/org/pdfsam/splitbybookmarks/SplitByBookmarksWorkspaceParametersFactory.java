@@ -0,0 +1,69 @@
+/* 
+ * This file is part of the PDF Split And Merge source code
+ * Created on 17 ott 2026
+ * Copyright 2017 by Sober Lemur S.a.s di Vacondio Andrea (info@pdfsam.org).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as 
+ * published by the Free Software Foundation, either version 3 of the 
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.splitbybookmarks;
+
+import static org.apache.commons.lang3.StringUtils.defaultString;
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.pdfsam.i18n.DefaultI18nContext;
+import org.pdfsam.support.params.WorkspaceParameters;
+import org.pdfsam.support.params.WorkspaceParametersFactory;
+import org.pdfsam.support.validation.Validators;
+
+/**
+ * Creates the {@link SplitByOutlineLevelParametersBuilder} from the split by bookmarks module workspace data. The bookmarks level is not
+ * validated against the levels available in the document since the document is not loaded.
+ * 
+ * @author Andrea Vacondio
+ *
+ */
+public class SplitByBookmarksWorkspaceParametersFactory implements WorkspaceParametersFactory {
+
+    @Override
+    public String moduleId() {
+        return SplitByBookmarksModule.MODULE_ID;
+    }
+
+    @Override
+    public boolean singleInput() {
+        return true;
+    }
+
+    @Override
+    public SplitByOutlineLevelParametersBuilder builder(Map<String, String> data, Consumer<String> onError) {
+        SplitByOutlineLevelParametersBuilder builder = new SplitByOutlineLevelParametersBuilder();
+        String level = defaultString(data.get("levelCombo.selected"));
+        if (Validators.positiveInteger().isValid(level)) {
+            builder.level(Integer.parseInt(level));
+        } else {
+            onError.accept(DefaultI18nContext.getInstance().i18n("Invalid bookmarks level"));
+        }
+        if (isNotBlank(data.get("regexp"))) {
+            builder.regexp(data.get("regexp"));
+        }
+        WorkspaceParameters.applySource(builder, data, onError);
+        WorkspaceParameters.applyDirectoryOutput(builder, data, outputKey(), onError);
+        WorkspaceParameters.applyPdfOutput(builder, data);
+        WorkspaceParameters.applyPrefix(builder, data, SplitByBookmarksModule.MODULE_ID);
+        return builder;
+    }
+}
@@ -0,0 +1,66 @@
+/* 
+ * This file is part of the PDF Split And Merge source code
+ * Created on 17 ott 2026
+ * Copyright 2017 by Sober Lemur S.a.s di Vacondio Andrea (info@pdfsam.org).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as 
+ * published by the Free Software Foundation, either version 3 of the 
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.splitbysize;
+
+import static org.apache.commons.lang3.StringUtils.defaultString;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.pdfsam.i18n.DefaultI18nContext;
+import org.pdfsam.support.params.WorkspaceParameters;
+import org.pdfsam.support.params.WorkspaceParametersFactory;
+import org.pdfsam.support.validation.Validators;
+
+/**
+ * Creates the {@link SplitBySizeParametersBuilder} from the split by size module workspace data
+ * 
+ * @author Andrea Vacondio
+ *
+ */
+public class SplitBySizeWorkspaceParametersFactory implements WorkspaceParametersFactory {
+
+    @Override
+    public String moduleId() {
+        return SplitBySizeModule.MODULE_ID;
+    }
+
+    @Override
+    public boolean singleInput() {
+        return true;
+    }
+
+    @Override
+    public SplitBySizeParametersBuilder builder(Map<String, String> data, Consumer<String> onError) {
+        SplitBySizeParametersBuilder builder = new SplitBySizeParametersBuilder();
+        String size = defaultString(data.get("size"));
+        if (Validators.positiveInteger().isValid(size)) {
+            SizeUnit unit = Boolean.valueOf(data.get(SizeUnit.KILOBYTE.toString())) ? SizeUnit.KILOBYTE
+                    : SizeUnit.MEGABYTE;
+            builder.size(unit.toBytes(Integer.valueOf(size)));
+        } else {
+            onError.accept(DefaultI18nContext.getInstance().i18n("Invalid split size"));
+        }
+        WorkspaceParameters.applySource(builder, data, onError);
+        WorkspaceParameters.applyDirectoryOutput(builder, data, outputKey(), onError);
+        WorkspaceParameters.applyPdfOutput(builder, data);
+        WorkspaceParameters.applyPrefix(builder, data, SplitBySizeModule.MODULE_ID);
+        return builder;
+    }
+}
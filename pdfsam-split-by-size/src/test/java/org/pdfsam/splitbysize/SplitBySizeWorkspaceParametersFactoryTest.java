@@ -0,0 +1,98 @@
+/* 
+ * This file is part of the PDF Split And Merge source code
+ * Created on 17 ott 2026
+ * Copyright 2017 by Sober Lemur S.a.s di Vacondio Andrea (info@pdfsam.org).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as 
+ * published by the Free Software Foundation, either version 3 of the 
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.splitbysize;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sejda.model.parameter.SplitBySizeParameters;
+
+/**
+ * @author Andrea Vacondio
+ *
+ */
+public class SplitBySizeWorkspaceParametersFactoryTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    private Consumer<String> onError;
+    private Map<String, String> data;
+    private File input;
+    private SplitBySizeWorkspaceParametersFactory victim = new SplitBySizeWorkspaceParametersFactory();
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws IOException {
+        onError = mock(Consumer.class);
+        input = folder.newFile("input.pdf");
+        data = new HashMap<>();
+        data.put("input", input.getAbsolutePath());
+        data.put("size", "3");
+        data.put("prefix", "prefix_");
+        data.put(victim.outputKey(), folder.newFolder("out").getAbsolutePath());
+    }
+
+    @Test
+    public void megabytes() {
+        SplitBySizeParameters params = victim.builder(data, onError).build();
+        verify(onError, never()).accept(anyString());
+        assertEquals(SizeUnit.MEGABYTE.toBytes(3), params.getSizeToSplitAt());
+        assertEquals(input, params.getSourceList().get(0).getSource());
+        assertEquals("prefix_", params.getOutputPrefix());
+    }
+
+    @Test
+    public void kilobytes() {
+        data.put(SizeUnit.KILOBYTE.toString(), "true");
+        SplitBySizeParameters params = victim.builder(data, onError).build();
+        verify(onError, never()).accept(anyString());
+        assertEquals(SizeUnit.KILOBYTE.toBytes(3), params.getSizeToSplitAt());
+    }
+
+    @Test
+    public void invalidSize() {
+        data.put("size", "0");
+        victim.builder(data, onError);
+        verify(onError).accept(anyString());
+    }
+
+    @Test
+    public void bareBrowsableFieldIsIgnored() {
+        data.put("browsableField", data.remove(victim.outputKey()));
+        victim.builder(data, onError);
+        verify(onError).accept(anyString());
+    }
+
+    @Test
+    public void outputKey() {
+        assertEquals("split.bysize.destinationbrowsableField", victim.outputKey());
+    }
+}